@@ -168,6 +168,136 @@ public interface ClangdMetadata extends ConfigurationMetadata {
 				LspEditorUiMessages.LspEditorPreferencePage_set_compilation_database,
 				LspEditorUiMessages.LspEditorPreferencePage_set_compilation_database_description);
 
+		/**
+		 * Returns the metadata for the "Maximum number of clangd processes" option.
+		 *
+		 * @see ClangdOptions#maxServerInstances()
+		 *
+		 * @since 3.1
+		 */
+		PreferenceMetadata<Integer> maxServerInstances = new PreferenceMetadata<>(Integer.class, //
+				"max_server_instances", //$NON-NLS-1$
+				4, //
+				LspEditorUiMessages.LspEditorPreferencePage_max_server_instances,
+				LspEditorUiMessages.LspEditorPreferencePage_max_server_instances_description);
+
+		/**
+		 * Returns the metadata for the "Memory budget for clangd processes" option.
+		 *
+		 * @see ClangdOptions#serverMemoryBudget()
+		 *
+		 * @since 3.1
+		 */
+		PreferenceMetadata<Integer> serverMemoryBudget = new PreferenceMetadata<>(Integer.class, //
+				"server_memory_budget", //$NON-NLS-1$
+				0, //
+				LspEditorUiMessages.LspEditorPreferencePage_server_memory_budget,
+				LspEditorUiMessages.LspEditorPreferencePage_server_memory_budget_description);
+
+		/**
+		 * Returns the metadata for the "Memory threshold per clangd process" option.
+		 *
+		 * @see ClangdOptions#memoryWatchdogThreshold()
+		 *
+		 * @since 3.1
+		 */
+		PreferenceMetadata<Integer> memoryWatchdogThreshold = new PreferenceMetadata<>(Integer.class, //
+				"memory_watchdog_threshold", //$NON-NLS-1$
+				0, //
+				LspEditorUiMessages.LspEditorPreferencePage_memory_watchdog_threshold,
+				LspEditorUiMessages.LspEditorPreferencePage_memory_watchdog_threshold_description);
+
+		/**
+		 * Returns the metadata for the "Action when the memory threshold is exceeded" option.
+		 *
+		 * @see ClangdOptions#memoryWatchdogAction()
+		 *
+		 * @since 3.1
+		 */
+		PreferenceMetadata<String> memoryWatchdogAction = new PreferenceMetadata<>(String.class, //
+				"memory_watchdog_action", //$NON-NLS-1$
+				"warn", //$NON-NLS-1$
+				LspEditorUiMessages.LspEditorPreferencePage_memory_watchdog_action,
+				LspEditorUiMessages.LspEditorPreferencePage_memory_watchdog_action_description);
+
+		/**
+		 * Returns the metadata for the "Connect to running clangd" option.
+		 *
+		 * @see ClangdOptions#serverAddress()
+		 *
+		 * @since 3.1
+		 */
+		PreferenceMetadata<String> serverAddress = new PreferenceMetadata<>(String.class, //
+				"server_address", //$NON-NLS-1$
+				"", //$NON-NLS-1$
+				LspEditorUiMessages.LspEditorPreferencePage_server_address,
+				LspEditorUiMessages.LspEditorPreferencePage_server_address_description);
+
+		/**
+		 * Returns the metadata for the "Check .clang-format files with clangd" option.
+		 *
+		 * @see ClangdOptions#checkClangFormatWithClangd()
+		 *
+		 * @since 3.1
+		 */
+		PreferenceMetadata<Boolean> checkClangFormatWithClangd = new PreferenceMetadata<>(Boolean.class, //
+				"check_clang_format_with_clangd", //$NON-NLS-1$
+				false, //
+				LspEditorUiMessages.LspEditorPreferencePage_check_clang_format_with_clangd,
+				LspEditorUiMessages.LspEditorPreferencePage_check_clang_format_with_clangd_description);
+
+		/**
+		 * Returns the metadata for the "Precompiled preamble storage" option.
+		 *
+		 * @see ClangdOptions#pchStorage()
+		 *
+		 * @since 3.1
+		 */
+		PreferenceMetadata<String> pchStorage = new PreferenceMetadata<>(String.class, //
+				"pch_storage", //$NON-NLS-1$
+				"", //$NON-NLS-1$
+				LspEditorUiMessages.LspEditorPreferencePage_pch_storage,
+				LspEditorUiMessages.LspEditorPreferencePage_pch_storage_description);
+
+		/**
+		 * Returns the metadata for the "Release freed memory" option.
+		 *
+		 * @see ClangdOptions#mallocTrim()
+		 *
+		 * @since 3.1
+		 */
+		PreferenceMetadata<String> mallocTrim = new PreferenceMetadata<>(String.class, //
+				"malloc_trim", //$NON-NLS-1$
+				"", //$NON-NLS-1$
+				LspEditorUiMessages.LspEditorPreferencePage_malloc_trim,
+				LspEditorUiMessages.LspEditorPreferencePage_malloc_trim_description);
+
+		/**
+		 * Returns the metadata for the "Number of clangd worker threads" option.
+		 *
+		 * @see ClangdOptions#workerCount()
+		 *
+		 * @since 3.1
+		 */
+		PreferenceMetadata<Integer> workerCount = new PreferenceMetadata<>(Integer.class, //
+				"worker_count", //$NON-NLS-1$
+				0, //
+				LspEditorUiMessages.LspEditorPreferencePage_worker_count,
+				LspEditorUiMessages.LspEditorPreferencePage_worker_count_description);
+
+		/**
+		 * Returns the metadata for the "Performance profile" option.
+		 *
+		 * @see ClangdOptions#performanceProfile()
+		 *
+		 * @since 3.1
+		 */
+		PreferenceMetadata<String> performanceProfile = new PreferenceMetadata<>(String.class, //
+				"performance_profile", //$NON-NLS-1$
+				"", //$NON-NLS-1$
+				LspEditorUiMessages.LspEditorPreferencePage_performance_profile,
+				LspEditorUiMessages.LspEditorPreferencePage_performance_profile_description);
+
 		/**
 		 * Returns the default {@link List} of {@link PreferenceMetadata}
 		 */
@@ -182,7 +312,17 @@ public interface ClangdMetadata extends ConfigurationMetadata {
 				logToConsole, //
 				validateClangdOptions, //
 				fillFunctionArguments, //
-				setCompilationDatabase //
+				setCompilationDatabase, //
+				maxServerInstances, //
+				serverMemoryBudget, //
+				memoryWatchdogThreshold, //
+				memoryWatchdogAction, //
+				serverAddress, //
+				checkClangFormatWithClangd, //
+				pchStorage, //
+				mallocTrim, //
+				workerCount, //
+				performanceProfile //
 		);
 
 	}
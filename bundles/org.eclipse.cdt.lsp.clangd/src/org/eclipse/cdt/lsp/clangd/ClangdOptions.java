@@ -111,4 +111,130 @@ public interface ClangdOptions {
 	default boolean setCompilationDatabase() {
 		return false;
 	}
+
+	/**
+	 * Maximum number of clangd processes running at the same time. One clangd process is started per project.
+	 * The least recently used idle process is stopped when the limit is exceeded.
+	 *
+	 * @return maximum number of clangd processes, <code>0</code> for no limit
+	 *
+	 * @since 3.1
+	 */
+	default int maxServerInstances() {
+		return 4;
+	}
+
+	/**
+	 * Resident memory budget in MB for all clangd processes together.
+	 * The least recently used idle processes are stopped while the budget is exceeded.
+	 *
+	 * @return memory budget in MB, <code>0</code> for no limit
+	 *
+	 * @since 3.1
+	 */
+	default int serverMemoryBudget() {
+		return 0;
+	}
+
+	/**
+	 * Resident memory in MB a single clangd process may use before the {@link #memoryWatchdogAction()} is taken.
+	 * The memory is sampled periodically, only on Linux.
+	 *
+	 * @return memory threshold in MB, <code>0</code> to disable the watchdog
+	 *
+	 * @since 3.1
+	 */
+	default int memoryWatchdogThreshold() {
+		return 0;
+	}
+
+	/**
+	 * Action when a clangd process exceeds the {@link #memoryWatchdogThreshold()}: <code>warn</code> to notify the
+	 * user, <code>evict</code> to stop clangd as soon as no file of its project is open, or <code>restart</code> to
+	 * restart clangd as soon as it is idle.
+	 *
+	 * @return the action, must not return <code>null</code>
+	 *
+	 * @since 3.1
+	 */
+	default String memoryWatchdogAction() {
+		return "warn"; //$NON-NLS-1$
+	}
+
+	/**
+	 * Address of a long-lived clangd to connect to instead of starting clangd, either <code>unix:&lt;path&gt;</code>
+	 * for a Unix domain socket or <code>[&lt;host&gt;:]&lt;port&gt;</code> for a TCP port. The clangd behind the
+	 * address is expected to be run by the wrapper <code>wrapper/ClangdServer.java</code> of this bundle, which keeps it
+	 * alive across connections. clangd is started locally when the address is empty or not reachable.
+	 *
+	 * @return address of a running clangd, must not return <code>null</code>
+	 *
+	 * @since 3.1
+	 */
+	default String serverAddress() {
+		return ""; //$NON-NLS-1$
+	}
+
+	/**
+	 * Checks modified <code>.clang-format</code> files with <code>clangd --check</code> instead of the built-in check
+	 * of the options. clangd knows all options of its clang-format version, e.g. options newer than the built-in
+	 * check, but a clangd process is started for every check.
+	 *
+	 * @return true if <code>.clang-format</code> files shall be checked with clangd
+	 *
+	 * @since 3.1
+	 */
+	default boolean checkClangFormatWithClangd() {
+		return false;
+	}
+
+	/**
+	 * Storage of the precompiled preambles of the open files, either <code>memory</code> or <code>disk</code>.
+	 * Passed to clangd only when the installed clangd supports it.
+	 *
+	 * @return storage of the precompiled preambles, empty for the default of clangd, must not return <code>null</code>
+	 *
+	 * @since 3.1
+	 */
+	default String pchStorage() {
+		return ""; //$NON-NLS-1$
+	}
+
+	/**
+	 * Release the memory freed by clangd to the operating system periodically, either <code>true</code> or
+	 * <code>false</code>. Passed to clangd only when the installed clangd supports it.
+	 *
+	 * @return whether clangd shall trim its heap, empty for the default of the {@link #performanceProfile()} or
+	 *         clangd, must not return <code>null</code>
+	 *
+	 * @since 3.1
+	 */
+	default String mallocTrim() {
+		return ""; //$NON-NLS-1$
+	}
+
+	/**
+	 * Number of worker threads of clangd to build the ASTs and the background index.
+	 * Passed to clangd only when the installed clangd supports it.
+	 *
+	 * @return number of worker threads, <code>0</code> for the default of clangd
+	 *
+	 * @since 3.1
+	 */
+	default int workerCount() {
+		return 0;
+	}
+
+	/**
+	 * Profile which derives the performance related options from the processors and the memory of the host, either
+	 * <code>low_memory</code>, <code>balanced</code> or <code>max_throughput</code>. The options which are set
+	 * explicitly, like {@link #workerCount()}, take precedence over the profile.
+	 *
+	 * @return the performance profile, empty for none, must not return <code>null</code>
+	 *
+	 * @since 3.1
+	 */
+	default String performanceProfile() {
+		return ""; //$NON-NLS-1$
+	}
 }
@@ -0,0 +1,219 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.clangd.format;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.cdt.lsp.clangd.format.ClangFormatSchema.Type;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Platform;
+import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.MarkedYAMLException;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.reader.ReaderException;
+
+/**
+ * Checks a <code>.clang-format</code> file in-process: the file is parsed once and the options are checked against
+ * the {@link ClangFormatSchema schema} of the clang-format options. Syntax errors and values of the wrong type are
+ * reported as errors. Unknown keys are reported as warnings only, since they may be options of a clang-format newer
+ * than the schema.
+ * <p>
+ * Checking the file with <code>clangd --check</code> is done by the {@link ClangFormatValidator}.
+ * </p>
+ */
+public class ClangFormatFileChecker {
+	private static final String LANGUAGE = "Language"; //$NON-NLS-1$
+
+	/**
+	 * A problem found in the file.
+	 *
+	 * @param message the message of the problem
+	 * @param severity the {@link IMarker#SEVERITY} of the problem
+	 * @param line the 1-based line of the problem
+	 * @param charStart the offset of the first character of the problem in the file
+	 * @param charEnd the offset after the last character of the problem in the file
+	 */
+	public record Problem(String message, int severity, int line, int charStart, int charEnd) {
+	}
+
+	/**
+	 * Replaces the markers of the file with the problems found in it.
+	 *
+	 * @param clangFormatFile the <code>.clang-format</code> file
+	 */
+	public void checkFile(IFile clangFormatFile) {
+		if (!clangFormatFile.exists()) {
+			return;
+		}
+		String content;
+		try (var inputStream = clangFormatFile.getContents()) {
+			content = new String(inputStream.readAllBytes(), clangFormatFile.getCharset());
+		} catch (IOException | CoreException e) {
+			Platform.getLog(getClass()).error(e.getMessage(), e);
+			return;
+		}
+		var problems = check(content);
+		try {
+			clangFormatFile.deleteMarkers(ClangFormatValidator.CLANG_FORMAT_MARKER, false, IResource.DEPTH_ZERO);
+			for (var problem : problems) {
+				var marker = clangFormatFile.createMarker(ClangFormatValidator.CLANG_FORMAT_MARKER);
+				marker.setAttribute(IMarker.MESSAGE, problem.message());
+				marker.setAttribute(IMarker.SEVERITY, problem.severity());
+				marker.setAttribute(IMarker.LINE_NUMBER, problem.line());
+				marker.setAttribute(IMarker.CHAR_START, problem.charStart());
+				marker.setAttribute(IMarker.CHAR_END, problem.charEnd());
+			}
+		} catch (CoreException e) {
+			Platform.getLog(getClass()).log(e.getStatus());
+		}
+	}
+
+	/**
+	 * Checks the content of a <code>.clang-format</code> file.
+	 *
+	 * @param content the content of the file
+	 * @return the problems found, the check stops at the first syntax error
+	 */
+	public List<Problem> check(String content) {
+		var check = new Check(content);
+		try {
+			boolean first = true;
+			for (var document : new Yaml().composeAll(new StringReader(content))) {
+				check.document(document, first);
+				first = false;
+			}
+		} catch (MarkedYAMLException e) {
+			var context = e.getContext();
+			var message = context != null ? context + " " + e.getProblem() : e.getProblem(); //$NON-NLS-1$
+			var mark = e.getProblemMark();
+			if (mark != null) {
+				check.add(message, IMarker.SEVERITY_ERROR, mark.getLine(), mark.getIndex(), mark.getIndex() + 1);
+			} else {
+				check.add(message, IMarker.SEVERITY_ERROR, 0, 0, 1);
+			}
+		} catch (ReaderException e) {
+			// a character which is not allowed in YAML, like a control character:
+			int index = Math.min(e.getPosition(), content.length());
+			int line = (int) content.substring(0, index).chars().filter(c -> c == '\n').count();
+			check.add(e.getMessage(), IMarker.SEVERITY_ERROR, line, index, index + 1);
+		} catch (YAMLException e) {
+			// without a position, like an exceeded limit of the parser:
+			check.add(e.getMessage(), IMarker.SEVERITY_ERROR, 0, 0, 1);
+		}
+		return check.problems;
+	}
+
+	private static final class Check {
+		private final String content;
+		private final List<Problem> problems = new ArrayList<>();
+		private final Set<String> languages = new HashSet<>();
+
+		Check(String content) {
+			this.content = content;
+		}
+
+		void document(Node document, boolean first) {
+			if (document == null || document instanceof ScalarNode scalar && scalar.getValue().isEmpty()) {
+				// an empty document
+				return;
+			}
+			if (!(document instanceof MappingNode mapping)) {
+				error(document, "A style must be a mapping of options"); //$NON-NLS-1$
+				return;
+			}
+			mapping(mapping, ClangFormatSchema.OPTIONS, null);
+			var language = mapping.getValue().stream().filter(t -> t.getKeyNode() instanceof ScalarNode key
+					&& LANGUAGE.equals(key.getValue()) && t.getValueNode() instanceof ScalarNode).findFirst();
+			if (language.isPresent()) {
+				var value = (ScalarNode) language.get().getValueNode();
+				if (!languages.add(value.getValue())) {
+					error(value, "Duplicate style for language '" + value.getValue() + "'"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
+			} else if (!first) {
+				// clang-format uses a style without language for all languages, it must come first:
+				error(document, "Only the first style may omit the 'Language' key"); //$NON-NLS-1$
+			}
+		}
+
+		private void mapping(MappingNode mapping, Map<String, Type> fields, String parent) {
+			var keys = new HashSet<String>();
+			for (var tuple : mapping.getValue()) {
+				if (!(tuple.getKeyNode() instanceof ScalarNode keyNode)) {
+					error(tuple.getKeyNode(), "A key must be a scalar"); //$NON-NLS-1$
+					continue;
+				}
+				var key = parent == null ? keyNode.getValue() : parent + "." + keyNode.getValue(); //$NON-NLS-1$
+				var type = fields.get(keyNode.getValue());
+				if (!keys.add(keyNode.getValue())) {
+					error(keyNode, "Duplicate key '" + key + "'"); //$NON-NLS-1$ //$NON-NLS-2$
+				} else if (type == null) {
+					add("Unknown key '" + key + "'", IMarker.SEVERITY_WARNING, keyNode); //$NON-NLS-1$ //$NON-NLS-2$
+				} else {
+					value(tuple.getValueNode(), type, key, keyNode);
+				}
+			}
+		}
+
+		private void value(Node value, Type type, String key, Node keyNode) {
+			if (value instanceof ScalarNode scalar && type.scalar() != null) {
+				if (!type.scalar().test(scalar.getValue())) {
+					error(scalar, "Invalid value '" + scalar.getValue() + "' for '" + key + "', expected " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+							+ type.expected());
+				}
+			} else if (value instanceof MappingNode mapping && type.fields() != null) {
+				mapping(mapping, type.fields(), key);
+			} else if (value instanceof SequenceNode sequence && type.element() != null) {
+				for (var element : sequence.getValue()) {
+					value(element, type.element(), key, element);
+				}
+			} else {
+				// the position of a mapping or sequence is the key, since the value may span many lines:
+				error(value instanceof ScalarNode ? value : keyNode,
+						"Invalid value for '" + key + "', expected " + type.expected()); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+
+		private void error(Node node, String message) {
+			add(message, IMarker.SEVERITY_ERROR, node);
+		}
+
+		private void add(String message, int severity, Node node) {
+			add(message, severity, node.getStartMark().getLine(), node.getStartMark().getIndex(),
+					node.getEndMark().getIndex());
+		}
+
+		void add(String message, int severity, int line, int charStart, int charEnd) {
+			int start = charStart;
+			if (start >= content.length()) {
+				// the end of the file is not visible in the editor, mark the last visible character instead:
+				start = content.stripTrailing().length() - 1;
+			}
+			start = Math.max(start, 0);
+			int end = Math.min(Math.max(charEnd, start + 1), content.length());
+			problems.add(new Problem(message, severity, line + 1, start, end));
+		}
+	}
+}
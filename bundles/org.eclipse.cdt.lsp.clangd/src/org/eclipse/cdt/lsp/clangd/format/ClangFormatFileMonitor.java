@@ -12,20 +12,27 @@
 
 package org.eclipse.cdt.lsp.clangd.format;
 
-import java.io.IOException;
 import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import org.eclipse.cdt.core.CProjectNature;
 import org.eclipse.cdt.lsp.clangd.ClangdConfiguration;
+import org.eclipse.cdt.lsp.clangd.ClangdOptions;
+import org.eclipse.cdt.lsp.clangd.internal.config.ResourceChangeDispatcher;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceChangeEvent;
-import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IResourceDelta;
-import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -37,14 +44,16 @@ import org.eclipse.core.runtime.Status;
 import org.eclipse.core.variables.VariablesPlugin;
 
 /**
- * Monitor changes in the <code>.clang-format</code> files in the workspace and triggers a check via <code>clangd --check</code>
- * to add error markers to the modified <code>.clang-format</code> file.
+ * Monitor changes in the <code>.clang-format</code> files in the workspace and triggers a check to add error markers to
+ * the modified <code>.clang-format</code> file. The file is checked in-process by the {@link ClangFormatFileChecker}, or
+ * via <code>clangd --check</code> when enabled by {@link ClangdOptions#checkClangFormatWithClangd()}.
  */
 public class ClangFormatFileMonitor {
 	public static final String CLANG_FORMAT_FILE = ".clang-format"; //$NON-NLS-1$
 	public static final String CLANG_FORMAT_CHECK_FILE = "clang-format-check"; //$NON-NLS-1$
 	private final ConcurrentLinkedQueue<IFile> pendingFiles = new ConcurrentLinkedQueue<>();
-	private final IWorkspace workspace;
+	private final ResourceChangeDispatcher dispatcher;
+	private final ClangFormatFileChecker checker = new ClangFormatFileChecker();
 	private final ClangFormatValidator validator = new ClangFormatValidator();
 
 	private final ServiceCaller<ClangdConfiguration> configuration = new ServiceCaller<>(getClass(),
@@ -52,42 +61,30 @@ public class ClangFormatFileMonitor {
 
 	private final CLanguageServerCheckEnabledProvider provider;
 
-	private final IResourceChangeListener listener = new IResourceChangeListener() {
-		@Override
-		public void resourceChanged(IResourceChangeEvent event) {
-			if (event.getDelta() != null && event.getType() == IResourceChangeEvent.POST_CHANGE) {
-				try {
-					event.getDelta().accept(delta -> {
-						if ((delta.getKind() == IResourceDelta.ADDED
-								|| (delta.getFlags() & IResourceDelta.CONTENT) != 0)
-								&& CLANG_FORMAT_FILE.equals(delta.getResource().getName())) {
-							if (delta.getResource() instanceof IFile file && lsIsEnabledFor(file)) {
-								pendingFiles.add(file);
-								checkJob.schedule(100);
-							}
-						}
-						return true;
-					});
-				} catch (CoreException e) {
-					Platform.getLog(getClass()).log(e.getStatus());
-				}
+	private ResourceChangeDispatcher.Subscription subscription;
+
+	private void resourcesChanged(ResourceChangeDispatcher.Changes changes) {
+		for (var delta : changes.deltas()) {
+			if ((delta.getKind() == IResourceDelta.ADDED || (delta.getFlags() & IResourceDelta.CONTENT) != 0)
+					&& delta.getResource() instanceof IFile file && lsIsEnabledFor(file.getProject())) {
+				pendingFiles.add(file);
+				checkJob.schedule(100);
 			}
 		}
-	};
+	}
 
-	public ClangFormatFileMonitor(IWorkspace workspace, CLanguageServerCheckEnabledProvider provider) {
-		this.workspace = workspace;
+	public ClangFormatFileMonitor(ResourceChangeDispatcher dispatcher, CLanguageServerCheckEnabledProvider provider) {
+		this.dispatcher = dispatcher;
 		this.provider = provider;
 	}
 
 	/**
 	 * Checks if the project has C nature and the language server is enabled for the project.
 	 *
-	 * @param file the file to check
+	 * @param project the project of the file to check
 	 * @return true if the language server is enabled for the project
 	 */
-	private boolean lsIsEnabledFor(IFile file) {
-		var project = file.getProject();
+	private boolean lsIsEnabledFor(IProject project) {
 		if (project == null) {
 			return false;
 		}
@@ -103,34 +100,76 @@ public class ClangFormatFileMonitor {
 
 		@Override
 		public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
-			var clangdPath = getClangdPath();
-			if (clangdPath.isEmpty()) {
-				String msg = "Cannot determine clangd path for " + CLANG_FORMAT_FILE + " file validation"; //$NON-NLS-1$ //$NON-NLS-2$
-				Platform.getLog(getClass()).error(msg);
-				return Status.error(msg);
+			String clangdPath = null;
+			// files checked with clangd are checked in parallel:
+			var checks = new ArrayList<CompletableFuture<Integer>>();
+			var emptyFiles = new ArrayList<IFile>();
+			var files = new LinkedHashSet<IFile>();
+			for (var file = pendingFiles.poll(); file != null; file = pendingFiles.poll()) {
+				files.add(file);
 			}
-			while (pendingFiles.peek() != null) {
-				IFile emptyFile = null;
-				try {
-					var clangFormatFile = pendingFiles.poll();
-					emptyFile = createEmptyFile(clangFormatFile);
+			try {
+				for (var clangFormatFile : files) {
+					if (!checkWithClangd(clangFormatFile)) {
+						checker.checkFile(clangFormatFile);
+						continue;
+					}
+					if (clangdPath == null) {
+						clangdPath = getClangdPath();
+					}
+					if (clangdPath.isEmpty()) {
+						String msg = "Cannot determine clangd path for " + CLANG_FORMAT_FILE + " file validation"; //$NON-NLS-1$ //$NON-NLS-2$
+						Platform.getLog(getClass()).error(msg);
+						return Status.error(msg);
+					}
+					var emptyFile = createEmptyFile(clangFormatFile);
 					if (emptyFile == null) {
 						Platform.getLog(getClass()).error("Cannot create empty file"); //$NON-NLS-1$
 						continue;
 					}
-					validator.validateFile(getCommandLine(emptyFile, clangdPath), clangFormatFile);
-				} catch (IOException e) {
-					Platform.getLog(getClass()).error(e.getMessage(), e);
-					return Status.error(e.getMessage());
-				} finally {
-					deleteEmptyFile(emptyFile);
+					emptyFiles.add(emptyFile);
+					checks.add(validator.validate(getCommandLine(emptyFile, clangdPath), clangFormatFile));
 				}
+				return awaitChecks(checks, monitor);
+			} finally {
+				emptyFiles.forEach(ClangFormatFileMonitor.this::deleteEmptyFile);
 			}
-			return Status.OK_STATUS;
 		}
 
 	};
 
+	private IStatus awaitChecks(List<CompletableFuture<Integer>> checks, IProgressMonitor monitor) {
+		var all = CompletableFuture.allOf(checks.toArray(new CompletableFuture<?>[0]));
+		while (true) {
+			if (monitor.isCanceled()) {
+				checks.forEach(check -> check.cancel(false));
+				return Status.CANCEL_STATUS;
+			}
+			try {
+				all.get(100, TimeUnit.MILLISECONDS);
+				return Status.OK_STATUS;
+			} catch (TimeoutException e) {
+				// still running
+			} catch (ExecutionException e) {
+				Platform.getLog(getClass()).error(e.getCause().getMessage(), e.getCause());
+				return Status.error(e.getCause().getMessage());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				checks.forEach(check -> check.cancel(false));
+				return Status.CANCEL_STATUS;
+			}
+		}
+	}
+
+	/**
+	 * Checks if the file shall be checked with <code>clangd --check</code> instead of the in-process check.
+	 */
+	private boolean checkWithClangd(IFile file) {
+		var enabled = new boolean[1];
+		configuration.call(c -> enabled[0] = c.options(file.getProject()).checkClangFormatWithClangd());
+		return enabled[0];
+	}
+
 	private IFile createEmptyFile(IFile clangFormatFile) {
 		var parent = clangFormatFile.getParent();
 		if (parent instanceof IContainer folder) {
@@ -181,11 +220,13 @@ public class ClangFormatFileMonitor {
 	}
 
 	public ClangFormatFileMonitor start() {
-		workspace.addResourceChangeListener(listener);
+		subscription = dispatcher.subscribe(IResourceChangeEvent.POST_CHANGE, Set.of(CLANG_FORMAT_FILE), Set.of(),
+				container -> container.getType() != IResource.PROJECT || lsIsEnabledFor(container.getProject()),
+				this::resourcesChanged);
 		return this;
 	}
 
 	public void stop() {
-		workspace.removeResourceChangeListener(listener);
+		dispatcher.unsubscribe(subscription);
 	}
 }
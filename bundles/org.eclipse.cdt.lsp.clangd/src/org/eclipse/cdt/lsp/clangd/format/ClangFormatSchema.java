@@ -0,0 +1,359 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.clangd.format;
+
+import static java.util.Map.entry;
+
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+/**
+ * The options of a <code>.clang-format</code> file with the types of their values, as documented for clang-format
+ * up to version 21. Deprecated options are included as long as clang-format accepts them. The values which version 22
+ * added to <code>Cpp11BracedListStyle</code> are accepted as well, since an unknown value is reported as an error.
+ */
+final class ClangFormatSchema {
+
+	/**
+	 * The type of an option value. Depending on the type, a value is given as scalar, as mapping or as sequence.
+	 *
+	 * @param scalar accepts the scalar values, <code>null</code> if the value must not be a scalar
+	 * @param fields the types of the keys of a mapping value, <code>null</code> if the value must not be a mapping
+	 * @param element the type of the elements of a sequence value, <code>null</code> if the value must not be a sequence
+	 * @param expected describes the accepted values for problem messages
+	 */
+	record Type(Predicate<String> scalar, Map<String, Type> fields, Type element, String expected) {
+	}
+
+	// the spellings accepted by the YAML parser of LLVM:
+	private static final Set<String> BOOLEANS = Set.of("true", "True", "TRUE", "false", "False", "FALSE", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+			"yes", "Yes", "YES", "no", "No", "NO", "on", "On", "ON", "off", "Off", "OFF", "y", "Y", "n", "N"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$ //$NON-NLS-11$ //$NON-NLS-12$ //$NON-NLS-13$ //$NON-NLS-14$ //$NON-NLS-15$ //$NON-NLS-16$
+
+	static final Type BOOL = new Type(BOOLEANS::contains, null, null, "a boolean"); //$NON-NLS-1$
+	static final Type INT = new Type(Pattern.compile("[-+]?(0[xX]\\p{XDigit}+|\\d+)").asMatchPredicate(), null, null, //$NON-NLS-1$
+			"an integer"); //$NON-NLS-1$
+	static final Type UNSIGNED = new Type(Pattern.compile("\\+?(0[xX]\\p{XDigit}+|\\d+)").asMatchPredicate(), null, //$NON-NLS-1$
+			null, "an unsigned integer"); //$NON-NLS-1$
+	static final Type STRING = new Type(value -> true, null, null, "a string"); //$NON-NLS-1$
+	static final Type STRINGS = list(STRING);
+
+	private static final Type LANGUAGE = enumeration("None", "Cpp", "C", "CSharp", "Java", "JavaScript", "Json", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+			"ObjC", "Proto", "TableGen", "TextProto", "Verilog"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+	// the predefined styles are matched ignoring the case:
+	private static final Set<String> STYLES = Set.of("llvm", "google", "chromium", "mozilla", "webkit", "gnu", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+			"microsoft", "clang-format", "inheritparentconfig", "none"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	private static final Type STYLE = new Type(value -> STYLES.contains(value.toLowerCase(Locale.ROOT)), null, null,
+			"one of LLVM, Google, Chromium, Mozilla, WebKit, GNU, Microsoft, InheritParentConfig, none"); //$NON-NLS-1$
+	private static final Type ALIGN_CONSECUTIVE = either(
+			enumeration("None", "Consecutive", "AcrossEmptyLines", "AcrossComments", "AcrossEmptyLinesAndComments", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+					"true", "false"), //$NON-NLS-1$ //$NON-NLS-2$
+			flags("Enabled", "AcrossEmptyLines", "AcrossComments", "AlignCompound", "AlignFunctionDeclarations", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+					"AlignFunctionPointers", "PadOperators")); //$NON-NLS-1$ //$NON-NLS-2$
+	private static final Type BREAK_AFTER_RETURN_TYPE = enumeration("None", "Automatic", "ExceptShortType", "All", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			"TopLevel", "AllDefinitions", "TopLevelDefinitions"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	private static final Type BREAK_TEMPLATE_DECLARATIONS = enumeration("Leave", "No", "MultiLine", "Yes", "true", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			"false"); //$NON-NLS-1$
+
+	/**
+	 * The types of the top-level options.
+	 */
+	static final Map<String, Type> OPTIONS = Map.ofEntries(//
+			entry("AccessModifierOffset", INT), //$NON-NLS-1$
+			entry("AlignAfterOpenBracket", enumeration("Align", "DontAlign", "AlwaysBreak", "BlockIndent")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			entry("AlignArrayOfStructures", enumeration("Left", "Right", "None")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			entry("AlignConsecutiveAssignments", ALIGN_CONSECUTIVE), //$NON-NLS-1$
+			entry("AlignConsecutiveBitFields", ALIGN_CONSECUTIVE), //$NON-NLS-1$
+			entry("AlignConsecutiveDeclarations", ALIGN_CONSECUTIVE), //$NON-NLS-1$
+			entry("AlignConsecutiveMacros", ALIGN_CONSECUTIVE), //$NON-NLS-1$
+			entry("AlignConsecutiveShortCaseStatements", //$NON-NLS-1$
+					flags("Enabled", "AcrossEmptyLines", "AcrossComments", "AlignCaseArrows", "AlignCaseColons")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			entry("AlignConsecutiveTableGenBreakingDAGArgColons", ALIGN_CONSECUTIVE), //$NON-NLS-1$
+			entry("AlignConsecutiveTableGenCondOperatorColons", ALIGN_CONSECUTIVE), //$NON-NLS-1$
+			entry("AlignConsecutiveTableGenDefinitionColons", ALIGN_CONSECUTIVE), //$NON-NLS-1$
+			entry("AlignEscapedNewlines", //$NON-NLS-1$
+					enumeration("DontAlign", "Left", "LeftWithLastLine", "Right", "true", "false")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+			entry("AlignOperands", enumeration("DontAlign", "Align", "AlignAfterOperator", "true", "false")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+			entry("AlignTrailingComments", either(BOOL, struct(//$NON-NLS-1$
+					entry("Kind", enumeration("Leave", "Always", "Never")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+					entry("OverEmptyLines", UNSIGNED), //$NON-NLS-1$
+					entry("AlignPPAndNotPP", BOOL)))), //$NON-NLS-1$
+			entry("AllowAllArgumentsOnNextLine", BOOL), //$NON-NLS-1$
+			entry("AllowAllConstructorInitializersOnNextLine", BOOL), //$NON-NLS-1$
+			entry("AllowAllParametersOfDeclarationOnNextLine", BOOL), //$NON-NLS-1$
+			entry("AllowBreakBeforeNoexceptSpecifier", enumeration("Never", "OnlyWithParen", "Always")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			entry("AllowShortBlocksOnASingleLine", enumeration("Never", "Empty", "Always", "true", "false")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+			entry("AllowShortCaseExpressionOnASingleLine", BOOL), //$NON-NLS-1$
+			entry("AllowShortCaseLabelsOnASingleLine", BOOL), //$NON-NLS-1$
+			entry("AllowShortCompoundRequirementOnASingleLine", BOOL), //$NON-NLS-1$
+			entry("AllowShortEnumsOnASingleLine", BOOL), //$NON-NLS-1$
+			entry("AllowShortFunctionsOnASingleLine", //$NON-NLS-1$
+					enumeration("None", "InlineOnly", "Empty", "Inline", "All", "true", "false")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+			entry("AllowShortIfStatementsOnASingleLine", //$NON-NLS-1$
+					enumeration("Never", "WithoutElse", "OnlyFirstIf", "AllIfsAndElse", "Always", "true", "false")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+			entry("AllowShortLambdasOnASingleLine", enumeration("None", "Empty", "Inline", "All", "true", "false")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+			entry("AllowShortLoopsOnASingleLine", BOOL), //$NON-NLS-1$
+			entry("AllowShortNamespacesOnASingleLine", BOOL), //$NON-NLS-1$
+			entry("AlwaysBreakAfterDefinitionReturnType", enumeration("None", "All", "TopLevel")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			entry("AlwaysBreakAfterReturnType", BREAK_AFTER_RETURN_TYPE), //$NON-NLS-1$
+			entry("AlwaysBreakBeforeMultilineStrings", BOOL), //$NON-NLS-1$
+			entry("AlwaysBreakTemplateDeclarations", BREAK_TEMPLATE_DECLARATIONS), //$NON-NLS-1$
+			entry("AttributeMacros", STRINGS), //$NON-NLS-1$
+			entry("BasedOnStyle", STYLE), //$NON-NLS-1$
+			entry("BinPackArguments", BOOL), //$NON-NLS-1$
+			entry("BinPackLongBracedList", BOOL), //$NON-NLS-1$
+			entry("BinPackParameters", enumeration("BinPack", "OnePerLine", "AlwaysOnePerLine", "true", "false")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+			entry("BitFieldColonSpacing", enumeration("Both", "None", "Before", "After")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			entry("BraceWrapping", struct(//$NON-NLS-1$
+					entry("AfterCaseLabel", BOOL), //$NON-NLS-1$
+					entry("AfterClass", BOOL), //$NON-NLS-1$
+					entry("AfterControlStatement", enumeration("Never", "MultiLine", "Always", "true", "false")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+					entry("AfterEnum", BOOL), //$NON-NLS-1$
+					entry("AfterExternBlock", BOOL), //$NON-NLS-1$
+					entry("AfterFunction", BOOL), //$NON-NLS-1$
+					entry("AfterNamespace", BOOL), //$NON-NLS-1$
+					entry("AfterObjCDeclaration", BOOL), //$NON-NLS-1$
+					entry("AfterStruct", BOOL), //$NON-NLS-1$
+					entry("AfterUnion", BOOL), //$NON-NLS-1$
+					entry("BeforeCatch", BOOL), //$NON-NLS-1$
+					entry("BeforeElse", BOOL), //$NON-NLS-1$
+					entry("BeforeLambdaBody", BOOL), //$NON-NLS-1$
+					entry("BeforeWhile", BOOL), //$NON-NLS-1$
+					entry("IndentBraces", BOOL), //$NON-NLS-1$
+					entry("SplitEmptyFunction", BOOL), //$NON-NLS-1$
+					entry("SplitEmptyRecord", BOOL), //$NON-NLS-1$
+					entry("SplitEmptyNamespace", BOOL))), //$NON-NLS-1$
+			entry("BracedInitializerIndentWidth", INT), //$NON-NLS-1$
+			entry("BreakAdjacentStringLiterals", BOOL), //$NON-NLS-1$
+			entry("BreakAfterAttributes", enumeration("Always", "Leave", "LeaveAll", "Never")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			entry("BreakAfterJavaFieldAnnotations", BOOL), //$NON-NLS-1$
+			entry("BreakAfterReturnType", BREAK_AFTER_RETURN_TYPE), //$NON-NLS-1$
+			entry("BreakArrays", BOOL), //$NON-NLS-1$
+			entry("BreakBeforeBinaryOperators", enumeration("None", "NonAssignment", "All", "true", "false")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+			entry("BreakBeforeBraces", enumeration("Attach", "Linux", "Mozilla", "Stroustrup", "Allman", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+					"Whitesmiths", "GNU", "WebKit", "Custom")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			entry("BreakBeforeConceptDeclarations", enumeration("Never", "Allowed", "Always", "true", "false")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+			entry("BreakBeforeInheritanceComma", BOOL), //$NON-NLS-1$
+			entry("BreakBeforeInlineASMColon", enumeration("Never", "OnlyMultiline", "Always")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			entry("BreakBeforeTemplateCloser", BOOL), //$NON-NLS-1$
+			entry("BreakBeforeTernaryOperators", BOOL), //$NON-NLS-1$
+			entry("BreakBinaryOperations", enumeration("Never", "OnePerLine", "RespectPrecedence")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			entry("BreakConstructorInitializers", enumeration("BeforeColon", "BeforeComma", "AfterColon")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			entry("BreakConstructorInitializersBeforeComma", BOOL), //$NON-NLS-1$
+			entry("BreakFunctionDefinitionParameters", BOOL), //$NON-NLS-1$
+			entry("BreakInheritanceList", enumeration("BeforeColon", "BeforeComma", "AfterColon", "AfterComma")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			entry("BreakStringLiterals", BOOL), //$NON-NLS-1$
+			entry("BreakTemplateDeclarations", BREAK_TEMPLATE_DECLARATIONS), //$NON-NLS-1$
+			entry("ColumnLimit", UNSIGNED), //$NON-NLS-1$
+			entry("CommentPragmas", STRING), //$NON-NLS-1$
+			entry("CompactNamespaces", BOOL), //$NON-NLS-1$
+			entry("ConstructorInitializerAllOnOneLineOrOnePerLine", BOOL), //$NON-NLS-1$
+			entry("ConstructorInitializerIndentWidth", UNSIGNED), //$NON-NLS-1$
+			entry("ContinuationIndentWidth", UNSIGNED), //$NON-NLS-1$
+			entry("Cpp11BracedListStyle", //$NON-NLS-1$
+					enumeration("Block", "FunctionCall", "AlignFirstComment", "true", "false")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			entry("DeriveLineEnding", BOOL), //$NON-NLS-1$
+			entry("DerivePointerAlignment", BOOL), //$NON-NLS-1$
+			entry("DisableFormat", BOOL), //$NON-NLS-1$
+			entry("EmptyLineAfterAccessModifier", enumeration("Never", "Leave", "Always")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			entry("EmptyLineBeforeAccessModifier", enumeration("Never", "Leave", "LogicalBlock", "Always")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			entry("EnumTrailingComma", enumeration("Leave", "Insert", "Remove")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			entry("ExperimentalAutoDetectBinPacking", BOOL), //$NON-NLS-1$
+			entry("FixNamespaceComments", BOOL), //$NON-NLS-1$
+			entry("ForEachMacros", STRINGS), //$NON-NLS-1$
+			entry("IfMacros", STRINGS), //$NON-NLS-1$
+			entry("IncludeBlocks", enumeration("Preserve", "Merge", "Regroup")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			entry("IncludeCategories", list(struct(//$NON-NLS-1$
+					entry("Regex", STRING), //$NON-NLS-1$
+					entry("Priority", INT), //$NON-NLS-1$
+					entry("SortPriority", INT), //$NON-NLS-1$
+					entry("CaseSensitive", BOOL)))), //$NON-NLS-1$
+			entry("IncludeIsMainRegex", STRING), //$NON-NLS-1$
+			entry("IncludeIsMainSourceRegex", STRING), //$NON-NLS-1$
+			entry("IndentAccessModifiers", BOOL), //$NON-NLS-1$
+			entry("IndentCaseBlocks", BOOL), //$NON-NLS-1$
+			entry("IndentCaseLabels", BOOL), //$NON-NLS-1$
+			entry("IndentExportBlock", BOOL), //$NON-NLS-1$
+			entry("IndentExternBlock", enumeration("AfterExternBlock", "NoIndent", "Indent", "true", "false")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+			entry("IndentGotoLabels", BOOL), //$NON-NLS-1$
+			entry("IndentPPDirectives", enumeration("None", "AfterHash", "BeforeHash", "Leave")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			entry("IndentRequires", BOOL), //$NON-NLS-1$
+			entry("IndentRequiresClause", BOOL), //$NON-NLS-1$
+			entry("IndentWidth", UNSIGNED), //$NON-NLS-1$
+			entry("IndentWrappedFunctionNames", BOOL), //$NON-NLS-1$
+			entry("InsertBraces", BOOL), //$NON-NLS-1$
+			entry("InsertNewlineAtEOF", BOOL), //$NON-NLS-1$
+			entry("InsertTrailingCommas", enumeration("None", "Wrapped")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			entry("IntegerLiteralSeparator", struct(//$NON-NLS-1$
+					entry("Binary", INT), //$NON-NLS-1$
+					entry("BinaryMinDigits", INT), //$NON-NLS-1$
+					entry("Decimal", INT), //$NON-NLS-1$
+					entry("DecimalMinDigits", INT), //$NON-NLS-1$
+					entry("Hex", INT), //$NON-NLS-1$
+					entry("HexMinDigits", INT))), //$NON-NLS-1$
+			entry("JavaImportGroups", STRINGS), //$NON-NLS-1$
+			entry("JavaScriptQuotes", enumeration("Leave", "Single", "Double")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			entry("JavaScriptWrapImports", BOOL), //$NON-NLS-1$
+			entry("KeepEmptyLines", flags("AtEndOfFile", "AtStartOfBlock", "AtStartOfFile")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			entry("KeepEmptyLinesAtEOF", BOOL), //$NON-NLS-1$
+			entry("KeepEmptyLinesAtTheStartOfBlocks", BOOL), //$NON-NLS-1$
+			entry("KeepFormFeed", BOOL), //$NON-NLS-1$
+			entry("LambdaBodyIndentation", enumeration("Signature", "OuterScope")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			entry("Language", LANGUAGE), //$NON-NLS-1$
+			entry("LineEnding", enumeration("LF", "CRLF", "DeriveLF", "DeriveCRLF")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			entry("MacroBlockBegin", STRING), //$NON-NLS-1$
+			entry("MacroBlockEnd", STRING), //$NON-NLS-1$
+			entry("Macros", STRINGS), //$NON-NLS-1$
+			entry("MacrosSkippedByRemoveParentheses", STRINGS), //$NON-NLS-1$
+			entry("MainIncludeChar", enumeration("Quote", "AngleBracket", "Any")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			entry("MaxEmptyLinesToKeep", UNSIGNED), //$NON-NLS-1$
+			entry("NamespaceIndentation", enumeration("None", "Inner", "All")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			entry("NamespaceMacros", STRINGS), //$NON-NLS-1$
+			entry("ObjCBinPackProtocolList", enumeration("Auto", "Always", "Never")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			entry("ObjCBlockIndentWidth", UNSIGNED), //$NON-NLS-1$
+			entry("ObjCBreakBeforeNestedBlockParam", BOOL), //$NON-NLS-1$
+			entry("ObjCPropertyAttributeOrder", STRINGS), //$NON-NLS-1$
+			entry("ObjCSpaceAfterProperty", BOOL), //$NON-NLS-1$
+			entry("ObjCSpaceBeforeProtocolList", BOOL), //$NON-NLS-1$
+			entry("OneLineFormatOffRegex", STRING), //$NON-NLS-1$
+			entry("PPIndentWidth", INT), //$NON-NLS-1$
+			entry("PackConstructorInitializers", //$NON-NLS-1$
+					enumeration("Never", "BinPack", "CurrentLine", "NextLine", "NextLineOnly")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			entry("PenaltyBreakAssignment", UNSIGNED), //$NON-NLS-1$
+			entry("PenaltyBreakBeforeFirstCallParameter", UNSIGNED), //$NON-NLS-1$
+			entry("PenaltyBreakBeforeMemberAccess", UNSIGNED), //$NON-NLS-1$
+			entry("PenaltyBreakComment", UNSIGNED), //$NON-NLS-1$
+			entry("PenaltyBreakFirstLessLess", UNSIGNED), //$NON-NLS-1$
+			entry("PenaltyBreakOpenParenthesis", UNSIGNED), //$NON-NLS-1$
+			entry("PenaltyBreakScopeResolution", UNSIGNED), //$NON-NLS-1$
+			entry("PenaltyBreakString", UNSIGNED), //$NON-NLS-1$
+			entry("PenaltyBreakTemplateDeclaration", UNSIGNED), //$NON-NLS-1$
+			entry("PenaltyExcessCharacter", UNSIGNED), //$NON-NLS-1$
+			entry("PenaltyIndentedWhitespace", UNSIGNED), //$NON-NLS-1$
+			entry("PenaltyReturnTypeOnItsOwnLine", UNSIGNED), //$NON-NLS-1$
+			entry("PointerAlignment", enumeration("Left", "Right", "Middle")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			entry("QualifierAlignment", enumeration("Leave", "Left", "Right", "Custom")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			entry("QualifierOrder", STRINGS), //$NON-NLS-1$
+			entry("RawStringFormats", list(struct(//$NON-NLS-1$
+					entry("Language", LANGUAGE), //$NON-NLS-1$
+					entry("Delimiters", STRINGS), //$NON-NLS-1$
+					entry("EnclosingFunctions", STRINGS), //$NON-NLS-1$
+					entry("CanonicalDelimiter", STRING), //$NON-NLS-1$
+					entry("BasedOnStyle", STYLE)))), //$NON-NLS-1$
+			entry("ReferenceAlignment", enumeration("Pointer", "Left", "Right", "Middle")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			entry("ReflowComments", enumeration("Never", "IndentOnly", "Always", "true", "false")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+			entry("RemoveBracesLLVM", BOOL), //$NON-NLS-1$
+			entry("RemoveEmptyLinesInUnwrappedLines", BOOL), //$NON-NLS-1$
+			entry("RemoveParentheses", enumeration("Leave", "MultipleParentheses", "ReturnStatement")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			entry("RemoveSemicolon", BOOL), //$NON-NLS-1$
+			entry("RequiresClausePosition", enumeration("OwnLine", "OwnLineWithBrace", "WithPreceding", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+					"WithFollowing", "SingleLine")), //$NON-NLS-1$ //$NON-NLS-2$
+			entry("RequiresExpressionIndentation", enumeration("OuterScope", "Keyword")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			entry("SeparateDefinitionBlocks", enumeration("Leave", "Always", "Never")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			entry("ShortNamespaceLines", UNSIGNED), //$NON-NLS-1$
+			entry("SkipMacroDefinitionBody", BOOL), //$NON-NLS-1$
+			entry("SortIncludes", either( //$NON-NLS-1$
+					enumeration("CaseSensitive", "CaseInsensitive", "Never", "true", "false"), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+					flags("Enabled", "IgnoreCase", "IgnoreExtension"))), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			entry("SortJavaStaticImport", enumeration("Before", "After")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			entry("SortUsingDeclarations", //$NON-NLS-1$
+					enumeration("Never", "Lexicographic", "LexicographicNumeric", "true", "false")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			entry("SpaceAfterCStyleCast", BOOL), //$NON-NLS-1$
+			entry("SpaceAfterLogicalNot", BOOL), //$NON-NLS-1$
+			entry("SpaceAfterOperatorKeyword", BOOL), //$NON-NLS-1$
+			entry("SpaceAfterTemplateKeyword", BOOL), //$NON-NLS-1$
+			entry("SpaceAroundPointerQualifiers", enumeration("Default", "Before", "After", "Both")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			entry("SpaceBeforeAssignmentOperators", BOOL), //$NON-NLS-1$
+			entry("SpaceBeforeCaseColon", BOOL), //$NON-NLS-1$
+			entry("SpaceBeforeCpp11BracedList", BOOL), //$NON-NLS-1$
+			entry("SpaceBeforeCtorInitializerColon", BOOL), //$NON-NLS-1$
+			entry("SpaceBeforeInheritanceColon", BOOL), //$NON-NLS-1$
+			entry("SpaceBeforeJsonColon", BOOL), //$NON-NLS-1$
+			entry("SpaceBeforeParens", enumeration("Never", "ControlStatements", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					"ControlStatementsExceptControlMacros", "NonEmptyParentheses", "Always", "Custom", "true", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+					"false")), //$NON-NLS-1$
+			entry("SpaceBeforeParensOptions", flags("AfterControlStatements", "AfterForeachMacros", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					"AfterFunctionDeclarationName", "AfterFunctionDefinitionName", "AfterIfMacros", "AfterNot", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+					"AfterOverloadedOperator", "AfterPlacementOperator", "AfterRequiresInClause", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					"AfterRequiresInExpression", "BeforeNonEmptyParentheses")), //$NON-NLS-1$ //$NON-NLS-2$
+			entry("SpaceBeforeRangeBasedForLoopColon", BOOL), //$NON-NLS-1$
+			entry("SpaceBeforeSquareBrackets", BOOL), //$NON-NLS-1$
+			entry("SpaceInEmptyBlock", BOOL), //$NON-NLS-1$
+			entry("SpaceInEmptyParentheses", BOOL), //$NON-NLS-1$
+			entry("SpacesBeforeTrailingComments", UNSIGNED), //$NON-NLS-1$
+			entry("SpacesInAngles", enumeration("Never", "Always", "Leave", "true", "false")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$
+			entry("SpacesInCStyleCastParentheses", BOOL), //$NON-NLS-1$
+			entry("SpacesInConditionalStatement", BOOL), //$NON-NLS-1$
+			entry("SpacesInContainerLiterals", BOOL), //$NON-NLS-1$
+			entry("SpacesInLineCommentPrefix", struct(//$NON-NLS-1$
+					entry("Minimum", UNSIGNED), //$NON-NLS-1$
+					entry("Maximum", INT))), //$NON-NLS-1$
+			entry("SpacesInParens", enumeration("Never", "Custom")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			entry("SpacesInParensOptions", flags("ExceptDoubleParentheses", "InConditionalStatements", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					"InCStyleCasts", "InEmptyParentheses", "Other")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			entry("SpacesInParentheses", BOOL), //$NON-NLS-1$
+			entry("SpacesInSquareBrackets", BOOL), //$NON-NLS-1$
+			entry("Standard", enumeration("c++03", "c++11", "c++14", "c++17", "c++20", "Cpp03", "Cpp11", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$
+					"Cpp14", "Cpp17", "Cpp20", "Latest", "Auto")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$
+			entry("StatementAttributeLikeMacros", STRINGS), //$NON-NLS-1$
+			entry("StatementMacros", STRINGS), //$NON-NLS-1$
+			entry("TabWidth", UNSIGNED), //$NON-NLS-1$
+			entry("TableGenBreakInsideDAGArg", enumeration("DontBreak", "BreakElements", "BreakAll")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			entry("TableGenBreakingDAGArgOperators", STRINGS), //$NON-NLS-1$
+			entry("TemplateNames", STRINGS), //$NON-NLS-1$
+			entry("TypeNames", STRINGS), //$NON-NLS-1$
+			entry("TypenameMacros", STRINGS), //$NON-NLS-1$
+			entry("UseCRLF", BOOL), //$NON-NLS-1$
+			entry("UseTab", enumeration("Never", "ForIndentation", "ForContinuationAndIndentation", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+					"AlignWithSpaces", "Always", "true", "false")), //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			entry("VariableTemplates", STRINGS), //$NON-NLS-1$
+			entry("VerilogBreakBetweenInstancePorts", BOOL), //$NON-NLS-1$
+			entry("WhitespaceSensitiveMacros", STRINGS), //$NON-NLS-1$
+			entry("WrapNamespaceBodyWithEmptyLines", enumeration("Never", "Always", "Leave"))); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+	private ClangFormatSchema() {
+	}
+
+	private static Type enumeration(String... values) {
+		return new Type(Set.of(values)::contains, null, null, "one of " + String.join(", ", values)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static Type list(Type element) {
+		return new Type(null, null, element, "a sequence"); //$NON-NLS-1$
+	}
+
+	@SafeVarargs
+	private static Type struct(Map.Entry<String, Type>... fields) {
+		var map = new LinkedHashMap<String, Type>();
+		for (var field : fields) {
+			map.put(field.getKey(), field.getValue());
+		}
+		return new Type(null, map, null, "a mapping"); //$NON-NLS-1$
+	}
+
+	private static Type flags(String... names) {
+		var map = new LinkedHashMap<String, Type>();
+		for (var name : names) {
+			map.put(name, BOOL);
+		}
+		return new Type(null, map, null, "a mapping"); //$NON-NLS-1$
+	}
+
+	// values which are given either as scalar or, with more details, as mapping:
+	private static Type either(Type scalar, Type mapping) {
+		return new Type(scalar.scalar(), mapping.fields(), null, scalar.expected() + " or a mapping"); //$NON-NLS-1$
+	}
+}
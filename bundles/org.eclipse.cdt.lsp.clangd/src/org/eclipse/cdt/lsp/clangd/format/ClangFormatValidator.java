@@ -12,12 +12,15 @@
 
 package org.eclipse.cdt.lsp.clangd.format;
 
-import java.io.BufferedReader;
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStreamReader;
+import java.time.Duration;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
 
+import org.eclipse.cdt.lsp.clangd.internal.config.ClangdCheckService;
+import org.eclipse.cdt.lsp.clangd.internal.config.ClangdCheckService.Output;
 import org.eclipse.cdt.lsp.clangd.plugin.ClangdPlugin;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IMarker;
@@ -33,48 +36,55 @@ public class ClangFormatValidator {
 	private static final String group2 = "$2"; //$NON-NLS-1$
 	private static final String group3 = "$3"; //$NON-NLS-1$
 	private static final String group7 = "$7"; //$NON-NLS-1$
+	// clangd loads the compilation database of the folder, which takes longer than checking the options:
+	private static final Duration CHECK_TIMEOUT = Duration.ofSeconds(30);
 	private final RegexMarkerPattern pattern = new RegexMarkerPattern(ClangFormatError, group1, group2, group3, group7,
 			IMarker.SEVERITY_ERROR, CLANG_FORMAT_MARKER);
 
+	/**
+	 * Validates the file with the given clangd command line and waits for the result.
+	 *
+	 * @see #validate(List, IFile)
+	 */
 	public void validateFile(List<String> commandLine, IFile clangFormatFile) throws IOException {
+		try {
+			validate(commandLine, clangFormatFile).get();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException io) {
+				throw io;
+			}
+			Platform.getLog(getClass()).error(e.getCause().getMessage(), e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			Platform.getLog(getClass()).error(e.getMessage(), e);
+		}
+	}
+
+	/**
+	 * Queues the validation of the file with the given clangd command line on the {@link ClangdCheckService}. The
+	 * markers are replaced while clangd reports the errors.
+	 *
+	 * @param commandLine the command line of <code>clangd --check</code>
+	 * @param clangFormatFile the <code>.clang-format</code> file to add the markers to
+	 * @return the exit value of clangd, cancelling the future destroys the clangd process
+	 */
+	public CompletableFuture<Integer> validate(List<String> commandLine, IFile clangFormatFile) {
 		var fileDocument = LSPEclipseUtils.getDocument(clangFormatFile);
 		if (fileDocument == null) {
-			return;
+			return CompletableFuture.completedFuture(0);
 		}
 		File directory = null;
 		if (clangFormatFile.getParent() != null && clangFormatFile.getParent().getLocation() != null) {
 			directory = clangFormatFile.getParent().getLocation().toFile();
 		}
-		// Startup the command
-		ProcessBuilder processBuilder = new ProcessBuilder(commandLine).directory(directory);
-		Process process = processBuilder.start();
-
 		//remove existing marker first:
 		try {
 			clangFormatFile.deleteMarkers(CLANG_FORMAT_MARKER, false, IResource.DEPTH_ZERO);
 		} catch (CoreException e) {
 			Platform.getLog(getClass()).error(e.getMessage(), e);
 		}
-
-		Thread clangdStderrReaderThread = new Thread("Clangd Format Validator") { //$NON-NLS-1$
-			@Override
-			public void run() {
-				try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getErrorStream()))) {
-					for (String line = reader.readLine(); line != null; line = reader.readLine()) {
-						pattern.processLine(line, clangFormatFile, fileDocument);
-					}
-				} catch (IOException e) {
-					Platform.getLog(getClass()).error(e.getMessage(), e);
-				}
-			}
-		};
-		clangdStderrReaderThread.start();
-		try {
-			clangdStderrReaderThread.join();
-			process.waitFor();
-		} catch (InterruptedException e) {
-			Platform.getLog(getClass()).error(e.getMessage(), e);
-		}
+		return ClangdCheckService.getDefault().submit(commandLine, directory, Output.STDERR,
+				line -> pattern.processLine(line, clangFormatFile, fileDocument), CHECK_TIMEOUT);
 	}
 
 }
@@ -92,20 +92,12 @@ public final class ClangFormatFileHandler implements ClangFormatFile {
 	}
 
 	private IFileStore findClangFormatFileInParentFolders(IProject project) {
-		IFileStore currentDirStore = EFS.getLocalFileSystem().getStore(project.getLocation());
-		IFileStore clangFormatFileStore = currentDirStore.getChild(ClangFormatFileMonitor.CLANG_FORMAT_FILE);
-
-		while (!clangFormatFileStore.fetchInfo().exists() && currentDirStore.getParent() != null
-				&& currentDirStore.getParent().fetchInfo().exists()) {
-			// move up one level to the parent directory and check again
-			currentDirStore = currentDirStore.getParent();
-			clangFormatFileStore = currentDirStore.getChild(ClangFormatFileMonitor.CLANG_FORMAT_FILE);
-		}
-
-		if (clangFormatFileStore.fetchInfo().exists()) {
-			return clangFormatFileStore;
+		var location = project.getLocation();
+		if (location == null) {
+			return null;
 		}
-		return null;
+		return ConfigFileLocator.findNearest(location.toPath(), ClangFormatFileMonitor.CLANG_FORMAT_FILE)
+				.map(path -> EFS.getLocalFileSystem().getStore(path.toUri())).orElse(null);
 	}
 
 	private IStatus createFileFromResource(IFile formatFile) {
@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.clangd.internal.config;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+import org.eclipse.cdt.lsp.clangd.plugin.ClangdPlugin;
+
+/**
+ * Runs short-lived clangd processes, like <code>clangd --check</code> or <code>clangd --version</code>, on a bounded
+ * pool of worker threads. The queued runs are processed in parallel, up to the number of workers, so that e.g. the
+ * <code>.clang-format</code> files changed by a checkout are checked at the same time instead of one after another.
+ * <p>
+ * The worker which started a process reads its output, the other output of the process is discarded. A process is
+ * destroyed when its run times out or is cancelled. The timeout starts with the process, so a run does not time out
+ * while it waits for a worker.
+ * </p>
+ */
+public final class ClangdCheckService {
+	/**
+	 * The timeout of a run, unless a caller needs another one.
+	 */
+	public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+
+	private static final long KEEP_ALIVE_SECONDS = 30;
+	private static ClangdCheckService fallback;
+
+	private final ThreadPoolExecutor executor;
+	private final Set<CompletableFuture<Integer>> runs = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * The output of the process to read.
+	 */
+	public enum Output {
+		STDOUT, STDERR
+	}
+
+	/**
+	 * Creates a service with a worker per two processors, but not more than four, since every clangd process loads
+	 * the compilation database of the checked file.
+	 */
+	public ClangdCheckService() {
+		this(Math.clamp(Runtime.getRuntime().availableProcessors() / 2, 1, 4));
+	}
+
+	/**
+	 * @param workers the maximum number of processes to run at the same time
+	 */
+	public ClangdCheckService(int workers) {
+		executor = new ThreadPoolExecutor(workers, workers, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+				new LinkedBlockingQueue<>(), runnable -> {
+					var thread = new Thread(runnable, "CDT clangd check worker"); //$NON-NLS-1$
+					thread.setDaemon(true);
+					return thread;
+				});
+		// no idle threads between the bursts of checks:
+		executor.allowCoreThreadTimeOut(true);
+	}
+
+	/**
+	 * Returns the shared service of the plug-in, or a service of its own when the plug-in is not active.
+	 *
+	 * @return the shared check service
+	 */
+	public static synchronized ClangdCheckService getDefault() {
+		var plugin = ClangdPlugin.getDefault();
+		if (plugin != null) {
+			return plugin.getCheckService();
+		}
+		if (fallback == null) {
+			fallback = new ClangdCheckService();
+		}
+		return fallback;
+	}
+
+	/**
+	 * Queues a run of a clangd process.
+	 *
+	 * @param commandLine the command line of the process
+	 * @param directory the working directory of the process, <code>null</code> for the current directory
+	 * @param output the output to read
+	 * @param lines is called with the lines of the output, in the thread of the worker
+	 * @param timeout the time after which the process is destroyed, counted from the start of the process
+	 * @return the exit value of the process. The future completes exceptionally with a {@link TimeoutException} when
+	 *         the process is destroyed after the timeout, or with an {@link IOException} when it cannot be started.
+	 *         Cancelling the future destroys the process.
+	 */
+	public CompletableFuture<Integer> submit(List<String> commandLine, File directory, Output output,
+			Consumer<String> lines, Duration timeout) {
+		var result = new CompletableFuture<Integer>();
+		var process = new AtomicReference<Process>();
+		runs.add(result);
+		result.whenComplete((exit, e) -> {
+			runs.remove(result);
+			// timed out or cancelled, a process which has exited is not affected:
+			var started = process.get();
+			if (started != null) {
+				started.destroyForcibly();
+			}
+		});
+		var builder = new ProcessBuilder(commandLine).directory(directory);
+		if (output == Output.STDOUT) {
+			builder.redirectError(ProcessBuilder.Redirect.DISCARD);
+		} else {
+			builder.redirectOutput(ProcessBuilder.Redirect.DISCARD);
+		}
+		try {
+			executor.execute(() -> run(builder, output, lines, timeout, result, process));
+		} catch (RejectedExecutionException e) {
+			result.completeExceptionally(e);
+		}
+		return result;
+	}
+
+	private void run(ProcessBuilder builder, Output output, Consumer<String> lines, Duration timeout,
+			CompletableFuture<Integer> result, AtomicReference<Process> reference) {
+		if (result.isDone()) {
+			// cancelled or timed out while queued
+			return;
+		}
+		Process process;
+		try {
+			process = builder.start();
+		} catch (IOException e) {
+			result.completeExceptionally(e);
+			return;
+		}
+		reference.set(process);
+		var watchdog = CompletableFuture.runAsync(() -> result.completeExceptionally(new TimeoutException(
+				"clangd did not finish within " + timeout.toMillis() + " ms: " + builder.command())), //$NON-NLS-1$ //$NON-NLS-2$
+				CompletableFuture.delayedExecutor(timeout.toMillis(), TimeUnit.MILLISECONDS));
+		result.whenComplete((exit, e) -> watchdog.cancel(false));
+		if (result.isDone()) {
+			// completed while the process was started, before the reference was set:
+			process.destroyForcibly();
+		}
+		var stream = output == Output.STDOUT ? process.getInputStream() : process.getErrorStream();
+		try (var reader = new BufferedReader(new InputStreamReader(stream))) {
+			for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+				lines.accept(line);
+			}
+			result.complete(process.waitFor());
+		} catch (IOException e) {
+			// the stream is closed when the process is destroyed
+			result.completeExceptionally(e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			result.completeExceptionally(e);
+		} catch (RuntimeException e) {
+			result.completeExceptionally(e);
+		}
+	}
+
+	/**
+	 * Cancels the queued runs and destroys the running processes.
+	 */
+	public void shutdown() {
+		executor.shutdownNow();
+		runs.forEach(run -> run.cancel(false));
+	}
+
+}
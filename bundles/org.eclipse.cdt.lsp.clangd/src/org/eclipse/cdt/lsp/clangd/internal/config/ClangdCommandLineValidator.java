@@ -12,21 +12,18 @@
 
 package org.eclipse.cdt.lsp.clangd.internal.config;
 
-import java.io.BufferedReader;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.concurrent.TimeUnit;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import org.eclipse.cdt.lsp.clangd.IClangdCommandLineValidator;
+import org.eclipse.cdt.lsp.clangd.internal.config.ClangdCheckService.Output;
 import org.eclipse.cdt.lsp.clangd.plugin.ClangdPlugin;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
@@ -40,36 +37,47 @@ import org.osgi.service.component.annotations.Component;
  */
 @Component(property = { "service.ranking:Integer=0" })
 public final class ClangdCommandLineValidator implements IClangdCommandLineValidator {
-	private static final String CLANGD_VERSION_PATTERN = ".*clangd\\s+version\\s+(\\d+\\.)?(\\d+\\.)?(\\*|\\d+).*"; //$NON-NLS-1$
-	private final Pattern pattern = Pattern.compile(CLANGD_VERSION_PATTERN);
-	private static final String major = "$1"; //$NON-NLS-1$
-	Path tempFile = null;
-
 	private interface IClangdChecker {
 		IStatus getResult();
 	}
 
 	@Override
 	public IStatus validateCommandLineOptions(final List<String> commands) {
+		var plugin = ClangdPlugin.getDefault();
+		var cache = plugin != null ? plugin.getValidationCache() : null;
+		var key = cache != null ? ClangdValidationCache.key(commands) : Optional.<String>empty();
+		// the cache is not null when there is a key:
+		var cached = key.flatMap(k -> cache.get(k));
+		if (cached.isPresent()) {
+			var result = cached.get();
+			return result.severity() == IStatus.OK ? Status.OK_STATUS
+					: new Status(result.severity(), ClangdPlugin.PLUGIN_ID, result.message());
+		}
+		var executable = commands.getFirst();
+		var status = validate(commands);
+		// timeouts and processes which could not be started may succeed at the next start, they are not cached:
+		if (key.isPresent()
+				&& (status.isOK() || status.getSeverity() == IStatus.ERROR && status.getException() == null)) {
+			cache.put(key.get(), new ClangdValidationCache.Result(status.getSeverity(),
+					ClangdFeatures.getDefault().majorVersionOf(executable).orElse(0), status.getMessage()));
+		}
+		return status;
+	}
+
+	private IStatus validate(final List<String> commands) {
 		var result = supportsValidation(commands.getFirst());
 		if (!result.isOK()) {
 			return result;
 		}
+		var tempFile = createTempCFile();
 		try {
-			return createTempCFile() //
+			return tempFile //
 					.map(temp -> this.getValidationCommands(temp, commands)) //
-					.map(this::getProcessBuilder) //
-					.map(pb -> {
-						try {
-							var process = pb.start();
-							return getProcessResult(process, process.getErrorStream(), new OptionsChecker(),
-									new StringBuilder("Validate clangd command line options")); //$NON-NLS-1$
-						} catch (IOException e) {
-							return new Status(IStatus.ERROR, ClangdPlugin.PLUGIN_ID, e.getMessage(), e);
-						}
-					}).orElse(Status.OK_STATUS);
+					.map(cmd -> getProcessResult(cmd, Output.STDERR, new OptionsChecker(),
+							new StringBuilder("Validate clangd command line options"))) //$NON-NLS-1$
+					.orElse(Status.OK_STATUS);
 		} finally {
-			deleteTempCFile();
+			tempFile.ifPresent(this::deleteTempCFile);
 		}
 	}
 
@@ -81,42 +89,27 @@ public final class ClangdCommandLineValidator implements IClangdCommandLineValid
 		var commands = new ArrayList<String>(2);
 		commands.add(clangdBinaryPath);
 		commands.add("--version"); //$NON-NLS-1$
-		return Optional.ofNullable(getProcessBuilder(commands)).map(pb -> {
-			try {
-				var process = pb.start();
-				return getProcessResult(process, process.getInputStream(), new VersionChecker(),
-						new StringBuilder("Check clangd version")); //$NON-NLS-1$
-			} catch (IOException e) {
-				return new Status(IStatus.ERROR, ClangdPlugin.PLUGIN_ID, e.getMessage(), e);
-			}
-		}).orElse(new Status(IStatus.ERROR, ClangdPlugin.PLUGIN_ID,
-				"Cannot determine if clangd command line validation is supported")); //$NON-NLS-1$
+		return getProcessResult(commands, Output.STDOUT, new VersionChecker(),
+				new StringBuilder("Check clangd version")); //$NON-NLS-1$
 	}
 
 	private Optional<Path> createTempCFile() {
 		try {
-			tempFile = Files.createTempFile("dummy", ".c"); //$NON-NLS-1$ //$NON-NLS-2$
-			return Optional.of(tempFile);
+			return Optional.of(Files.createTempFile("dummy", ".c")); //$NON-NLS-1$ //$NON-NLS-2$
 		} catch (IOException e) {
 			Platform.getLog(getClass()).error(e.getMessage(), e);
 		}
 		return Optional.empty();
 	}
 
-	private void deleteTempCFile() {
+	private void deleteTempCFile(Path tempFile) {
 		try {
-			if (tempFile != null) {
-				Files.deleteIfExists(tempFile);
-			}
+			Files.deleteIfExists(tempFile);
 		} catch (IOException e) {
 			Platform.getLog(getClass()).error(e.getMessage(), e);
 		}
 	}
 
-	private ProcessBuilder getProcessBuilder(final List<String> commands) {
-		return commands.isEmpty() ? null : new ProcessBuilder(commands);
-	}
-
 	private List<String> getValidationCommands(final Path tempFile, final List<String> commands) {
 		if (commands.isEmpty()) {
 			return commands;
@@ -126,48 +119,30 @@ public final class ClangdCommandLineValidator implements IClangdCommandLineValid
 		return commands;
 	}
 
-	private IStatus getProcessResult(final Process process, final InputStream inputStream,
-			final Consumer<String> consumer, final StringBuilder description) {
-		var readerThread = getReaderThread("CDT clangd version check", inputStream, consumer); //$NON-NLS-1$
-		readerThread.start();
+	/**
+	 * Runs the process on the {@link ClangdCheckService} and waits for its result.
+	 */
+	private <C extends Consumer<String> & IClangdChecker> IStatus getProcessResult(final List<String> commands,
+			final Output output, final C checker, final StringBuilder description) {
+		var run = ClangdCheckService.getDefault().submit(commands, null, output, checker,
+				ClangdCheckService.DEFAULT_TIMEOUT);
 		try {
-			var exited = process.waitFor(5000, TimeUnit.MILLISECONDS);
-			if (exited && consumer instanceof IClangdChecker validator) {
-				return validator.getResult();
-			} else {
-				if (!exited) {
-					process.destroyForcibly();
-				}
-				//handle timeout:
-				description.append(": process timeout or consumer is not a instance of IClangdValidator!"); //$NON-NLS-1$
+			run.get();
+			return checker.getResult();
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof TimeoutException) {
+				description.append(": process timeout"); //$NON-NLS-1$
 				return new Status(IStatus.WARNING, ClangdPlugin.PLUGIN_ID, description.toString());
 			}
+			return new Status(IStatus.ERROR, ClangdPlugin.PLUGIN_ID, e.getCause().getMessage(), e.getCause());
 		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			run.cancel(false);
 			Platform.getLog(getClass()).error(e.getMessage(), e);
 			return new Status(IStatus.WARNING, ClangdPlugin.PLUGIN_ID, description.toString());
 		}
 	}
 
-	private Thread getReaderThread(final String threadName, final InputStream stderr,
-			final Consumer<String> validator) {
-		return new Thread(threadName) {
-			@Override
-			public void run() {
-				if (stderr == null) {
-					Platform.getLog(getClass()).error("input stream is null!"); //$NON-NLS-1$
-					return;
-				}
-				try (BufferedReader reader = new BufferedReader(new InputStreamReader(stderr))) {
-					for (String line = reader.readLine(); line != null; line = reader.readLine()) {
-						validator.accept(line);
-					}
-				} catch (IOException e) {
-					Platform.getLog(getClass()).error(e.getMessage(), e);
-				}
-			}
-		};
-	}
-
 	private class OptionsChecker implements Consumer<String>, IClangdChecker {
 		private static final String CLANGD_ERROR_PATTERN = ".*(?<!\\.)clangd(.exe)?\s*:.+"; //$NON-NLS-1$
 		private final String ls = System.lineSeparator();
@@ -199,9 +174,11 @@ public final class ClangdCommandLineValidator implements IClangdCommandLineValid
 
 		@Override
 		public void accept(String line) {
-			if (versionOK(line)) {
-				result = Status.OK_STATUS;
-			}
+			ClangdFeatures.majorVersion(line).ifPresent(majorVersion -> {
+				if (majorVersion >= 12) {
+					result = Status.OK_STATUS;
+				}
+			});
 		}
 
 		@Override
@@ -211,26 +188,4 @@ public final class ClangdCommandLineValidator implements IClangdCommandLineValid
 
 	}
 
-	private boolean versionOK(String line) {
-		var matcher = pattern.matcher(line);
-		if (!matcher.matches()) {
-			return false;
-		}
-		return majorVersionOK(matcher, major, line);
-	}
-
-	private boolean majorVersionOK(Matcher matcher, String majorExpression, String line) {
-		try {
-			// Note: the dot replacement is due to the regex grouping of the patterns:
-			var majorVersion = matcher.replaceAll(majorExpression).replace('.', ' ').trim();
-			if (!majorVersion.isBlank()) {
-				return Integer.parseInt(majorVersion) >= 12;
-			}
-		} catch (NumberFormatException e) {
-			// there must be bug in the pattern or group definition:
-			Platform.getLog(getClass()).error("Cannot parse clangd major version number from line: " + line); //$NON-NLS-1$+
-		}
-		return false;
-	}
-
 }
@@ -13,26 +13,22 @@
 
 package org.eclipse.cdt.lsp.clangd.internal.config;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.LinkedHashSet;
 import java.util.Optional;
 import java.util.Set;
 
 import org.eclipse.cdt.core.CCorePlugin;
-import org.eclipse.cdt.core.CProjectNature;
 import org.eclipse.cdt.core.settings.model.CProjectDescriptionEvent;
 import org.eclipse.cdt.core.settings.model.ICProjectDescriptionListener;
 import org.eclipse.cdt.lsp.clangd.ClangdCProjectDescriptionListener;
 import org.eclipse.cdt.lsp.clangd.ClangdCompilationDatabaseProvider;
 import org.eclipse.cdt.lsp.clangd.ClangdCompilationDatabaseSettings;
-import org.eclipse.core.resources.IFile;
+import org.eclipse.cdt.lsp.clangd.internal.config.ResourceChangeDispatcher.Changes;
+import org.eclipse.cdt.lsp.clangd.internal.config.ResourceChangeDispatcher.Subscription;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceChangeEvent;
-import org.eclipse.core.resources.IResourceChangeListener;
-import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.WorkspaceJob;
-import org.eclipse.core.runtime.CoreException;
-import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.ServiceCaller;
 
 /**
@@ -40,6 +36,11 @@ import org.eclipse.core.runtime.ServiceCaller;
  */
 public class ClangdCompilationDatabaseSetter extends ClangdCompilationDatabaseSetterBase {
 	private static final String COMPILE_COMMANDS_JSON = "compile_commands.json"; //$NON-NLS-1$
+	/**
+	 * The names and extensions of the settings files, whose changes are dispatched after a build.
+	 */
+	public static final Set<String> SETTINGS_FILE_NAMES = Set.of(COMPILE_COMMANDS_JSON, CLANGD_CONFIG_FILE_NAME);
+	public static final Set<String> SETTINGS_FILE_EXTENSIONS = Set.of("prefs"); //$NON-NLS-1$
 
 	private final ServiceCaller<ClangdCompilationDatabaseSettings> settings = new ServiceCaller<>(getClass(),
 			ClangdCompilationDatabaseSettings.class);
@@ -61,14 +62,8 @@ public class ClangdCompilationDatabaseSetter extends ClangdCompilationDatabaseSe
 	};
 
 	// Handles Cmake and Meson projects:
-	private final IResourceChangeListener postBuildListener = new IResourceChangeListener() {
-
-		@Override
-		public void resourceChanged(IResourceChangeEvent event) {
-			resourceChangedHandler(event);
-		}
-
-	};
+	private ResourceChangeDispatcher dispatcher;
+	private Subscription postBuildSubscription;
 
 	@SuppressWarnings("unchecked")
 	public Optional<WorkspaceJob> cProjectDescriptionEventHandler(CProjectDescriptionEvent event) {
@@ -88,66 +83,49 @@ public class ClangdCompilationDatabaseSetter extends ClangdCompilationDatabaseSe
 	}
 
 	@SuppressWarnings("unchecked")
-	public Optional<WorkspaceJob> resourceChangedHandler(IResourceChangeEvent event) {
+	public Optional<WorkspaceJob> resourceChangedHandler(Changes changes) {
 		Optional<WorkspaceJob>[] jobs = new Optional[1];
 		jobs[0] = Optional.empty();
-		if (event.getDelta() != null) {
-			for (var project : collectAffectedProjects(event)) {
-				if (isSetCompilationDatabaseEnabled(project)) {
-					clangdCompilationDatabaseProvider.call(provider -> {
-						jobs[0] = provider.getCompilationDatabasePath(event, project)
-								.map(path -> setCompilationDatabase(project, path));
-					});
-				}
+		for (var project : collectAffectedProjects(changes)) {
+			if (isSetCompilationDatabaseEnabled(project)) {
+				clangdCompilationDatabaseProvider.call(provider -> {
+					jobs[0] = provider.getCompilationDatabasePath(changes.event(), project)
+							.map(path -> setCompilationDatabase(project, path));
+				});
 			}
 		}
 		return jobs[0]; // return job for unit testing to allow tests to wait for the asynchronous job to be finished.
 	}
 
 	/**
-	 * Collects a list of accessible C/C++ projects for which the active/selected build configuration, compile_commands.json or .clangd has been modified.
-	 * @param event
+	 * Collects the accessible C/C++ projects which have either a changed compile_commands.json, .clangd or .prefs file,
+	 * or no changed files at all, e.g. when the active build configuration has been changed. The dispatcher has skipped
+	 * the other projects by the {@link ResourceChangeDispatcher#inCProject(IResource) scope} of the subscription
+	 * already, so the nature is checked once per project instead of once per changed file.
+	 * @param changes the settings files and the projects without changed files of a post-build event
 	 * @return Set of projects with changed settings or compile_commands.json
 	 */
-	private Set<IProject> collectAffectedProjects(IResourceChangeEvent event) {
-		Map<IProject, Boolean> projectsMap = new HashMap<>(); // holds information whether the project can be removed from resulting Set: true == project is removable from Set
-		try {
-			event.getDelta().accept(delta -> {
-				if (delta.getResource() instanceof IProject project && project.isAccessible()
-						&& project.hasNature(CProjectNature.C_NATURE_ID)) {
-					projectsMap.put(project, true);
-				} else if (delta.getResource() instanceof IFile file && file.getProject() != null
-						&& file.getProject().isAccessible()
-						&& file.getProject().hasNature(CProjectNature.C_NATURE_ID)) {
-					if (COMPILE_COMMANDS_JSON.contentEquals(file.getName()) || ".clangd".contentEquals(file.getName()) //$NON-NLS-1$
-							|| (file.getFileExtension() != null && "prefs".contentEquals(file.getFileExtension()))) { //$NON-NLS-1$
-						projectsMap.put(file.getProject(), false); // do not remove from resulting map
-					} else {
-						// do NOT remove if the compile_commands.json, .clangd or .prefs file has changed,
-						// do NOT remove if the map don't contain the project:
-						if (projectsMap.getOrDefault(file.getProject(), false)) {
-							// remove, because we want to detect settings changes only:
-							projectsMap.remove(file.getProject());
-						}
-					}
-				}
-				return true;
-			});
-		} catch (CoreException e) {
-			Platform.getLog(getClass()).error(e.getMessage(), e);
+	public Set<IProject> collectAffectedProjects(Changes changes) {
+		Set<IProject> projects = new LinkedHashSet<>(changes.projects());
+		for (var delta : changes.deltas()) {
+			if (delta.getResource().getType() == IResource.FILE) {
+				projects.add(delta.getResource().getProject());
+			}
 		}
-		return projectsMap.keySet();
+		return projects;
 	}
 
-	public ClangdCompilationDatabaseSetter start(IWorkspace workspace) {
-		workspace.addResourceChangeListener(postBuildListener, IResourceChangeEvent.POST_BUILD);
+	public ClangdCompilationDatabaseSetter start(ResourceChangeDispatcher dispatcher) {
+		this.dispatcher = dispatcher;
+		postBuildSubscription = dispatcher.subscribe(IResourceChangeEvent.POST_BUILD, SETTINGS_FILE_NAMES,
+				SETTINGS_FILE_EXTENSIONS, ResourceChangeDispatcher::inCProject, this::resourceChangedHandler);
 		CCorePlugin.getDefault().getProjectDescriptionManager().addCProjectDescriptionListener(descriptionListener,
 				CProjectDescriptionEvent.APPLIED);
 		return this;
 	}
 
-	public void stop(IWorkspace workspace) {
-		workspace.removeResourceChangeListener(postBuildListener);
+	public void stop() {
+		dispatcher.unsubscribe(postBuildSubscription);
 		CCorePlugin.getDefault().getProjectDescriptionManager().removeCProjectDescriptionListener(descriptionListener);
 	}
 
@@ -19,7 +19,10 @@ import java.io.IOException;
 import java.io.InputStreamReader;
 import java.io.UnsupportedEncodingException;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
@@ -27,6 +30,8 @@ import java.util.regex.Pattern;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -34,6 +39,8 @@ import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.MultiRule;
 
 public abstract class ClangdCompilationDatabaseSetterBase {
 	public static final String CLANGD_CONFIG_FILE_NAME = ".clangd"; //$NON-NLS-1$
@@ -45,6 +52,47 @@ public abstract class ClangdCompilationDatabaseSetterBase {
 	// matches the value of CompilationDatabase if the value is followed by either end-of-string, newline sequence or ','
 	private final Pattern pathMatchPattern = Pattern.compile("(?<=CompilationDatabase:)[^,}]*"); //$NON-NLS-1$
 	private final Pattern pathGroupPattern = Pattern.compile(".*CompilationDatabase:\\s*([^,}]*).*"); //$NON-NLS-1$
+	// updates requested within this delay, e.g. for the configurations of a multi-configuration build, are coalesced:
+	private static final long COALESCE_DELAY = 100; // ms
+
+	// the latest requested path per project, which has not been written yet:
+	private final Map<IProject, String> pendingPaths = new ConcurrentHashMap<>();
+	// the path which is set in the .clangd file of a project, as long as the file has the given stamps:
+	private final Map<IProject, KnownPath> knownPaths = new ConcurrentHashMap<>();
+
+	private record KnownPath(String databaseDirectoryPath, long modificationStamp, long localTimeStamp) {
+		KnownPath(String databaseDirectoryPath, IFile configFile) {
+			this(databaseDirectoryPath, configFile.getModificationStamp(), configFile.getLocalTimeStamp());
+		}
+	}
+
+	private final WorkspaceJob updateClangdJob = new UpdateClangdJob();
+
+	private final class UpdateClangdJob extends WorkspaceJob {
+		UpdateClangdJob() {
+			super("Update .clangd"); //$NON-NLS-1$
+			setSystem(true);
+		}
+
+		@Override
+		public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
+			Map<IProject, String> paths = new HashMap<>();
+			for (var project : pendingPaths.keySet()) {
+				var path = pendingPaths.remove(project);
+				if (path != null && project.isAccessible()) {
+					paths.put(project, path);
+				}
+			}
+			knownPaths.keySet().removeIf(project -> !project.isAccessible());
+			if (!paths.isEmpty()) {
+				// one workspace operation, so the changed .clangd files are reported in one delta:
+				var rule = MultiRule.combine(paths.keySet().toArray(ISchedulingRule[]::new));
+				ResourcesPlugin.getWorkspace().run(m -> paths.forEach((project, path) -> update(project, path, m)),
+						rule, IWorkspace.AVOID_UPDATE, monitor);
+			}
+			return Status.OK_STATUS;
+		}
+	}
 
 	/**
 	 * Set the <code>CompilationDatabase</code> entry in the .clangd file in the given project root.
@@ -56,32 +104,39 @@ public abstract class ClangdCompilationDatabaseSetterBase {
 	 * <p>
 	 * NOTE: The file won't be updated if the file is not empty and the <code>CompilationDatabase</code> entry is missing.
 	 * </p>
+	 * <p>
+	 * The updates are coalesced: only the latest path requested for a project before the job runs is written, the
+	 * .clangd files of all projects are written in one workspace operation, and a .clangd file which has not been
+	 * changed since it has been set to the same path is not read again.
+	 * </p>
 	 * @param project to update its .clangd file
 	 * @param databaseDirectoryPath project relative path to the folder which contains the compile_commands.json.
-	 * @return the scheduled WorkspaceJob
+	 * @return the scheduled WorkspaceJob, which is shared by the updates of all projects
 	 */
 	public WorkspaceJob setCompilationDatabase(IProject project, String databaseDirectoryPath) {
+		pendingPaths.put(project, databaseDirectoryPath);
+		updateClangdJob.schedule(COALESCE_DELAY);
+		return updateClangdJob;
+	}
+
+	private void update(IProject project, String databaseDirectoryPath, IProgressMonitor monitor) {
 		var configFile = project.getFile(CLANGD_CONFIG_FILE_NAME);
-		var updateClangdJob = new WorkspaceJob("Update .clangd") { //$NON-NLS-1$
-			@Override
-			public IStatus runInWorkspace(IProgressMonitor monitor) throws CoreException {
-				try {
-					if (createClangdConfigFile(configFile, project.getDefaultCharset(), databaseDirectoryPath, false)) {
-						return Status.OK_STATUS;
-					}
-					updateClangdConfigFile(configFile, project.getDefaultCharset(), databaseDirectoryPath, monitor);
-				} catch (CoreException e) {
-					Platform.getLog(getClass()).log(e.getStatus());
-				} catch (IOException | IllegalArgumentException e) {
-					Platform.getLog(getClass()).error(e.getMessage(), e);
-				}
-				return Status.OK_STATUS;
+		if (new KnownPath(databaseDirectoryPath, configFile).equals(knownPaths.get(project))) {
+			// not changed since the path has been set:
+			return;
+		}
+		try {
+			if (!createClangdConfigFile(configFile, project.getDefaultCharset(), databaseDirectoryPath, false)) {
+				updateClangdConfigFile(configFile, project.getDefaultCharset(), databaseDirectoryPath, monitor);
 			}
-		};
-		updateClangdJob.setRule(configFile.exists() ? configFile : project);
-		updateClangdJob.setSystem(true);
-		updateClangdJob.schedule();
-		return updateClangdJob;
+			if (configFile.exists()) {
+				knownPaths.put(project, new KnownPath(databaseDirectoryPath, configFile));
+			}
+		} catch (CoreException e) {
+			Platform.getLog(getClass()).log(e.getStatus());
+		} catch (IOException | IllegalArgumentException e) {
+			Platform.getLog(getClass()).error(e.getMessage(), e);
+		}
 	}
 
 	private void updateClangdConfigFile(IFile configFile, String charset, String databaseDirectoryPath,
@@ -107,7 +162,10 @@ public abstract class ClangdCompilationDatabaseSetterBase {
 		}
 	}
 
-	private List<String> readClangdConfigFile(IFile configFile) throws IOException, CoreException {
+	/**
+	 * Reads the lines of an existing .clangd file.
+	 */
+	protected List<String> readClangdConfigFile(IFile configFile) throws IOException, CoreException {
 		List<String> lines = new ArrayList<>();
 		try (BufferedReader reader = new BufferedReader(new InputStreamReader(configFile.getContents()))) {
 			String line;
@@ -118,8 +176,11 @@ public abstract class ClangdCompilationDatabaseSetterBase {
 		return lines;
 	}
 
-	private void writeClangdConfigFile(IFile configFile, String charset, List<String> lines, IProgressMonitor monitor)
-			throws UnsupportedEncodingException, CoreException {
+	/**
+	 * Writes the lines to an existing .clangd file.
+	 */
+	protected void writeClangdConfigFile(IFile configFile, String charset, List<String> lines,
+			IProgressMonitor monitor) throws UnsupportedEncodingException, CoreException {
 		var stringBuilder = new StringBuilder();
 		var counter = new AtomicInteger(0);
 		int size = lines.size();
@@ -13,18 +13,16 @@
 
 package org.eclipse.cdt.lsp.clangd.internal.config;
 
+import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResourceChangeEvent;
-import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IResourceDelta;
-import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.WorkspaceJob;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.Status;
 
 /**
@@ -34,34 +32,23 @@ import org.eclipse.core.runtime.Status;
 public class ClangdConfigFileMonitor {
 	private static final String CLANGD_CONFIG_FILE = ".clangd"; //$NON-NLS-1$
 	private final ConcurrentLinkedQueue<IFile> pendingFiles = new ConcurrentLinkedQueue<>();
-	private final IWorkspace workspace;
 	private final ClangdConfigFileChecker checker = new ClangdConfigFileChecker();
 
-	private final IResourceChangeListener listener = new IResourceChangeListener() {
-		@Override
-		public void resourceChanged(IResourceChangeEvent event) {
-			if (event.getDelta() != null && event.getType() == IResourceChangeEvent.POST_CHANGE) {
-				try {
-					event.getDelta().accept(delta -> {
-						if ((delta.getKind() == IResourceDelta.ADDED
-								|| (delta.getFlags() & IResourceDelta.CONTENT) != 0)
-								&& CLANGD_CONFIG_FILE.equals(delta.getResource().getName())) {
-							if (delta.getResource() instanceof IFile file) {
-								pendingFiles.add(file);
-								checkJob.schedule(100);
-							}
-						}
-						return true;
-					});
-				} catch (CoreException e) {
-					Platform.getLog(getClass()).log(e.getStatus());
-				}
+	private final ResourceChangeDispatcher dispatcher;
+	private ResourceChangeDispatcher.Subscription subscription;
+
+	private void resourcesChanged(ResourceChangeDispatcher.Changes changes) {
+		for (var delta : changes.deltas()) {
+			if ((delta.getKind() == IResourceDelta.ADDED || (delta.getFlags() & IResourceDelta.CONTENT) != 0)
+					&& delta.getResource() instanceof IFile file) {
+				pendingFiles.add(file);
+				checkJob.schedule(100);
 			}
 		}
-	};
+	}
 
-	public ClangdConfigFileMonitor(IWorkspace workspace) {
-		this.workspace = workspace;
+	public ClangdConfigFileMonitor(ResourceChangeDispatcher dispatcher) {
+		this.dispatcher = dispatcher;
 	}
 
 	private final WorkspaceJob checkJob = new WorkspaceJob("Check .clangd file") { //$NON-NLS-1$
@@ -77,11 +64,12 @@ public class ClangdConfigFileMonitor {
 	};
 
 	public ClangdConfigFileMonitor start() {
-		workspace.addResourceChangeListener(listener);
+		subscription = dispatcher.subscribe(IResourceChangeEvent.POST_CHANGE, Set.of(CLANGD_CONFIG_FILE), Set.of(),
+				ResourceChangeDispatcher::inCProject, this::resourcesChanged);
 		return this;
 	}
 
 	public void stop() {
-		workspace.removeResourceChangeListener(listener);
+		dispatcher.unsubscribe(subscription);
 	}
 }
@@ -103,9 +103,27 @@ public final class ClangdConfigurationAccess extends ConfigurationAccess impleme
 			list.add(NLS.bind("--query-driver={0}", options.queryDriver())); //$NON-NLS-1$
 		}
 		list.add(NLS.bind("--function-arg-placeholders={0}", options.fillFunctionArguments() ? 1 : 0)); //$NON-NLS-1$
+		addSupportedOptions(options, list);
 
 		list.addAll(options.additionalOptions());
 		return list;
 	}
 
+	/**
+	 * Adds the options of the performance profile and the options which override them, if the clangd executable
+	 * supports them. They are not supported by every clangd version or build, and are left out when the features of
+	 * the executable are not known.
+	 */
+	private void addSupportedOptions(ClangdOptions options, List<String> list) {
+		var flags = ClangdPerformanceProfile.of(options.performanceProfile())
+				.map(ClangdPerformanceProfile::settings).orElse(ClangdPerformanceProfile.Settings.DEFAULT)
+				.with(options).flags(options.useBackgroundIndex(), options.additionalOptions());
+		if (flags.isEmpty()) {
+			return;
+		}
+		ClangdFeatures.getDefault().get(ClangdLanguageServerProvider.resolveVariables(options.clangdPath()))
+				.ifPresent(matrix -> flags.stream().filter(flag -> matrix.supports(flag.split("=", 2)[0])) //$NON-NLS-1$
+						.forEach(list::add));
+	}
+
 }
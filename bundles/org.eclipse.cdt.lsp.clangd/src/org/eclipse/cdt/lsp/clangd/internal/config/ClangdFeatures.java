@@ -0,0 +1,305 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.clangd.internal.config;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import org.eclipse.cdt.lsp.clangd.internal.config.ClangdCheckService.Output;
+import org.eclipse.cdt.lsp.clangd.plugin.ClangdPlugin;
+import org.eclipse.core.runtime.Platform;
+
+/**
+ * Probes a clangd executable once for its major version and its command line flags, and keeps the resulting feature
+ * matrix across sessions. The options which are not supported by every clangd, like the precompiled preamble storage,
+ * are passed to clangd only when its feature matrix lists them. The features which depend on the clangd version, like
+ * the reload of a changed compilation database, are enabled only when the matrix is known.
+ * <p>
+ * A matrix is stored under the key of the executable computed by {@link ClangdValidationCache#key(List)}, so that a
+ * replaced executable is probed again. The probe runs in the background; until it has completed, the executable is
+ * treated like a clangd without the optional features.
+ * </p>
+ */
+public final class ClangdFeatures {
+	private static final int MAX_ENTRIES = 16;
+	private static final Pattern VERSION_PATTERN = Pattern.compile("clangd\\s+version\\s+(\\d+)"); //$NON-NLS-1$
+	// the options are listed indented, like "  --pch-storage=<value>  - Storing PCHs in memory increases ...":
+	private static final Pattern FLAG_PATTERN = Pattern.compile("^\\s+(--?[A-Za-z][\\w-]*)"); //$NON-NLS-1$
+	private static ClangdFeatures fallback;
+
+	private final Path file;
+	// guarded by this, like the running probes:
+	private final Map<String, Matrix> matrices = new LinkedHashMap<>(16, 0.75f, true);
+	private final Map<String, CompletableFuture<Optional<Matrix>>> probes = new HashMap<>();
+	private boolean loaded;
+
+	/**
+	 * The features of clangd which cannot be told from its command line flags, with the major version which
+	 * introduced them.
+	 */
+	public enum Extension {
+		/**
+		 * Reloads a changed <code>compile_commands.json</code> on its own, instead of being restarted.
+		 */
+		COMPILATION_DATABASE_RELOAD(12),
+		/**
+		 * The <code>$/memoryUsage</code> request.
+		 */
+		MEMORY_USAGE(12);
+
+		private final int sinceMajorVersion;
+
+		Extension(int sinceMajorVersion) {
+			this.sinceMajorVersion = sinceMajorVersion;
+		}
+	}
+
+	/**
+	 * The features of a clangd executable.
+	 *
+	 * @param majorVersion the major version of clangd
+	 * @param flags the command line flags listed by <code>clangd --help-hidden</code>, like <code>--pch-storage</code>
+	 *            or <code>-j</code>
+	 */
+	public record Matrix(int majorVersion, Set<String> flags) {
+
+		public Matrix {
+			flags = Set.copyOf(flags);
+		}
+
+		public boolean supports(String flag) {
+			return flags.contains(flag);
+		}
+
+		public boolean supports(Extension extension) {
+			return majorVersion >= extension.sinceMajorVersion;
+		}
+
+		private static Optional<Matrix> parse(String value) {
+			var parts = value.split(";", 2); //$NON-NLS-1$
+			try {
+				return parts.length == 2
+						? Optional.of(new Matrix(Integer.parseInt(parts[0]),
+								parts[1].isEmpty() ? Set.of() : Set.of(parts[1].split(",")))) //$NON-NLS-1$
+						: Optional.empty();
+			} catch (IllegalArgumentException e) {
+				// a malformed number or a duplicate flag
+				return Optional.empty();
+			}
+		}
+
+		private String format() {
+			return majorVersion + ";" + String.join(",", new TreeSet<>(flags)); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * @param file the file to persist the feature matrices in, <code>null</code> to keep them in memory only
+	 */
+	public ClangdFeatures(Path file) {
+		this.file = file;
+	}
+
+	/**
+	 * Returns the feature matrices of the plug-in, or feature matrices of their own when the plug-in is not active.
+	 *
+	 * @return the shared feature matrices
+	 */
+	public static synchronized ClangdFeatures getDefault() {
+		var plugin = ClangdPlugin.getDefault();
+		if (plugin != null && plugin.getFeatures() != null) {
+			return plugin.getFeatures();
+		}
+		if (fallback == null) {
+			fallback = new ClangdFeatures(null);
+		}
+		return fallback;
+	}
+
+	/**
+	 * Returns the feature matrix of a clangd executable, if it is known. An unknown executable is probed in the
+	 * background, so this method does not wait for a process.
+	 *
+	 * @param executable the clangd executable, with resolved variables
+	 * @return the feature matrix, or an empty optional while the executable is probed or when it cannot be probed
+	 */
+	public Optional<Matrix> get(String executable) {
+		return probe(executable).getNow(Optional.empty());
+	}
+
+	/**
+	 * Returns the major version of a clangd executable, if it is known.
+	 *
+	 * @param executable the clangd executable, with resolved variables
+	 * @return the major version, or an empty optional while the executable is probed or when it cannot be probed
+	 */
+	public OptionalInt majorVersionOf(String executable) {
+		return get(executable).map(matrix -> OptionalInt.of(matrix.majorVersion())).orElseGet(OptionalInt::empty);
+	}
+
+	/**
+	 * Tests whether a clangd executable is known to have the given feature.
+	 *
+	 * @param executable the clangd executable, with resolved variables
+	 * @return false while the executable is probed or when it cannot be probed
+	 */
+	public boolean supports(String executable, Extension extension) {
+		return get(executable).map(matrix -> matrix.supports(extension)).orElse(false);
+	}
+
+	/**
+	 * Returns the feature matrix of a clangd executable, which is probed when it is not known yet. A probe runs
+	 * <code>clangd --version</code> and <code>clangd --help-hidden</code>; concurrent requests for the same executable
+	 * share the probe.
+	 *
+	 * @param executable the clangd executable, with resolved variables
+	 * @return the future feature matrix, which is empty when the executable is not found or cannot be probed
+	 */
+	public CompletableFuture<Optional<Matrix>> probe(String executable) {
+		var key = ClangdValidationCache.key(List.of(executable));
+		if (key.isEmpty()) {
+			return CompletableFuture.completedFuture(Optional.empty());
+		}
+		var probe = new CompletableFuture<Optional<Matrix>>();
+		synchronized (this) {
+			load();
+			var matrix = matrices.get(key.get());
+			if (matrix != null) {
+				return CompletableFuture.completedFuture(Optional.of(matrix));
+			}
+			var running = probes.putIfAbsent(key.get(), probe);
+			if (running != null) {
+				return running;
+			}
+		}
+		// the processes run without the lock, a failed probe is repeated with the next request:
+		run(executable).thenAccept(result -> {
+			synchronized (this) {
+				probes.remove(key.get());
+				result.ifPresent(m -> put(key.get(), m));
+			}
+			probe.complete(result);
+		});
+		return probe;
+	}
+
+	private void put(String key, Matrix matrix) {
+		matrices.put(key, matrix);
+		if (matrices.size() > MAX_ENTRIES) {
+			matrices.remove(matrices.keySet().iterator().next());
+		}
+		save();
+	}
+
+	private CompletableFuture<Optional<Matrix>> run(String executable) {
+		var service = ClangdCheckService.getDefault();
+		var version = new CopyOnWriteArrayList<String>();
+		var help = new CopyOnWriteArrayList<String>();
+		// both at the same time:
+		var versionRun = service.submit(List.of(executable, "--version"), null, Output.STDOUT, version::add, //$NON-NLS-1$
+				ClangdCheckService.DEFAULT_TIMEOUT);
+		var helpRun = service.submit(List.of(executable, "--help-hidden"), null, Output.STDOUT, help::add, //$NON-NLS-1$
+				ClangdCheckService.DEFAULT_TIMEOUT);
+		return versionRun.thenCombine(helpRun,
+				(v, h) -> version.stream().map(ClangdFeatures::majorVersion).filter(OptionalInt::isPresent).findFirst()
+						.map(majorVersion -> new Matrix(majorVersion.getAsInt(), flags(help))))
+				.exceptionally(e -> {
+					var cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+					Platform.getLog(getClass()).warn("Cannot probe clangd features: " + cause.getMessage()); //$NON-NLS-1$
+					return Optional.empty();
+				});
+	}
+
+	/**
+	 * Parses the major version from a line of the <code>clangd --version</code> output.
+	 *
+	 * @param line a line of the output, like <code>Ubuntu clangd version 18.1.3 (1ubuntu1)</code>
+	 * @return the major version, or an empty optional when the line does not contain it
+	 */
+	public static OptionalInt majorVersion(String line) {
+		var matcher = VERSION_PATTERN.matcher(line);
+		if (!matcher.find()) {
+			return OptionalInt.empty();
+		}
+		try {
+			return OptionalInt.of(Integer.parseInt(matcher.group(1)));
+		} catch (NumberFormatException e) {
+			return OptionalInt.empty();
+		}
+	}
+
+	/**
+	 * Parses the command line flags from the <code>clangd --help-hidden</code> output.
+	 *
+	 * @param lines the lines of the output
+	 * @return the flags, without their values
+	 */
+	public static Set<String> flags(Collection<String> lines) {
+		return lines.stream().map(FLAG_PATTERN::matcher).filter(matcher -> matcher.find())
+				.map(matcher -> matcher.group(1)).collect(Collectors.toSet());
+	}
+
+	private void load() {
+		if (loaded) {
+			return;
+		}
+		loaded = true;
+		if (file == null || !Files.isRegularFile(file)) {
+			return;
+		}
+		var properties = new Properties();
+		try (var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			properties.load(reader);
+		} catch (IOException | IllegalArgumentException e) {
+			// probed again
+			Platform.getLog(getClass()).warn("Cannot read clangd features: " + e.getMessage()); //$NON-NLS-1$
+			return;
+		}
+		properties.stringPropertyNames().forEach(
+				key -> Matrix.parse(properties.getProperty(key)).ifPresent(matrix -> matrices.put(key, matrix)));
+	}
+
+	private void save() {
+		if (file == null) {
+			return;
+		}
+		var properties = new Properties();
+		matrices.forEach((key, matrix) -> properties.setProperty(key, matrix.format()));
+		try {
+			Files.createDirectories(file.getParent());
+			try (var writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+				properties.store(writer, null);
+			}
+		} catch (IOException e) {
+			Platform.getLog(getClass()).warn("Cannot write clangd features: " + e.getMessage()); //$NON-NLS-1$
+		}
+	}
+
+}
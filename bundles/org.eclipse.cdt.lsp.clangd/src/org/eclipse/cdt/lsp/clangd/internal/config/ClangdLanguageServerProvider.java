@@ -17,6 +17,7 @@ package org.eclipse.cdt.lsp.clangd.internal.config;
 
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -25,10 +26,12 @@ import org.eclipse.cdt.lsp.clangd.ClangdConfiguration;
 import org.eclipse.cdt.lsp.clangd.ClangdFallbackFlags;
 import org.eclipse.cdt.lsp.clangd.ClangdOptions;
 import org.eclipse.cdt.lsp.clangd.IClangdCommandLineValidator;
+import org.eclipse.cdt.lsp.clangd.internal.config.ClangdFeatures.Extension;
 import org.eclipse.cdt.lsp.editor.EditorConfiguration;
 import org.eclipse.cdt.lsp.editor.LanguageServerEnable;
 import org.eclipse.cdt.lsp.server.ICLanguageServerCommandLineValidator;
-import org.eclipse.cdt.lsp.server.ICLanguageServerProvider3;
+import org.eclipse.cdt.lsp.server.ICLanguageServerProvider4;
+import org.eclipse.cdt.lsp.server.MemoryWatchdogAction;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
@@ -36,8 +39,13 @@ import org.eclipse.core.runtime.ServiceCaller;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.variables.VariablesPlugin;
 
+import com.google.gson.Gson;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+
 public final class ClangdLanguageServerProvider
-		implements ICLanguageServerProvider3, ICLanguageServerCommandLineValidator {
+		implements ICLanguageServerProvider4, ICLanguageServerCommandLineValidator {
+	private static final String FILE_STATUS = "clangdFileStatus"; //$NON-NLS-1$
 
 	private final ServiceCaller<IClangdCommandLineValidator> validator = new ServiceCaller<>(getClass(),
 			IClangdCommandLineValidator.class);
@@ -55,7 +63,11 @@ public final class ClangdLanguageServerProvider
 		List<Object> result = new ArrayList<>();
 		ServiceCaller.callOnce(getClass(), ClangdFallbackFlags.class, //
 				f -> result.add(f.getFallbackFlagsFromInitialUri(rootUri)));
-		return result.stream().filter(Objects::nonNull).findFirst().orElse(null);
+		var options = result.stream().filter(Objects::nonNull).findFirst().map(new Gson()::toJsonTree)
+				.filter(JsonElement::isJsonObject).map(JsonElement::getAsJsonObject).orElseGet(JsonObject::new);
+		// opts in to the textDocument/clangd.fileStatus notifications:
+		options.addProperty(FILE_STATUS, true);
+		return options;
 	}
 
 	@Override
@@ -90,11 +102,70 @@ public final class ClangdLanguageServerProvider
 		return enabled[0];
 	}
 
+	@Override
+	public int maxServerInstances() {
+		int[] max = new int[1];
+		configuration.call(c -> max[0] = c.options(null) instanceof ClangdOptions copt ? copt.maxServerInstances() : 0);
+		return max[0];
+	}
+
+	@Override
+	public int serverMemoryBudget() {
+		int[] budget = new int[1];
+		configuration
+				.call(c -> budget[0] = c.options(null) instanceof ClangdOptions copt ? copt.serverMemoryBudget() : 0);
+		return budget[0];
+	}
+
+	@Override
+	public int memoryWatchdogThreshold() {
+		int[] threshold = new int[1];
+		configuration.call(
+				c -> threshold[0] = c.options(null) instanceof ClangdOptions copt ? copt.memoryWatchdogThreshold() : 0);
+		return threshold[0];
+	}
+
+	@Override
+	public MemoryWatchdogAction memoryWatchdogAction() {
+		String[] action = { "" }; //$NON-NLS-1$
+		configuration.call(c -> {
+			if (c.options(null) instanceof ClangdOptions copt) {
+				action[0] = copt.memoryWatchdogAction();
+			}
+		});
+		return Arrays.stream(MemoryWatchdogAction.values()).filter(a -> a.name().equalsIgnoreCase(action[0]))
+				.findFirst().orElse(MemoryWatchdogAction.WARN);
+	}
+
+	@Override
+	public String serverAddress(URI rootUri) {
+		String[] address = { "" }; //$NON-NLS-1$
+		configuration.call(c -> {
+			if (c.options(rootUri) instanceof ClangdOptions copt) {
+				address[0] = copt.serverAddress();
+			}
+		});
+		return address[0];
+	}
+
+	@Override
+	public boolean supportsMemoryUsage(URI rootUri) {
+		List<String> commands = new ArrayList<>();
+		configuration.call(c -> commands.addAll(c.commands(rootUri)));
+		return !commands.isEmpty()
+				&& ClangdFeatures.getDefault().supports(resolveVariables(commands.getFirst()), Extension.MEMORY_USAGE);
+	}
+
 	@Override
 	public IStatus validateCommandLineOptions() {
+		return validateCommandLineOptions(cachedRootUri);
+	}
+
+	@Override
+	public IStatus validateCommandLineOptions(URI rootUri) {
 		IStatus[] status = { Status.OK_STATUS };
 		if (isCommandLineValidationEnabled()) {
-			final var cmd = getCommands(cachedRootUri);
+			final var cmd = getCommands(rootUri);
 			validator.call(v -> status[0] = v.validateCommandLineOptions(cmd));
 		}
 		return status[0];
@@ -0,0 +1,194 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.clangd.internal.config;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.eclipse.cdt.lsp.clangd.ClangdOptions;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Profiles which derive the performance related clangd options from the number of processors and the physical memory
+ * of the host, so that the same preferences suit a laptop and a build server.
+ */
+public enum ClangdPerformanceProfile {
+	/**
+	 * Few workers and the precompiled preambles on disk, for hosts which run short of memory.
+	 */
+	LOW_MEMORY("low_memory"), //$NON-NLS-1$
+	/**
+	 * Half of the processors, the precompiled preambles in memory when there is plenty of it.
+	 */
+	BALANCED("balanced"), //$NON-NLS-1$
+	/**
+	 * All processors and the precompiled preambles in memory, unless the host is short of memory.
+	 */
+	MAX_THROUGHPUT("max_throughput"); //$NON-NLS-1$
+
+	private static final long MB_PER_GB = 1024;
+	private static final String DISK = "disk"; //$NON-NLS-1$
+	private static final String MEMORY = "memory"; //$NON-NLS-1$
+
+	private final String identifier;
+
+	/**
+	 * The derived options, <code>0</code> or an empty string for the default of clangd.
+	 *
+	 * @param workerCount the number of clangd worker threads, see <code>-j</code>
+	 * @param pchStorage the storage of the precompiled preambles, see <code>--pch-storage</code>
+	 * @param mallocTrim whether clangd releases freed memory, see <code>--malloc-trim</code>
+	 * @param limitResults the maximum number of completion and symbol results, see <code>--limit-results</code>
+	 * @param backgroundIndexPriority the thread priority of the background index, see
+	 *            <code>--background-index-priority</code>
+	 */
+	public record Settings(int workerCount, String pchStorage, boolean mallocTrim, int limitResults,
+			String backgroundIndexPriority) {
+
+		/**
+		 * The defaults of clangd, used when no profile is selected.
+		 */
+		public static final Settings DEFAULT = new Settings(0, "", true, 0, ""); //$NON-NLS-1$ //$NON-NLS-2$
+
+		/**
+		 * Returns the settings overridden by the options which are set explicitly.
+		 *
+		 * @param options the clangd options
+		 * @return the settings with the explicit options
+		 */
+		public Settings with(ClangdOptions options) {
+			return new Settings(options.workerCount() > 0 ? options.workerCount() : workerCount,
+					options.pchStorage().isBlank() ? pchStorage : options.pchStorage(),
+					options.mallocTrim().isBlank() ? mallocTrim : Boolean.parseBoolean(options.mallocTrim()),
+					limitResults, backgroundIndexPriority);
+		}
+
+		/**
+		 * Returns the clangd command line flags which differ from the defaults of clangd.
+		 *
+		 * @param backgroundIndex whether the background index is enabled
+		 * @return the flags, like <code>-j=4</code>
+		 */
+		public List<String> flags(boolean backgroundIndex) {
+			var flags = new ArrayList<String>();
+			if (workerCount > 0) {
+				flags.add(NLS.bind("-j={0}", workerCount)); //$NON-NLS-1$
+			}
+			if (!pchStorage.isBlank()) {
+				flags.add(NLS.bind("--pch-storage={0}", pchStorage)); //$NON-NLS-1$
+			}
+			if (!mallocTrim) {
+				flags.add("--malloc-trim=false"); //$NON-NLS-1$
+			}
+			if (limitResults > 0) {
+				flags.add(NLS.bind("--limit-results={0}", limitResults)); //$NON-NLS-1$
+			}
+			if (backgroundIndex && !backgroundIndexPriority.isBlank()) {
+				flags.add(NLS.bind("--background-index-priority={0}", backgroundIndexPriority)); //$NON-NLS-1$
+			}
+			return flags;
+		}
+
+		/**
+		 * Returns the clangd command line flags which differ from the defaults of clangd and are not given in the
+		 * additional options. clangd before version 15 rejects an option which occurs more than once.
+		 *
+		 * @param backgroundIndex whether the background index is enabled
+		 * @param additionalOptions the additional options of the user, which take precedence
+		 * @return the flags, like <code>-j=4</code>
+		 */
+		public List<String> flags(boolean backgroundIndex, List<String> additionalOptions) {
+			var given = additionalOptions.stream().map(Settings::optionName).collect(Collectors.toSet());
+			return flags(backgroundIndex).stream().filter(flag -> !given.contains(optionName(flag))).toList();
+		}
+
+		/**
+		 * Returns the name of an option without its dashes and value, like <code>j</code> for <code>-j=4</code>.
+		 */
+		private static String optionName(String option) {
+			return option.strip().split("[=\\s]", 2)[0].replaceFirst("^-+", ""); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	ClangdPerformanceProfile(String identifier) {
+		this.identifier = identifier;
+	}
+
+	/**
+	 * @return the value of the profile in the preferences
+	 */
+	public String identifier() {
+		return identifier;
+	}
+
+	/**
+	 * Returns the profile stored in the preferences.
+	 *
+	 * @param identifier the value of the profile in the preferences
+	 * @return the profile, or an empty optional when no profile is selected
+	 */
+	public static Optional<ClangdPerformanceProfile> of(String identifier) {
+		return Arrays.stream(values()).filter(profile -> profile.identifier.equals(identifier)).findFirst();
+	}
+
+	/**
+	 * Derives the settings for this host.
+	 *
+	 * @return the settings
+	 */
+	public Settings settings() {
+		return settings(Runtime.getRuntime().availableProcessors(), physicalMemory());
+	}
+
+	/**
+	 * Derives the settings for a host.
+	 *
+	 * @param processors the number of processors
+	 * @param memory the physical memory in MB, <code>0</code> if unknown
+	 * @return the settings
+	 */
+	public Settings settings(int processors, long memory) {
+		return switch (this) {
+		case LOW_MEMORY -> new Settings(Math.clamp(processors / 4, 1, 2), DISK, true, 50, "background"); //$NON-NLS-1$
+		case BALANCED -> new Settings(Math.clamp(processors / 2, 1, 8), memory >= 16 * MB_PER_GB ? MEMORY : DISK,
+				true, 0, ""); //$NON-NLS-1$
+		// an unknown memory size is not taken as a shortage:
+		case MAX_THROUGHPUT -> new Settings(processors, memory == 0 || memory >= 8 * MB_PER_GB ? MEMORY : DISK,
+				memory > 0 && memory < 32 * MB_PER_GB, 0, "normal"); //$NON-NLS-1$
+		};
+	}
+
+	/**
+	 * Returns the physical memory of the host.
+	 *
+	 * @return the physical memory in MB, <code>0</code> if unknown
+	 */
+	public static long physicalMemory() {
+		try {
+			var value = ManagementFactory.getPlatformMBeanServer()
+					.getAttribute(new ObjectName("java.lang:type=OperatingSystem"), "TotalMemorySize"); //$NON-NLS-1$ //$NON-NLS-2$
+			return value instanceof Long bytes ? bytes / (1024 * 1024) : 0;
+		} catch (JMException | RuntimeException e) {
+			// not provided by this Java runtime
+			return 0;
+		}
+	}
+
+}
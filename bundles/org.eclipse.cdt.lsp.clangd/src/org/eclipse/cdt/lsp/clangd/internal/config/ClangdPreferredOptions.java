@@ -87,4 +87,54 @@ final class ClangdPreferredOptions extends PreferredOptions implements ClangdOpt
 		return booleanValue(ClangdMetadata.Predefined.setCompilationDatabase);
 	}
 
+	@Override
+	public int maxServerInstances() {
+		return intValue(ClangdMetadata.Predefined.maxServerInstances);
+	}
+
+	@Override
+	public int serverMemoryBudget() {
+		return intValue(ClangdMetadata.Predefined.serverMemoryBudget);
+	}
+
+	@Override
+	public int memoryWatchdogThreshold() {
+		return intValue(ClangdMetadata.Predefined.memoryWatchdogThreshold);
+	}
+
+	@Override
+	public String memoryWatchdogAction() {
+		return stringValue(ClangdMetadata.Predefined.memoryWatchdogAction);
+	}
+
+	@Override
+	public String serverAddress() {
+		return stringValue(ClangdMetadata.Predefined.serverAddress);
+	}
+
+	@Override
+	public boolean checkClangFormatWithClangd() {
+		return booleanValue(ClangdMetadata.Predefined.checkClangFormatWithClangd);
+	}
+
+	@Override
+	public String pchStorage() {
+		return stringValue(ClangdMetadata.Predefined.pchStorage);
+	}
+
+	@Override
+	public String mallocTrim() {
+		return stringValue(ClangdMetadata.Predefined.mallocTrim);
+	}
+
+	@Override
+	public int workerCount() {
+		return intValue(ClangdMetadata.Predefined.workerCount);
+	}
+
+	@Override
+	public String performanceProfile() {
+		return stringValue(ClangdMetadata.Predefined.performanceProfile);
+	}
+
 }
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.clangd.internal.config;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Properties;
+
+import org.eclipse.core.runtime.Platform;
+
+/**
+ * Remembers the results of the clangd command line validation across sessions, so that a language server start with
+ * an unchanged configuration does not run clangd to validate it again. A result is stored under a hash of the clangd
+ * executable path, its size and modification time, and the command line options: replacing the executable or
+ * changing an option validates again.
+ */
+public final class ClangdValidationCache {
+	private static final int MAX_ENTRIES = 64;
+	private static final String SEPARATOR = "\0"; //$NON-NLS-1$
+
+	private final Path file;
+	// in the order of the use, the least recently used entry is dropped first:
+	private final Map<String, Result> results = new LinkedHashMap<>(16, 0.75f, true);
+	private boolean loaded;
+
+	/**
+	 * A cached validation result.
+	 *
+	 * @param severity the severity of the validation status
+	 * @param majorVersion the major version of clangd, <code>0</code> if unknown
+	 * @param message the message of the validation status
+	 */
+	public record Result(int severity, int majorVersion, String message) {
+
+		private static Optional<Result> parse(String value) {
+			var parts = value.split(",", 3); //$NON-NLS-1$
+			try {
+				return parts.length == 3
+						? Optional.of(new Result(Integer.parseInt(parts[0]), Integer.parseInt(parts[1]), parts[2]))
+						: Optional.empty();
+			} catch (NumberFormatException e) {
+				return Optional.empty();
+			}
+		}
+
+		private String format() {
+			return severity + "," + majorVersion + "," + message; //$NON-NLS-1$ //$NON-NLS-2$
+		}
+	}
+
+	/**
+	 * @param file the file to persist the results in
+	 */
+	public ClangdValidationCache(Path file) {
+		this.file = file;
+	}
+
+	/**
+	 * Computes the key of a clangd command line.
+	 *
+	 * @param commands the clangd executable followed by the options
+	 * @return the key of the command line, or an empty optional when the executable is not found
+	 */
+	public static Optional<String> key(List<String> commands) {
+		if (commands.isEmpty()) {
+			return Optional.empty();
+		}
+		return resolveExecutable(commands.getFirst()).flatMap(executable -> {
+			try {
+				var attributes = Files.readAttributes(executable, BasicFileAttributes.class);
+				var digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+				digest.update((executable + SEPARATOR + attributes.size() + SEPARATOR
+						+ attributes.lastModifiedTime().toMillis()).getBytes(StandardCharsets.UTF_8));
+				for (var option : commands.subList(1, commands.size())) {
+					digest.update((SEPARATOR + option).getBytes(StandardCharsets.UTF_8));
+				}
+				return Optional.of(HexFormat.of().formatHex(digest.digest()));
+			} catch (IOException | NoSuchAlgorithmException e) {
+				return Optional.empty();
+			}
+		});
+	}
+
+	// the executable may be given by its name only, to be looked up in the PATH like the process builder does:
+	private static Optional<Path> resolveExecutable(String executable) {
+		try {
+			var path = Path.of(executable);
+			if (path.getParent() != null) {
+				return Files.isRegularFile(path) ? Optional.of(path.toAbsolutePath()) : Optional.empty();
+			}
+			var searchPath = System.getenv("PATH"); //$NON-NLS-1$
+			if (searchPath == null) {
+				return Optional.empty();
+			}
+			for (var directory : searchPath.split(File.pathSeparator)) {
+				for (var name : List.of(executable, executable + ".exe")) { //$NON-NLS-1$
+					var candidate = Path.of(directory, name);
+					if (Files.isRegularFile(candidate)) {
+						return Optional.of(candidate.toAbsolutePath());
+					}
+				}
+			}
+		} catch (InvalidPathException e) {
+			// not a valid executable
+		}
+		return Optional.empty();
+	}
+
+	public synchronized Optional<Result> get(String key) {
+		load();
+		return Optional.ofNullable(results.get(key));
+	}
+
+	public synchronized void put(String key, Result result) {
+		load();
+		results.put(key, result);
+		if (results.size() > MAX_ENTRIES) {
+			results.remove(results.keySet().iterator().next());
+		}
+		save();
+	}
+
+	private void load() {
+		if (loaded) {
+			return;
+		}
+		loaded = true;
+		if (!Files.isRegularFile(file)) {
+			return;
+		}
+		var properties = new Properties();
+		try (var reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			properties.load(reader);
+		} catch (IOException | IllegalArgumentException e) {
+			// validated again
+			Platform.getLog(getClass()).warn("Cannot read clangd validation cache: " + e.getMessage()); //$NON-NLS-1$
+			return;
+		}
+		properties.stringPropertyNames().forEach(
+				key -> Result.parse(properties.getProperty(key)).ifPresent(result -> results.put(key, result)));
+	}
+
+	private void save() {
+		var properties = new Properties();
+		results.forEach((key, result) -> properties.setProperty(key, result.format()));
+		try {
+			Files.createDirectories(file.getParent());
+			try (var writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+				properties.store(writer, null);
+			}
+		} catch (IOException e) {
+			Platform.getLog(getClass()).warn("Cannot write clangd validation cache: " + e.getMessage()); //$NON-NLS-1$
+		}
+	}
+
+}
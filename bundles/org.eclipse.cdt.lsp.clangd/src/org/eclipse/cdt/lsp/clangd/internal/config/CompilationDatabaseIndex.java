@@ -0,0 +1,812 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.clangd.internal.config;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Index of a JSON Compilation Database (<code>compile_commands.json</code>) which maps the source files to the
+ * location of their entries in the database. The database is scanned once through memory mapped windows, without
+ * building a JSON tree, and the index is persisted next to the database. A lookup hashes the file name, reads only the
+ * bytes of the matching entry and parses them. So the memory used is proportional to the number of entries, not to
+ * the size of the database.
+ * <p>
+ * Each entry is indexed with a digest of its content, which ignores whitespace and the order of the members, so
+ * {@link #changesSince(CompilationDatabaseIndex) the changes} between two versions of a database are the translation
+ * units whose entries changed semantically.
+ * </p>
+ * <p>
+ * When a file has several entries, the first one is indexed.
+ * </p>
+ */
+public final class CompilationDatabaseIndex {
+	/**
+	 * The suffix appended to the file name of the database for the persisted index.
+	 */
+	public static final String INDEX_FILE_SUFFIX = ".cdt-index"; //$NON-NLS-1$
+
+	private static final int MAGIC = 0x43444249; // "CDBI"
+	private static final int FORMAT_VERSION = 2;
+	private static final int HEADER_SIZE = 4 + 4 + 8 + 8 + 4 + 4;
+	private static final long WINDOW_SIZE = 1L << 28; // 256 MB
+	private static final int READ_BUFFER_SIZE = 1 << 20; // 1 MB
+	/**
+	 * A mapped file cannot be replaced on Windows until the mapping is garbage collected, which would make the build
+	 * fail to rewrite the database. So the database is read through a buffer there.
+	 */
+	private static final boolean MAP = !System.getProperty("os.name", "") //$NON-NLS-1$ //$NON-NLS-2$
+			.startsWith("Windows"); //$NON-NLS-1$
+	private static final String DIRECTORY = "directory"; //$NON-NLS-1$
+	private static final String FILE = "file"; //$NON-NLS-1$
+	private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+	private static final long FNV_PRIME = 0x100000001b3L;
+
+	/**
+	 * An entry of the compilation database.
+	 *
+	 * @param directory the working directory of the compilation
+	 * @param file the main translation unit source, as written in the database
+	 * @param arguments the compile command as list of arguments, empty when given as <code>command</code>
+	 * @param command the compile command as single string, empty when given as <code>arguments</code>
+	 * @param output the name of the output, empty when not given
+	 */
+	public record CompileCommand(String directory, String file, List<String> arguments, String command,
+			String output) {
+
+		/**
+		 * @return the absolute and normalized path of the translation unit
+		 */
+		public Path path() {
+			return resolve(directory, file);
+		}
+	}
+
+	private final Path database;
+	private final long size;
+	private final long lastModified;
+	private final int entries;
+	// open addressing hash table, a zero hash marks an empty slot:
+	private final long[] hashes;
+	private final long[] offsets;
+	private final int[] lengths;
+	private final long[] digests;
+
+	private CompilationDatabaseIndex(Path database, long size, long lastModified, int entries, long[] hashes,
+			long[] offsets, int[] lengths, long[] digests) {
+		this.database = database;
+		this.size = size;
+		this.lastModified = lastModified;
+		this.entries = entries;
+		this.hashes = hashes;
+		this.offsets = offsets;
+		this.lengths = lengths;
+		this.digests = digests;
+	}
+
+	/**
+	 * The translation units whose entries differ between two versions of a compilation database.
+	 */
+	public static final class Changes {
+		/**
+		 * Changes of a database whose previous version is unknown, they affect every file.
+		 */
+		public static final Changes ALL = new Changes(null);
+
+		// sorted path hashes, or null for all:
+		private final long[] files;
+
+		private Changes(long[] files) {
+			this.files = files;
+		}
+
+		/**
+		 * @return <code>true</code> when no entry changed semantically
+		 */
+		public boolean isEmpty() {
+			return files != null && files.length == 0;
+		}
+
+		/**
+		 * @return the number of added, removed or changed entries, or -1 when unknown
+		 */
+		public int size() {
+			return files == null ? -1 : files.length;
+		}
+
+		/**
+		 * Checks whether the entry of the given source file was added, removed or changed.
+		 *
+		 * @param file the absolute path of the source file
+		 */
+		public boolean affects(Path file) {
+			return files == null || Arrays.binarySearch(files, hash(file.toAbsolutePath().normalize())) >= 0;
+		}
+	}
+
+	/**
+	 * Loads the persisted index of the database. The index is built and persisted when there is none yet or when it
+	 * is out of date.
+	 *
+	 * @param database the path of the <code>compile_commands.json</code> file
+	 * @return the index of the database
+	 * @throws IOException when the database cannot be read
+	 */
+	public static CompilationDatabaseIndex load(Path database) throws IOException {
+		var indexFile = indexFile(database);
+		if (Files.isRegularFile(indexFile)) {
+			try {
+				var index = read(database, indexFile);
+				if (index.isUpToDate()) {
+					return index;
+				}
+			} catch (IOException e) {
+				// a corrupt or outdated index is rebuilt:
+			}
+		}
+		var index = build(database);
+		index.persist();
+		return index;
+	}
+
+	/**
+	 * Builds the index of the database by scanning it, without persisting it.
+	 *
+	 * @param database the path of the <code>compile_commands.json</code> file
+	 * @return the index of the database
+	 * @throws IOException when the database cannot be read or is not a JSON array
+	 */
+	public static CompilationDatabaseIndex build(Path database) throws IOException {
+		try (var channel = FileChannel.open(database, StandardOpenOption.READ)) {
+			long size = channel.size();
+			long lastModified = Files.getLastModifiedTime(database).toMillis();
+			var builder = new TableBuilder();
+			var scanner = new Scanner(channel, 0, size);
+			scanner.expect('[');
+			while (scanner.skipSeparators() != ']') {
+				long start = scanner.pos;
+				String[] location = scanner.scanEntry();
+				try {
+					if (location[1] != null) {
+						builder.add(hash(resolve(location[0], location[1])), start, (int) (scanner.pos - start),
+								scanner.digest);
+					}
+				} catch (InvalidPathException e) {
+					// not a valid path on this platform, so it cannot be looked up
+				}
+			}
+			return builder.build(database, size, lastModified);
+		}
+	}
+
+	/**
+	 * Reads the persisted index of the database, even when it is out of date. It describes the version of the
+	 * database which has been indexed last.
+	 *
+	 * @param database the path of the <code>compile_commands.json</code> file
+	 * @return the persisted index, or an empty optional when there is none
+	 */
+	public static Optional<CompilationDatabaseIndex> persisted(Path database) {
+		var indexFile = indexFile(database);
+		if (Files.isRegularFile(indexFile)) {
+			try {
+				return Optional.of(read(database, indexFile));
+			} catch (IOException e) {
+				// a corrupt index is ignored
+			}
+		}
+		return Optional.empty();
+	}
+
+	/**
+	 * @return the path of the persisted index of the given database
+	 */
+	public static Path indexFile(Path database) {
+		return database.resolveSibling(database.getFileName() + INDEX_FILE_SUFFIX);
+	}
+
+	/**
+	 * @return the path of the indexed database
+	 */
+	public Path database() {
+		return database;
+	}
+
+	/**
+	 * @return the number of indexed source files
+	 */
+	public int size() {
+		return entries;
+	}
+
+	/**
+	 * Checks whether the database has not been modified since it was indexed.
+	 */
+	public boolean isUpToDate() {
+		try {
+			return Files.size(database) == size && Files.getLastModifiedTime(database).toMillis() == lastModified;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Compares this index with the index of an earlier version of the database.
+	 *
+	 * @param previous the index of the earlier version
+	 * @return the translation units whose entries have been added, removed or changed since then
+	 */
+	public Changes changesSince(CompilationDatabaseIndex previous) {
+		var changed = new TableBuilder();
+		collectChanges(this, previous, changed);
+		collectChanges(previous, this, changed);
+		var files = Arrays.copyOf(changed.hashes, changed.count);
+		Arrays.sort(files);
+		// an entry which changed is collected from both sides:
+		return new Changes(Arrays.stream(files).distinct().toArray());
+	}
+
+	// collects the entries of the index which are missing in or differ from the other index:
+	private static void collectChanges(CompilationDatabaseIndex index, CompilationDatabaseIndex other,
+			TableBuilder changed) {
+		for (int slot = 0; slot < index.hashes.length; slot++) {
+			long hash = index.hashes[slot];
+			if (hash != 0) {
+				int otherSlot = other.slot(hash);
+				if (other.hashes[otherSlot] == 0 || other.digests[otherSlot] != index.digests[slot]) {
+					changed.add(hash, 0, 0, 0);
+				}
+			}
+		}
+	}
+
+	// the slot of the hash, or the empty slot where it would be inserted:
+	private int slot(long hash) {
+		int mask = hashes.length - 1;
+		int slot = (int) hash & mask;
+		while (hashes[slot] != 0 && hashes[slot] != hash) {
+			slot = (slot + 1) & mask;
+		}
+		return slot;
+	}
+
+	/**
+	 * Checks whether the database has an entry for the given source file.
+	 */
+	public boolean contains(Path file) {
+		return find(file).isPresent();
+	}
+
+	/**
+	 * Finds the entry of the given source file in the database.
+	 *
+	 * @param file the absolute path of the source file
+	 * @return the entry, or an empty optional when the database has no entry for the file
+	 */
+	public Optional<CompileCommand> find(Path file) {
+		var key = file.toAbsolutePath().normalize();
+		long hash = hash(key);
+		int mask = hashes.length - 1;
+		try (var channel = FileChannel.open(database, StandardOpenOption.READ)) {
+			for (int slot = (int) hash & mask; hashes[slot] != 0; slot = (slot + 1) & mask) {
+				if (hashes[slot] == hash) {
+					var entry = readEntry(channel, offsets[slot], lengths[slot]);
+					if (entry.path().equals(key)) {
+						return Optional.of(entry);
+					}
+				}
+			}
+		} catch (IOException | InvalidPathException e) {
+			// the database has been deleted or rewritten in the meantime
+		}
+		return Optional.empty();
+	}
+
+	private static CompileCommand readEntry(FileChannel channel, long offset, int length) throws IOException {
+		var buffer = ByteBuffer.allocate(length);
+		while (buffer.hasRemaining() && channel.read(buffer, offset + buffer.position()) >= 0) {
+			// read until complete
+		}
+		buffer.flip();
+		return new Scanner(buffer, offset, offset + buffer.limit()).parseEntry();
+	}
+
+	static Path resolve(String directory, String file) {
+		var path = Path.of(file);
+		if (!path.isAbsolute() && directory != null) {
+			path = Path.of(directory).resolve(path);
+		}
+		return path.toAbsolutePath().normalize();
+	}
+
+	// 64 bit FNV-1a, never zero:
+	private static long hash(Path path) {
+		long hash = hash(path.toString());
+		return hash == 0 ? 1 : hash;
+	}
+
+	private static long hash(String text) {
+		long hash = FNV_OFFSET;
+		for (int i = 0; i < text.length(); i++) {
+			hash ^= text.charAt(i);
+			hash *= FNV_PRIME;
+		}
+		return hash;
+	}
+
+	// the finalizer of SplitMix64, so that the sum of mixed hashes does not cancel out:
+	private static long mix(long hash) {
+		hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+		hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+		return hash ^ (hash >>> 31);
+	}
+
+	private void persist() {
+		var indexFile = indexFile(database);
+		Path temp = null;
+		try {
+			temp = Files.createTempFile(indexFile.getParent(), indexFile.getFileName().toString(), null);
+			try (var output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				output.writeInt(MAGIC);
+				output.writeInt(FORMAT_VERSION);
+				output.writeLong(size);
+				output.writeLong(lastModified);
+				output.writeInt(entries);
+				output.writeInt(hashes.length);
+				for (long[] table : List.of(hashes, offsets, digests)) {
+					for (long value : table) {
+						output.writeLong(value);
+					}
+				}
+				for (int length : lengths) {
+					output.writeInt(length);
+				}
+			}
+			Files.move(temp, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} catch (IOException e) {
+			// the directory of the database may be read-only, the index is rebuilt on the next load then
+			deleteQuietly(temp);
+		}
+	}
+
+	/**
+	 * Deletes the persisted index of the given database.
+	 */
+	public static void delete(Path database) {
+		deleteQuietly(indexFile(database));
+	}
+
+	private static void deleteQuietly(Path file) {
+		try {
+			if (file != null) {
+				Files.deleteIfExists(file);
+			}
+		} catch (IOException e) {
+			// left behind, it's recognized as outdated
+		}
+	}
+
+	private static CompilationDatabaseIndex read(Path database, Path indexFile) throws IOException {
+		try (var channel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+			var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+			if (buffer.limit() < HEADER_SIZE || buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+				throw new IOException("Invalid index file " + indexFile); //$NON-NLS-1$
+			}
+			long size = buffer.getLong();
+			long lastModified = buffer.getLong();
+			int entries = buffer.getInt();
+			int capacity = buffer.getInt();
+			if (Integer.bitCount(capacity) != 1 || buffer.remaining() != capacity * (8L + 8 + 8 + 4)) {
+				throw new IOException("Invalid index file " + indexFile); //$NON-NLS-1$
+			}
+			var hashes = new long[capacity];
+			var offsets = new long[capacity];
+			var lengths = new int[capacity];
+			var digests = new long[capacity];
+			buffer.asLongBuffer().get(hashes).get(offsets).get(digests);
+			buffer.position(HEADER_SIZE + capacity * 24);
+			buffer.asIntBuffer().get(lengths);
+			return new CompilationDatabaseIndex(database, size, lastModified, entries, hashes, offsets, lengths,
+					digests);
+		}
+	}
+
+	/**
+	 * Collects the entries while scanning and builds the hash table afterwards.
+	 */
+	private static final class TableBuilder {
+		private long[] hashes = new long[1024];
+		private long[] offsets = new long[1024];
+		private int[] lengths = new int[1024];
+		private long[] digests = new long[1024];
+		private int count;
+
+		void add(long hash, long offset, int length, long digest) {
+			if (count == hashes.length) {
+				hashes = Arrays.copyOf(hashes, count * 2);
+				offsets = Arrays.copyOf(offsets, count * 2);
+				lengths = Arrays.copyOf(lengths, count * 2);
+				digests = Arrays.copyOf(digests, count * 2);
+			}
+			hashes[count] = hash;
+			offsets[count] = offset;
+			lengths[count] = length;
+			digests[count] = digest;
+			count++;
+		}
+
+		CompilationDatabaseIndex build(Path database, long size, long lastModified) {
+			// load factor of at most 0.5:
+			int capacity = Integer.highestOneBit(Math.max(count, 8) * 4 - 1);
+			var tableHashes = new long[capacity];
+			var tableOffsets = new long[capacity];
+			var tableLengths = new int[capacity];
+			var tableDigests = new long[capacity];
+			int mask = capacity - 1;
+			int entries = 0;
+			for (int i = 0; i < count; i++) {
+				int slot = (int) hashes[i] & mask;
+				while (tableHashes[slot] != 0 && tableHashes[slot] != hashes[i]) {
+					slot = (slot + 1) & mask;
+				}
+				if (tableHashes[slot] == 0) {
+					tableHashes[slot] = hashes[i];
+					tableOffsets[slot] = offsets[i];
+					tableLengths[slot] = lengths[i];
+					tableDigests[slot] = digests[i];
+					entries++;
+				}
+			}
+			return new CompilationDatabaseIndex(database, size, lastModified, entries, tableHashes, tableOffsets,
+					tableLengths, tableDigests);
+		}
+	}
+
+	/**
+	 * Streaming JSON scanner over a range of a file, which is mapped window by window, or over a buffer.
+	 */
+	private static final class Scanner {
+		private final FileChannel channel;
+		private final long limit;
+		private ByteBuffer window;
+		private long windowStart;
+		private byte[] text = new byte[256];
+		long pos;
+		// the digest of the last scanned entry:
+		long digest;
+
+		Scanner(FileChannel channel, long start, long limit) {
+			this.channel = channel;
+			this.limit = limit;
+			this.window = ByteBuffer.allocate(0);
+			this.windowStart = start;
+			this.pos = start;
+		}
+
+		Scanner(ByteBuffer buffer, long start, long limit) {
+			this.channel = null;
+			this.limit = limit;
+			this.window = buffer;
+			this.windowStart = start;
+			this.pos = start;
+		}
+
+		private int peek() throws IOException {
+			if (pos >= limit) {
+				return -1;
+			}
+			long index = pos - windowStart;
+			if (index >= window.limit()) {
+				if (channel == null || !nextWindow()) {
+					return -1;
+				}
+				index = 0;
+			}
+			return window.get((int) index) & 0xff;
+		}
+
+		private boolean nextWindow() throws IOException {
+			windowStart = pos;
+			if (MAP) {
+				window = channel.map(FileChannel.MapMode.READ_ONLY, pos, Math.min(WINDOW_SIZE, limit - pos));
+				return true;
+			}
+			if (window.capacity() < READ_BUFFER_SIZE) {
+				window = ByteBuffer.allocateDirect(READ_BUFFER_SIZE);
+			}
+			window.clear();
+			int read = channel.read(window, pos);
+			window.flip();
+			return read > 0;
+		}
+
+		private int next() throws IOException {
+			int c = peek();
+			if (c < 0) {
+				throw error("Unexpected end"); //$NON-NLS-1$
+			}
+			pos++;
+			return c;
+		}
+
+		private IOException error(String message) {
+			var detail = message + " at offset " + pos + " of compilation database"; //$NON-NLS-1$ //$NON-NLS-2$
+			return new IOException(detail);
+		}
+
+		private int skipWhitespace() throws IOException {
+			int c = peek();
+			while (c == ' ' || c == '\n' || c == '\r' || c == '\t') {
+				pos++;
+				c = peek();
+			}
+			return c;
+		}
+
+		void expect(char expected) throws IOException {
+			skipWhitespace();
+			int c = next();
+			if (c != expected) {
+				pos--;
+				throw error("Expected '" + expected + "'"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+
+		/**
+		 * Skips whitespace and commas between array elements.
+		 *
+		 * @return the next character, which is consumed when it's the closing bracket
+		 */
+		int skipSeparators() throws IOException {
+			int c = skipWhitespace();
+			while (c == ',') {
+				pos++;
+				c = skipWhitespace();
+			}
+			if (c == ']') {
+				pos++;
+			} else if (c < 0) {
+				throw error("Unexpected end"); //$NON-NLS-1$
+			}
+			return c;
+		}
+
+		/**
+		 * Scans an entry and extracts only its directory and file.
+		 *
+		 * @return the directory and the file, <code>null</code> when missing
+		 */
+		String[] scanEntry() throws IOException {
+			var location = new String[2];
+			long members = 0;
+			expect('{');
+			while (skipMembers() != '}') {
+				var key = string();
+				expect(':');
+				long value;
+				if (skipWhitespace() == '"' && (DIRECTORY.equals(key) || FILE.equals(key))) {
+					var name = string();
+					location[DIRECTORY.equals(key) ? 0 : 1] = name;
+					value = hash(name);
+				} else {
+					value = hashValue();
+				}
+				// the sum does not depend on the order of the members:
+				members += mix(hash(key) * 31 + value);
+			}
+			digest = mix(members);
+			return location;
+		}
+
+		/**
+		 * Parses a complete entry.
+		 */
+		CompileCommand parseEntry() throws IOException {
+			String directory = null;
+			String file = null;
+			String command = ""; //$NON-NLS-1$
+			String output = ""; //$NON-NLS-1$
+			List<String> arguments = new ArrayList<>();
+			expect('{');
+			while (skipMembers() != '}') {
+				var key = string();
+				expect(':');
+				int c = skipWhitespace();
+				if (c == '"') {
+					var value = string();
+					switch (key) {
+					case DIRECTORY -> directory = value;
+					case FILE -> file = value;
+					case "command" -> command = value; //$NON-NLS-1$
+					case "output" -> output = value; //$NON-NLS-1$
+					default -> {
+						// not part of the specification
+					}
+					}
+				} else if (c == '[' && "arguments".equals(key)) { //$NON-NLS-1$
+					pos++;
+					while (skipSeparators() != ']') {
+						if (skipWhitespace() == '"') {
+							arguments.add(string());
+						} else {
+							skipValue();
+						}
+					}
+				} else {
+					skipValue();
+				}
+			}
+			if (file == null) {
+				throw new IOException("Compilation database entry without file"); //$NON-NLS-1$
+			}
+			return new CompileCommand(directory, file, List.copyOf(arguments), command, output);
+		}
+
+		// skips whitespace and commas between members, consumes the closing brace:
+		private int skipMembers() throws IOException {
+			int c = skipWhitespace();
+			while (c == ',') {
+				pos++;
+				c = skipWhitespace();
+			}
+			if (c == '}') {
+				pos++;
+			} else if (c != '"') {
+				throw error("Unexpected character"); //$NON-NLS-1$
+			}
+			return c;
+		}
+
+		private String string() throws IOException {
+			expect('"');
+			var builder = new StringBuilder();
+			int length = 0;
+			for (int c = next(); c != '"'; c = next()) {
+				if (c == '\\') {
+					// flush the raw bytes, which may contain multibyte UTF-8 sequences:
+					builder.append(new String(text, 0, length, StandardCharsets.UTF_8));
+					length = 0;
+					builder.append(escape());
+				} else {
+					if (length == text.length) {
+						text = Arrays.copyOf(text, length * 2);
+					}
+					text[length++] = (byte) c;
+				}
+			}
+			return builder.append(new String(text, 0, length, StandardCharsets.UTF_8)).toString();
+		}
+
+		private char escape() throws IOException {
+			int c = next();
+			return switch (c) {
+			case 'b' -> '\b';
+			case 'f' -> '\f';
+			case 'n' -> '\n';
+			case 'r' -> '\r';
+			case 't' -> '\t';
+			case 'u' -> {
+				int code = 0;
+				for (int i = 0; i < 4; i++) {
+					int digit = Character.digit(next(), 16);
+					if (digit < 0) {
+						throw error("Invalid unicode escape"); //$NON-NLS-1$
+					}
+					code = code * 16 + digit;
+				}
+				yield (char) code;
+			}
+			default -> (char) c;
+			};
+		}
+
+		/**
+		 * Consumes a value and hashes it. Whitespace between tokens and the order of object members are ignored.
+		 */
+		private long hashValue() throws IOException {
+			int c = skipWhitespace();
+			if (c == '"') {
+				return hashString();
+			} else if (c == '{') {
+				pos++;
+				long members = 0;
+				while (skipMembers() != '}') {
+					long key = hashString();
+					expect(':');
+					members += mix(key * 31 + hashValue());
+				}
+				return mix(members + '{');
+			} else if (c == '[') {
+				pos++;
+				long elements = '[';
+				while (skipSeparators() != ']') {
+					elements = elements * 31 + hashValue();
+				}
+				return mix(elements);
+			}
+			// number, boolean or null:
+			long hash = FNV_OFFSET;
+			while (c >= 0 && c != ',' && c != '}' && c != ']' && c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+				hash = (hash ^ c) * FNV_PRIME;
+				pos++;
+				c = peek();
+			}
+			return hash;
+		}
+
+		// hashes the raw bytes of a string, escape sequences are not decoded:
+		private long hashString() throws IOException {
+			expect('"');
+			long hash = FNV_OFFSET;
+			for (int c = next(); c != '"'; c = next()) {
+				hash = (hash ^ c) * FNV_PRIME;
+				if (c == '\\') {
+					hash = (hash ^ next()) * FNV_PRIME;
+				}
+			}
+			return hash;
+		}
+
+		private void skipString() throws IOException {
+			pos++;
+			for (int c = next(); c != '"'; c = next()) {
+				if (c == '\\') {
+					next();
+				}
+			}
+		}
+
+		private void skipValue() throws IOException {
+			int c = skipWhitespace();
+			if (c == '"') {
+				skipString();
+			} else if (c == '{' || c == '[') {
+				int depth = 0;
+				do {
+					c = peek();
+					if (c == '"') {
+						skipString();
+						continue;
+					}
+					next();
+					if (c == '{' || c == '[') {
+						depth++;
+					} else if (c == '}' || c == ']') {
+						depth--;
+					}
+				} while (depth > 0);
+			} else {
+				// number, boolean or null:
+				while (c >= 0 && c != ',' && c != '}' && c != ']' && c != ' ' && c != '\n' && c != '\r'
+						&& c != '\t') {
+					pos++;
+					c = peek();
+				}
+			}
+		}
+	}
+
+}
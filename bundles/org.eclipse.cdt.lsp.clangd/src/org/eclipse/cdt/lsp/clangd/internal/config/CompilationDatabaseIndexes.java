@@ -0,0 +1,73 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.clangd.internal.config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.cdt.lsp.clangd.internal.config.CompilationDatabaseIndex.Changes;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Keeps the {@link CompilationDatabaseIndex} of every compilation database which has changed in this session. The
+ * {@link CompileCommandsMonitor} {@link #update(Path) updates} the index of a changed database and compares it with
+ * the previous one, so that rewrites which do not change any entry are ignored.
+ */
+public final class CompilationDatabaseIndexes {
+	private final Map<Path, CompilationDatabaseIndex> indexes = new ConcurrentHashMap<>();
+
+	/**
+	 * Rebuilds the index of a changed database and compares it with the previous index. The previous index is the one
+	 * loaded in this session or, when the database has not changed in this session yet, the persisted one. The index
+	 * of a deleted database is dropped. Only the changed database is scanned, the indexes of the other databases are
+	 * kept.
+	 *
+	 * @param database the path of the <code>compile_commands.json</code> file
+	 * @return the translation units whose entries changed, {@link Changes#ALL} when the previous version is unknown
+	 */
+	public Changes update(Path database) {
+		var previous = Optional.ofNullable(indexes.get(database))
+				.or(() -> CompilationDatabaseIndex.persisted(database));
+		if (Files.isRegularFile(database)) {
+			// loading detects that the persisted index is outdated:
+			var current = indexes.compute(database, (path, index) -> load(path));
+			if (current != null && previous.isPresent()) {
+				return current.changesSince(previous.get());
+			}
+		} else {
+			indexes.remove(database);
+			CompilationDatabaseIndex.delete(database);
+		}
+		return Changes.ALL;
+	}
+
+	public void clear() {
+		indexes.clear();
+	}
+
+	private CompilationDatabaseIndex load(Path database) {
+		try {
+			return CompilationDatabaseIndex.load(database);
+		} catch (IOException e) {
+			var message = NLS.bind("Cannot index {0}: {1}", database, e.getMessage()); //$NON-NLS-1$
+			Platform.getLog(getClass()).warn(message);
+			return null;
+		}
+	}
+
+}
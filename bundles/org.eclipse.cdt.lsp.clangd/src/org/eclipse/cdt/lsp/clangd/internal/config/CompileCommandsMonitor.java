@@ -13,55 +13,91 @@
 
 package org.eclipse.cdt.lsp.clangd.internal.config;
 
+import java.net.URI;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
 
-import org.eclipse.cdt.lsp.clangd.plugin.ClangdPlugin;
+import org.eclipse.cdt.lsp.clangd.ClangdConfiguration;
+import org.eclipse.cdt.lsp.clangd.internal.config.ClangdFeatures.Extension;
+import org.eclipse.cdt.lsp.clangd.internal.config.CompilationDatabaseIndex.Changes;
 import org.eclipse.cdt.lsp.util.LspUtils;
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
 import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceChangeEvent;
-import org.eclipse.core.resources.IResourceChangeListener;
 import org.eclipse.core.resources.IResourceDelta;
-import org.eclipse.core.resources.IWorkspace;
-import org.eclipse.core.runtime.CoreException;
-import org.eclipse.ui.statushandlers.StatusManager;
+import org.eclipse.core.runtime.ServiceCaller;
+import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4j.DidChangeTextDocumentParams;
+import org.eclipse.lsp4j.DidChangeWatchedFilesParams;
+import org.eclipse.lsp4j.FileChangeType;
+import org.eclipse.lsp4j.FileEvent;
+import org.eclipse.lsp4j.VersionedTextDocumentIdentifier;
 
 /**
  * Detects changes (add/delete/content) of JSON Compilation Database Format
  * Specification files ({@value #CDBF_SPECIFICATION_JSON_FILE}) in the
- * {@link IWorkspace workspace} and {@link #restartLanguageServers() restarts
- * the language servers}.
+ * workspace, as reported by the {@link ResourceChangeDispatcher}, updates their
+ * {@link CompilationDatabaseIndexes indexes} and
+ * {@link #reloadCompilationDatabase(IProject, Set, Predicate) reloads the compilation database} in the language
+ * servers of the affected projects. The reload is debounced per project. Rewrites which do not change any entry
+ * semantically, like reordered entries or reformatted JSON, are ignored.
+ * <p>
+ * clangd versions which cannot reload a changed compilation database, or whose {@link ClangdFeatures features} are
+ * not known yet, are {@link #restartLanguageServers(IProject) restarted} instead.
+ * </p>
  */
 public class CompileCommandsMonitor {
 	private static final String CDBF_SPECIFICATION_JSON_FILE = "compile_commands.json"; //$NON-NLS-1$
 
 	private static final long DEBOUNCE_DELAY = 2000; // ms
 
-	private final IWorkspace workspace;
+	/**
+	 * clangd uses a loaded compilation database for a few seconds before it checks the file again.
+	 */
+	private static final long RELOAD_DELAY = 5; // s
 
 	/**
-	 * Utility class for postponing the execution of a {@link Runnable} to avoid
+	 * Utility class for postponing the execution of a {@link Runnable} per key to avoid
 	 * unnecessary or frequent invocation.
 	 */
-	private static final class Debouncer {
+	private static final class Debouncer<K> {
 		private long debounceDelay;
 		private ScheduledExecutorService scheduler;
-		private ScheduledFuture<?> debounceTimer;
+		private final Map<K, ScheduledFuture<?>> debounceTimers = new ConcurrentHashMap<>();
 
 		public Debouncer(long debounceDelay) {
 			this.debounceDelay = debounceDelay;
 		}
 
-		public void run(Runnable runnable) {
-			if (debounceTimer != null && !debounceTimer.isDone()) {
-				debounceTimer.cancel(true);
-			}
-
-			debounceTimer = scheduler.schedule(runnable, debounceDelay, TimeUnit.MILLISECONDS);
+		public void run(K key, Runnable runnable) {
+			debounceTimers.compute(key, (k, debounceTimer) -> {
+				if (debounceTimer != null && !debounceTimer.isDone()) {
+					debounceTimer.cancel(false);
+				}
+				var self = new AtomicReference<ScheduledFuture<?>>();
+				self.set(scheduler.schedule(() -> {
+					// a later timer of the key is not removed:
+					debounceTimers.remove(k, self.get());
+					runnable.run();
+				}, debounceDelay, TimeUnit.MILLISECONDS));
+				return self.get();
+			});
 		}
 
 		public void start() {
@@ -70,66 +106,167 @@ public class CompileCommandsMonitor {
 
 		public void stop() {
 			scheduler.shutdown();
+			debounceTimers.clear();
 		}
 	}
 
-	private final Debouncer debouncer;
+	private final Debouncer<IProject> debouncer;
+
+	/**
+	 * The compile_commands.json files changed since the last reload, per project.
+	 */
+	private final Map<IProject, Set<IResource>> changedDatabases = new ConcurrentHashMap<>();
+
+	private final ResourceChangeDispatcher dispatcher;
+
+	private ResourceChangeDispatcher.Subscription subscription;
+
+	private void resourcesChanged(ResourceChangeDispatcher.Changes changes) {
+		Map<IProject, Set<IResource>> affectedProjects = collectAffectedProjects(changes);
 
-	private final IResourceChangeListener listener = new IResourceChangeListener() {
-		@Override
-		public void resourceChanged(IResourceChangeEvent event) {
-			Set<IProject> affectedProjects = collectAffectedProjects(event);
+		affectedProjects.forEach((project, databases) -> {
+			changedDatabases.computeIfAbsent(project, p -> ConcurrentHashMap.newKeySet()).addAll(databases);
+			debouncer.run(project, () -> compilationDatabaseChanged(project));
+		});
+	}
 
-			if (!affectedProjects.isEmpty()) {
-				debouncer.run(() -> restartLanguageServers());
+	/**
+	 * Collects all projects where where compile_commands.json files were
+	 * added/removed/changed
+	 */
+	private Map<IProject, Set<IResource>> collectAffectedProjects(ResourceChangeDispatcher.Changes changes) {
+		Map<IProject, Set<IResource>> projects = new HashMap<>();
+		for (var delta : changes.deltas()) {
+			if (delta.getKind() == IResourceDelta.ADDED || delta.getKind() == IResourceDelta.REMOVED
+					|| (delta.getFlags() & IResourceDelta.CONTENT) != 0) {
+				projects.computeIfAbsent(delta.getResource().getProject(), p -> new HashSet<>())
+						.add(delta.getResource());
 			}
 		}
+		return projects;
+	}
+
+	private final CompilationDatabaseIndexes indexes;
+
+	public CompileCommandsMonitor(ResourceChangeDispatcher dispatcher, CompilationDatabaseIndexes indexes) {
+		this.dispatcher = dispatcher;
+		this.indexes = indexes;
+		this.debouncer = new Debouncer<>(DEBOUNCE_DELAY);
+	}
+
+	private void compilationDatabaseChanged(IProject project) {
+		var databases = Optional.ofNullable(changedDatabases.remove(project)).orElseGet(Set::of);
+		// only the changed databases are indexed again:
+		var changes = databases.stream().map(IResource::getLocation)
+				.map(location -> location == null ? Changes.ALL : indexes.update(location.toPath())).toList();
+		if (changes.stream().allMatch(Changes::isEmpty)) {
+			// rewritten by the build without semantic changes, e.g. only reordered:
+			return;
+		}
+		if (supportsCompilationDatabaseReload(project)) {
+			reloadCompilationDatabase(project, databases,
+					file -> changes.stream().anyMatch(c -> c.affects(file)));
+		} else {
+			restartLanguageServers(project);
+		}
+	}
+
+	/**
+	 * Checks whether a language server serves the project. A language server started later reads the current
+	 * compilation databases anyway, and a skipped index is found outdated when it is looked up.
+	 */
+	protected boolean isServed(IProject project) {
+		return LspUtils.getLanguageServers().stream().anyMatch(w -> w.canOperate(project));
+	}
+
+	/**
+	 * Checks whether the clangd executable configured for the project reloads a changed compilation database.
+	 */
+	protected boolean supportsCompilationDatabaseReload(IProject project) {
+		List<String> commands = new ArrayList<>();
+		ServiceCaller.callOnce(getClass(), ClangdConfiguration.class, c -> commands.addAll(c.commands(project)));
+		return !commands.isEmpty()
+				&& ClangdFeatures.getDefault().supports(
+						ClangdLanguageServerProvider.resolveVariables(commands.getFirst()),
+						Extension.COMPILATION_DATABASE_RELOAD);
+	}
+
+	/**
+	 * Notifies the language servers which serve the given project about the changed compilation databases, without
+	 * restarting them. The background index and the ASTs of the open documents are kept; clangd re-indexes the
+	 * translation units whose compile commands changed. Afterwards the affected open documents of the project are
+	 * rebuilt with their new compile commands.
+	 *
+	 * @param affected tests whether the compile command of a source file, given by its location, changed
+	 */
+	protected void reloadCompilationDatabase(IProject project, Set<IResource> databases, Predicate<Path> affected) {
+		var events = databases.stream().map(db -> new FileEvent(LSPEclipseUtils.toUri(db).toString(),
+				db.exists() ? FileChangeType.Changed : FileChangeType.Deleted)).toList();
+		var params = new DidChangeWatchedFilesParams(events);
+		var servers = LspUtils.getLanguageServers().stream().filter(w -> w.canOperate(project)).toList();
+		servers.forEach(w -> w.sendNotification(ls -> ls.getWorkspaceService().didChangeWatchedFiles(params)));
+		// clangd picks up the changed database with the next query after its cached copy became stale:
+		CompletableFuture.delayedExecutor(RELOAD_DELAY, TimeUnit.SECONDS).execute(() -> {
+			var documents = openDocuments(project, affected);
+			servers.forEach(w -> documents.forEach(uri -> {
+				// the version LSP4E has sent with the last change of the document, negative if it is not connected:
+				int version = w.getTextDocumentVersion(uri);
+				if (version >= 0) {
+					var document = new VersionedTextDocumentIdentifier(uri.toString(), version);
+					w.sendNotification(ls -> ls.getTextDocumentService().didChange(new ForceRebuildParams(document)));
+				}
+			}));
+		});
+	}
 
-		/**
-		 * Collects all projects where where compile_commands.json files were
-		 * added/removed/changed
-		 */
-		private Set<IProject> collectAffectedProjects(IResourceChangeEvent event) {
-			Set<IProject> projects = new HashSet<>();
-
-			if (event.getDelta() != null && event.getType() == IResourceChangeEvent.POST_CHANGE) {
-				try {
-					event.getDelta().accept(delta -> {
-						if ((delta.getKind() == IResourceDelta.ADDED || delta.getKind() == IResourceDelta.REMOVED
-								|| (delta.getFlags() & IResourceDelta.CONTENT) != 0)
-								&& CDBF_SPECIFICATION_JSON_FILE.equals(delta.getResource().getName())) {
-							projects.add(delta.getResource().getProject());
-						}
-
-						return true;
-					});
-				} catch (CoreException e) {
-					StatusManager.getManager().handle(e, ClangdPlugin.PLUGIN_ID);
+	private static List<URI> openDocuments(IProject project, Predicate<Path> affected) {
+		List<URI> documents = new ArrayList<>();
+		for (var buffer : FileBuffers.getTextFileBufferManager().getFileBuffers()) {
+			if (buffer instanceof ITextFileBuffer && project.getFullPath().isPrefixOf(buffer.getLocation())) {
+				var file = project.getWorkspace().getRoot().getFile(buffer.getLocation());
+				if (file.getLocation() == null || !affected.test(file.getLocation().toPath())) {
+					continue;
 				}
+				documents.add(LSPEclipseUtils.toUri(file));
 			}
-			return projects;
 		}
-	};
+		return documents;
+	}
 
-	public CompileCommandsMonitor(IWorkspace workspace) {
-		this.workspace = workspace;
-		this.debouncer = new Debouncer(DEBOUNCE_DELAY);
+	/**
+	 * A <code>textDocument/didChange</code> without changes which asks clangd to rebuild the document with the
+	 * current compile command, by means of its <code>forceRebuild</code> extension.
+	 */
+	private static final class ForceRebuildParams extends DidChangeTextDocumentParams {
+		@SuppressWarnings("unused")
+		private final boolean forceRebuild = true;
+
+		ForceRebuildParams(VersionedTextDocumentIdentifier document) {
+			super(document, List.of());
+		}
 	}
 
-	protected void restartLanguageServers() {
-		LspUtils.getLanguageServers().forEach(w -> {
+	/**
+	 * Restarts the language servers which serve the given project. Since one language server is started per project,
+	 * the language servers of the other projects keep their preambles.
+	 */
+	protected void restartLanguageServers(IProject project) {
+		LspUtils.getLanguageServers().stream().filter(w -> w.canOperate(project)).forEach(w -> {
 			w.restart();
 		});
 	}
 
 	public CompileCommandsMonitor start() {
-		workspace.addResourceChangeListener(listener);
 		debouncer.start();
+		subscription = dispatcher.subscribe(IResourceChangeEvent.POST_CHANGE, Set.of(CDBF_SPECIFICATION_JSON_FILE),
+				Set.of(), container -> container.getType() != IResource.PROJECT || isServed(container.getProject()),
+				this::resourcesChanged);
 		return this;
 	}
 
 	public void stop() {
-		workspace.removeResourceChangeListener(listener);
+		dispatcher.unsubscribe(subscription);
 		debouncer.stop();
+		changedDatabases.clear();
 	}
 }
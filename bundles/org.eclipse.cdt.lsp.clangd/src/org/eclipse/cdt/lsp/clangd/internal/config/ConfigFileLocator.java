@@ -0,0 +1,258 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.clangd.internal.config;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchService;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.cdt.lsp.clangd.plugin.ClangdPlugin;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Platform;
+
+/**
+ * Resolves the nearest configuration file, like <code>.clangd</code> or <code>.clang-format</code>, in a directory or
+ * its ancestors. The result is cached for every directory on the way up, so repeated lookups and lookups from
+ * sibling directories don't touch the file system.
+ * <p>
+ * The cache is invalidated when a configuration file is added or removed: in the workspace by resource deltas, and
+ * outside the workspace, e.g. in the parent folders of the projects, by a file system watcher. Changes which the
+ * operating system does not report, as for some network file systems, are only seen after the workspace is
+ * refreshed or Eclipse is restarted.
+ * </p>
+ */
+public final class ConfigFileLocator {
+	private final IWorkspace workspace;
+	private final Map<Key, Optional<Path>> cache = new ConcurrentHashMap<>();
+	private final Set<String> fileNames = ConcurrentHashMap.newKeySet();
+	private final Set<Path> watched = ConcurrentHashMap.newKeySet();
+	// the directories with cached results, possibly outdated ones, to skip the resource deltas of the others:
+	private final NavigableSet<String> directories = new ConcurrentSkipListSet<>();
+	private final AtomicInteger lookups = new AtomicInteger();
+	// incremented on every invalidation, so a lookup racing with it does not cache an outdated result:
+	private final AtomicLong generation = new AtomicLong();
+	private volatile WatchService watchService;
+	private Thread watcher;
+
+	private record Key(Path directory, String fileName) {
+	}
+
+	private ResourceChangeDispatcher dispatcher;
+	private ResourceChangeDispatcher.Subscription subscription;
+
+	private void resourcesChanged(ResourceChangeDispatcher.Changes changes) {
+		for (var delta : changes.deltas()) {
+			var resource = delta.getResource();
+			if ((delta.getKind() == IResourceDelta.ADDED || delta.getKind() == IResourceDelta.REMOVED)
+					&& resource.getType() == IResource.FILE) {
+				var location = resource.getLocation();
+				if (location != null) {
+					invalidate(location.toPath().getParent(), resource.getName());
+				} else {
+					invalidate(null, resource.getName());
+				}
+			}
+		}
+	}
+
+	public ConfigFileLocator(IWorkspace workspace) {
+		this.workspace = workspace;
+	}
+
+	/**
+	 * Finds the nearest configuration file with the given name, using the shared locator of the plug-in when it is
+	 * active.
+	 *
+	 * @param directory the directory to start in
+	 * @param fileName the name of the configuration file
+	 * @return the path of the configuration file in the directory or in its nearest ancestor, or an empty optional
+	 */
+	public static Optional<Path> findNearest(Path directory, String fileName) {
+		var plugin = ClangdPlugin.getDefault();
+		if (plugin != null) {
+			return plugin.getConfigFileLocator().find(directory, fileName);
+		}
+		return new ConfigFileLocator(null).find(directory, fileName);
+	}
+
+	/**
+	 * Finds the nearest configuration file with the given name in the directory or its ancestors.
+	 *
+	 * @param directory the directory to start in
+	 * @param fileName the name of the configuration file
+	 * @return the path of the configuration file in the directory or in its nearest ancestor, or an empty optional
+	 */
+	public Optional<Path> find(Path directory, String fileName) {
+		fileNames.add(fileName);
+		lookups.incrementAndGet();
+		try {
+			return lookup(directory, fileName);
+		} finally {
+			lookups.decrementAndGet();
+		}
+	}
+
+	private Optional<Path> lookup(Path directory, String fileName) {
+		var key = new Key(directory.toAbsolutePath().normalize(), fileName);
+		var cached = cache.get(key);
+		if (cached != null) {
+			return cached;
+		}
+		long current = generation.get();
+		Optional<Path> result;
+		var candidate = key.directory().resolve(fileName);
+		if (Files.exists(candidate)) {
+			result = Optional.of(candidate);
+		} else {
+			var parent = key.directory().getParent();
+			result = parent != null && Files.isDirectory(parent) ? lookup(parent, fileName) : Optional.empty();
+		}
+		// watched before the result is cached, so a change in between invalidates it:
+		watch(key.directory());
+		if (generation.get() == current) {
+			directories.add(key.directory().toString());
+			cache.put(key, result);
+		}
+		return result;
+	}
+
+	/**
+	 * Drops the cached results for the given configuration file name in the directory and its descendants.
+	 *
+	 * @param directory the directory of an added or removed configuration file, <code>null</code> for all directories
+	 * @param fileName the name of the configuration file
+	 */
+	public void invalidate(Path directory, String fileName) {
+		generation.incrementAndGet();
+		cache.keySet().removeIf(key -> key.fileName().equals(fileName)
+				&& (directory == null || key.directory().startsWith(directory)));
+	}
+
+	/**
+	 * Tests whether the cached results of a project or folder may be invalidated by its changes. The deltas of the
+	 * other projects and folders are not dispatched.
+	 */
+	private boolean mayHaveCachedResults(IResource container) {
+		var location = container.getLocation();
+		if (location == null || lookups.get() > 0) {
+			// a running lookup may cache a result for the container:
+			return true;
+		}
+		var directory = location.toPath().toString();
+		if (directories.contains(directory)) {
+			return true;
+		}
+		var prefix = directory + File.separator;
+		var descendant = directories.ceiling(prefix);
+		return descendant != null && descendant.startsWith(prefix);
+	}
+
+	private void invalidateAll() {
+		generation.incrementAndGet();
+		cache.clear();
+	}
+
+	/**
+	 * Watches a directory outside the workspace whose result is cached, e.g. an ancestor of the workspace, the
+	 * directories in the workspace are covered by the resource deltas. Every directory is watched once, however many
+	 * lookups pass it, so the watches are bounded by the directories with cached results.
+	 */
+	private void watch(Path directory) {
+		var service = watchService;
+		if (service != null && !isInWorkspace(directory) && watched.add(directory)) {
+			try {
+				directory.register(service, StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_DELETE);
+			} catch (IOException | ClosedWatchServiceException e) {
+				// not watchable, e.g. not readable
+			}
+		}
+	}
+
+	private boolean isInWorkspace(Path directory) {
+		var container = workspace.getRoot().getContainerForLocation(IPath.fromOSString(directory.toString()));
+		return container != null && container.getType() != IResource.ROOT;
+	}
+
+	private void processEvents(WatchService service) {
+		try {
+			while (true) {
+				var key = service.take();
+				var directory = (Path) key.watchable();
+				for (var event : key.pollEvents()) {
+					if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+						invalidateAll();
+					} else if (event.context() instanceof Path name && fileNames.contains(name.toString())) {
+						invalidate(directory, name.toString());
+					}
+				}
+				if (!key.reset()) {
+					watched.remove(directory);
+				}
+			}
+		} catch (InterruptedException | ClosedWatchServiceException e) {
+			// stopped
+		}
+	}
+
+	public ConfigFileLocator start(ResourceChangeDispatcher dispatcher) {
+		this.dispatcher = dispatcher;
+		// the names are added by the lookups:
+		subscription = dispatcher.subscribe(IResourceChangeEvent.POST_CHANGE, fileNames, Set.of(),
+				this::mayHaveCachedResults, this::resourcesChanged);
+		try {
+			var service = FileSystems.getDefault().newWatchService();
+			watchService = service;
+			watcher = Thread.ofVirtual().name("CDT config file watcher") //$NON-NLS-1$
+					.start(() -> processEvents(service));
+		} catch (IOException e) {
+			// without a watcher, changes outside the workspace are seen after a restart only
+			Platform.getLog(getClass()).warn("Cannot watch configuration files: " + e.getMessage()); //$NON-NLS-1$
+		}
+		return this;
+	}
+
+	public void stop() {
+		dispatcher.unsubscribe(subscription);
+		var service = watchService;
+		if (service != null) {
+			watchService = null;
+			try {
+				service.close();
+			} catch (IOException e) {
+				// closed anyway
+			}
+			watcher.interrupt();
+		}
+		watched.clear();
+		invalidateAll();
+	}
+
+}
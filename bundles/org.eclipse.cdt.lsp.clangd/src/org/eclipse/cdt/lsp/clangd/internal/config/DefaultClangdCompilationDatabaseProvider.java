@@ -22,8 +22,6 @@ import org.eclipse.cdt.core.cdtvariables.CdtVariableException;
 import org.eclipse.cdt.core.settings.model.CProjectDescriptionEvent;
 import org.eclipse.cdt.core.settings.model.ICConfigurationDescription;
 import org.eclipse.cdt.lsp.clangd.ClangdCompilationDatabaseProvider;
-import org.eclipse.core.filesystem.EFS;
-import org.eclipse.core.filesystem.IFileStore;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.runtime.CoreException;
@@ -107,6 +105,7 @@ public class DefaultClangdCompilationDatabaseProvider implements ClangdCompilati
 	 * Check if .clangd file is not in the project root but in one of its parent folders.
 	 * All parent folders until the root directory of the file system are being searched.
 	 * This covers the use case that the compile_commands.json is located in a projects parent folder as well as the .clangd file.
+	 * The lookup is cached by the {@link ConfigFileLocator}.
 	 * @param project
 	 * @return true if .clangd is not in project root directory and in one of its parent folders.
 	 */
@@ -115,23 +114,12 @@ public class DefaultClangdCompilationDatabaseProvider implements ClangdCompilati
 			return false;
 		}
 		//Okay, lets start in parent folder, if it exists, to look for .clangd:
-		IFileStore currentDirStore = EFS.getLocalFileSystem().getStore(project.getLocation()).getParent();
-		if (currentDirStore == null) {
+		var location = project.getLocation();
+		var parent = location != null ? location.toPath().getParent() : null;
+		if (parent == null) {
 			return false;
 		}
-		IFileStore clangdFileStore = currentDirStore
-				.getChild(ClangdCompilationDatabaseSetterBase.CLANGD_CONFIG_FILE_NAME);
-
-		while (!clangdFileStore.fetchInfo().exists() && currentDirStore.getParent() != null
-				&& currentDirStore.getParent().fetchInfo().exists()) {
-			// move up one level to the parent directory and check again
-			currentDirStore = currentDirStore.getParent();
-			clangdFileStore = currentDirStore.getChild(ClangdCompilationDatabaseSetterBase.CLANGD_CONFIG_FILE_NAME);
-		}
-
-		if (clangdFileStore.fetchInfo().exists()) {
-			return true;
-		}
-		return false;
+		return ConfigFileLocator.findNearest(parent, ClangdCompilationDatabaseSetterBase.CLANGD_CONFIG_FILE_NAME)
+				.isPresent();
 	}
 }
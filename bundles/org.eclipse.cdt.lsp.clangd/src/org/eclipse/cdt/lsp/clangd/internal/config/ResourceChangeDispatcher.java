@@ -0,0 +1,277 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.clangd.internal.config;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import org.eclipse.cdt.core.CProjectNature;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceChangeListener;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.SafeRunner;
+
+/**
+ * Visits the delta of a resource change event once and hands the deltas of the resources with the file names or
+ * extensions a subscriber is interested in to the subscriber. The monitors of the plug-in subscribe here instead of
+ * registering an {@link IResourceChangeListener} each, which would visit the whole delta once per monitor.
+ * <p>
+ * A subscriber may also declare the projects and folders which can contain its files. The members of a project or
+ * folder which no subscriber of the event accepts are not visited.
+ * </p>
+ * <p>
+ * The dispatcher is registered with the workspace while it has subscriptions. The subscribers are called in the
+ * order of their subscription, in the thread which notifies the resource change listeners.
+ * </p>
+ */
+public final class ResourceChangeDispatcher {
+	private static final int EVENT_TYPES = IResourceChangeEvent.POST_CHANGE | IResourceChangeEvent.POST_BUILD;
+
+	private final IWorkspace workspace;
+	private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+	private final IResourceChangeListener listener = this::dispatch;
+
+	/**
+	 * The changes of an event which match a subscription.
+	 *
+	 * @param event the resource change event
+	 * @param deltas the deltas of the resources with a subscribed name or extension, in the order of the delta tree
+	 * @param projects the changed projects in the scope of the subscription without any changed file, e.g. because
+	 *            the build configuration changed
+	 */
+	public record Changes(IResourceChangeEvent event, List<IResourceDelta> deltas, Set<IProject> projects) {
+	}
+
+	/**
+	 * The interest of a subscriber. The sets are read on every event, so a subscriber may pass a concurrent set which
+	 * it extends later.
+	 *
+	 * @param eventMask the types of the events, {@link IResourceChangeEvent#POST_CHANGE} and/or
+	 *                  {@link IResourceChangeEvent#POST_BUILD}
+	 * @param fileNames the names of the resources to dispatch
+	 * @param fileExtensions the extensions of the resources to dispatch
+	 * @param scope accepts the projects and folders whose members are dispatched, it is called once per project and
+	 *                  folder of an event
+	 * @param subscriber is called with the matching changes of an event
+	 */
+	public record Subscription(int eventMask, Set<String> fileNames, Set<String> fileExtensions,
+			Predicate<IResource> scope, Consumer<Changes> subscriber) {
+	}
+
+	public ResourceChangeDispatcher(IWorkspace workspace) {
+		this.workspace = workspace;
+	}
+
+	/**
+	 * Subscribes to the changes of resources with the given names or extensions in any project and folder.
+	 *
+	 * @return the subscription, to {@link #unsubscribe(Subscription) unsubscribe} later
+	 * @see #subscribe(int, Set, Set, Predicate, Consumer)
+	 */
+	public Subscription subscribe(int eventMask, Set<String> fileNames, Set<String> fileExtensions,
+			Consumer<Changes> subscriber) {
+		return subscribe(eventMask, fileNames, fileExtensions, container -> true, subscriber);
+	}
+
+	/**
+	 * Subscribes to the changes of resources with the given names or extensions in the projects and folders accepted
+	 * by the scope. The subscriber is called when matching resources or projects without changed files are part of an
+	 * event.
+	 *
+	 * @return the subscription, to {@link #unsubscribe(Subscription) unsubscribe} later
+	 */
+	public Subscription subscribe(int eventMask, Set<String> fileNames, Set<String> fileExtensions,
+			Predicate<IResource> scope, Consumer<Changes> subscriber) {
+		var subscription = new Subscription(eventMask, fileNames, fileExtensions, scope, subscriber);
+		synchronized (subscriptions) {
+			if (subscriptions.isEmpty()) {
+				workspace.addResourceChangeListener(listener, EVENT_TYPES);
+			}
+			subscriptions.add(subscription);
+		}
+		return subscription;
+	}
+
+	public void unsubscribe(Subscription subscription) {
+		synchronized (subscriptions) {
+			if (subscriptions.remove(subscription) && subscriptions.isEmpty()) {
+				workspace.removeResourceChangeListener(listener);
+			}
+		}
+	}
+
+	/**
+	 * A scope which accepts the accessible C/C++ projects and all their folders.
+	 *
+	 * @param container a project or a folder of a delta
+	 * @return whether the container belongs to an accessible C/C++ project
+	 */
+	public static boolean inCProject(IResource container) {
+		if (container.getType() != IResource.PROJECT) {
+			return true;
+		}
+		var project = container.getProject();
+		try {
+			return project.isAccessible() && project.hasNature(CProjectNature.C_NATURE_ID);
+		} catch (CoreException e) {
+			Platform.getLog(ResourceChangeDispatcher.class).error(e.getMessage(), e);
+			return false;
+		}
+	}
+
+	/**
+	 * Visits the delta of the event and calls the subscribers of the event type with their matching changes.
+	 *
+	 * @param event the resource change event
+	 */
+	public void dispatch(IResourceChangeEvent event) {
+		var delta = event.getDelta();
+		if (delta == null) {
+			return;
+		}
+		var subscribed = subscriptions.stream().filter(s -> (s.eventMask() & event.getType()) != 0).toList();
+		if (subscribed.isEmpty()) {
+			return;
+		}
+		var visitor = new DispatchingVisitor(subscribed);
+		try {
+			delta.accept(visitor);
+		} catch (CoreException e) {
+			Platform.getLog(getClass()).log(e.getStatus());
+			return;
+		}
+		for (int i = 0; i < subscribed.size(); i++) {
+			var subscriber = subscribed.get(i).subscriber();
+			var changes = new Changes(event, visitor.matches.get(i), visitor.projects.get(i));
+			if (!changes.deltas().isEmpty() || !changes.projects().isEmpty()) {
+				SafeRunner.run(() -> subscriber.accept(changes));
+			}
+		}
+	}
+
+	private static final class DispatchingVisitor implements IResourceDeltaVisitor {
+		private final List<Subscription> subscriptions;
+		private final List<List<IResourceDelta>> matches = new ArrayList<>();
+		private final List<Set<IProject>> projects = new ArrayList<>();
+		// the indexes of the subscriptions per file name and extension, to look up a resource once:
+		private final Map<String, List<Integer>> byName = new HashMap<>();
+		private final Map<String, List<Integer>> byExtension = new HashMap<>();
+		// the subscriptions whose scope contains the currently visited resources:
+		private BitSet active;
+
+		DispatchingVisitor(List<Subscription> subscriptions) {
+			this.subscriptions = subscriptions;
+			for (int i = 0; i < subscriptions.size(); i++) {
+				var subscription = subscriptions.get(i);
+				int index = i;
+				matches.add(new ArrayList<>());
+				projects.add(new LinkedHashSet<>());
+				subscription.fileNames()
+						.forEach(name -> byName.computeIfAbsent(name, n -> new ArrayList<>()).add(index));
+				subscription.fileExtensions()
+						.forEach(ext -> byExtension.computeIfAbsent(ext, e -> new ArrayList<>()).add(index));
+			}
+			active = new BitSet();
+			active.set(0, subscriptions.size());
+		}
+
+		@Override
+		public boolean visit(IResourceDelta delta) throws CoreException {
+			var resource = delta.getResource();
+			var type = resource.getType();
+			if (type == IResource.FILE) {
+				changed(resource.getProject());
+			} else if (type == IResource.PROJECT || type == IResource.FOLDER) {
+				var inScope = scope(resource);
+				if (inScope.isEmpty()) {
+					// the members cannot match, but the project has changed members:
+					if (type == IResource.FOLDER) {
+						changed(resource.getProject());
+					}
+					return false;
+				}
+				if (type == IResource.PROJECT) {
+					inScope.stream().forEach(i -> projects.get(i).add(resource.getProject()));
+				}
+				if (!inScope.equals(active)) {
+					// visit the members with the narrowed scope, the visitor is not told when a subtree is done:
+					var outer = active;
+					active = inScope;
+					try {
+						match(resource, delta);
+						for (var child : delta.getAffectedChildren()) {
+							child.accept(this);
+						}
+					} finally {
+						active = outer;
+					}
+					return false;
+				}
+			}
+			match(resource, delta);
+			// files have no members:
+			return type != IResource.FILE;
+		}
+
+		private BitSet scope(IResource container) {
+			var inScope = new BitSet();
+			active.stream().filter(i -> subscriptions.get(i).scope().test(container)).forEach(inScope::set);
+			return inScope;
+		}
+
+		// any changed file, the project has not only changed its description:
+		private void changed(IProject project) {
+			projects.forEach(set -> set.remove(project));
+		}
+
+		private void match(IResource resource, IResourceDelta delta) {
+			add(byName.get(resource.getName()), delta);
+			if (!byExtension.isEmpty()) {
+				var extension = resource.getFileExtension();
+				if (extension != null) {
+					add(byExtension.get(extension), delta);
+				}
+			}
+		}
+
+		private void add(List<Integer> targets, IResourceDelta delta) {
+			if (targets != null) {
+				for (int i : targets) {
+					if (!active.get(i)) {
+						continue;
+					}
+					var deltas = matches.get(i);
+					// a subscription may match both the name and the extension:
+					if (deltas.isEmpty() || deltas.getLast() != delta) {
+						deltas.add(delta);
+					}
+				}
+			}
+		}
+	}
+
+}
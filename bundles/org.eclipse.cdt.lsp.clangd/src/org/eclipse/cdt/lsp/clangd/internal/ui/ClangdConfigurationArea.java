@@ -23,6 +23,7 @@ import java.util.stream.Collectors;
 
 import org.eclipse.cdt.lsp.clangd.ClangdMetadata;
 import org.eclipse.cdt.lsp.clangd.ClangdOptions;
+import org.eclipse.cdt.lsp.clangd.internal.config.ClangdPerformanceProfile;
 import org.eclipse.cdt.lsp.ui.ConfigurationArea;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
 import org.eclipse.core.runtime.preferences.OsgiPreferenceMetadataStore;
@@ -30,6 +31,7 @@ import org.eclipse.core.runtime.preferences.PreferenceMetadata;
 import org.eclipse.jface.dialogs.ControlEnableState;
 import org.eclipse.jface.layout.GridDataFactory;
 import org.eclipse.jface.layout.GridLayoutFactory;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.swt.SWT;
 import org.eclipse.swt.events.KeyListener;
 import org.eclipse.swt.events.SelectionEvent;
@@ -42,6 +44,7 @@ import org.eclipse.swt.widgets.Display;
 import org.eclipse.swt.widgets.FileDialog;
 import org.eclipse.swt.widgets.Group;
 import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Spinner;
 import org.eclipse.swt.widgets.Text;
 
 public final class ClangdConfigurationArea extends ConfigurationArea<ClangdOptions> {
@@ -53,8 +56,19 @@ public final class ClangdConfigurationArea extends ConfigurationArea<ClangdOptio
 	private final Button pretty;
 	private final Text driver;
 	private final Text additional;
+	private final Text serverAddress;
 	private final Button logToConsole;
 	private final Button validateOptions;
+	private final Button checkClangFormat;
+	private final Combo profile;
+	private final Label profileOptions;
+	private final Combo pchStorage;
+	private final Combo mallocTrim;
+	private final Spinner workerCount;
+	private final Spinner maxServerInstances;
+	private final Spinner serverMemoryBudget;
+	private final Spinner memoryWatchdogThreshold;
+	private final Combo memoryWatchdogAction;
 	private final Group group;
 	private ControlEnableState enableState;
 	private final Button setCompilationDatabase;
@@ -62,21 +76,44 @@ public final class ClangdConfigurationArea extends ConfigurationArea<ClangdOptio
 
 	private final Map<PreferenceMetadata<String>, Text> texts;
 	private final Map<PreferenceMetadata<String>, Combo> combos;
+	private final Map<Combo, String[]> comboValues;
+	private final Map<PreferenceMetadata<Integer>, Spinner> spinners;
 
 	private final static String[] completionOptions = { "detailed", "bundled", "" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 	private final static String[] completionsKeys = { LspEditorUiMessages.LspEditorPreferencePage_completion_detailed,
 			LspEditorUiMessages.LspEditorPreferencePage_completion_bundled,
 			LspEditorUiMessages.LspEditorPreferencePage_completion_default };
-	private final Map<String, String> completions;
+	private final static String[] profileOptionValues = { "", //$NON-NLS-1$
+			ClangdPerformanceProfile.LOW_MEMORY.identifier(), ClangdPerformanceProfile.BALANCED.identifier(),
+			ClangdPerformanceProfile.MAX_THROUGHPUT.identifier() };
+	private final static String[] profileKeys = {
+			LspEditorUiMessages.LspEditorPreferencePage_performance_profile_none,
+			LspEditorUiMessages.LspEditorPreferencePage_performance_profile_low_memory,
+			LspEditorUiMessages.LspEditorPreferencePage_performance_profile_balanced,
+			LspEditorUiMessages.LspEditorPreferencePage_performance_profile_max_throughput };
+	private final static String[] pchStorageValues = { "", "memory", "disk" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	private final static String[] pchStorageKeys = { LspEditorUiMessages.LspEditorPreferencePage_pch_storage_default,
+			LspEditorUiMessages.LspEditorPreferencePage_pch_storage_memory,
+			LspEditorUiMessages.LspEditorPreferencePage_pch_storage_disk };
+	private final static String[] mallocTrimValues = { "", "true", "false" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	private final static String[] mallocTrimKeys = { LspEditorUiMessages.LspEditorPreferencePage_malloc_trim_default,
+			LspEditorUiMessages.LspEditorPreferencePage_malloc_trim_yes,
+			LspEditorUiMessages.LspEditorPreferencePage_malloc_trim_no };
+	private final static String[] watchdogActionValues = { "warn", "evict", "restart" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	private final static String[] watchdogActionKeys = {
+			LspEditorUiMessages.LspEditorPreferencePage_memory_watchdog_action_warn,
+			LspEditorUiMessages.LspEditorPreferencePage_memory_watchdog_action_evict,
+			LspEditorUiMessages.LspEditorPreferencePage_memory_watchdog_action_restart };
+	// the memory options in MB:
+	private final static int MAX_MEMORY = 1024 * 1024;
+	private final static int MAX_COUNT = 1024;
 
 	public ClangdConfigurationArea(Composite parent, boolean isProjectScope) {
 		super(3);
 		this.texts = new HashMap<>();
 		this.combos = new HashMap<>();
-		this.completions = new HashMap<>();
-		for (int i = 0; i < completionsKeys.length; i++) {
-			completions.put(completionsKeys[i], completionOptions[i]);
-		}
+		this.comboValues = new HashMap<>();
+		this.spinners = new HashMap<>();
 		Composite composite = new Composite(parent, SWT.NONE);
 		composite.setLayoutData(new GridData(GridData.FILL_HORIZONTAL));
 		composite.setLayout(GridLayoutFactory.fillDefaults().numColumns(columns).create());
@@ -84,16 +121,47 @@ public final class ClangdConfigurationArea extends ConfigurationArea<ClangdOptio
 		this.path = createFileSelector(ClangdMetadata.Predefined.clangdPath, group, this::selectClangdExecutable);
 		this.tidy = createButton(ClangdMetadata.Predefined.useTidy, group, SWT.CHECK, 0);
 		this.index = createButton(ClangdMetadata.Predefined.useBackgroundIndex, group, SWT.CHECK, 0);
-		this.completion = createCombo(ClangdMetadata.Predefined.completionStyle, group, completionsKeys);
+		this.completion = createCombo(ClangdMetadata.Predefined.completionStyle, group, completionsKeys,
+				completionOptions);
 		this.pretty = createButton(ClangdMetadata.Predefined.prettyPrint, group, SWT.CHECK, 0);
 		this.driver = createText(ClangdMetadata.Predefined.queryDriver, group, false);
 		this.additional = createText(ClangdMetadata.Predefined.additionalOptions, group, true);
+		this.serverAddress = createText(ClangdMetadata.Predefined.serverAddress, group, false);
+		this.profile = createCombo(ClangdMetadata.Predefined.performanceProfile, group, profileKeys,
+				profileOptionValues);
+		this.profileOptions = new Label(group, SWT.NONE);
+		profileOptions.setLayoutData(GridDataFactory.fillDefaults().grab(true, false).create());
+		profile.addSelectionListener(SelectionListener.widgetSelectedAdapter(e -> {
+			updateProfileOptions();
+			changed(e);
+		}));
+		index.addSelectionListener(SelectionListener.widgetSelectedAdapter(e -> updateProfileOptions()));
+		this.pchStorage = createCombo(ClangdMetadata.Predefined.pchStorage, group, pchStorageKeys, pchStorageValues);
+		pchStorage.setLayoutData(GridDataFactory.swtDefaults().span(columns - 1, 1).create());
+		this.mallocTrim = createCombo(ClangdMetadata.Predefined.mallocTrim, group, mallocTrimKeys, mallocTrimValues);
+		mallocTrim.setLayoutData(GridDataFactory.swtDefaults().span(columns - 1, 1).create());
+		this.workerCount = createSpinner(ClangdMetadata.Predefined.workerCount, group, MAX_COUNT);
 		if (!isProjectScope) {
 			this.logToConsole = createButton(ClangdMetadata.Predefined.logToConsole, group, SWT.CHECK, 0);
 			this.validateOptions = createButton(ClangdMetadata.Predefined.validateClangdOptions, group, SWT.CHECK, 0);
+			this.checkClangFormat = createButton(ClangdMetadata.Predefined.checkClangFormatWithClangd, group, SWT.CHECK,
+					0);
+			// the processes are limited for the workspace:
+			this.maxServerInstances = createSpinner(ClangdMetadata.Predefined.maxServerInstances, group, MAX_COUNT);
+			this.serverMemoryBudget = createSpinner(ClangdMetadata.Predefined.serverMemoryBudget, group, MAX_MEMORY);
+			this.memoryWatchdogThreshold = createSpinner(ClangdMetadata.Predefined.memoryWatchdogThreshold, group,
+					MAX_MEMORY);
+			this.memoryWatchdogAction = createCombo(ClangdMetadata.Predefined.memoryWatchdogAction, group,
+					watchdogActionKeys, watchdogActionValues);
+			memoryWatchdogAction.setLayoutData(GridDataFactory.swtDefaults().span(columns - 1, 1).create());
 		} else {
 			this.logToConsole = null;
 			this.validateOptions = null;
+			this.checkClangFormat = null;
+			this.maxServerInstances = null;
+			this.serverMemoryBudget = null;
+			this.memoryWatchdogThreshold = null;
+			this.memoryWatchdogAction = null;
 		}
 		this.setCompilationDatabase = createButton(ClangdMetadata.Predefined.setCompilationDatabase, composite,
 				SWT.CHECK, 0);
@@ -154,7 +222,7 @@ public final class ClangdConfigurationArea extends ConfigurationArea<ClangdOptio
 		return text;
 	}
 
-	private Combo createCombo(PreferenceMetadata<String> meta, Composite parent, String[] items) {
+	private Combo createCombo(PreferenceMetadata<String> meta, Composite parent, String[] items, String[] values) {
 		Label label = new Label(parent, SWT.NONE);
 		label.setText(meta.name());
 		label.setToolTipText(meta.description());
@@ -165,10 +233,53 @@ public final class ClangdConfigurationArea extends ConfigurationArea<ClangdOptio
 		combo.setItems(items);
 		combo.setData(meta);
 		combos.put(meta, combo);
+		comboValues.put(combo, values);
 
 		return combo;
 	}
 
+	private Spinner createSpinner(PreferenceMetadata<Integer> meta, Composite parent, int maximum) {
+		Label label = new Label(parent, SWT.NONE);
+		label.setText(meta.name());
+		label.setToolTipText(meta.description());
+		label.setLayoutData(GridDataFactory.fillDefaults().align(SWT.FILL, SWT.CENTER).create());
+
+		Spinner spinner = new Spinner(parent, SWT.BORDER);
+		spinner.setValues(0, 0, maximum, 0, 1, 10);
+		spinner.setToolTipText(meta.description());
+		spinner.setLayoutData(GridDataFactory.swtDefaults().span(columns - 1, 1).create());
+		spinner.setData(meta);
+		spinner.addModifyListener(this::changed);
+		spinners.put(meta, spinner);
+		return spinner;
+	}
+
+	private void select(Combo combo, String value) {
+		var values = comboValues.get(combo);
+		for (int i = 0; i < values.length; i++) {
+			if (values[i].equals(value)) {
+				combo.select(i);
+			}
+		}
+	}
+
+	private String value(Combo combo) {
+		int index = combo.getSelectionIndex();
+		return index < 0 ? "" : comboValues.get(combo)[index]; //$NON-NLS-1$
+	}
+
+	/**
+	 * Shows the options the selected performance profile derives on this computer.
+	 */
+	private void updateProfileOptions() {
+		var flags = ClangdPerformanceProfile.of(value(profile))
+				.map(p -> p.settings().flags(index.getSelection())).orElse(List.of());
+		profileOptions.setText(flags.isEmpty() ? "" //$NON-NLS-1$
+				: NLS.bind(LspEditorUiMessages.LspEditorPreferencePage_performance_profile_options,
+						String.join(" ", flags))); //$NON-NLS-1$
+		profileOptions.requestLayout();
+	}
+
 	private void selectClangdExecutable(SelectionEvent e) {
 		String selected = selectFile(path.getText());
 		if (selected != null) {
@@ -193,14 +304,16 @@ public final class ClangdConfigurationArea extends ConfigurationArea<ClangdOptio
 		path.setText(options.clangdPath());
 		tidy.setSelection(options.useTidy());
 		index.setSelection(options.useBackgroundIndex());
-		for (int i = 0; i < completionOptions.length; i++) {
-			if (completionOptions[i].equals(options.completionStyle())) {
-				completion.select(i);
-			}
-		}
+		select(completion, options.completionStyle());
 		pretty.setSelection(options.prettyPrint());
 		driver.setText(options.queryDriver());
 		additional.setText(options.additionalOptions().stream().collect(Collectors.joining(System.lineSeparator())));
+		serverAddress.setText(options.serverAddress());
+		select(profile, options.performanceProfile());
+		updateProfileOptions();
+		select(pchStorage, options.pchStorage());
+		select(mallocTrim, options.mallocTrim());
+		workerCount.setSelection(options.workerCount());
 		enablePreferenceContent(enable);
 		if (logToConsole != null) {
 			logToConsole.setSelection(options.logToConsole());
@@ -208,6 +321,15 @@ public final class ClangdConfigurationArea extends ConfigurationArea<ClangdOptio
 		if (validateOptions != null) {
 			validateOptions.setSelection(options.validateClangdOptions());
 		}
+		if (checkClangFormat != null) {
+			checkClangFormat.setSelection(options.checkClangFormatWithClangd());
+		}
+		if (maxServerInstances != null) {
+			maxServerInstances.setSelection(options.maxServerInstances());
+			serverMemoryBudget.setSelection(options.serverMemoryBudget());
+			memoryWatchdogThreshold.setSelection(options.memoryWatchdogThreshold());
+			select(memoryWatchdogAction, options.memoryWatchdogAction());
+		}
 		setCompilationDatabase.setSelection(options.setCompilationDatabase());
 	}
 
@@ -216,7 +338,8 @@ public final class ClangdConfigurationArea extends ConfigurationArea<ClangdOptio
 		OsgiPreferenceMetadataStore store = new OsgiPreferenceMetadataStore(prefs);
 		buttons.entrySet().forEach(e -> store.save(e.getValue().getSelection(), e.getKey()));
 		texts.entrySet().forEach(e -> store.save(e.getValue().getText(), e.getKey()));
-		combos.entrySet().forEach(e -> store.save(completions.get(e.getValue().getText()), e.getKey()));
+		combos.entrySet().forEach(e -> store.save(value(e.getValue()), e.getKey()));
+		spinners.entrySet().forEach(e -> store.save(e.getValue().getSelection(), e.getKey()));
 	}
 
 	@Override
@@ -232,6 +355,16 @@ public final class ClangdConfigurationArea extends ConfigurationArea<ClangdOptio
 		list.add(ClangdMetadata.Predefined.useTidy.identifer());
 		list.add(ClangdMetadata.Predefined.validateClangdOptions.identifer());
 		list.add(ClangdMetadata.Predefined.setCompilationDatabase.identifer());
+		list.add(ClangdMetadata.Predefined.serverAddress.identifer());
+		list.add(ClangdMetadata.Predefined.checkClangFormatWithClangd.identifer());
+		list.add(ClangdMetadata.Predefined.performanceProfile.identifer());
+		list.add(ClangdMetadata.Predefined.pchStorage.identifer());
+		list.add(ClangdMetadata.Predefined.mallocTrim.identifer());
+		list.add(ClangdMetadata.Predefined.workerCount.identifer());
+		list.add(ClangdMetadata.Predefined.maxServerInstances.identifer());
+		list.add(ClangdMetadata.Predefined.serverMemoryBudget.identifer());
+		list.add(ClangdMetadata.Predefined.memoryWatchdogThreshold.identifer());
+		list.add(ClangdMetadata.Predefined.memoryWatchdogAction.identifer());
 		return list;
 	}
 
@@ -240,15 +373,21 @@ public final class ClangdConfigurationArea extends ConfigurationArea<ClangdOptio
 		super.dispose();
 		texts.clear();
 		combos.clear();
+		comboValues.clear();
+		spinners.clear();
 	}
 
 	public boolean optionsChanged(ClangdOptions options) {
 		return !options.clangdPath().equals(path.getText()) || options.useTidy() != tidy.getSelection()
 				|| options.useBackgroundIndex() != index.getSelection()
-				|| !options.completionStyle().equals(completions.get(completion.getText()))
+				|| !options.completionStyle().equals(value(completion))
 				|| options.prettyPrint() != pretty.getSelection() || !options.queryDriver().equals(driver.getText())
 				|| !options.additionalOptions().stream().collect(Collectors.joining(System.lineSeparator()))
 						.equals(additional.getText())
+				|| !options.serverAddress().equals(serverAddress.getText())
+				|| !options.performanceProfile().equals(value(profile))
+				|| !options.pchStorage().equals(value(pchStorage)) || !options.mallocTrim().equals(value(mallocTrim))
+				|| options.workerCount() != workerCount.getSelection()
 				|| (logToConsole != null && options.logToConsole() != logToConsole.getSelection())
 				|| (validateOptions != null && options.validateClangdOptions() != validateOptions.getSelection());
 	}
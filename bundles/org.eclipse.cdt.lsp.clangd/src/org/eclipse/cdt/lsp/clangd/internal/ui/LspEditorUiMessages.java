@@ -48,6 +48,40 @@ public class LspEditorUiMessages extends NLS {
 	public static String LspEditorPreferencePage_Validate_clangd_options_description;
 	public static String LspEditorPreferencePage_set_compilation_database;
 	public static String LspEditorPreferencePage_set_compilation_database_description;
+	public static String LspEditorPreferencePage_max_server_instances;
+	public static String LspEditorPreferencePage_max_server_instances_description;
+	public static String LspEditorPreferencePage_server_memory_budget;
+	public static String LspEditorPreferencePage_server_memory_budget_description;
+	public static String LspEditorPreferencePage_memory_watchdog_threshold;
+	public static String LspEditorPreferencePage_memory_watchdog_threshold_description;
+	public static String LspEditorPreferencePage_memory_watchdog_action;
+	public static String LspEditorPreferencePage_memory_watchdog_action_description;
+	public static String LspEditorPreferencePage_memory_watchdog_action_warn;
+	public static String LspEditorPreferencePage_memory_watchdog_action_evict;
+	public static String LspEditorPreferencePage_memory_watchdog_action_restart;
+	public static String LspEditorPreferencePage_server_address;
+	public static String LspEditorPreferencePage_server_address_description;
+	public static String LspEditorPreferencePage_check_clang_format_with_clangd;
+	public static String LspEditorPreferencePage_check_clang_format_with_clangd_description;
+	public static String LspEditorPreferencePage_pch_storage;
+	public static String LspEditorPreferencePage_pch_storage_description;
+	public static String LspEditorPreferencePage_pch_storage_default;
+	public static String LspEditorPreferencePage_pch_storage_memory;
+	public static String LspEditorPreferencePage_pch_storage_disk;
+	public static String LspEditorPreferencePage_malloc_trim;
+	public static String LspEditorPreferencePage_malloc_trim_description;
+	public static String LspEditorPreferencePage_malloc_trim_default;
+	public static String LspEditorPreferencePage_malloc_trim_yes;
+	public static String LspEditorPreferencePage_malloc_trim_no;
+	public static String LspEditorPreferencePage_worker_count;
+	public static String LspEditorPreferencePage_worker_count_description;
+	public static String LspEditorPreferencePage_performance_profile;
+	public static String LspEditorPreferencePage_performance_profile_description;
+	public static String LspEditorPreferencePage_performance_profile_none;
+	public static String LspEditorPreferencePage_performance_profile_low_memory;
+	public static String LspEditorPreferencePage_performance_profile_balanced;
+	public static String LspEditorPreferencePage_performance_profile_max_throughput;
+	public static String LspEditorPreferencePage_performance_profile_options;
 
 	public static String ClangFormatConfigurationPage_openProjectFormatFile;
 	public static String ClangFormatConfigurationPage_openFormatFileTooltip;
@@ -17,9 +17,15 @@ package org.eclipse.cdt.lsp.clangd.plugin;
 import org.eclipse.cdt.lsp.clangd.format.CLanguageServerCheckEnabledProvider;
 import org.eclipse.cdt.lsp.clangd.format.ClangFormatFileMonitor;
 import org.eclipse.cdt.lsp.clangd.internal.config.ClangFormatMonitor;
+import org.eclipse.cdt.lsp.clangd.internal.config.ClangdCheckService;
 import org.eclipse.cdt.lsp.clangd.internal.config.ClangdCompilationDatabaseSetter;
 import org.eclipse.cdt.lsp.clangd.internal.config.ClangdConfigFileMonitor;
+import org.eclipse.cdt.lsp.clangd.internal.config.ClangdFeatures;
+import org.eclipse.cdt.lsp.clangd.internal.config.ClangdValidationCache;
+import org.eclipse.cdt.lsp.clangd.internal.config.CompilationDatabaseIndexes;
 import org.eclipse.cdt.lsp.clangd.internal.config.CompileCommandsMonitor;
+import org.eclipse.cdt.lsp.clangd.internal.config.ConfigFileLocator;
+import org.eclipse.cdt.lsp.clangd.internal.config.ResourceChangeDispatcher;
 import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.ui.plugin.AbstractUIPlugin;
 import org.osgi.framework.BundleContext;
@@ -31,11 +37,17 @@ import org.osgi.util.tracker.ServiceTracker;
 public class ClangdPlugin extends AbstractUIPlugin {
 	private ServiceTracker<IWorkspace, IWorkspace> workspaceTracker;
 	private IWorkspace workspace;
+	private ResourceChangeDispatcher resourceChangeDispatcher;
 	private CompileCommandsMonitor compileCommandsMonitor;
+	private final CompilationDatabaseIndexes compilationDatabaseIndexes = new CompilationDatabaseIndexes();
 	private ClangdCompilationDatabaseSetter cProjectChangeMonitor;
 	private ClangdConfigFileMonitor configFileMonitor;
 	private ClangFormatFileMonitor clangFormatMonitor;
 	private ClangFormatMonitor formatMonitor;
+	private ConfigFileLocator configFileLocator;
+	private final ClangdCheckService checkService = new ClangdCheckService();
+	private ClangdValidationCache validationCache;
+	private ClangdFeatures features;
 
 	// The plug-in ID
 	public static final String PLUGIN_ID = "org.eclipse.cdt.lsp.clangd"; //$NON-NLS-1$
@@ -56,10 +68,17 @@ public class ClangdPlugin extends AbstractUIPlugin {
 		workspaceTracker = new ServiceTracker<>(context, IWorkspace.class, null);
 		workspaceTracker.open();
 		workspace = workspaceTracker.getService();
-		compileCommandsMonitor = new CompileCommandsMonitor(workspace).start();
-		cProjectChangeMonitor = new ClangdCompilationDatabaseSetter().start(workspace);
-		configFileMonitor = new ClangdConfigFileMonitor(workspace).start();
-		clangFormatMonitor = new ClangFormatFileMonitor(workspace, new CLanguageServerCheckEnabledProvider()).start();
+		resourceChangeDispatcher = new ResourceChangeDispatcher(workspace);
+		validationCache = new ClangdValidationCache(
+				getStateLocation().append("clangd-validation.properties").toPath()); //$NON-NLS-1$
+		features = new ClangdFeatures(getStateLocation().append("clangd-features.properties").toPath()); //$NON-NLS-1$
+		configFileLocator = new ConfigFileLocator(workspace).start(resourceChangeDispatcher);
+		compileCommandsMonitor = new CompileCommandsMonitor(resourceChangeDispatcher, compilationDatabaseIndexes)
+				.start();
+		cProjectChangeMonitor = new ClangdCompilationDatabaseSetter().start(resourceChangeDispatcher);
+		configFileMonitor = new ClangdConfigFileMonitor(resourceChangeDispatcher).start();
+		clangFormatMonitor = new ClangFormatFileMonitor(resourceChangeDispatcher,
+				new CLanguageServerCheckEnabledProvider()).start();
 		formatMonitor = new ClangFormatMonitor().start();
 	}
 
@@ -67,10 +86,13 @@ public class ClangdPlugin extends AbstractUIPlugin {
 	public void stop(BundleContext context) throws Exception {
 		plugin = null;
 		compileCommandsMonitor.stop();
-		cProjectChangeMonitor.stop(workspace);
+		cProjectChangeMonitor.stop();
 		configFileMonitor.stop();
 		clangFormatMonitor.stop();
 		formatMonitor.stop();
+		compilationDatabaseIndexes.clear();
+		configFileLocator.stop();
+		checkService.shutdown();
 		workspaceTracker.close();
 		super.stop(context);
 	}
@@ -88,4 +110,51 @@ public class ClangdPlugin extends AbstractUIPlugin {
 		return workspace;
 	}
 
+	/**
+	 * Returns the dispatcher of the resource changes, which visits the delta of a resource change event once for all
+	 * the monitors of the plug-in.
+	 *
+	 * @return the shared resource change dispatcher
+	 */
+	public ResourceChangeDispatcher getResourceChangeDispatcher() {
+		return resourceChangeDispatcher;
+	}
+
+	/**
+	 * Returns the locator of the configuration files in the parent folders, like <code>.clangd</code>.
+	 *
+	 * @return the shared configuration file locator
+	 */
+	public ConfigFileLocator getConfigFileLocator() {
+		return configFileLocator;
+	}
+
+	/**
+	 * Returns the service which runs the clangd processes to check the command line options and the
+	 * <code>.clang-format</code> files.
+	 *
+	 * @return the shared check service
+	 */
+	public ClangdCheckService getCheckService() {
+		return checkService;
+	}
+
+	/**
+	 * Returns the results of the clangd command line validation, which are kept across sessions.
+	 *
+	 * @return the validation cache
+	 */
+	public ClangdValidationCache getValidationCache() {
+		return validationCache;
+	}
+
+	/**
+	 * Returns the feature matrices of the clangd executables, which are kept across sessions.
+	 *
+	 * @return the feature matrices
+	 */
+	public ClangdFeatures getFeatures() {
+		return features;
+	}
+
 }
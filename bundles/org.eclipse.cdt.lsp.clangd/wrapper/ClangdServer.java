@@ -0,0 +1,486 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.UnixDomainSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps a clangd running across the sessions of the C/C++ editor and lets the editor connect to it over a Unix domain
+ * socket or a TCP port, see the option "Connect to running clangd" of the clangd preference page.
+ * <p>
+ * Usage (Java 21 or later):
+ * </p>
+ *
+ * <pre>
+ * java ClangdServer.java &lt;unix:path | [host:]port&gt; &lt;clangd&gt; [&lt;clangd option&gt;...]
+ * </pre>
+ * <p>
+ * One editor is served at a time, and only for one root. The editor sends <code>root &lt;root URI&gt;</code> in a
+ * line after connecting and starts the session when the wrapper answers <code>ok</code>. The wrapper answers
+ * <code>busy</code> while another editor is served and <code>root &lt;root URI&gt;</code> with its own root when the
+ * editor asks for another root, so the editor starts clangd locally instead of waiting for a session.
+ * </p>
+ * <p>
+ * clangd is initialized by the first editor and the later editors get the cached result of that
+ * <code>initialize</code> request, unless they ask for another root URI or other initialization options, which are
+ * rejected with an error. <code>shutdown</code> and <code>exit</code> only end the connection, the documents the
+ * editor has left open are closed and clangd keeps running until it exits by itself or the wrapper is stopped. The
+ * request ids are rewritten, so the responses to the requests of a previous editor are never passed to the current
+ * one.
+ * </p>
+ */
+public final class ClangdServer {
+	private static final String UNIX = "unix:";
+	private static final String CONTENT_LENGTH = "content-length:";
+	private static final String ROOT = "root ";
+	private static final int MAX_HANDSHAKE = 8192;
+
+	private record Request(Session session, String id, String method) {
+	}
+
+	private static final class Session {
+		private final OutputStream output;
+		// the open documents by URI (as JSON strings), the ids of the unanswered requests of clangd:
+		private final Set<String> documents = ConcurrentHashMap.newKeySet();
+		private final Set<String> serverRequests = ConcurrentHashMap.newKeySet();
+		// the ids of the unanswered requests of the editor and the ids they have been sent to clangd with:
+		private final Map<String, Long> requests = new ConcurrentHashMap<>();
+
+		Session(OutputStream output) {
+			this.output = output;
+		}
+	}
+
+	private final OutputStream toClangd;
+	private final Map<String, Request> requests = new ConcurrentHashMap<>();
+	private final AtomicLong ids = new AtomicLong();
+	private volatile Session session;
+	// the root of the first editor, the root URI and the initialization options of the first initialize request:
+	private String root;
+	private volatile String initializeKey;
+	private volatile String initializeResult;
+	private volatile boolean initialized;
+
+	private ClangdServer(OutputStream toClangd) {
+		this.toClangd = toClangd;
+	}
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2) {
+			System.err.println(
+					"Usage: java ClangdServer.java <unix:path | [host:]port> <clangd> [<clangd option>...]");
+			System.exit(2);
+		}
+		var clangd = new ProcessBuilder(List.of(args).subList(1, args.length))
+				.redirectError(ProcessBuilder.Redirect.INHERIT).start();
+		clangd.onExit().thenRun(() -> System.exit(clangd.exitValue()));
+		var server = new ClangdServer(clangd.getOutputStream());
+		var fromClangd = new BufferedInputStream(clangd.getInputStream());
+		var reader = new Thread(() -> server.fromClangd(fromClangd), "clangd");
+		reader.setDaemon(true);
+		reader.start();
+		try (var listener = listen(args[0])) {
+			while (true) {
+				var channel = listener.accept();
+				var connection = new Thread(() -> server.accept(channel), "editor");
+				connection.setDaemon(true);
+				connection.start();
+			}
+		}
+	}
+
+	private static ServerSocketChannel listen(String address) throws IOException {
+		if (address.startsWith(UNIX)) {
+			var path = Path.of(address.substring(UNIX.length()));
+			// a socket left over by a wrapper which has been killed:
+			Files.deleteIfExists(path);
+			path.toFile().deleteOnExit();
+			return ServerSocketChannel.open(StandardProtocolFamily.UNIX).bind(UnixDomainSocketAddress.of(path));
+		}
+		int colon = address.lastIndexOf(':');
+		int port = Integer.parseInt(address.substring(colon + 1));
+		SocketAddress socketAddress = colon > 0 ? new InetSocketAddress(address.substring(0, colon), port)
+				: new InetSocketAddress(InetAddress.getLoopbackAddress(), port);
+		return ServerSocketChannel.open().bind(socketAddress);
+	}
+
+	/**
+	 * Answers the handshake of the editor and serves it if no other editor is served and it asks for the root of the
+	 * first editor.
+	 */
+	private void accept(SocketChannel channel) {
+		Session current = null;
+		try {
+			var input = Channels.newInputStream(channel);
+			var output = Channels.newOutputStream(channel);
+			var hello = readLine(input);
+			var answer = "busy";
+			if (hello == null || !hello.startsWith(ROOT)) {
+				answer = "handshake expected";
+			} else {
+				synchronized (this) {
+					var requested = hello.substring(ROOT.length());
+					if (root != null && !root.equals(requested)) {
+						answer = ROOT + root;
+					} else if (session == null) {
+						root = requested;
+						current = new Session(output);
+						session = current;
+						answer = "ok";
+					}
+				}
+			}
+			output.write((answer + '\n').getBytes(StandardCharsets.UTF_8));
+			output.flush();
+		} catch (IOException e) {
+			System.err.println("Connection to the editor failed: " + e.getMessage());
+		}
+		if (current != null) {
+			serve(channel, current);
+		} else {
+			try {
+				channel.close();
+			} catch (IOException e) {
+				// nothing to clean up
+			}
+		}
+	}
+
+	/**
+	 * Passes the messages of the editor to clangd until the editor disconnects or sends <code>exit</code>.
+	 */
+	private void serve(SocketChannel channel, Session current) {
+		try (channel) {
+			var input = new BufferedInputStream(Channels.newInputStream(channel));
+			String message;
+			while ((message = read(input)) != null) {
+				if (!fromEditor(current, message)) {
+					break;
+				}
+			}
+		} catch (IOException e) {
+			System.err.println("Connection to the editor failed: " + e.getMessage());
+		} finally {
+			disconnected(current);
+		}
+	}
+
+	/**
+	 * @return false if the editor has ended the connection
+	 */
+	private boolean fromEditor(Session current, String message) throws IOException {
+		var method = string(member(message, "method"));
+		var id = member(message, "id");
+		if (method == null) {
+			// the answer to a request of clangd
+			current.serverRequests.remove(id);
+			write(toClangd, message);
+		} else if (id != null) {
+			switch (method) {
+			case "initialize" -> {
+				var params = member(message, "params");
+				var key = member(params, "rootUri") + " " + member(params, "initializationOptions");
+				if (initializeKey == null) {
+					initializeKey = key;
+				}
+				if (!initializeKey.equals(key)) {
+					write(current.output, error(id, "clangd has been initialized for another root or other options"));
+				} else if (initializeResult != null) {
+					write(current.output, response(id, initializeResult));
+				} else {
+					forward(current, id, method, message);
+				}
+			}
+			case "shutdown" -> write(current.output, response(id, "null"));
+			default -> forward(current, id, method, message);
+			}
+		} else {
+			switch (method) {
+			case "exit" -> {
+				return false;
+			}
+			case "initialized" -> {
+				if (!initialized) {
+					initialized = true;
+					write(toClangd, message);
+				}
+			}
+			case "textDocument/didOpen" -> {
+				current.documents.add(uri(message));
+				write(toClangd, message);
+			}
+			case "textDocument/didClose" -> {
+				current.documents.remove(uri(message));
+				write(toClangd, message);
+			}
+			case "$/cancelRequest" -> {
+				var sent = current.requests.get(member(member(message, "params"), "id"));
+				if (sent != null) {
+					write(toClangd, cancel(sent));
+				}
+			}
+			default -> write(toClangd, message);
+			}
+		}
+		return true;
+	}
+
+	private void forward(Session current, String id, String method, String message) throws IOException {
+		long sent = ids.incrementAndGet();
+		requests.put(Long.toString(sent), new Request(current, id, method));
+		current.requests.put(id, sent);
+		write(toClangd, withId(message, Long.toString(sent)));
+	}
+
+	/**
+	 * Cleans up after the editor: closes its documents, answers the requests of clangd which are still waiting for
+	 * the editor and cancels the requests of the editor.
+	 */
+	private void disconnected(Session current) {
+		synchronized (this) {
+			session = null;
+		}
+		try {
+			for (var uri : current.documents) {
+				write(toClangd, "{\"jsonrpc\":\"2.0\",\"method\":\"textDocument/didClose\",\"params\":{\"textDocument\":{\"uri\":"
+						+ uri + "}}}");
+			}
+			for (var id : current.serverRequests) {
+				write(toClangd, response(id, "null"));
+			}
+			for (var sent : current.requests.values()) {
+				write(toClangd, cancel(sent));
+			}
+		} catch (IOException e) {
+			System.err.println("Connection to clangd failed: " + e.getMessage());
+		}
+	}
+
+	/**
+	 * Passes the messages of clangd to the connected editor until clangd exits.
+	 */
+	private void fromClangd(InputStream input) {
+		try {
+			String message;
+			while ((message = read(input)) != null) {
+				var method = member(message, "method");
+				var id = member(message, "id");
+				var current = session;
+				if (method == null) {
+					var request = id == null ? null : requests.remove(id);
+					if (request == null) {
+						continue;
+					}
+					request.session().requests.remove(request.id());
+					if ("initialize".equals(request.method()) && member(message, "result") != null) {
+						initializeResult = member(message, "result");
+					}
+					if (request.session() == current) {
+						write(current.output, withId(message, request.id()));
+					}
+				} else if (current == null) {
+					// nobody to ask, clangd proceeds without an answer
+					if (id != null) {
+						write(toClangd, response(id, "null"));
+					}
+				} else {
+					if (id != null) {
+						current.serverRequests.add(id);
+					}
+					try {
+						write(current.output, message);
+					} catch (IOException e) {
+						// the editor has disconnected meanwhile
+						if (id != null && current.serverRequests.remove(id)) {
+							write(toClangd, response(id, "null"));
+						}
+					}
+				}
+			}
+		} catch (IOException e) {
+			System.err.println("Connection to clangd failed: " + e.getMessage());
+		}
+	}
+
+	private static String response(String id, String result) {
+		return "{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"result\":" + result + "}";
+	}
+
+	private static String error(String id, String message) {
+		return "{\"jsonrpc\":\"2.0\",\"id\":" + id + ",\"error\":{\"code\":-32600,\"message\":\"" + message
+				+ "\"}}";
+	}
+
+	private static String cancel(long sent) {
+		return "{\"jsonrpc\":\"2.0\",\"method\":\"$/cancelRequest\",\"params\":{\"id\":" + sent + "}}";
+	}
+
+	private static String uri(String message) {
+		return member(member(member(message, "params"), "textDocument"), "uri");
+	}
+
+	/**
+	 * Reads the handshake byte by byte, so that nothing of the following messages is consumed.
+	 */
+	private static String readLine(InputStream input) throws IOException {
+		var line = new StringBuilder();
+		int b;
+		while ((b = input.read()) >= 0 && b != '\n') {
+			if (line.length() >= MAX_HANDSHAKE) {
+				return null;
+			}
+			line.append((char) b);
+		}
+		return b < 0 ? null : line.toString().trim();
+	}
+
+	private static String read(InputStream input) throws IOException {
+		int length = -1;
+		var line = new StringBuilder();
+		while (true) {
+			int b = input.read();
+			if (b < 0) {
+				return null;
+			}
+			if (b != '\n') {
+				line.append((char) b);
+				continue;
+			}
+			var header = line.toString().trim();
+			line.setLength(0);
+			if (header.isEmpty()) {
+				if (length >= 0) {
+					break;
+				}
+			} else if (header.toLowerCase(Locale.ROOT).startsWith(CONTENT_LENGTH)) {
+				length = Integer.parseInt(header.substring(CONTENT_LENGTH.length()).trim());
+			}
+		}
+		var content = input.readNBytes(length);
+		return content.length < length ? null : new String(content, StandardCharsets.UTF_8);
+	}
+
+	private static void write(OutputStream output, String message) throws IOException {
+		var content = message.getBytes(StandardCharsets.UTF_8);
+		synchronized (output) {
+			output.write(("Content-Length: " + content.length + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+			output.write(content);
+			output.flush();
+		}
+	}
+
+	// a minimal JSON reader, only the members of the top-level object are needed:
+
+	/**
+	 * @return the JSON text of the member of the given object, null if the object has no such member
+	 */
+	private static String member(String json, String name) {
+		var span = span(json, name);
+		return span == null ? null : json.substring(span[0], span[1]);
+	}
+
+	private static String withId(String json, String id) {
+		var span = span(json, "id");
+		return json.substring(0, span[0]) + id + json.substring(span[1]);
+	}
+
+	private static String string(String json) {
+		return json == null || json.length() < 2 ? null : json.substring(1, json.length() - 1);
+	}
+
+	private static int[] span(String json, String name) {
+		if (json == null) {
+			return null;
+		}
+		int i = skipSpace(json, 0);
+		if (i >= json.length() || json.charAt(i) != '{') {
+			return null;
+		}
+		i++;
+		while (true) {
+			i = skipSpace(json, i);
+			if (i >= json.length() || json.charAt(i) != '"') {
+				return null;
+			}
+			int end = skipValue(json, i);
+			var key = json.substring(i + 1, end - 1);
+			// skip the colon:
+			i = skipSpace(json, skipSpace(json, end) + 1);
+			end = skipValue(json, i);
+			if (key.equals(name)) {
+				return new int[] { i, end };
+			}
+			i = skipSpace(json, end);
+			if (i < json.length() && json.charAt(i) == ',') {
+				i++;
+			}
+		}
+	}
+
+	private static int skipValue(String json, int i) {
+		char c = json.charAt(i);
+		if (c == '"') {
+			i++;
+			while (json.charAt(i) != '"') {
+				i += json.charAt(i) == '\\' ? 2 : 1;
+			}
+			return i + 1;
+		}
+		if (c == '{' || c == '[') {
+			int depth = 0;
+			do {
+				c = json.charAt(i);
+				if (c == '"') {
+					i = skipValue(json, i);
+					continue;
+				}
+				if (c == '{' || c == '[') {
+					depth++;
+				} else if (c == '}' || c == ']') {
+					depth--;
+				}
+				i++;
+			} while (depth > 0);
+			return i;
+		}
+		while (i < json.length() && ",}] \t\r\n".indexOf(json.charAt(i)) < 0) {
+			i++;
+		}
+		return i;
+	}
+
+	private static int skipSpace(String json, int i) {
+		while (i < json.length() && Character.isWhitespace(json.charAt(i))) {
+			i++;
+		}
+		return i;
+	}
+}
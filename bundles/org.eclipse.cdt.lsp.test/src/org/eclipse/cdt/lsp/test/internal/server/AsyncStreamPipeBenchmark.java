@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.server;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.eclipse.cdt.lsp.internal.server.AsyncStreamPipe;
+
+/**
+ * Compares the throughput of the {@link AsyncStreamPipe} with the former implementation, which copied 1KB chunks on a
+ * platform thread. The numbers depend on the machine, so this is no test: run the {@link #main(String[])} method
+ * manually. The best of a few rounds is reported to exclude the warm up of the JIT compiler.
+ */
+public final class AsyncStreamPipeBenchmark {
+	private static final String LINE = "I[12:00:00.000] Built preamble of size 123456 for file /tmp/file.cpp" //
+			+ " version 1 in 0.12 seconds\n";
+	private static final long TIMEOUT = 10_000; // ms
+	private static final int ROUNDS = 5;
+	private static final int LINES = 200_000;
+
+	public static void main(String[] args) throws Exception {
+		byte[] data = LINE.repeat(LINES).getBytes(StandardCharsets.UTF_8);
+		long legacyNanos = Long.MAX_VALUE;
+		long pipeNanos = Long.MAX_VALUE;
+		for (int round = 0; round < ROUNDS; round++) {
+			var legacyOutput = new CountingOutputStream();
+			long start = System.nanoTime();
+			var legacy = new Thread(() -> legacyCopy(new ByteArrayInputStream(data), legacyOutput));
+			legacy.start();
+			legacy.join(TIMEOUT);
+			legacyNanos = Math.min(legacyNanos, System.nanoTime() - start);
+			check(data.length, legacyOutput.count.get());
+
+			var output = new CountingOutputStream();
+			var pipe = new AsyncStreamPipe(LINES);
+			start = System.nanoTime();
+			var stopper = pipe.pipeTo("benchmark pipe", new ByteArrayInputStream(data), output);
+			long end = System.currentTimeMillis() + TIMEOUT;
+			while (pipe.getPumpedLines() < LINES && System.currentTimeMillis() < end) {
+				TimeUnit.MILLISECONDS.sleep(1);
+			}
+			pipeNanos = Math.min(pipeNanos, System.nanoTime() - start);
+			stopper.run();
+			check(data.length, output.count.get());
+		}
+		System.out.printf("AsyncStreamPipe: %d lines, %.1f MB/s (former implementation %.1f MB/s)%n", LINES,
+				megaBytesPerSecond(data.length, pipeNanos), megaBytesPerSecond(data.length, legacyNanos));
+	}
+
+	private static void check(long expected, long actual) {
+		if (expected != actual) {
+			throw new IllegalStateException("Copied " + actual + " of " + expected + " bytes");
+		}
+	}
+
+	private static double megaBytesPerSecond(long bytes, long nanos) {
+		return (bytes / (1024.0 * 1024.0)) / (nanos / 1e9);
+	}
+
+	private static void legacyCopy(InputStream input, OutputStream output) {
+		try {
+			final byte[] buffer = new byte[1024];
+			int size = 0;
+			do {
+				size = input.read(buffer);
+				if (size > -1) {
+					output.write(buffer, 0, size);
+				}
+			} while (size > -1);
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+
+	private static final class CountingOutputStream extends OutputStream {
+		private final AtomicLong count = new AtomicLong();
+
+		@Override
+		public void write(int b) {
+			count.incrementAndGet();
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) {
+			count.addAndGet(len);
+		}
+	}
+}
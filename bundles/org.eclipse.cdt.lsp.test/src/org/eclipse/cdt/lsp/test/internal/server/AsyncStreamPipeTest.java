@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+import org.eclipse.cdt.lsp.internal.server.AsyncStreamPipe;
+import org.junit.jupiter.api.Test;
+
+class AsyncStreamPipeTest {
+	private static final String LINE = "I[12:00:00.000] Built preamble of size 123456 for file /tmp/file.cpp" //
+			+ " version 1 in 0.12 seconds\n";
+	private static final long TIMEOUT = 10_000; // ms
+
+	/**
+	 * Tests that all lines are delivered in order and the last line is delivered even without a line break.
+	 */
+	@Test
+	void testLinesArePipedInOrder() throws Exception {
+		var input = new ByteArrayInputStream("first\nsecond\nlast".getBytes(StandardCharsets.UTF_8));
+		var output = new ByteArrayOutputStream();
+		var pipe = new AsyncStreamPipe();
+		var stopper = pipe.pipeTo("test pipe", input, output);
+		waitUntil(() -> pipe.getPumpedLines() == 3);
+		stopper.run();
+		assertEquals("first\nsecond\nlast", output.toString(StandardCharsets.UTF_8));
+		assertEquals(0, pipe.getDroppedLines());
+	}
+
+	/**
+	 * Tests that a stalled output does not block the reader: lines are dropped and counted instead.
+	 */
+	@Test
+	void testStalledOutputDropsLines() throws Exception {
+		int lines = 1000;
+		var input = new ByteArrayInputStream(LINE.repeat(lines).getBytes(StandardCharsets.UTF_8));
+		var release = new CountDownLatch(1);
+		var output = new ByteArrayOutputStream() {
+			@Override
+			public synchronized void write(byte[] b) throws IOException {
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					throw new IOException(e);
+				}
+				super.write(b);
+			}
+		};
+		var pipe = new AsyncStreamPipe(10);
+		var stopper = pipe.pipeTo("test pipe", input, output);
+		// the reader consumes the whole input although the output does not accept anything
+		waitUntil(() -> input.available() == 0 && pipe.getDroppedLines() > 0);
+		release.countDown();
+		waitUntil(() -> pipe.getPumpedLines() + pipe.getDroppedLines() == lines);
+		stopper.run();
+		assertTrue(output.toString(StandardCharsets.UTF_8).contains("lines dropped]"));
+	}
+
+	/**
+	 * Tests that stopping terminates a pipe whose input never ends and flushes the buffered lines.
+	 */
+	@Test
+	void testStopTerminatesBlockedReader() throws Exception {
+		var source = new PipedOutputStream();
+		var input = new PipedInputStream(source);
+		var output = new ByteArrayOutputStream();
+		var pipe = new AsyncStreamPipe();
+		var stopper = pipe.pipeTo("test pipe", input, output);
+		source.write("line\n".getBytes(StandardCharsets.UTF_8));
+		source.flush();
+		waitUntil(() -> pipe.getPumpedLines() == 1);
+		long start = System.currentTimeMillis();
+		stopper.run();
+		assertTrue(System.currentTimeMillis() - start < TIMEOUT);
+		assertEquals("line\n", output.toString(StandardCharsets.UTF_8));
+	}
+
+	private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+		long end = System.currentTimeMillis() + TIMEOUT;
+		while (!condition.getAsBoolean()) {
+			assertTrue(System.currentTimeMillis() < end, "Timeout");
+			TimeUnit.MILLISECONDS.sleep(1);
+		}
+	}
+}
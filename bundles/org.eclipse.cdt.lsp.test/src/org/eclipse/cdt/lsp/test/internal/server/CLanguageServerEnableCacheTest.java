@@ -12,6 +12,7 @@
 
 package org.eclipse.cdt.lsp.test.internal.server;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -165,4 +166,35 @@ class CLanguageServerEnableCacheTest {
 		test_File_URIopenedInEditor(externalNoCFile.toURI());
 	}
 
+	@Test
+	@DisplayName("Least recently used entries shall be evicted and counted when the cache is full")
+	public void testEviction() throws CoreException, IOException {
+		var first = new File(TEMP_DIR, "first.hdr").toURI();
+		var second = new File(TEMP_DIR, "second.hdr").toURI();
+		var third = new File(TEMP_DIR, "third.hdr").toURI();
+		try {
+			// GIVEN a cache limited to two entries:
+			cache.setMaximumSize(2);
+			cache.disable(first);
+			cache.disable(second);
+			var before = cache.getStatistics();
+			// AND the first entry has been used more recently than the second one:
+			assertTrue(cache.get(first).isPresent());
+			// WHEN a third entry is added:
+			cache.disable(third);
+			// THEN the least recently used entry has been evicted:
+			assertFalse(cache.get(second).isPresent());
+			assertTrue(cache.get(first).isPresent());
+			assertTrue(cache.get(third).isPresent());
+			// AND the hits, misses and evictions have been counted:
+			var after = cache.getStatistics();
+			assertEquals(3, after.hits() - before.hits());
+			assertEquals(1, after.misses() - before.misses());
+			assertEquals(1, after.evictions() - before.evictions());
+			assertEquals(2, after.size());
+		} finally {
+			cache.setMaximumSize(CLanguageServerEnableCache.DEFAULT_MAXIMUM_SIZE);
+		}
+	}
+
 }
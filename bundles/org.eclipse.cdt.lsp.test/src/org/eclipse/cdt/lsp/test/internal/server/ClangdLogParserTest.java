@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.cdt.lsp.internal.server.ClangdLogMetrics;
+import org.eclipse.cdt.lsp.internal.server.ClangdLogParser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ClangdLogParserTest {
+	private static final String MAIN_CPP = "/home/user/project/main.cpp";
+	private static final String UTIL_CPP = "/home/user/project/util.cpp";
+
+	private ClangdLogMetrics metrics;
+	private ByteArrayOutputStream console;
+	private ClangdLogParser parser;
+
+	@BeforeEach
+	public void setUp() {
+		metrics = new ClangdLogMetrics();
+		console = new ByteArrayOutputStream();
+		parser = new ClangdLogParser(console, metrics);
+	}
+
+	/**
+	 * Tests that the log is passed through unchanged, even when lines are split across writes.
+	 */
+	@Test
+	void testLogIsPassedThrough() throws IOException {
+		var log = "I[10:00:00.000] clangd version 18.1.3\nI[10:00:00.001] Features: linux\n";
+		write(log.substring(0, 20));
+		write(log.substring(20));
+		assertEquals(log, console.toString(StandardCharsets.UTF_8));
+		assertEquals(2, metrics.getLines());
+	}
+
+	@Test
+	void testPreambleBuilds() throws IOException {
+		write("I[10:00:01.000] Built preamble of size 1000 for file " + MAIN_CPP + " version 1 in 0.25 seconds\n");
+		write("I[10:00:02.000] Built preamble of size 2000 for file " + MAIN_CPP + " version 2 in 1.50 seconds\n");
+		write("V[10:00:03.000] Reusing preamble version 2 for version 3 of " + MAIN_CPP + "\n");
+		write("I[10:00:04.000] Built preamble of size 500 for file " + UTIL_CPP + " version 1 in 0.10 seconds\n");
+		var main = metrics.getFileMetrics(MAIN_CPP).orElseThrow();
+		assertEquals(2, main.preambleBuilds().count());
+		assertEquals(1500, main.preambleBuilds().max());
+		assertEquals(1750, main.preambleBuilds().total());
+		assertEquals(2000, main.preambleSize());
+		assertEquals(1, main.preambleReuses());
+		var slowest = metrics.getSlowestPreambles(1);
+		assertEquals(1, slowest.size());
+		assertEquals(MAIN_CPP, slowest.get(0).file());
+	}
+
+	@Test
+	void testAstBuildsAndActions() throws IOException {
+		write("V[10:00:01.000] ASTWorker building file " + MAIN_CPP + " version 1 with command \n");
+		write("[/home/user/project/build]\n/usr/bin/clang++ -c main.cpp\n");
+		write("V[10:00:01.500] ASTWorker running Hover on version 1 of " + MAIN_CPP + "\n");
+		write("V[10:00:01.600] ASTWorker running CodeComplete on version 1 of " + MAIN_CPP + "\n");
+		var main = metrics.getFileMetrics(MAIN_CPP).orElseThrow();
+		assertEquals(1, main.astBuilds());
+		assertEquals(2, main.actions());
+		// the continuation lines of the command are not counted as log lines:
+		assertEquals(3, metrics.getLines());
+	}
+
+	/**
+	 * Tests that the indexing time is derived from the timestamps, also across midnight.
+	 */
+	@Test
+	void testBackgroundIndex() throws IOException {
+		write("I[23:59:59.000] Enqueueing 2 commands for indexing\n");
+		write("V[23:59:59.500] Indexing " + MAIN_CPP + " (digest:=0123456789ABCDEF)\n");
+		write("V[23:59:59.600] Indexing " + UTIL_CPP + " (digest:=FEDCBA9876543210)\n");
+		write("I[23:59:59.900] Indexed " + UTIL_CPP + " (10 symbols, 20 refs, 3 files)\n");
+		write("I[00:00:01.500] Indexed " + MAIN_CPP + " (100 symbols, 200 refs, 30 files)\n");
+		write("E[00:00:02.000] Failed to compile something\n");
+		assertEquals(2, metrics.getIndexEnqueued());
+		assertEquals(2, metrics.getIndexed());
+		assertEquals(2000, metrics.getFileMetrics(MAIN_CPP).orElseThrow().indexing().max());
+		assertEquals(300, metrics.getFileMetrics(UTIL_CPP).orElseThrow().indexing().max());
+		assertEquals(MAIN_CPP, metrics.getSlowestIndexing(2).get(0).file());
+		assertEquals(1, metrics.getErrors());
+		assertTrue(metrics.getFileMetrics("/not/logged.cpp").isEmpty());
+	}
+
+	/**
+	 * Tests that files whose end of indexing is never logged do not accumulate.
+	 */
+	@Test
+	void testUnfinishedIndexingIsDropped() throws IOException {
+		for (int i = 0; i <= 1024; i++) {
+			write("V[10:00:00.000] Indexing /home/user/project/file" + i + ".cpp (digest:=0123456789ABCDEF)\n");
+		}
+		write("I[10:00:01.000] Indexed /home/user/project/file0.cpp (1 symbols, 2 refs, 1 files)\n");
+		write("I[10:00:01.000] Indexed /home/user/project/file1024.cpp (1 symbols, 2 refs, 1 files)\n");
+		assertEquals(2, metrics.getIndexed());
+		// the start of the oldest file has been dropped, so its time is unknown:
+		assertTrue(metrics.getFileMetrics("/home/user/project/file0.cpp").isEmpty());
+		assertEquals(1000,
+				metrics.getFileMetrics("/home/user/project/file1024.cpp").orElseThrow().indexing().max());
+	}
+
+	/**
+	 * Tests that the metrics are kept for the 4096 most recently logged files.
+	 */
+	@Test
+	void testFileMetricsAreBounded() throws IOException {
+		for (int i = 0; i <= 4096; i++) {
+			write("I[10:00:00.000] Indexed /home/user/project/file" + i + ".cpp (1 symbols, 2 refs, 1 files)\n");
+			write("I[10:00:00.000] Built preamble of size 10 for file /home/user/project/file" + i
+					+ ".cpp version 1 in 0.10 seconds\n");
+		}
+		assertEquals(4097, metrics.getIndexed());
+		assertEquals(4096, metrics.getFileMetrics().size());
+		assertTrue(metrics.getFileMetrics("/home/user/project/file0.cpp").isEmpty());
+		assertTrue(metrics.getFileMetrics("/home/user/project/file4096.cpp").isPresent());
+	}
+
+	private void write(String text) throws IOException {
+		parser.write(text.getBytes(StandardCharsets.UTF_8));
+	}
+}
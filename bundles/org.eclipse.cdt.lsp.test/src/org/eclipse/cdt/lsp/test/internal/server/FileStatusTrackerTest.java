@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.cdt.lsp.internal.server.FileStatusTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FileStatusTrackerTest {
+	private static final URI ROOT = URI.create("file:///home/user/project/");
+	private static final URI MAIN = URI.create("file:///home/user/project/main.cpp");
+	private static final URI OTHER = URI.create("file:///home/user/other/main.cpp");
+
+	private long now;
+	private FileStatusTracker tracker;
+	private final List<URI> changed = new ArrayList<>();
+
+	@BeforeEach
+	public void setUp() {
+		now = 1000;
+		tracker = new FileStatusTracker(() -> now);
+		tracker.addListener(changed::add);
+	}
+
+	/**
+	 * Tests that the time between two updates is recorded for the state which has been left.
+	 */
+	@Test
+	void testTimeInState() {
+		// GIVEN a file which has been building its preamble for 300 ms, then parsing for 50 ms
+		tracker.update(MAIN, "building preamble");
+		now += 300;
+		tracker.update(MAIN, "parsing main file");
+		now += 50;
+		tracker.update(MAIN, "building preamble");
+		now += 100;
+		// WHEN it becomes idle
+		tracker.update(MAIN, FileStatusTracker.IDLE);
+		// THEN both preamble builds and the parse are recorded
+		var times = tracker.getTimes(MAIN);
+		assertEquals(Set.of("building preamble", "parsing main file"), times.keySet());
+		assertEquals(2, times.get("building preamble").count());
+		assertEquals(400, times.get("building preamble").total());
+		assertEquals(300, times.get("building preamble").max());
+		assertEquals(50, times.get("parsing main file").total());
+	}
+
+	/**
+	 * Tests that the running actions are stripped from the state, so they count for the phase of the file.
+	 */
+	@Test
+	void testPhaseWithoutActions() {
+		// GIVEN a file which is building its preamble while a hover is running
+		tracker.update(MAIN, "building preamble, running Hover");
+		now += 200;
+		tracker.update(MAIN, "building preamble");
+		now += 100;
+		// WHEN it becomes idle
+		tracker.update(MAIN, FileStatusTracker.IDLE);
+		// THEN both states count for the preamble
+		var times = tracker.getTimes(MAIN);
+		assertEquals(Set.of("building preamble"), times.keySet());
+		assertEquals(300, times.get("building preamble").total());
+	}
+
+	/**
+	 * Tests that the state of an idle file is dropped and the time spent idle is not recorded.
+	 */
+	@Test
+	void testIdleDropsState() {
+		// GIVEN a file which is parsed
+		tracker.update(MAIN, "parsing main file");
+		assertEquals("parsing main file", tracker.getState(MAIN).orElseThrow().state());
+		// WHEN it becomes idle for a while and is parsed again
+		now += 10;
+		tracker.update(MAIN, FileStatusTracker.IDLE);
+		assertTrue(tracker.getState(MAIN).isEmpty());
+		now += 5000;
+		tracker.update(MAIN, "parsing main file");
+		now += 10;
+		tracker.update(MAIN, FileStatusTracker.IDLE);
+		// THEN only the time spent parsing is recorded, the listener is notified of each update
+		assertEquals(Set.of("parsing main file"), tracker.getTimes(MAIN).keySet());
+		assertEquals(20, tracker.getTimes(MAIN).get("parsing main file").total());
+		assertEquals(4, changed.size());
+	}
+
+	/**
+	 * Tests that the URIs sent by clangd and the URIs of the editor inputs denote the same file.
+	 */
+	@Test
+	void testNormalizedUri() {
+		tracker.update(URI.create("file:///home/user/project/main.cpp"), "parsing main file");
+		assertEquals("parsing main file", tracker.getState(URI.create("file:/home/user/project/main.cpp"))
+				.orElseThrow().state());
+	}
+
+	/**
+	 * Tests that the state of a closed file is dropped, but its times are kept.
+	 */
+	@Test
+	void testClosedDropsState() {
+		// GIVEN a file which is parsed after a preamble build
+		tracker.update(MAIN, "building preamble");
+		now += 100;
+		tracker.update(MAIN, "parsing main file");
+		changed.clear();
+		// WHEN it is closed
+		tracker.closed(MAIN);
+		// THEN its state is dropped and the listener is notified
+		assertTrue(tracker.getState(MAIN).isEmpty());
+		assertEquals(List.of(FileStatusTracker.normalize(MAIN)), changed);
+		assertEquals(100, tracker.getTimes(MAIN).get("building preamble").total());
+	}
+
+	/**
+	 * Tests that the states of the files of a stopped language server are dropped, the files of the other language
+	 * servers are kept.
+	 */
+	@Test
+	void testStoppedDropsStatesOfRoot() {
+		// GIVEN files of two projects which are parsed
+		tracker.update(MAIN, "parsing main file");
+		tracker.update(OTHER, "parsing main file");
+		// WHEN the language server of the first project is stopped
+		tracker.stopped(URI.create("file:///home/user/project"));
+		// THEN only the state of its file is dropped
+		assertTrue(tracker.getState(MAIN).isEmpty());
+		assertTrue(tracker.getState(OTHER).isPresent());
+		// WHEN the language server of the second project is stopped
+		tracker.stopped(URI.create("file:///home/user/other/"));
+		// THEN no state is left
+		assertTrue(tracker.getState(OTHER).isEmpty());
+		// WHEN a language server is stopped whose root is a prefix of the project name
+		tracker.update(MAIN, "parsing main file");
+		tracker.stopped(URI.create("file:///home/user/proj"));
+		// THEN the state of the file is kept
+		assertTrue(tracker.getState(MAIN).isPresent());
+	}
+
+	/**
+	 * Tests that the times are kept for the 256 most recently updated files.
+	 */
+	@Test
+	void testTimesAreBounded() {
+		// GIVEN 300 files whose preamble has been built, one after the other
+		for (int i = 0; i < 300; i++) {
+			preamble(file(i));
+		}
+		// THEN the times of the least recently updated files are dropped
+		for (int i = 0; i < 44; i++) {
+			assertTrue(tracker.getTimes(file(i)).isEmpty(), "file " + i);
+		}
+		// WHEN the oldest file which is kept is updated, and another file is added
+		preamble(file(44));
+		preamble(file(300));
+		// THEN the file is kept and the next one is dropped instead
+		assertEquals(2, tracker.getTimes(file(44)).get("building preamble").count());
+		assertTrue(tracker.getTimes(file(45)).isEmpty());
+		for (int i = 46; i <= 300; i++) {
+			assertEquals(1, tracker.getTimes(file(i)).get("building preamble").count(), "file " + i);
+		}
+	}
+
+	private void preamble(URI file) {
+		tracker.update(file, "building preamble");
+		now += 10;
+		tracker.update(file, FileStatusTracker.IDLE);
+	}
+
+	private static URI file(int i) {
+		return ROOT.resolve("file" + i + ".cpp");
+	}
+}
@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+
+import org.eclipse.cdt.lsp.internal.server.IndexProgressTracker;
+import org.eclipse.cdt.lsp.internal.server.IndexProgressTracker.Run;
+import org.eclipse.lsp4j.ProgressParams;
+import org.eclipse.lsp4j.WorkDoneProgressBegin;
+import org.eclipse.lsp4j.WorkDoneProgressEnd;
+import org.eclipse.lsp4j.WorkDoneProgressNotification;
+import org.eclipse.lsp4j.WorkDoneProgressReport;
+import org.eclipse.lsp4j.jsonrpc.messages.Either;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class IndexProgressTrackerTest {
+	private static final URI ROOT = URI.create("file:///home/user/project/");
+	private static final String COMMAND_LINE = "clangd --background-index";
+
+	private long now;
+	private IndexProgressTracker tracker;
+
+	@BeforeEach
+	public void setUp() {
+		now = 1000;
+		tracker = new IndexProgressTracker(() -> now);
+	}
+
+	@AfterEach
+	public void tearDown() {
+		tracker.stop();
+	}
+
+	/**
+	 * Tests that a run is begun, updated with the indexed and queued files and ended.
+	 */
+	@Test
+	void testBeginReportEnd() {
+		// GIVEN a run which has indexed 10 of 100 files in 2 s
+		progress(IndexProgressTracker.TOKEN, new WorkDoneProgressBegin());
+		now += 2000;
+		progress(IndexProgressTracker.TOKEN, report("10/100"));
+		// THEN it is active with the reported files
+		var active = tracker.getActive();
+		assertEquals(1, active.size());
+		assertEquals(ROOT, active.get(0).rootUri());
+		assertEquals(COMMAND_LINE, active.get(0).commandLine());
+		assertEquals(10, active.get(0).done());
+		assertEquals(100, active.get(0).total());
+		assertEquals(2000, active.get(0).elapsedMillis());
+		assertTrue(tracker.getRuns().isEmpty());
+		// WHEN it ends 2 s later
+		now += 2000;
+		progress(IndexProgressTracker.TOKEN, new WorkDoneProgressEnd());
+		// THEN it is finished with all queued files indexed
+		assertTrue(tracker.getActive().isEmpty());
+		assertEquals(1, tracker.getRuns().size());
+		var run = tracker.getRuns().get(0);
+		assertTrue(run.finished());
+		assertEquals(100, run.done());
+		assertEquals(4000, run.elapsedMillis());
+	}
+
+	/**
+	 * Tests that the reports without the files and the notifications of other tokens are ignored.
+	 */
+	@Test
+	void testIgnoredNotifications() {
+		// GIVEN reports before a run has begun, and another progress
+		progress(IndexProgressTracker.TOKEN, report("1/2"));
+		progress("other", new WorkDoneProgressBegin());
+		assertTrue(tracker.getActive().isEmpty());
+		// WHEN a run has begun, and reports without files arrive
+		progress(IndexProgressTracker.TOKEN, new WorkDoneProgressBegin());
+		progress(IndexProgressTracker.TOKEN, report("5/50"));
+		progress(IndexProgressTracker.TOKEN, report("indexing"));
+		progress(IndexProgressTracker.TOKEN, report(null));
+		progress("other", report("7/70"));
+		progress("other", new WorkDoneProgressEnd());
+		// THEN the run keeps the last files of its own reports
+		var active = tracker.getActive();
+		assertEquals(1, active.size());
+		assertEquals(5, active.get(0).done());
+		assertEquals(50, active.get(0).total());
+	}
+
+	/**
+	 * Tests that a run which is begun again ends the previous run, which has not finished.
+	 */
+	@Test
+	void testRollover() {
+		// GIVEN a run which has indexed 5 of 10 files
+		progress(IndexProgressTracker.TOKEN, new WorkDoneProgressBegin());
+		now += 1000;
+		progress(IndexProgressTracker.TOKEN, report("5/10"));
+		// WHEN a new run begins without an end of the previous one
+		now += 1000;
+		progress(IndexProgressTracker.TOKEN, new WorkDoneProgressBegin());
+		// THEN the previous run has ended unfinished and the new one is active
+		assertEquals(1, tracker.getRuns().size());
+		var previous = tracker.getRuns().get(0);
+		assertFalse(previous.finished());
+		assertEquals(5, previous.done());
+		assertEquals(2000, previous.elapsedMillis());
+		assertEquals(1, tracker.getActive().size());
+		assertEquals(now, tracker.getActive().get(0).started());
+		assertEquals(0, tracker.getActive().get(0).done());
+	}
+
+	/**
+	 * Tests that the run of a stopped language server ends unfinished with the files indexed so far.
+	 */
+	@Test
+	void testStopped() {
+		progress(IndexProgressTracker.TOKEN, new WorkDoneProgressBegin());
+		progress(IndexProgressTracker.TOKEN, report("3/30"));
+		tracker.stopped(ROOT);
+		assertTrue(tracker.getActive().isEmpty());
+		var run = tracker.getRuns().get(0);
+		assertFalse(run.finished());
+		assertEquals(3, run.done());
+		assertEquals(30, run.total());
+	}
+
+	/**
+	 * Tests that the 64 most recent runs are kept, the oldest first.
+	 */
+	@Test
+	void testRunsAreBounded() {
+		// GIVEN 70 runs, one after the other
+		for (int i = 0; i < 70; i++) {
+			progress(IndexProgressTracker.TOKEN, new WorkDoneProgressBegin());
+			now += 10;
+			progress(IndexProgressTracker.TOKEN, new WorkDoneProgressEnd());
+		}
+		// THEN the first 6 runs are dropped
+		var runs = tracker.getRuns();
+		assertEquals(64, runs.size());
+		assertEquals(1000 + 6 * 10, runs.get(0).started());
+		assertEquals(1000 + 69 * 10, runs.get(runs.size() - 1).started());
+	}
+
+	/**
+	 * Tests the rate and the estimated time of a run.
+	 */
+	@Test
+	void testRate() {
+		// 30 of 100 files in 6 s: 5 files per second, 70 files remain which take 14 s
+		var run = new Run(ROOT, COMMAND_LINE, 1000, 7000, 30, 100, false);
+		assertEquals(5.0, run.filesPerSecond());
+		assertEquals(70, run.remaining());
+		assertEquals(14_000, run.estimatedMillis());
+		// the queue is not known yet
+		run = new Run(ROOT, COMMAND_LINE, 1000, 7000, 30, 0, false);
+		assertEquals(0, run.remaining());
+		assertEquals(0, run.estimatedMillis());
+		// no time has passed, or no file has been indexed
+		run = new Run(ROOT, COMMAND_LINE, 1000, 1000, 30, 100, false);
+		assertEquals(0, run.filesPerSecond());
+		assertEquals(-1, run.estimatedMillis());
+		run = new Run(ROOT, COMMAND_LINE, 1000, 7000, 0, 100, false);
+		assertEquals(-1, run.estimatedMillis());
+	}
+
+	private void progress(String token, WorkDoneProgressNotification notification) {
+		tracker.progress(ROOT, COMMAND_LINE, new ProgressParams(Either.forLeft(token), Either.forLeft(notification)));
+	}
+
+	private static WorkDoneProgressReport report(String message) {
+		var report = new WorkDoneProgressReport();
+		report.setMessage(message);
+		return report;
+	}
+}
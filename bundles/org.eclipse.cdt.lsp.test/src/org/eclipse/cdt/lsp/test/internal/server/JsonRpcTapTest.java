@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.cdt.lsp.internal.server.JsonRpcMetrics;
+import org.eclipse.cdt.lsp.internal.server.JsonRpcMetrics.MethodMetrics;
+import org.eclipse.cdt.lsp.internal.server.JsonRpcTap;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.RequestMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseError;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseErrorCode;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseMessage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class JsonRpcTapTest {
+	private static final String HOVER = "textDocument/hover";
+	private static final String REQUEST = "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"method\":\"textDocument/hover\"}";
+	private static final String RESPONSE = "{\"jsonrpc\":\"2.0\",\"id\":\"1\",\"result\":{\"contents\":\"int x\"}}";
+
+	private JsonRpcMetrics metrics;
+	private JsonRpcTap tap;
+	private OutputStream output;
+
+	@BeforeEach
+	public void setUp() {
+		metrics = new JsonRpcMetrics();
+		tap = new JsonRpcTap(metrics);
+		output = tap.tapOutput(new ByteArrayOutputStream());
+	}
+
+	/**
+	 * Tests that a request is matched with its response and the payload sizes are taken from the frames.
+	 */
+	@Test
+	void testRequestIsMatchedWithResponse() throws IOException {
+		send(REQUEST);
+		tap.message(request("1", HOVER));
+		var input = tap.tapInput(new ByteArrayInputStream(frame(RESPONSE)));
+		receive(input);
+		tap.message(response("1", null));
+		var hover = method(HOVER);
+		assertEquals(1, hover.messages());
+		assertEquals(1, hover.latency().count());
+		assertEquals(0, hover.errors());
+		assertEquals(REQUEST.length(), hover.requestBytes());
+		assertEquals(RESPONSE.length(), hover.responseBytes());
+	}
+
+	/**
+	 * Tests that the requests of the client and the server are not mixed up although they share ids.
+	 */
+	@Test
+	void testRequestsOfBothDirections() throws IOException {
+		send(REQUEST);
+		tap.message(request("1", HOVER));
+		var input = tap.tapInput(new ByteArrayInputStream(frame(REQUEST)));
+		receive(input);
+		tap.message(request("1", "workspace/configuration"));
+		send(RESPONSE);
+		tap.message(response("1", null));
+		// the answer of the client is matched with the request of the server:
+		assertEquals(1, method("workspace/configuration").latency().count());
+		assertEquals(0, method(HOVER).latency().count());
+	}
+
+	/**
+	 * Tests that a response which is reported before its request, because the request is reported only after it
+	 * has been written, is matched nevertheless.
+	 */
+	@Test
+	void testResponseBeforeRequest() throws IOException {
+		var input = tap.tapInput(new ByteArrayInputStream(frame(RESPONSE)));
+		receive(input);
+		tap.message(response("1", null));
+		send(REQUEST);
+		tap.message(request("1", HOVER));
+		var hover = method(HOVER);
+		assertEquals(1, hover.latency().count());
+		assertEquals(REQUEST.length(), hover.requestBytes());
+		assertEquals(RESPONSE.length(), hover.responseBytes());
+	}
+
+	@Test
+	void testErrorsAndNotifications() throws IOException {
+		send(REQUEST);
+		tap.message(request("7", HOVER));
+		tap.message(notification("$/cancelRequest"));
+		tap.message(response("7", new ResponseError(ResponseErrorCode.RequestCancelled, "cancelled", null)));
+		assertEquals(1, method(HOVER).errors());
+		assertEquals(1, method("$/cancelRequest").messages());
+	}
+
+	@Test
+	void testExport() throws IOException {
+		send(REQUEST);
+		tap.message(request("1", HOVER));
+		tap.message(response("1", null));
+		var writer = new StringWriter();
+		metrics.exportCsv(writer);
+		var lines = writer.toString().split("\n");
+		assertEquals(2, lines.length);
+		assertTrue(lines[0].startsWith("method,"));
+		assertTrue(lines[1].startsWith(HOVER + ",1,0,"));
+	}
+
+	private MethodMetrics method(String method) {
+		return metrics.getMethods().stream().filter(m -> m.method().equals(method)).findFirst().orElseThrow();
+	}
+
+	private void send(String payload) throws IOException {
+		output.write(frame(payload));
+	}
+
+	private static void receive(InputStream input) throws IOException {
+		input.readAllBytes();
+	}
+
+	private static byte[] frame(String payload) {
+		var content = payload.getBytes(StandardCharsets.UTF_8);
+		return ("Content-Length: " + content.length + "\r\n\r\n" + payload).getBytes(StandardCharsets.UTF_8);
+	}
+
+	private static RequestMessage request(String id, String method) {
+		var message = new RequestMessage();
+		message.setId(id);
+		message.setMethod(method);
+		return message;
+	}
+
+	private static ResponseMessage response(String id, ResponseError error) {
+		var message = new ResponseMessage();
+		message.setId(id);
+		message.setError(error);
+		return message;
+	}
+
+	private static NotificationMessage notification(String method) {
+		var message = new NotificationMessage();
+		message.setMethod(method);
+		return message;
+	}
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URI;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.eclipse.cdt.lsp.internal.server.CLanguageServerPool;
+import org.eclipse.cdt.lsp.internal.server.MemoryUsageSampler;
+import org.eclipse.cdt.lsp.internal.server.MemoryUsageSampler.Sample;
+import org.eclipse.cdt.lsp.services.memoryusage.MemoryTree;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class MemoryUsageSamplerTest {
+	private static final URI FIRST = URI.create("file:///home/user/first/");
+	private static final URI SECOND = URI.create("file:///home/user/second/");
+	private static final URI STOPPED = URI.create("file:///home/user/stopped/");
+
+	private CLanguageServerPool pool;
+	private MemoryUsageSampler sampler;
+
+	@BeforeEach
+	public void setUp() {
+		pool = new CLanguageServerPool();
+		pool.register(FIRST, Optional.empty());
+		pool.register(SECOND, Optional.empty());
+		sampler = new MemoryUsageSampler(pool);
+	}
+
+	/**
+	 * Tests that the latest sample of each running language server is returned, the largest first.
+	 */
+	@Test
+	void testLatest() {
+		sampler.add(sample(FIRST, 10));
+		sampler.add(sample(SECOND, 20));
+		sampler.add(sample(FIRST, 30));
+		sampler.add(sample(STOPPED, 40));
+		var latest = sampler.getLatest();
+		assertEquals(List.of(FIRST, SECOND), latest.stream().map(Sample::rootUri).toList());
+		assertEquals(30, latest.get(0).tree().getTotal());
+	}
+
+	/**
+	 * Tests that the history of a root keeps the samples of the last four hours, the oldest first.
+	 */
+	@Test
+	void testHistoryIsBounded() {
+		for (int i = 0; i < 250; i++) {
+			sampler.add(sample(FIRST, i));
+		}
+		var history = sampler.getSamples(FIRST);
+		assertEquals(240, history.size());
+		assertEquals(10, history.get(0).tree().getTotal());
+		assertEquals(249, history.get(history.size() - 1).tree().getTotal());
+	}
+
+	/**
+	 * Tests that a language server which did not answer the request does not add a sample.
+	 */
+	@Test
+	void testMissingTreeIsIgnored() {
+		sampler.add(new Sample(Instant.now(), FIRST, null));
+		assertTrue(sampler.getSamples(FIRST).isEmpty());
+		assertTrue(sampler.getLatest().isEmpty());
+	}
+
+	/**
+	 * Tests that every component is exported with its path in the tree.
+	 */
+	@Test
+	void testExportCsv() throws IOException {
+		var index = new MemoryTree(5, 5, Map.of());
+		var server = new MemoryTree(1, 6, Map.of("dynamic_index", index));
+		var time = Instant.parse("2026-01-01T10:00:00Z");
+		sampler.add(new Sample(time, FIRST, new MemoryTree(0, 6, Map.of("clangd_server", server))));
+		var writer = new StringWriter();
+		sampler.exportCsv(writer);
+		assertEquals(String.join("\n", "time,root,component,self bytes,total bytes", //
+				time + "," + FIRST + ",,0,6", //
+				time + "," + FIRST + ",clangd_server,1,6", //
+				time + "," + FIRST + ",clangd_server/dynamic_index,5,5", //
+				""), writer.toString());
+	}
+
+	private static Sample sample(URI rootUri, long total) {
+		return new Sample(Instant.now(), rootUri, new MemoryTree(total, total, Map.of()));
+	}
+}
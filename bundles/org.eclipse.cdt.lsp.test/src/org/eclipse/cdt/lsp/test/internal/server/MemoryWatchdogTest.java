@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.internal.server;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.cdt.lsp.internal.server.CLanguageServerPool;
+import org.eclipse.cdt.lsp.internal.server.CLanguageServerPool.ServerInstance;
+import org.eclipse.cdt.lsp.internal.server.MemoryWatchdog;
+import org.eclipse.cdt.lsp.server.MemoryWatchdogAction;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the decisions of the memory watchdog with stubbed language server processes, whose memory and last use are
+ * given by the test.
+ */
+class MemoryWatchdogTest {
+	private static final long MB = 1024 * 1024;
+	private static final int THRESHOLD = 1000; // MB
+	private static final long IDLE = 60_000; // ms, longer than the idle time of the watchdog
+
+	private final List<String> warnings = new ArrayList<>();
+	private final List<URI> evicted = new ArrayList<>();
+	private final List<URI> restarted = new ArrayList<>();
+	// whether the stubbed eviction succeeds, i.e. no file of the project is opened in the editor:
+	private boolean idle;
+	private MemoryWatchdog watchdog;
+
+	@BeforeEach
+	public void setUp() {
+		idle = true;
+		watchdog = new MemoryWatchdog(new CLanguageServerPool()) {
+			@Override
+			protected void warn(URI rootUri, long memory, long threshold, boolean notify) {
+				warnings.add(rootUri.getPath() + " " + memory + "/" + threshold + (notify ? " notify" : ""));
+			}
+
+			@Override
+			protected boolean evict(ServerInstance instance) {
+				evicted.add(instance.rootUri());
+				return idle;
+			}
+
+			@Override
+			protected boolean restart(ServerInstance instance) {
+				restarted.add(instance.rootUri());
+				return true;
+			}
+		};
+	}
+
+	@Test
+	void testBelowThreshold() {
+		// GIVEN a language server at the threshold
+		var instance = new StubInstance("small", THRESHOLD, IDLE);
+		// WHEN the memory is checked
+		watchdog.check(List.of(instance), THRESHOLD, MemoryWatchdogAction.EVICT);
+		// THEN nothing is done
+		assertTrue(warnings.isEmpty());
+		assertTrue(evicted.isEmpty());
+	}
+
+	@Test
+	void testDisabled() {
+		// GIVEN a language server above the threshold
+		var instance = new StubInstance("large", 2 * THRESHOLD, IDLE);
+		// WHEN the memory is checked with the watchdog disabled
+		watchdog.check(List.of(instance), 0, MemoryWatchdogAction.RESTART);
+		// THEN nothing is done
+		assertTrue(warnings.isEmpty());
+		assertTrue(restarted.isEmpty());
+	}
+
+	@Test
+	void testWarnOnce() {
+		// GIVEN a language server above the threshold
+		var instance = new StubInstance("large", THRESHOLD + 1, IDLE);
+		// WHEN the memory is checked twice
+		watchdog.check(List.of(instance), THRESHOLD, MemoryWatchdogAction.WARN);
+		watchdog.check(List.of(instance), THRESHOLD, MemoryWatchdogAction.WARN);
+		// THEN the user is notified once and the language server keeps running
+		assertEquals(List.of("/large 1001/1000 notify"), warnings);
+		assertTrue(evicted.isEmpty());
+		assertTrue(restarted.isEmpty());
+		// WHEN the language server falls below the threshold and exceeds it again
+		instance.memory = THRESHOLD;
+		watchdog.check(List.of(instance), THRESHOLD, MemoryWatchdogAction.WARN);
+		instance.memory = THRESHOLD + 2;
+		watchdog.check(List.of(instance), THRESHOLD, MemoryWatchdogAction.WARN);
+		// THEN the user is notified again
+		assertEquals(List.of("/large 1001/1000 notify", "/large 1002/1000 notify"), warnings);
+	}
+
+	@Test
+	void testEvictOnlyAboveThreshold() {
+		// GIVEN two language servers, one of them above the threshold
+		var small = new StubInstance("small", THRESHOLD / 2, IDLE);
+		var large = new StubInstance("large", 2 * THRESHOLD, IDLE);
+		// WHEN the memory is checked
+		watchdog.check(List.of(small, large), THRESHOLD, MemoryWatchdogAction.EVICT);
+		// THEN only the large one is stopped, with a warning in the log only
+		assertEquals(List.of(large.rootUri()), evicted);
+		assertEquals(List.of("/large 2000/1000"), warnings);
+	}
+
+	@Test
+	void testEvictRetriedWhileInEditor() {
+		// GIVEN a language server above the threshold whose project is opened in the editor
+		var instance = new StubInstance("large", 2 * THRESHOLD, IDLE);
+		idle = false;
+		// WHEN the memory is checked twice
+		watchdog.check(List.of(instance), THRESHOLD, MemoryWatchdogAction.EVICT);
+		watchdog.check(List.of(instance), THRESHOLD, MemoryWatchdogAction.EVICT);
+		// THEN the eviction is tried on each check, but the warning is logged once
+		assertEquals(List.of(instance.rootUri(), instance.rootUri()), evicted);
+		assertEquals(1, warnings.size());
+	}
+
+	@Test
+	void testRestartOnlyWhenIdle() {
+		// GIVEN a language server above the threshold which has just been used
+		var instance = new StubInstance("large", 2 * THRESHOLD, 0);
+		// WHEN the memory is checked
+		watchdog.check(List.of(instance), THRESHOLD, MemoryWatchdogAction.RESTART);
+		// THEN it is not restarted yet
+		assertTrue(restarted.isEmpty());
+		// WHEN it has been idle for a while
+		instance.idleTime = IDLE;
+		watchdog.check(List.of(instance), THRESHOLD, MemoryWatchdogAction.RESTART);
+		// THEN it is restarted, and warned about once
+		assertEquals(List.of(instance.rootUri()), restarted);
+		assertEquals(1, warnings.size());
+		assertTrue(evicted.isEmpty());
+	}
+
+	@Test
+	void testRestartedServerIsReportedAgain() {
+		// GIVEN an idle language server above the threshold which has been restarted
+		var instance = new StubInstance("large", 2 * THRESHOLD, IDLE);
+		watchdog.check(List.of(instance), THRESHOLD, MemoryWatchdogAction.RESTART);
+		// WHEN the restarted language server exceeds the threshold again
+		watchdog.check(List.of(new StubInstance("large", 2 * THRESHOLD, IDLE)), THRESHOLD,
+				MemoryWatchdogAction.RESTART);
+		// THEN it is reported and restarted again
+		assertEquals(2, warnings.size());
+		assertEquals(2, restarted.size());
+	}
+
+	/**
+	 * A language server process with the given resident memory in MB, last used the given time ago.
+	 */
+	private static final class StubInstance extends ServerInstance {
+		private long memory;
+		private long idleTime;
+
+		StubInstance(String name, long memory, long idleTime) {
+			super(URI.create("file:///" + name), Optional.empty());
+			this.memory = memory;
+			this.idleTime = idleTime;
+		}
+
+		@Override
+		public long residentMemory() {
+			return memory * MB;
+		}
+
+		@Override
+		public long lastUsed() {
+			return System.currentTimeMillis() - idleTime;
+		}
+	}
+}
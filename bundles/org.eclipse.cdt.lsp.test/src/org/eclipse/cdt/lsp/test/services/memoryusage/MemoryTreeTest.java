@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.test.services.memoryusage;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.lsp.services.memoryusage.MemoryTree;
+import org.junit.jupiter.api.Test;
+
+import com.google.gson.Gson;
+
+class MemoryTreeTest {
+	/**
+	 * The result of a <em>$/memoryUsage</em> request of clangd 18, shortened to a few components.
+	 */
+	private static final String MEMORY_USAGE = """
+			{
+			  "_self": 0,
+			  "_total": 21258576,
+			  "clangd_server": {
+			    "_self": 1632,
+			    "_total": 21258576,
+			    "dynamic_index": {
+			      "_self": 0,
+			      "_total": 10780480,
+			      "main_file": {
+			        "_self": 5024,
+			        "_total": 2103136,
+			        "index": { "_self": 1040, "_total": 1040 },
+			        "slabs": { "_self": 2097072, "_total": 2097072 }
+			      },
+			      "preamble": { "_self": 8677344, "_total": 8677344 }
+			    },
+			    "tuscheduler": {
+			      "_self": 0,
+			      "_total": 10476464,
+			      "/home/user/project/main.cpp": {
+			        "_self": 0,
+			        "_total": 10476464,
+			        "ast": { "_self": 1234, "_total": 1234 },
+			        "preamble": { "_self": 10475230, "_total": 10475230 }
+			      }
+			    }
+			  }
+			}
+			""";
+
+	private final Gson gson = new Gson();
+
+	@Test
+	void testRead() {
+		var tree = gson.fromJson(MEMORY_USAGE, MemoryTree.class);
+		assertEquals(0, tree.getSelf());
+		assertEquals(21258576, tree.getTotal());
+		var server = tree.getChildren().get("clangd_server");
+		assertEquals(1632, server.getSelf());
+		// the components are kept in the order of the response:
+		assertEquals(List.of("dynamic_index", "tuscheduler"), List.copyOf(server.getChildren().keySet()));
+		var file = server.getChildren().get("tuscheduler").getChildren().get("/home/user/project/main.cpp");
+		assertEquals(10476464, file.getTotal());
+		assertEquals(new MemoryTree(1234, 1234, Map.of()), file.getChildren().get("ast"));
+		var mainFile = server.getChildren().get("dynamic_index").getChildren().get("main_file");
+		assertEquals(2097072, mainFile.getChildren().get("slabs").getSelf());
+		assertTrue(mainFile.getChildren().get("slabs").getChildren().isEmpty());
+	}
+
+	@Test
+	void testUnknownPropertiesAreSkipped() {
+		var tree = gson.fromJson("{\"_self\": 1, \"_total\": 3, \"_unit\": \"bytes\", \"items\": [1, 2],"
+				+ " \"child\": {\"_self\": 2, \"_total\": 2}}", MemoryTree.class);
+		assertEquals(new MemoryTree(1, 3, Map.of("child", new MemoryTree(2, 2, Map.of()))), tree);
+	}
+
+	@Test
+	void testWriteAndRead() {
+		var tree = gson.fromJson(MEMORY_USAGE, MemoryTree.class);
+		assertEquals(tree, gson.fromJson(gson.toJson(tree), MemoryTree.class));
+		assertNull(gson.fromJson("null", MemoryTree.class));
+	}
+}
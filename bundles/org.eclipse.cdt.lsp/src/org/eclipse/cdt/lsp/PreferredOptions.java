@@ -60,6 +60,26 @@ public abstract class PreferredOptions {
 				.orElseGet(customized::defaultValue);
 	}
 
+	/**
+	 * @since 3.2
+	 */
+	protected final int intValue(PreferenceMetadata<Integer> predefined) {
+		PreferenceMetadata<Integer> customized = metadata.defined(predefined.identifer(), Integer.class)
+				.orElse(predefined);
+		return Optional.of(customized)//
+				.map(this::commonValue)//
+				.flatMap(PreferredOptions::parseInt)//
+				.orElseGet(customized::defaultValue);
+	}
+
+	private static Optional<Integer> parseInt(String value) {
+		try {
+			return Optional.of(Integer.valueOf(value.trim()));
+		} catch (NumberFormatException e) {
+			return Optional.empty();
+		}
+	}
+
 	protected final String stringValue(PreferenceMetadata<String> predefined) {
 		PreferenceMetadata<String> customized = metadata.defined(predefined.identifer(), String.class)
 				.orElse(predefined);
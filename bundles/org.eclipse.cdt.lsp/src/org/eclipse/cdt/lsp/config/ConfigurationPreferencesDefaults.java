@@ -42,6 +42,8 @@ public final class ConfigurationPreferencesDefaults<C extends Configuration> imp
 	private void initializePreferences(String qualifier, PreferenceMetadata<?> pm) {
 		if (pm.defaultValue() instanceof Boolean value) {
 			DefaultScope.INSTANCE.getNode(qualifier).putBoolean(pm.identifer(), value);
+		} else if (pm.defaultValue() instanceof Integer value) {
+			DefaultScope.INSTANCE.getNode(qualifier).putInt(pm.identifer(), value);
 		} else if (pm.defaultValue() instanceof String value) {
 			DefaultScope.INSTANCE.getNode(qualifier).put(pm.identifer(), value);
 		}
@@ -67,6 +67,19 @@ public interface EditorMetadata extends ConfigurationMetadata {
 				LspUiMessages.LspEditorConfigurationPage_enableSubWordNavigation,
 				LspUiMessages.LspEditorConfigurationPage_enableSubWordNavigation_description);
 
+		/**
+		 * The predefined metadata for the "Start language server in the background" option
+		 *
+		 * @see EditorOptions#warmStart()
+		 *
+		 * @since 3.2
+		 */
+		PreferenceMetadata<Boolean> warmStart = new PreferenceMetadata<>(Boolean.class, //
+				"warm_start", //$NON-NLS-1$
+				false, //
+				LspUiMessages.LspEditorConfigurationPage_warmStart,
+				LspUiMessages.LspEditorConfigurationPage_warmStart_description);
+
 		/**
 		 * The predefined metadata for the "Format source code" option
 		 *
@@ -107,6 +120,7 @@ public interface EditorMetadata extends ConfigurationMetadata {
 				preferLspEditor, //
 				showTryLspBanner, //
 				enableSubWordNavigation, //
+				warmStart, //
 				formatOnSave, //
 				formatAllLines, //
 				formatEditedLines//
@@ -39,6 +39,17 @@ public interface EditorOptions {
 		return true;
 	}
 
+	/**
+	 * Start the language server in the background after the workbench has started and open the first C/C++ file
+	 * recorded in the workspace, so the language server is ready when the first editor is opened.
+	 *
+	 * @return if the language server should be started in the background
+	 * @since 3.2
+	 */
+	default boolean warmStart() {
+		return false;
+	}
+
 	/**
 	 * Format source code on file save action
 	 *
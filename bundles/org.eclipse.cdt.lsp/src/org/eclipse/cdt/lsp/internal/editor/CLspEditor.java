@@ -469,6 +469,12 @@ public class CLspEditor extends ExtensionBasedTextEditor {
 		setKeyBindingScopes(new String[] { CONTEXT_ID });
 	}
 
+	@Override
+	public void createPartControl(Composite parent) {
+		super.createPartControl(parent);
+		FileStatusItem.install(this);
+	}
+
 	@Override
 	protected ISourceViewer createSourceViewer(Composite parent, IVerticalRuler ruler, int styles) {
 		Composite editorComposite = createSwitchBackToTraditionalEditorBanner(parent);
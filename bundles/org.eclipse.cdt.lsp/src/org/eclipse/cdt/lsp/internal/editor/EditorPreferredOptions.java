@@ -43,6 +43,11 @@ public final class EditorPreferredOptions extends PreferredOptions implements Ed
 		return booleanValue(EditorMetadata.Predefined.enableSubWordNavigation);
 	}
 
+	@Override
+	public boolean warmStart() {
+		return booleanValue(EditorMetadata.Predefined.warmStart);
+	}
+
 	@Override
 	public boolean formatOnSave() {
 		return booleanValue(EditorMetadata.Predefined.formatOnSave);
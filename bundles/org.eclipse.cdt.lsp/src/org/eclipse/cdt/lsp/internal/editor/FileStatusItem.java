@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.editor;
+
+import java.net.URI;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import org.eclipse.cdt.lsp.internal.messages.LspUiMessages;
+import org.eclipse.cdt.lsp.internal.server.FileStatusTracker;
+import org.eclipse.cdt.lsp.internal.server.LatencyHistogram;
+import org.eclipse.cdt.lsp.plugin.LspPlugin;
+import org.eclipse.jface.action.ContributionItem;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.custom.CLabel;
+import org.eclipse.swt.graphics.GC;
+import org.eclipse.swt.layout.RowData;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.ui.IEditorInput;
+import org.eclipse.ui.IPartListener2;
+import org.eclipse.ui.IURIEditorInput;
+import org.eclipse.ui.IWorkbenchPage;
+import org.eclipse.ui.IWorkbenchPartReference;
+import org.eclipse.ui.part.FileEditorInput;
+
+/**
+ * Shows the state of clangd for the file of the active {@link CLspEditor} in the status line, like
+ * <code>building preamble</code>. The tooltip shows the time the file spent in each state.
+ * <p>
+ * The status line of the editors is shared by all editors of the same type in a workbench window, so there is one item
+ * per window which follows the active editor.
+ * </p>
+ */
+final class FileStatusItem extends ContributionItem {
+	private static final String ID = "org.eclipse.cdt.lsp.FileStatusItem"; //$NON-NLS-1$
+	private static final int WIDTH_IN_CHARS = 30;
+
+	private final IWorkbenchPage page;
+	private CLabel label;
+	private volatile URI uri;
+
+	private final Consumer<URI> listener = changed -> {
+		if (changed.equals(uri) && label != null && !label.isDisposed()) {
+			label.getDisplay().asyncExec(this::update);
+		}
+	};
+
+	private final IPartListener2 partListener = new IPartListener2() {
+		@Override
+		public void partActivated(IWorkbenchPartReference partRef) {
+			if (partRef.getPart(false) instanceof CLspEditor editor) {
+				show(editor.getEditorInput());
+			}
+		}
+
+		@Override
+		public void partInputChanged(IWorkbenchPartReference partRef) {
+			partActivated(partRef);
+		}
+	};
+
+	private FileStatusItem(IWorkbenchPage page) {
+		super(ID);
+		this.page = page;
+		page.addPartListener(partListener);
+		tracker().addListener(listener);
+	}
+
+	/**
+	 * Adds the item to the status line of the editor, unless it has been added for another editor already.
+	 */
+	static void install(CLspEditor editor) {
+		var statusLine = editor.getEditorSite().getActionBars().getStatusLineManager();
+		if (statusLine == null) {
+			return;
+		}
+		var item = statusLine.find(ID) instanceof FileStatusItem existing ? existing : null;
+		if (item == null) {
+			item = new FileStatusItem(editor.getSite().getPage());
+			statusLine.add(item);
+			statusLine.update(false);
+		}
+		item.show(editor.getEditorInput());
+	}
+
+	@Override
+	public void fill(Composite parent) {
+		label = new CLabel(parent, SWT.SHADOW_NONE);
+		var gc = new GC(label);
+		int width = gc.getFontMetrics().getAverageCharacterWidth() * WIDTH_IN_CHARS;
+		gc.dispose();
+		label.setLayoutData(new RowData(width, SWT.DEFAULT));
+		update();
+	}
+
+	private void show(IEditorInput input) {
+		if (input instanceof IURIEditorInput uriEditorInput) {
+			uri = FileStatusTracker.normalize(uriEditorInput.getURI());
+		} else if (input instanceof FileEditorInput fileEditorInput) {
+			uri = FileStatusTracker.normalize(fileEditorInput.getFile().getLocationURI());
+		} else {
+			uri = null;
+		}
+		update();
+	}
+
+	@Override
+	public void update() {
+		if (label == null || label.isDisposed()) {
+			return;
+		}
+		var file = uri;
+		var times = file == null ? Map.<String, LatencyHistogram>of() : tracker().getTimes(file);
+		// the tracker drops the state of an idle file:
+		var state = file == null ? null
+				: tracker().getState(file).map(FileStatusTracker.State::state)
+						.orElse(times.isEmpty() ? null : FileStatusTracker.IDLE);
+		label.setText(state == null ? "" : NLS.bind(LspUiMessages.FileStatusItem_state, state)); //$NON-NLS-1$
+		label.setToolTipText(state == null ? null : tooltip(times));
+	}
+
+	private static String tooltip(Map<String, LatencyHistogram> times) {
+		var tooltip = new StringBuilder(LspUiMessages.FileStatusItem_times);
+		times.entrySet().stream()
+				.sorted(Comparator.comparingLong((Map.Entry<String, LatencyHistogram> e) -> e.getValue().total())
+						.reversed())
+				.forEach(e -> tooltip.append('\n').append(NLS.bind(LspUiMessages.FileStatusItem_time,
+						new Object[] { e.getKey(), Long.toString(e.getValue().total()),
+								Long.toString(e.getValue().count()), Long.toString(e.getValue().max()) })));
+		return tooltip.toString();
+	}
+
+	@Override
+	public void dispose() {
+		tracker().removeListener(listener);
+		page.removePartListener(partListener);
+		super.dispose();
+	}
+
+	private static FileStatusTracker tracker() {
+		return LspPlugin.getDefault().getFileStatusTracker();
+	}
+}
@@ -41,6 +41,8 @@ public class LspUiMessages extends NLS {
 	public static String LspEditorConfigurationPage_gneral_behavior_group;
 	public static String LspEditorConfigurationPage_enableSubWordNavigation;
 	public static String LspEditorConfigurationPage_enableSubWordNavigation_description;
+	public static String LspEditorConfigurationPage_warmStart;
+	public static String LspEditorConfigurationPage_warmStart_description;
 
 	public static String SaveActionsConfigurationPage_FormatSourceCode;
 	public static String SaveActionsConfigurationPage_FormatSourceCode_description;
@@ -49,4 +51,39 @@ public class LspUiMessages extends NLS {
 	public static String SaveActionsConfigurationPage_FormatEditedLines;
 	public static String SaveActionsConfigurationPage_FormatEditedLines_description;
 
+	public static String LanguageServerMetricsView_method;
+	public static String LanguageServerMetricsView_messages;
+	public static String LanguageServerMetricsView_errors;
+	public static String LanguageServerMetricsView_mean;
+	public static String LanguageServerMetricsView_p50;
+	public static String LanguageServerMetricsView_p90;
+	public static String LanguageServerMetricsView_p99;
+	public static String LanguageServerMetricsView_max;
+	public static String LanguageServerMetricsView_request_size;
+	public static String LanguageServerMetricsView_response_size;
+	public static String LanguageServerMetricsView_max_response_size;
+	public static String LanguageServerMetricsView_reset;
+	public static String LanguageServerMetricsView_export;
+	public static String LanguageServerMetricsView_export_failed;
+	public static String LanguageServerMetricsView_export_file_states;
+	public static String LanguageServerMetricsView_export_index_runs;
+	public static String LanguageServerMetricsView_enable_cache;
+
+	public static String MemoryUsageView_component;
+	public static String MemoryUsageView_self;
+	public static String MemoryUsageView_total;
+	public static String MemoryUsageView_sample;
+	public static String MemoryUsageView_clear;
+	public static String MemoryUsageView_export;
+	public static String MemoryWatchdog_title;
+	public static String MemoryWatchdog_exceeded;
+	public static String FileStatusItem_state;
+	public static String FileStatusItem_times;
+	public static String FileStatusItem_time;
+	public static String IndexProgressTracker_job;
+	public static String IndexProgressTracker_files;
+	public static String IndexProgressTracker_files_remaining;
+	public static String CLanguageServerStreamConnectionProvider_invalid_command_line;
+	public static String CLanguageServerStreamConnectionProvider_stopped;
+
 }
@@ -12,53 +12,178 @@
 
 package org.eclipse.cdt.lsp.internal.server;
 
-import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.runtime.Platform;
 
+/**
+ * Pumps the lines of an input stream (e.g. the language server stderr) to an output stream (e.g. a console).
+ * <p>
+ * The input is read on a virtual thread over a channel and split into lines which are put into a bounded ring buffer.
+ * A second virtual thread writes the buffered lines to the output. When the output stalls and the buffer is full,
+ * new lines are dropped and counted instead of blocking the reader, so the process writing to the input stream never
+ * blocks on a slow output.
+ * </p>
+ */
 public final class AsyncStreamPipe {
+	public static final int DEFAULT_CAPACITY = 4096; // lines
+	private static final int READ_BUFFER_SIZE = 8192;
+	private static final int MAX_LINE_LENGTH = 64 * 1024;
+	private static final long POLL_TIMEOUT = 100; // ms
+	private static final long SHUTDOWN_TIMEOUT = 500; // ms
+	private static final byte NEW_LINE = '\n';
+
+	private final int capacity;
+	private final AtomicLong droppedLines = new AtomicLong();
+	private final AtomicLong pumpedLines = new AtomicLong();
+
+	public AsyncStreamPipe() {
+		this(DEFAULT_CAPACITY);
+	}
+
+	/**
+	 * @param capacity maximum number of lines buffered while the output is busy
+	 */
+	public AsyncStreamPipe(int capacity) {
+		this.capacity = Math.max(1, capacity);
+	}
 
 	/**
 	 * Starts a pipe from @input to @output
-	 * Returns a runnable that can stop the pipe
+	 * Returns a runnable that can stop the pipe. Stopping interrupts the reader and waits a short time
+	 * until the already buffered lines have been written to the output.
 	 */
 	public Runnable pipeTo(final String threadName, final InputStream input, final OutputStream output) {
-		if (output != null) {
-			final InputStream bufferedInput = new BufferedInputStream(input);
+		if (output != null && input != null) {
+			final BlockingQueue<byte[]> lines = new ArrayBlockingQueue<>(capacity);
 			final AtomicBoolean stop = new AtomicBoolean(false);
-			final Runnable writer = () -> {
+			final AtomicBoolean eof = new AtomicBoolean(false);
+			final Thread reader = Thread.ofVirtual().name(threadName).start(() -> {
 				try {
-					final byte[] buffer = new byte[1024];
-					int size = 0;
-					do {
-						if (stop.get()) {
-							break;
-						}
-						size = bufferedInput.read(buffer);
-						if (size > -1) {
-							output.write(buffer, 0, size);
-						}
-					} while (size > -1 && !Thread.interrupted());
-				} catch (IOException ioe) {
-					if (!stop.get()) {
-						Platform.getLog(getClass()).error(ioe.getMessage(), ioe);
-					}
+					read(Channels.newChannel(input), lines, stop);
+				} finally {
+					eof.set(true);
 				}
-			};
-			final Thread writerThread = new Thread(writer, threadName);
+			});
+			final Thread writer = Thread.ofVirtual().name(threadName + " writer") //$NON-NLS-1$
+					.start(() -> write(lines, output, stop, eof));
 			final Runnable stopper = () -> {
 				stop.set(true);
+				reader.interrupt();
+				try {
+					writer.join(SHUTDOWN_TIMEOUT);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				writer.interrupt();
 			};
-			writerThread.setDaemon(true);
-			writerThread.start();
 			return stopper;
 		}
 		final Runnable emptyRunner = () -> {
 		};
 		return emptyRunner;
 	}
+
+	/**
+	 * @return number of lines which have been dropped because the output could not keep up
+	 */
+	public long getDroppedLines() {
+		return droppedLines.get();
+	}
+
+	/**
+	 * @return number of lines which have been written to the output
+	 */
+	public long getPumpedLines() {
+		return pumpedLines.get();
+	}
+
+	private void read(ReadableByteChannel channel, BlockingQueue<byte[]> lines, AtomicBoolean stop) {
+		final ByteBuffer buffer = ByteBuffer.allocate(READ_BUFFER_SIZE);
+		final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+		try (channel) {
+			while (!stop.get() && channel.read(buffer) > -1) {
+				buffer.flip();
+				final byte[] bytes = buffer.array();
+				int start = 0;
+				for (int i = 0; i < buffer.limit(); i++) {
+					if (bytes[i] == NEW_LINE || pending.size() + i - start + 1 >= MAX_LINE_LENGTH) {
+						pending.write(bytes, start, i - start + 1);
+						offer(lines, pending);
+						start = i + 1;
+					}
+				}
+				pending.write(bytes, start, buffer.limit() - start);
+				buffer.clear();
+			}
+		} catch (ClosedByInterruptException e) {
+			// stopped
+		} catch (IOException e) {
+			if (!stop.get()) {
+				Platform.getLog(getClass()).error(e.getMessage(), e);
+			}
+		} finally {
+			if (pending.size() > 0) {
+				offer(lines, pending);
+			}
+		}
+	}
+
+	private void offer(BlockingQueue<byte[]> lines, ByteArrayOutputStream pending) {
+		if (!lines.offer(pending.toByteArray())) {
+			droppedLines.incrementAndGet();
+		}
+		pending.reset();
+	}
+
+	private void write(BlockingQueue<byte[]> lines, OutputStream output, AtomicBoolean stop, AtomicBoolean eof) {
+		final List<byte[]> batch = new ArrayList<>();
+		long reportedDrops = 0;
+		try {
+			while (true) {
+				byte[] line = lines.poll(POLL_TIMEOUT, TimeUnit.MILLISECONDS);
+				if (line == null) {
+					if ((stop.get() || eof.get()) && lines.isEmpty()) {
+						break;
+					}
+					continue;
+				}
+				batch.add(line);
+				lines.drainTo(batch);
+				long drops = droppedLines.get();
+				if (drops != reportedDrops) {
+					output.write(String.format("[%d lines dropped]%n", drops - reportedDrops) //$NON-NLS-1$
+							.getBytes(StandardCharsets.UTF_8));
+					reportedDrops = drops;
+				}
+				for (byte[] l : batch) {
+					output.write(l);
+				}
+				pumpedLines.addAndGet(batch.size());
+				batch.clear();
+				output.flush();
+			}
+		} catch (InterruptedException e) {
+			// stopped
+		} catch (IOException e) {
+			if (!stop.get()) {
+				Platform.getLog(getClass()).error(e.getMessage(), e);
+			}
+		}
+	}
 }
@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.server;
+
+import java.net.URI;
+
+import org.eclipse.cdt.lsp.plugin.LspPlugin;
+import org.eclipse.cdt.lsp.services.ClangdLanguageClient;
+import org.eclipse.cdt.lsp.services.filestatus.FileStatus;
+import org.eclipse.lsp4e.LanguageClientImpl;
+import org.eclipse.lsp4j.ProgressParams;
+
+/**
+ * Handles the notifications of the clangd extensions in addition to the standard notifications handled by LSP4E.
+ * The progress of the background index is not shown by LSP4E but by the {@link IndexProgressTracker}.
+ */
+public class CLanguageClient extends LanguageClientImpl implements ClangdLanguageClient {
+
+	@Override
+	public void fileStatus(FileStatus status) {
+		var plugin = LspPlugin.getDefault();
+		if (plugin != null && status.getUri() != null && status.getState() != null) {
+			plugin.getFileStatusTracker().update(URI.create(status.getUri()), status.getState());
+		}
+	}
+
+	@Override
+	public void notifyProgress(ProgressParams params) {
+		// the background index is shown by the IndexProgressTracker, one job for all language servers:
+		if (params.getToken() != null && IndexProgressTracker.TOKEN.equals(params.getToken().getLeft())) {
+			return;
+		}
+		super.notifyProgress(params);
+	}
+}
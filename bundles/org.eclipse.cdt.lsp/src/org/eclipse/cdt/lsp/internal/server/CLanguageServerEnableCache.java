@@ -13,14 +13,15 @@
 package org.eclipse.cdt.lsp.internal.server;
 
 import java.net.URI;
-import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.Collections;
-import java.util.List;
+import java.util.Comparator;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
-import org.eclipse.cdt.internal.core.LRUCache;
 import org.eclipse.cdt.lsp.util.LspUtils;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.content.IContentTypeManager.ContentTypeChangeEvent;
@@ -38,15 +39,21 @@ import org.eclipse.ui.internal.genericeditor.ExtensionBasedTextEditor;
  * The cache is getting cleared on changes in the C/C++ related content types. The cache gets restored for all opened files in the LSP based editor
  * if their content type still matches a C/C++ source or header type.
  *
- * The cache is limited to 100 elements. The oldest entry will be removed.
+ * The cache is limited to {@value #DEFAULT_MAXIMUM_SIZE} elements by default, which can be changed with the system property
+ * <code>org.eclipse.cdt.lsp.enableCache.size</code>. When the limit is exceeded, the least recently used entries are removed,
+ * the entries of files which are not opened in an editor first.
  * A resource URI shall be removed from the cache if it's getting closed in the editor.
  * The enable Language Server is cached when the file has been opened in the LSP based C/C++ editor and the opened file matches a C/C++ content type.
+ *
+ * The cache is read on every enablement check of LSP4E, so the reads do not lock. The hits, misses and evictions are counted,
+ * see {@link #getStatistics()}.
  */
 public final class CLanguageServerEnableCache implements IContentTypeChangeListener, IPartListener, IWindowListener {
 
-	private final class Data {
-		boolean enable = false;
-		List<Integer> editorHashes = new ArrayList<>();
+	private static final class Data {
+		volatile boolean enable = false;
+		volatile long lastAccess;
+		final Set<Integer> editorHashes = ConcurrentHashMap.newKeySet();
 
 		private Data(boolean enable) {
 			this.enable = enable;
@@ -57,18 +64,14 @@ public final class CLanguageServerEnableCache implements IContentTypeChangeListe
 			addEditor(hash);
 		}
 
-		private void addEditor(Integer hash) {
-			var h = hash;
-			if (h != 0) {
-				editorHashes.add(h);
+		private void addEditor(int hash) {
+			if (hash != 0) {
+				editorHashes.add(hash);
 			}
 		}
 
-		private void removeEditor(Integer hash) {
-			var h = hash;
-			if (editorHashes.contains(h)) {
-				editorHashes.remove(h);
-			}
+		private void removeEditor(int hash) {
+			editorHashes.remove(hash);
 		}
 
 		private boolean allEditorsClosed() {
@@ -76,12 +79,45 @@ public final class CLanguageServerEnableCache implements IContentTypeChangeListe
 		}
 	}
 
-	private static final int BUFFER_SIZE = 100;
+	/**
+	 * The eviction order of an entry, taken at once, since the access time and the editors of an entry change while it
+	 * is sorted.
+	 */
+	private record Snapshot(URI uri, Data data, long lastAccess, boolean hasEditors) {
+	}
+
+	/**
+	 * The counters of the cache since the start.
+	 *
+	 * @param hits the lookups which found an entry
+	 * @param misses the lookups which did not find an entry
+	 * @param evictions the entries removed because the cache was full
+	 * @param size the current number of entries
+	 * @param maximumSize the maximum number of entries
+	 */
+	public record Statistics(long hits, long misses, long evictions, int size, int maximumSize) {
+
+		public double hitRate() {
+			long lookups = hits + misses;
+			return lookups > 0 ? (double) hits / lookups : 0;
+		}
+	}
+
+	public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+	private static final String MAXIMUM_SIZE_PROPERTY = "org.eclipse.cdt.lsp.enableCache.size"; //$NON-NLS-1$
 	private static final String C_SOURCE = "org.eclipse.cdt.core.cSource"; //$NON-NLS-1$
 	private static final String CXX_SOURCE = "org.eclipse.cdt.core.cxxSource"; //$NON-NLS-1$
 	private static final String C_HEADER = "org.eclipse.cdt.core.cHeader"; //$NON-NLS-1$
 	private static final String CXX_HEADER = "org.eclipse.cdt.core.cxxHeader"; //$NON-NLS-1$
-	private static final Map<URI, Data> cache = Collections.synchronizedMap(new LRUCache<>(BUFFER_SIZE));
+	private static final Map<URI, Data> cache = new ConcurrentHashMap<>();
+	// orders the accesses for the eviction, cheaper than reordering a linked map on every read:
+	private static final AtomicLong clock = new AtomicLong();
+	private static final LongAdder hits = new LongAdder();
+	private static final LongAdder misses = new LongAdder();
+	private static final LongAdder evictions = new LongAdder();
+	private static final Object evictionLock = new Object();
+	private static volatile int maximumSize = Math.max(1,
+			Integer.getInteger(MAXIMUM_SIZE_PROPERTY, DEFAULT_MAXIMUM_SIZE));
 	private static CLanguageServerEnableCache instance = null;
 
 	private CLanguageServerEnableCache() {
@@ -117,11 +153,61 @@ public final class CLanguageServerEnableCache implements IContentTypeChangeListe
 	}
 
 	public Optional<Boolean> get(URI uri) {
-		return Optional.ofNullable(cache.get(uri)).map(data -> data.enable);
+		var data = cache.get(uri);
+		if (data == null) {
+			misses.increment();
+			return Optional.empty();
+		}
+		hits.increment();
+		data.lastAccess = clock.incrementAndGet();
+		return Optional.of(data.enable);
 	}
 
 	public void disable(URI uri) {
-		cache.put(uri, new Data(false));
+		put(uri, new Data(false));
+	}
+
+	/**
+	 * Sets the maximum number of entries, the least recently used entries are removed if the cache is larger.
+	 */
+	public void setMaximumSize(int size) {
+		maximumSize = Math.max(1, size);
+		evict();
+	}
+
+	public Statistics getStatistics() {
+		return new Statistics(hits.sum(), misses.sum(), evictions.sum(), cache.size(), maximumSize);
+	}
+
+	private static void put(URI uri, Data data) {
+		data.lastAccess = clock.incrementAndGet();
+		cache.put(uri, data);
+		if (cache.size() > maximumSize) {
+			evict();
+		}
+	}
+
+	/**
+	 * Removes the least recently used entries, the entries without opened editors first. A tenth of the entries is
+	 * removed at once, so a full cache is not scanned on every insertion.
+	 */
+	private static void evict() {
+		synchronized (evictionLock) {
+			int max = maximumSize;
+			int excess = cache.size() - (max - max / 10);
+			if (cache.size() <= max || excess <= 0) {
+				return;
+			}
+			var snapshots = cache.entrySet().stream().map(e -> new Snapshot(e.getKey(), e.getValue(),
+					e.getValue().lastAccess, !e.getValue().allEditorsClosed())).toList();
+			snapshots.stream()
+					.sorted(Comparator.comparing(Snapshot::hasEditors).thenComparingLong(Snapshot::lastAccess))
+					.limit(excess).forEach(e -> {
+						if (cache.remove(e.uri(), e.data())) {
+							evictions.increment();
+						}
+					});
+		}
 	}
 
 	@Override
@@ -136,7 +222,7 @@ public final class CLanguageServerEnableCache implements IContentTypeChangeListe
 				if (data != null) {
 					data.addEditor(hash);
 				} else {
-					cache.put(uri, new Data(true, hash));
+					put(uri, new Data(true, hash));
 				}
 			});
 		}
@@ -161,7 +247,7 @@ public final class CLanguageServerEnableCache implements IContentTypeChangeListe
 				if (data != null) {
 					data.removeEditor(part.hashCode());
 					if (data.allEditorsClosed()) {
-						cache.remove(uri);
+						cache.remove(uri, data);
 					}
 				}
 			});
@@ -183,7 +269,7 @@ public final class CLanguageServerEnableCache implements IContentTypeChangeListe
 					data.enable = true;
 					data.addEditor(hash);
 				} else {
-					cache.put(uri, new Data(true, hash));
+					put(uri, new Data(true, hash));
 				}
 			});
 		}
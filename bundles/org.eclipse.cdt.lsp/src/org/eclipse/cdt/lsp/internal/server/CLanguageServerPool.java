@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.server;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.cdt.lsp.ResolveProject;
+import org.eclipse.cdt.lsp.plugin.LspPlugin;
+import org.eclipse.cdt.lsp.server.ICLanguageServerProvider4;
+import org.eclipse.cdt.lsp.util.LspUtils;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.ServiceCaller;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.ui.PlatformUI;
+
+/**
+ * Keeps track of the running language server processes. One process is started per project root by LSP4E,
+ * which routes each document to the server of its project.
+ * <p>
+ * The pool stops idle processes in least recently used order when the number of processes or their resident memory
+ * exceed the limits defined by {@link ICLanguageServerProvider4}. A process is idle when none of the files of its
+ * project is opened in the LSP based C/C++ editor. A stopped process is started again by LSP4E on the next request.
+ * </p>
+ */
+public final class CLanguageServerPool {
+	private static final long EVICTION_INTERVAL = 60_000; // ms
+	private static final long MB = 1024 * 1024;
+
+	/**
+	 * A running language server process serving a project root.
+	 */
+	public static class ServerInstance {
+		private final URI rootUri;
+		private final Optional<ProcessHandle> process;
+		private volatile long lastUsed;
+
+		public ServerInstance(URI rootUri, Optional<ProcessHandle> process) {
+			this.rootUri = rootUri;
+			this.process = process;
+			this.lastUsed = System.currentTimeMillis();
+		}
+
+		public URI rootUri() {
+			return rootUri;
+		}
+
+		public Optional<ProcessHandle> process() {
+			return process;
+		}
+
+		public long lastUsed() {
+			return lastUsed;
+		}
+
+		/**
+		 * @return resident memory of the process in bytes, <code>0</code> if unknown
+		 */
+		public long residentMemory() {
+			return process.filter(ProcessHandle::isAlive)
+					.map(p -> ProcessMemory.residentSetSize(p.pid()).orElse(0L)).orElse(0L);
+		}
+	}
+
+	private final Map<URI, ServerInstance> instances = new ConcurrentHashMap<>();
+	private volatile boolean running;
+
+	private final Job evictionJob = new Job("Stop idle C/C++ language servers") { //$NON-NLS-1$
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			if (running) {
+				evict();
+				schedule(EVICTION_INTERVAL);
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
+	public CLanguageServerPool start() {
+		running = true;
+		evictionJob.setSystem(true);
+		evictionJob.schedule(EVICTION_INTERVAL);
+		return this;
+	}
+
+	public void stop() {
+		running = false;
+		evictionJob.cancel();
+		instances.clear();
+	}
+
+	/**
+	 * Registers a started language server process for the given root.
+	 */
+	public void register(URI rootUri, Optional<ProcessHandle> process) {
+		if (rootUri != null) {
+			instances.put(rootUri, new ServerInstance(rootUri, process));
+			if (running) {
+				evictionJob.schedule();
+			}
+		}
+	}
+
+	public void unregister(URI rootUri) {
+		if (rootUri != null) {
+			instances.remove(rootUri);
+		}
+	}
+
+	/**
+	 * Marks the language server of the given root as recently used.
+	 */
+	public void touch(URI rootUri) {
+		if (rootUri != null) {
+			var instance = instances.get(rootUri);
+			if (instance != null) {
+				instance.lastUsed = System.currentTimeMillis();
+			}
+		}
+	}
+
+	public Collection<ServerInstance> getInstances() {
+		return List.copyOf(instances.values());
+	}
+
+	private void evict() {
+		var plugin = LspPlugin.getDefault();
+		if (plugin == null || !(plugin.getCLanguageServerProvider() instanceof ICLanguageServerProvider4 limits)) {
+			return;
+		}
+		int maxInstances = limits.maxServerInstances();
+		long budget = limits.serverMemoryBudget() * MB;
+		if (maxInstances <= 0 && budget <= 0) {
+			return;
+		}
+		List<ServerInstance> lru = new ArrayList<>(instances.values());
+		lru.sort(Comparator.comparingLong(ServerInstance::lastUsed));
+		int count = lru.size();
+		long memory = budget > 0 ? lru.stream().mapToLong(ServerInstance::residentMemory).sum() : 0;
+		Set<IProject> busy = projectsInLspEditor();
+		for (var instance : lru) {
+			boolean tooMany = maxInstances > 0 && count > maxInstances;
+			boolean tooLarge = budget > 0 && memory > budget;
+			if (!tooMany && !tooLarge) {
+				break;
+			}
+			var project = project(instance.rootUri);
+			if (project.isEmpty()) {
+				// the root is no workspace project, i.e. a standalone file, we cannot determine its wrapper
+				continue;
+			}
+			if (busy.contains(project.get())) {
+				continue;
+			}
+			long rss = instance.residentMemory();
+			Platform.getLog(getClass()).info("Stopping idle language server for " + instance.rootUri); //$NON-NLS-1$
+			stop(instance);
+			count--;
+			memory -= rss;
+		}
+	}
+
+	/**
+	 * Stops the language server of the given instance, unless one of the files of its project is opened in the LSP
+	 * based C/C++ editor.
+	 *
+	 * @return true if the language server has been stopped
+	 */
+	public boolean stopIfIdle(ServerInstance instance) {
+		var project = project(instance.rootUri);
+		if (project.isEmpty() || projectsInLspEditor().contains(project.get())) {
+			return false;
+		}
+		return stop(instance);
+	}
+
+	/**
+	 * Stops the language server of the given instance. It is started again by LSP4E on the next request.
+	 *
+	 * @return false if the root of the instance is no workspace project, i.e. a standalone file, whose language
+	 *         server cannot be determined
+	 */
+	public boolean stop(ServerInstance instance) {
+		var project = project(instance.rootUri);
+		if (project.isEmpty()) {
+			return false;
+		}
+		LspUtils.getLanguageServers().stream().filter(w -> w.canOperate(project.get())).forEach(w -> w.stop());
+		instances.remove(instance.rootUri);
+		return true;
+	}
+
+	Optional<IProject> project(URI rootUri) {
+		List<IProject> found = new ArrayList<>();
+		ServiceCaller.callOnce(getClass(), IWorkspace.class,
+				w -> new ResolveProject(w).apply(rootUri).ifPresent(found::add));
+		return found.stream().findFirst();
+	}
+
+	private Set<IProject> projectsInLspEditor() {
+		Set<IProject> projects = new HashSet<>();
+		if (PlatformUI.isWorkbenchRunning()) {
+			PlatformUI.getWorkbench().getDisplay().syncExec(() -> LspUtils.getFilesInLspBasedEditor().values()
+					.forEach(uri -> LspUtils.getProject(uri).ifPresent(projects::add)));
+		}
+		return projects;
+	}
+}
@@ -17,22 +17,59 @@ import static org.eclipse.lsp4e.internal.NullSafetyHelper.castNonNull;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 
+import org.eclipse.cdt.lsp.internal.messages.LspUiMessages;
 import org.eclipse.cdt.lsp.plugin.LspPlugin;
 import org.eclipse.cdt.lsp.server.ICLanguageServerCommandLineValidator;
 import org.eclipse.cdt.lsp.server.ICLanguageServerProvider;
 import org.eclipse.cdt.lsp.server.ICLanguageServerProvider3;
+import org.eclipse.cdt.lsp.server.ICLanguageServerProvider4;
 import org.eclipse.cdt.lsp.server.ILogProvider;
+import org.eclipse.cdt.lsp.util.LspUtils;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.lsp4e.LanguageServerWrapper;
 import org.eclipse.lsp4e.server.ProcessStreamConnectionProvider;
+import org.eclipse.lsp4j.DidCloseTextDocumentParams;
+import org.eclipse.lsp4j.ProgressParams;
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.eclipse.lsp4j.services.LanguageServer;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.statushandlers.StatusManager;
 
 public final class CLanguageServerStreamConnectionProvider extends ProcessStreamConnectionProvider {
+	// the command lines rejected by the validation in this session, a restart fails until they or the executable are
+	// changed:
+	private static final Set<CommandLine> invalidCommands = ConcurrentHashMap.newKeySet();
 	private final ICLanguageServerProvider provider;
 	private Runnable errorStreamPipeStopper;
 	private Optional<ILogProvider> logProvider = Optional.empty();
+	private URI rootUri;
+	private JsonRpcTap jsonRpcTap;
+	private InputStream inputStream;
+	private OutputStream outputStream;
+	private Optional<RemoteServerConnection> remoteConnection = Optional.empty();
+	// started here instead of by the super class, which does not expose it, so the pool knows the process:
+	private Process process;
+	private Job validation;
 
 	public CLanguageServerStreamConnectionProvider() {
 		this.provider = LspPlugin.getDefault().getCLanguageServerProvider();
@@ -42,6 +79,7 @@ public final class CLanguageServerStreamConnectionProvider extends ProcessStream
 
 	@Override
 	public Object getInitializationOptions(URI rootUri) {
+		this.rootUri = rootUri;
 		setCommands(provider.getCommands(rootUri));
 		return provider.getInitializationOptions(rootUri);
 	}
@@ -64,33 +102,241 @@ public final class CLanguageServerStreamConnectionProvider extends ProcessStream
 	}
 
 	@Override
-	public void start() throws IOException {
+	public synchronized void start() throws IOException {
+		jsonRpcTap = new JsonRpcTap(LspPlugin.getDefault().getJsonRpcMetrics());
+		inputStream = null;
+		outputStream = null;
+		remoteConnection = connectToRunningServer();
+		if (remoteConnection.isPresent()) {
+			getPool().ifPresent(pool -> pool.register(rootUri, Optional.empty()));
+			return;
+		}
 		if (provider instanceof ICLanguageServerCommandLineValidator validator) {
-			IStatus status = validator.validateCommandLineOptions();
-			if (status.getSeverity() == IStatus.ERROR) {
-				throw new IOException(status.getMessage());
-			} else if (!status.isOK()) {
-				Platform.getLog(getClass()).log(status);
+			var commands = getCommands();
+			if (commands != null && invalidCommands.contains(CommandLine.of(commands))) {
+				throw new IOException(
+						NLS.bind(LspUiMessages.CLanguageServerStreamConnectionProvider_invalid_command_line,
+								String.join(" ", commands))); //$NON-NLS-1$
 			}
+			// the validation spawns the language server executable, so it should not delay the start:
+			validation = validate(validator, commands);
 		}
-		super.start();
+		process = startProcess();
+		getPool().ifPresent(pool -> pool.register(rootUri, Optional.of(process.toHandle())));
 		if (logEnabled() && getLogProvider().isPresent()) {
 			errorStreamPipeStopper = new AsyncStreamPipe().pipeTo("CDT LS stderr pipe", getErrorStream(), //$NON-NLS-1$
-					getLogProvider().get().getOutputStream());
+					new ClangdLogParser(getLogProvider().get().getOutputStream(),
+							LspPlugin.getDefault().getClangdLogMetrics()));
+		}
+	}
+
+	private Process startProcess() throws IOException {
+		var commands = getCommands();
+		if (commands == null || commands.isEmpty() || commands.stream().anyMatch(Objects::isNull)) {
+			throw new IOException("Unable to start language server: " + this); //$NON-NLS-1$
+		}
+		var started = createProcessBuilder().start();
+		if (!started.isAlive()) {
+			throw new IOException("Unable to start language server: " + this); //$NON-NLS-1$
+		}
+		return started;
+	}
+
+	/**
+	 * Validates the command line options while the language server starts. The language server is stopped when they
+	 * turn out to be invalid. An error with an exception, like a timeout of the validation, says nothing about the
+	 * options, so it is logged only, the same rule as for caching the validation results.
+	 */
+	private Job validate(ICLanguageServerCommandLineValidator validator, List<String> commands) {
+		var root = rootUri;
+		var job = new Job("Validate C/C++ language server command line") { //$NON-NLS-1$
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				IStatus status = validator.validateCommandLineOptions(root);
+				if (monitor.isCanceled()) {
+					return Status.CANCEL_STATUS;
+				}
+				if (status.getSeverity() == IStatus.ERROR && status.getException() == null) {
+					stopInvalid(this, commands, status);
+				} else if (!status.isOK()) {
+					Platform.getLog(getClass()).log(status);
+				}
+				return Status.OK_STATUS;
+			}
+		};
+		job.setSystem(true);
+		job.schedule();
+		return job;
+	}
+
+	private void stopInvalid(Job job, List<String> commands, IStatus status) {
+		URI root;
+		synchronized (this) {
+			if (validation != job) {
+				// the language server has been stopped or restarted meanwhile
+				return;
+			}
+			if (commands != null) {
+				invalidCommands.add(CommandLine.of(commands));
+			}
+			root = rootUri;
 		}
+		// stop the wrapper like the pool does, so that LSP4E knows the language server is gone:
+		var project = getPool().flatMap(pool -> pool.project(root));
+		if (project.isPresent()) {
+			LspUtils.getLanguageServers().stream().filter(w -> w.canOperate(project.get()))
+					.forEach(LanguageServerWrapper::stop);
+		} else {
+			// the root is no workspace project, i.e. a standalone file, we cannot determine its wrapper
+			stop();
+		}
+		StatusManager.getManager().handle(new Status(IStatus.ERROR, LspPlugin.PLUGIN_ID,
+				NLS.bind(LspUiMessages.CLanguageServerStreamConnectionProvider_stopped, status.getMessage())),
+				StatusManager.LOG | StatusManager.SHOW);
+	}
+
+	/**
+	 * A command line together with the size and the modification time of its executable, so that a replaced
+	 * executable is validated again.
+	 */
+	private record CommandLine(List<String> commands, long size, long lastModified) {
+
+		static CommandLine of(List<String> commands) {
+			var executable = commands.isEmpty() ? Optional.<Path>empty() : resolveExecutable(commands.get(0));
+			try {
+				if (executable.isPresent()) {
+					var attributes = Files.readAttributes(executable.get(), BasicFileAttributes.class);
+					return new CommandLine(List.copyOf(commands), attributes.size(),
+							attributes.lastModifiedTime().toMillis());
+				}
+			} catch (IOException e) {
+				// compared by the command line only
+			}
+			return new CommandLine(List.copyOf(commands), -1, -1);
+		}
+
+		// the executable may be given by its name only, to be looked up in the PATH like the process builder does:
+		private static Optional<Path> resolveExecutable(String executable) {
+			try {
+				var path = Path.of(executable);
+				if (path.getParent() != null) {
+					return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+				}
+				var searchPath = Optional.ofNullable(System.getenv("PATH")).orElse(""); //$NON-NLS-1$ //$NON-NLS-2$
+				return Arrays.stream(searchPath.split(File.pathSeparator)).filter(d -> !d.isEmpty())
+						.flatMap(d -> Stream.of(Path.of(d, executable), Path.of(d, executable + ".exe"))) //$NON-NLS-1$
+						.filter(Files::isRegularFile).findFirst();
+			} catch (InvalidPathException e) {
+				return Optional.empty();
+			}
+		}
+	}
+
+	/**
+	 * Connects to the already running language server configured for the root, if any.
+	 * The language server is started locally when it is not reachable.
+	 */
+	private Optional<RemoteServerConnection> connectToRunningServer() {
+		if (provider instanceof ICLanguageServerProvider4 provider4) {
+			var address = provider4.serverAddress(rootUri);
+			if (address != null && !address.isBlank()) {
+				try {
+					return Optional.of(RemoteServerConnection.connect(address, rootUri));
+				} catch (IOException e) {
+					Platform.getLog(getClass()).warn(NLS.bind(
+							"Cannot connect to language server at {0}, starting it locally: {1}", address, //$NON-NLS-1$
+							e.getMessage()));
+				}
+			}
+		}
+		return Optional.empty();
+	}
+
+	@Override
+	public InputStream getInputStream() {
+		var input = remoteConnection.map(RemoteServerConnection::getInputStream)
+				.orElseGet(() -> process != null ? process.getInputStream() : null);
+		if (inputStream == null && jsonRpcTap != null) {
+			inputStream = jsonRpcTap.tapInput(input);
+		}
+		return inputStream != null ? inputStream : input;
 	}
 
 	@Override
-	public void stop() {
+	public OutputStream getOutputStream() {
+		var output = remoteConnection.map(RemoteServerConnection::getOutputStream)
+				.orElseGet(() -> process != null ? process.getOutputStream() : null);
+		if (outputStream == null && jsonRpcTap != null) {
+			outputStream = jsonRpcTap.tapOutput(output);
+		}
+		return outputStream != null ? outputStream : output;
+	}
+
+	@Override
+	public InputStream getErrorStream() {
+		return remoteConnection.isEmpty() && process != null ? process.getErrorStream() : null;
+	}
+
+	@Override
+	public void handleMessage(Message message, LanguageServer languageServer, URI rootURI) {
+		getPool().ifPresent(pool -> pool.touch(rootUri));
+		if (jsonRpcTap != null) {
+			jsonRpcTap.message(message);
+		}
+		if (message instanceof NotificationMessage notification
+				&& notification.getParams() instanceof ProgressParams progress) {
+			getIndexProgressTracker().ifPresent(tracker -> tracker.progress(rootUri, commandLine(), progress));
+		} else if (message instanceof NotificationMessage notification
+				&& notification.getParams() instanceof DidCloseTextDocumentParams close
+				&& close.getTextDocument() != null) {
+			getFileStatusTracker().ifPresent(tracker -> tracker.closed(URI.create(close.getTextDocument().getUri())));
+		}
+	}
+
+	@Override
+	public synchronized void stop() {
+		if (validation != null) {
+			validation.cancel();
+			validation = null;
+		}
+		getPool().ifPresent(pool -> pool.unregister(rootUri));
+		getIndexProgressTracker().ifPresent(tracker -> tracker.stopped(rootUri));
+		if (rootUri != null) {
+			getFileStatusTracker().ifPresent(tracker -> tracker.stopped(rootUri));
+		}
+		// the remote language server keeps running, only the connection is closed:
+		remoteConnection.ifPresent(RemoteServerConnection::close);
+		remoteConnection = Optional.empty();
 		if (errorStreamPipeStopper != null) {
 			errorStreamPipeStopper.run();
 		}
 		// destroy LS process first, to prevent a write operation on a already closed output stream:
+		if (process != null) {
+			process.destroy();
+			process = null;
+		}
 		super.stop();
 		// then close output stream.
 		getLogProvider().ifPresent(lp -> lp.close());
 	}
 
+	private Optional<CLanguageServerPool> getPool() {
+		return Optional.ofNullable(LspPlugin.getDefault()).map(LspPlugin::getCLanguageServerPool);
+	}
+
+	private Optional<IndexProgressTracker> getIndexProgressTracker() {
+		return Optional.ofNullable(LspPlugin.getDefault()).map(LspPlugin::getIndexProgressTracker);
+	}
+
+	private Optional<FileStatusTracker> getFileStatusTracker() {
+		return Optional.ofNullable(LspPlugin.getDefault()).map(LspPlugin::getFileStatusTracker);
+	}
+
+	private String commandLine() {
+		var commands = getCommands();
+		return commands == null ? "" : String.join(" ", commands); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
 	private boolean logEnabled() {
 		return provider instanceof ICLanguageServerProvider3 provider3 && provider3.logToConsole();
 	}
@@ -0,0 +1,218 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.server;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Metrics collected from the log of the language servers by the {@link ClangdLogParser}.
+ * The per file metrics are keyed by the absolute file path as written by clangd, and are kept for the most recently
+ * logged files.
+ */
+public final class ClangdLogMetrics {
+	// a background index of a large code base logs far more files:
+	private static final int MAX_FILES = 4096;
+
+	/**
+	 * Metrics of a single file.
+	 */
+	public static final class FileMetrics {
+		private final String file;
+		private final LatencyHistogram preambleBuilds = new LatencyHistogram();
+		private final LatencyHistogram indexing = new LatencyHistogram();
+		private final AtomicLong preambleReuses = new AtomicLong();
+		private final AtomicLong astBuilds = new AtomicLong();
+		private final AtomicLong actions = new AtomicLong();
+		private final AtomicLong preambleSize = new AtomicLong();
+
+		private FileMetrics(String file) {
+			this.file = file;
+		}
+
+		public String file() {
+			return file;
+		}
+
+		/**
+		 * @return durations of the preamble builds in ms
+		 */
+		public LatencyHistogram preambleBuilds() {
+			return preambleBuilds;
+		}
+
+		/**
+		 * @return durations of the background indexing in ms
+		 */
+		public LatencyHistogram indexing() {
+			return indexing;
+		}
+
+		public long preambleReuses() {
+			return preambleReuses.get();
+		}
+
+		public long astBuilds() {
+			return astBuilds.get();
+		}
+
+		/**
+		 * @return number of actions (hover, completion, ...) run on the AST of the file
+		 */
+		public long actions() {
+			return actions.get();
+		}
+
+		/**
+		 * @return size in bytes of the last built preamble
+		 */
+		public long preambleSize() {
+			return preambleSize.get();
+		}
+	}
+
+	// the least recently logged files are dropped:
+	private final Map<String, FileMetrics> files = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, FileMetrics> eldest) {
+			return size() > MAX_FILES;
+		}
+	};
+	private final AtomicLong lines = new AtomicLong();
+	private final AtomicLong errors = new AtomicLong();
+	private final AtomicLong warnings = new AtomicLong();
+	private final AtomicLong indexEnqueued = new AtomicLong();
+	private final AtomicLong indexed = new AtomicLong();
+
+	void preambleBuilt(String file, long size, long millis) {
+		var metrics = file(file);
+		metrics.preambleBuilds.record(millis);
+		metrics.preambleSize.set(size);
+	}
+
+	void preambleReused(String file) {
+		file(file).preambleReuses.incrementAndGet();
+	}
+
+	void astBuilding(String file) {
+		file(file).astBuilds.incrementAndGet();
+	}
+
+	void actionRunning(String file) {
+		file(file).actions.incrementAndGet();
+	}
+
+	void indexed(String file, long millis) {
+		indexed.incrementAndGet();
+		if (millis >= 0) {
+			file(file).indexing.record(millis);
+		}
+	}
+
+	void indexEnqueued(long commands) {
+		indexEnqueued.addAndGet(commands);
+	}
+
+	void line(char level) {
+		lines.incrementAndGet();
+		if (level == 'E') {
+			errors.incrementAndGet();
+		} else if (level == 'W') {
+			warnings.incrementAndGet();
+		}
+	}
+
+	private FileMetrics file(String file) {
+		synchronized (files) {
+			return files.computeIfAbsent(file, FileMetrics::new);
+		}
+	}
+
+	public Optional<FileMetrics> getFileMetrics(String file) {
+		synchronized (files) {
+			return Optional.ofNullable(files.get(file));
+		}
+	}
+
+	public List<FileMetrics> getFileMetrics() {
+		synchronized (files) {
+			return List.copyOf(files.values());
+		}
+	}
+
+	/**
+	 * @param limit maximum number of files returned
+	 * @return the files with the slowest preamble builds, ordered by their maximum build time
+	 */
+	public List<FileMetrics> getSlowestPreambles(int limit) {
+		return slowest(FileMetrics::preambleBuilds, limit);
+	}
+
+	/**
+	 * @param limit maximum number of files returned
+	 * @return the files which took the longest to index, ordered by their maximum indexing time
+	 */
+	public List<FileMetrics> getSlowestIndexing(int limit) {
+		return slowest(FileMetrics::indexing, limit);
+	}
+
+	private List<FileMetrics> slowest(Function<FileMetrics, LatencyHistogram> histogram, int limit) {
+		return getFileMetrics().stream().filter(f -> histogram.apply(f).count() > 0)
+				.sorted(Comparator.comparingLong((FileMetrics f) -> histogram.apply(f).max()).reversed()).limit(limit)
+				.toList();
+	}
+
+	public long getLines() {
+		return lines.get();
+	}
+
+	public long getErrors() {
+		return errors.get();
+	}
+
+	public long getWarnings() {
+		return warnings.get();
+	}
+
+	/**
+	 * @return number of translation units enqueued for background indexing
+	 */
+	public long getIndexEnqueued() {
+		return indexEnqueued.get();
+	}
+
+	/**
+	 * @return number of translation units indexed in the background
+	 */
+	public long getIndexed() {
+		return indexed.get();
+	}
+
+	public void clear() {
+		synchronized (files) {
+			files.clear();
+		}
+		lines.set(0);
+		errors.set(0);
+		warnings.set(0);
+		indexEnqueued.set(0);
+		indexed.set(0);
+	}
+}
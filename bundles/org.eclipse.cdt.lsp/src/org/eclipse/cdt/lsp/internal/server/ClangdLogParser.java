@@ -0,0 +1,175 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalTime;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Streaming parser for the clangd log. It passes the log through to the wrapped output stream (e.g. the console)
+ * and feeds the timing lines of clangd into {@link ClangdLogMetrics}:
+ * <ul>
+ * <li><code>Built preamble of size &lt;size&gt; for file &lt;file&gt; version &lt;v&gt; in &lt;s&gt; seconds</code></li>
+ * <li><code>Reusing preamble version &lt;v&gt; for version &lt;v&gt; of &lt;file&gt;</code> (verbose)</li>
+ * <li><code>ASTWorker building file &lt;file&gt; version &lt;v&gt; ...</code> (verbose)</li>
+ * <li><code>ASTWorker running &lt;action&gt; on version &lt;v&gt; of &lt;file&gt;</code> (verbose)</li>
+ * <li><code>Enqueueing &lt;n&gt; commands for indexing</code></li>
+ * <li><code>Indexing &lt;file&gt; (digest:=...)</code> (verbose) followed by <code>Indexed &lt;file&gt; (...)</code></li>
+ * </ul>
+ * clangd does not log the duration of AST builds and background indexing, so AST builds are counted only and the
+ * indexing time is derived from the timestamps of the verbose <code>Indexing</code> and the <code>Indexed</code> line.
+ */
+public final class ClangdLogParser extends FilterOutputStream {
+	// I[12:34:56.789] message
+	private static final Pattern LOG_LINE = Pattern
+			.compile("^([EWIVD])\\[(\\d{2}:\\d{2}:\\d{2}\\.\\d{3})\\] (.*)$"); //$NON-NLS-1$
+	private static final Pattern PREAMBLE_BUILT = Pattern
+			.compile("^Built preamble of size (\\d+) for file (.+) version \\S+ in ([\\d.]+) seconds"); //$NON-NLS-1$
+	private static final Pattern PREAMBLE_REUSED = Pattern
+			.compile("^Reusing preamble version \\S+ for version \\S+ of (.+)$"); //$NON-NLS-1$
+	private static final Pattern AST_BUILDING = Pattern
+			.compile("^ASTWorker building file (.+) version \\S+ with command"); //$NON-NLS-1$
+	private static final Pattern AST_RUNNING = Pattern
+			.compile("^ASTWorker running .+ on version \\S+ of (.+)$"); //$NON-NLS-1$
+	private static final Pattern INDEX_ENQUEUED = Pattern
+			.compile("^Enqueueing (\\d+) commands for indexing"); //$NON-NLS-1$
+	private static final Pattern INDEXING = Pattern.compile("^Indexing (.+) \\(digest:="); //$NON-NLS-1$
+	private static final Pattern INDEXED = Pattern.compile("^Indexed (.+) \\(\\d+ symbols"); //$NON-NLS-1$
+	private static final long DAY = 24 * 60 * 60 * 1000;
+	// clangd indexes a few files at a time, far less than this:
+	private static final int MAX_INDEXING = 1024;
+	private static final byte NEW_LINE = '\n';
+
+	private final ClangdLogMetrics metrics;
+	private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+	// the files whose end of indexing has not been logged, e.g. when the indexing failed, are dropped eventually:
+	private final Map<String, LocalTime> indexing = new LinkedHashMap<>() {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, LocalTime> eldest) {
+			return size() > MAX_INDEXING;
+		}
+	};
+
+	/**
+	 * @param out the stream the log is passed through to
+	 * @param metrics the metrics to feed
+	 */
+	public ClangdLogParser(OutputStream out, ClangdLogMetrics metrics) {
+		super(out);
+		this.metrics = metrics;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		out.write(b);
+		consume(b);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		out.write(b, off, len);
+		int start = off;
+		for (int i = off; i < off + len; i++) {
+			if (b[i] == NEW_LINE) {
+				pending.write(b, start, i - start);
+				parsePending();
+				start = i + 1;
+			}
+		}
+		pending.write(b, start, off + len - start);
+	}
+
+	@Override
+	public void close() throws IOException {
+		parsePending();
+		super.close();
+	}
+
+	private void consume(int b) {
+		if (b == NEW_LINE) {
+			parsePending();
+		} else {
+			pending.write(b);
+		}
+	}
+
+	private void parsePending() {
+		if (pending.size() > 0) {
+			parse(pending.toString(StandardCharsets.UTF_8).stripTrailing());
+			pending.reset();
+		}
+	}
+
+	/**
+	 * Parses a single line of the clangd log.
+	 */
+	void parse(String line) {
+		Matcher log = LOG_LINE.matcher(line);
+		if (!log.matches()) {
+			// continuation of a multi line message, e.g. a JSON payload
+			return;
+		}
+		metrics.line(log.group(1).charAt(0));
+		var message = log.group(3);
+		Matcher m;
+		if ((m = PREAMBLE_BUILT.matcher(message)).find()) {
+			metrics.preambleBuilt(m.group(2), Long.parseLong(m.group(1)),
+					Math.round(Double.parseDouble(m.group(3)) * 1000));
+		} else if ((m = PREAMBLE_REUSED.matcher(message)).find()) {
+			metrics.preambleReused(m.group(1));
+		} else if ((m = AST_BUILDING.matcher(message)).find()) {
+			metrics.astBuilding(m.group(1));
+		} else if ((m = AST_RUNNING.matcher(message)).find()) {
+			metrics.actionRunning(m.group(1));
+		} else if ((m = INDEX_ENQUEUED.matcher(message)).find()) {
+			metrics.indexEnqueued(Long.parseLong(m.group(1)));
+		} else if ((m = INDEXING.matcher(message)).find()) {
+			var file = m.group(1);
+			time(log.group(2)).ifPresent(time -> indexing.put(file, time));
+		} else if ((m = INDEXED.matcher(message)).find()) {
+			var file = m.group(1);
+			var started = indexing.remove(file);
+			var finished = time(log.group(2));
+			long millis = -1;
+			if (started != null && finished.isPresent()) {
+				millis = ChronoUnit.MILLIS.between(started, finished.get());
+				if (millis < 0) {
+					// indexing started before midnight
+					millis += DAY;
+				}
+			}
+			metrics.indexed(file, millis);
+		}
+	}
+
+	private static Optional<LocalTime> time(String time) {
+		try {
+			return Optional.of(LocalTime.parse(time));
+		} catch (DateTimeParseException e) {
+			return Optional.empty();
+		}
+	}
+}
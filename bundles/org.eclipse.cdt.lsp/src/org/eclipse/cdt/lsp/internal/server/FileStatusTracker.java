@@ -0,0 +1,202 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.server;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.file.FileSystemNotFoundException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Keeps the state of clangd for the open files, as reported by the <em>textDocument/clangd.fileStatus</em>
+ * notification, and the time spent in each state per file, e.g. to find the files with slow preambles.
+ * <p>
+ * The states are recorded without the running actions, i.e. <code>building preamble, running Hover</code> is
+ * recorded as <code>building preamble</code>. The latencies of the actions are measured by the {@link JsonRpcMetrics}.
+ * </p>
+ * <p>
+ * Only the files which clangd is busy with have a state: the state of a file is dropped when it becomes idle, when it
+ * is closed and when its language server is stopped. The times are kept for the most recently updated files.
+ * </p>
+ */
+public final class FileStatusTracker {
+	public static final String IDLE = "idle"; //$NON-NLS-1$
+	private static final int MAX_FILES = 256;
+	private static final String CSV_HEADER = "file,state,count,mean,p90,max,total\n"; //$NON-NLS-1$
+	private static final String CSV_LINE = "%s,%s,%d,%d,%d,%d,%d\n"; //$NON-NLS-1$
+
+	/**
+	 * The state of a file since the given time in ms.
+	 */
+	public record State(String state, long since) {
+	}
+
+	private final Map<URI, State> states = new ConcurrentHashMap<>();
+	// the least recently updated files are dropped:
+	private final Map<URI, Map<String, LatencyHistogram>> times = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<URI, Map<String, LatencyHistogram>> eldest) {
+			return size() > MAX_FILES;
+		}
+	};
+	private final List<Consumer<URI>> listeners = new CopyOnWriteArrayList<>();
+	private final LongSupplier clock;
+
+	public FileStatusTracker() {
+		this(System::currentTimeMillis);
+	}
+
+	/**
+	 * @param clock the current time in ms
+	 */
+	public FileStatusTracker(LongSupplier clock) {
+		this.clock = clock;
+	}
+
+	/**
+	 * Records the new state of a file and the time spent in its previous state.
+	 *
+	 * @param uri the file
+	 * @param state the state reported by clangd
+	 */
+	public void update(URI uri, String state) {
+		var file = normalize(uri);
+		long now = clock.getAsLong();
+		var previous = IDLE.equals(state) ? states.remove(file) : states.put(file, new State(state, now));
+		if (previous != null) {
+			var phase = phase(previous.state());
+			synchronized (times) {
+				times.computeIfAbsent(file, f -> new ConcurrentHashMap<>())
+						.computeIfAbsent(phase, p -> new LatencyHistogram()).record(now - previous.since());
+			}
+		}
+		listeners.forEach(listener -> listener.accept(file));
+	}
+
+	/**
+	 * Drops the state of a file which has been closed, clangd does not report it anymore.
+	 */
+	public void closed(URI uri) {
+		var file = normalize(uri);
+		if (states.remove(file) != null) {
+			listeners.forEach(listener -> listener.accept(file));
+		}
+	}
+
+	/**
+	 * Drops the states of the files of a language server which has been stopped.
+	 *
+	 * @param rootUri the root of the language server
+	 */
+	public void stopped(URI rootUri) {
+		var root = normalize(rootUri).getPath();
+		if (root == null) {
+			return;
+		}
+		var prefix = root.endsWith("/") ? root : root + '/'; //$NON-NLS-1$
+		for (var file : states.keySet()) {
+			if (file.getPath() != null && file.getPath().startsWith(prefix) && states.remove(file) != null) {
+				listeners.forEach(listener -> listener.accept(file));
+			}
+		}
+	}
+
+	/**
+	 * Normalizes file URIs, since clangd sends <code>file:///path</code> while the editor inputs have
+	 * <code>file:/path</code>.
+	 *
+	 * @return the normalized URI, to be compared with the URIs passed to the listeners
+	 */
+	public static URI normalize(URI uri) {
+		if ("file".equals(uri.getScheme())) { //$NON-NLS-1$
+			try {
+				return Path.of(uri).toUri();
+			} catch (IllegalArgumentException | FileSystemNotFoundException e) {
+				// not a local file
+			}
+		}
+		return uri;
+	}
+
+	// "building preamble, running Hover" -> "building preamble"
+	private static String phase(String state) {
+		int comma = state.indexOf(',');
+		return comma > 0 ? state.substring(0, comma) : state;
+	}
+
+	/**
+	 * @return the current state of the file, empty if clangd has not reported it
+	 */
+	public Optional<State> getState(URI uri) {
+		return Optional.ofNullable(states.get(normalize(uri)));
+	}
+
+	/**
+	 * @return the time spent in each state by the file, in ms
+	 */
+	public Map<String, LatencyHistogram> getTimes(URI uri) {
+		synchronized (times) {
+			var file = times.get(normalize(uri));
+			return file == null ? Map.of() : Map.copyOf(file);
+		}
+	}
+
+	/**
+	 * Registers a listener which is notified with the file whenever its state changes, on the thread of the
+	 * notification.
+	 */
+	public void addListener(Consumer<URI> listener) {
+		listeners.add(listener);
+	}
+
+	public void removeListener(Consumer<URI> listener) {
+		listeners.remove(listener);
+	}
+
+	public void clear() {
+		states.clear();
+		synchronized (times) {
+			times.clear();
+		}
+	}
+
+	/**
+	 * Writes the time spent in each state per file as CSV, durations in ms.
+	 */
+	public void exportCsv(Writer writer) throws IOException {
+		List<Map.Entry<URI, Map<String, LatencyHistogram>>> files;
+		synchronized (times) {
+			files = new ArrayList<>(times.entrySet());
+		}
+		writer.write(CSV_HEADER);
+		for (var file : files) {
+			for (var state : file.getValue().entrySet()) {
+				var latency = state.getValue();
+				writer.write(String.format(CSV_LINE, file.getKey(), state.getKey(), latency.count(), latency.mean(),
+						latency.percentile(90), latency.max(), latency.total()));
+			}
+		}
+	}
+}
@@ -0,0 +1,250 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.server;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+import org.eclipse.cdt.lsp.internal.messages.LspUiMessages;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.lsp4j.ProgressParams;
+import org.eclipse.lsp4j.WorkDoneProgressBegin;
+import org.eclipse.lsp4j.WorkDoneProgressEnd;
+import org.eclipse.lsp4j.WorkDoneProgressReport;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Tracks the background index of the language servers, as reported by clangd with the <em>$/progress</em>
+ * notifications of the <code>backgroundIndexProgress</code> token, like <code>12/345</code> indexed files.
+ * <p>
+ * The notifications only update the numbers. A single job shows the progress of all language servers and reads the
+ * numbers a few times per second, so a fast indexing clangd does not flood the UI. The finished runs are kept with
+ * the command line of their language server to compare the index time of clangd versions and options.
+ * </p>
+ */
+public final class IndexProgressTracker {
+	public static final String TOKEN = "backgroundIndexProgress"; //$NON-NLS-1$
+	private static final long UPDATE_INTERVAL = 250; // ms
+	private static final int TOTAL_WORK = 1000;
+	private static final int MAX_RUNS = 64;
+	private static final Pattern FILES = Pattern.compile("(\\d+)/(\\d+)"); //$NON-NLS-1$
+	private static final String CSV_HEADER = "root,command line,started,elapsed ms,indexed files,queued files," //$NON-NLS-1$
+			+ "files per second,finished\n"; //$NON-NLS-1$
+	private static final String CSV_LINE = "%s,\"%s\",%s,%d,%d,%d,%.1f,%b\n"; //$NON-NLS-1$
+
+	/**
+	 * A background index run of a language server.
+	 *
+	 * @param rootUri the root of the language server
+	 * @param commandLine the command line of the language server
+	 * @param started the start time in ms
+	 * @param updated the time of the last report in ms
+	 * @param done the indexed files
+	 * @param total the queued files, including the indexed ones, the queue may grow during the run
+	 * @param finished whether the run has finished, false if the language server has been stopped before
+	 */
+	public record Run(URI rootUri, String commandLine, long started, long updated, int done, int total,
+			boolean finished) {
+
+		public long elapsedMillis() {
+			return updated - started;
+		}
+
+		public double filesPerSecond() {
+			long elapsed = elapsedMillis();
+			return elapsed > 0 ? done * 1000.0 / elapsed : 0;
+		}
+
+		public int remaining() {
+			return Math.max(0, total - done);
+		}
+
+		/**
+		 * @return estimated time in ms until the queued files are indexed, <code>-1</code> if unknown
+		 */
+		public long estimatedMillis() {
+			double rate = filesPerSecond();
+			return rate > 0 ? (long) (remaining() * 1000 / rate) : -1;
+		}
+
+		private Run report(long now, int done, int total) {
+			return new Run(rootUri, commandLine, started, now, done, total, false);
+		}
+
+		private Run end(long now, boolean finished) {
+			return new Run(rootUri, commandLine, started, now, finished ? total : done, total, finished);
+		}
+	}
+
+	private final Map<URI, Run> active = new ConcurrentHashMap<>();
+	private final Deque<Run> runs = new ConcurrentLinkedDeque<>();
+	private final LongSupplier clock;
+
+	private final Job progressJob = new Job(LspUiMessages.IndexProgressTracker_job) {
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			monitor.beginTask(getName(), TOTAL_WORK);
+			int reported = 0;
+			while (!active.isEmpty() && !monitor.isCanceled()) {
+				var current = List.copyOf(active.values());
+				int done = current.stream().mapToInt(Run::done).sum();
+				int total = current.stream().mapToInt(Run::total).sum();
+				long estimated = current.stream().mapToLong(Run::estimatedMillis).max().orElse(-1);
+				// the queue may grow, the progress bar does not go back:
+				int work = total > 0 ? (int) ((long) TOTAL_WORK * done / total) : 0;
+				if (work > reported) {
+					monitor.worked(work - reported);
+					reported = work;
+				}
+				double rate = current.stream().mapToDouble(Run::filesPerSecond).sum();
+				monitor.subTask(estimated < 0 ? NLS.bind(LspUiMessages.IndexProgressTracker_files, done, total)
+						: NLS.bind(LspUiMessages.IndexProgressTracker_files_remaining, new Object[] { done, total,
+								String.format("%.1f", rate), estimated / 1000 })); //$NON-NLS-1$
+				try {
+					Thread.sleep(UPDATE_INTERVAL);
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+			monitor.done();
+			if (monitor.isCanceled()) {
+				return Status.CANCEL_STATUS;
+			}
+			// a run may have begun while the job was finishing:
+			if (!active.isEmpty()) {
+				schedule();
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
+	public IndexProgressTracker() {
+		this(System::currentTimeMillis);
+	}
+
+	/**
+	 * @param clock the current time in ms
+	 */
+	public IndexProgressTracker(LongSupplier clock) {
+		this.clock = clock;
+	}
+
+	/**
+	 * Records a <em>$/progress</em> notification of a language server, other tokens than the one of the background
+	 * index are ignored.
+	 *
+	 * @param rootUri the root of the language server
+	 * @param commandLine the command line of the language server
+	 * @param params the notification
+	 */
+	public void progress(URI rootUri, String commandLine, ProgressParams params) {
+		if (rootUri == null || params.getToken() == null || !TOKEN.equals(params.getToken().getLeft())
+				|| params.getValue() == null || !params.getValue().isLeft()) {
+			return;
+		}
+		long now = clock.getAsLong();
+		var notification = params.getValue().getLeft();
+		if (notification instanceof WorkDoneProgressBegin) {
+			// a run without an end, e.g. when the progress token has been reused:
+			end(rootUri, false);
+			active.put(rootUri, new Run(rootUri, commandLine, now, now, 0, 0, false));
+			// the job keeps running while there are active runs, it is started again after it has been cancelled:
+			if (progressJob.getState() == Job.NONE) {
+				progressJob.schedule();
+			}
+		} else if (notification instanceof WorkDoneProgressReport report && report.getMessage() != null) {
+			var files = FILES.matcher(report.getMessage());
+			if (files.find()) {
+				active.computeIfPresent(rootUri, (root, run) -> run.report(now,
+						Integer.parseInt(files.group(1)), Integer.parseInt(files.group(2))));
+			}
+		} else if (notification instanceof WorkDoneProgressEnd) {
+			end(rootUri, true);
+		}
+	}
+
+	/**
+	 * Ends the run of a language server which has been stopped.
+	 */
+	public void stopped(URI rootUri) {
+		if (rootUri != null) {
+			end(rootUri, false);
+		}
+	}
+
+	private void end(URI rootUri, boolean finished) {
+		var run = active.remove(rootUri);
+		if (run == null) {
+			return;
+		}
+		run = run.end(clock.getAsLong(), finished);
+		runs.addLast(run);
+		while (runs.size() > MAX_RUNS) {
+			runs.pollFirst();
+		}
+		if (finished) {
+			Platform.getLog(getClass()).info(String.format("Indexed %d files of %s in %d s, %.1f files/s", //$NON-NLS-1$
+					run.done(), rootUri, run.elapsedMillis() / 1000, run.filesPerSecond()));
+		}
+	}
+
+	/**
+	 * @return the runs in progress, the most recent first
+	 */
+	public List<Run> getActive() {
+		return active.values().stream().sorted((a, b) -> Long.compare(b.started(), a.started())).toList();
+	}
+
+	/**
+	 * @return the runs which have ended, the oldest first
+	 */
+	public List<Run> getRuns() {
+		return List.copyOf(runs);
+	}
+
+	public void stop() {
+		active.clear();
+		progressJob.cancel();
+	}
+
+	/**
+	 * Writes the runs which have ended and the runs in progress as CSV, durations in ms.
+	 */
+	public void exportCsv(Writer writer) throws IOException {
+		var all = new ArrayList<>(runs);
+		all.addAll(active.values());
+		writer.write(CSV_HEADER);
+		for (var run : all) {
+			var commandLine = run.commandLine().replace("\"", "\"\""); //$NON-NLS-1$ //$NON-NLS-2$
+			writer.write(String.format(Locale.ROOT, CSV_LINE, run.rootUri(), commandLine,
+					Instant.ofEpochMilli(run.started()), run.elapsedMillis(), run.done(), run.total(),
+					run.filesPerSecond(), run.finished()));
+		}
+	}
+}
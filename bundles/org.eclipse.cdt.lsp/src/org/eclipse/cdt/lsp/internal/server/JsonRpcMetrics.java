@@ -0,0 +1,144 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.server;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Latencies and payload sizes of the JSON-RPC messages exchanged with the language servers, per LSP method.
+ * Collected by the {@link JsonRpcTap}.
+ */
+public final class JsonRpcMetrics {
+	private static final String CSV_HEADER = "method,messages,errors,mean,p50,p90,p99,max," //$NON-NLS-1$
+			+ "request bytes,response bytes,max response bytes\n"; //$NON-NLS-1$
+	private static final String CSV_LINE = "%s,%d,%d,%d,%d,%d,%d,%d,%d,%d,%d\n"; //$NON-NLS-1$
+
+	/**
+	 * Metrics of a single LSP method.
+	 */
+	public static final class MethodMetrics {
+		private final String method;
+		private final LatencyHistogram latency = new LatencyHistogram();
+		private final AtomicLong messages = new AtomicLong();
+		private final AtomicLong errors = new AtomicLong();
+		private final AtomicLong requestBytes = new AtomicLong();
+		private final AtomicLong responseBytes = new AtomicLong();
+		private final AtomicLong maxResponseBytes = new AtomicLong();
+
+		private MethodMetrics(String method) {
+			this.method = method;
+		}
+
+		public String method() {
+			return method;
+		}
+
+		/**
+		 * @return time in ms between sending the request and receiving its response
+		 */
+		public LatencyHistogram latency() {
+			return latency;
+		}
+
+		/**
+		 * @return number of requests or notifications
+		 */
+		public long messages() {
+			return messages.get();
+		}
+
+		/**
+		 * @return number of responses with an error, including cancelled requests
+		 */
+		public long errors() {
+			return errors.get();
+		}
+
+		/**
+		 * @return total size of the request or notification payloads in bytes
+		 */
+		public long requestBytes() {
+			return requestBytes.get();
+		}
+
+		/**
+		 * @return total size of the response payloads in bytes
+		 */
+		public long responseBytes() {
+			return responseBytes.get();
+		}
+
+		public long maxResponseBytes() {
+			return maxResponseBytes.get();
+		}
+	}
+
+	private final Map<String, MethodMetrics> methods = new ConcurrentHashMap<>();
+
+	void message(String method, long bytes) {
+		var metrics = method(method);
+		metrics.messages.incrementAndGet();
+		if (bytes > 0) {
+			metrics.requestBytes.addAndGet(bytes);
+		}
+	}
+
+	void response(String method, long millis, long bytes, boolean error) {
+		var metrics = method(method);
+		metrics.latency.record(millis);
+		if (error) {
+			metrics.errors.incrementAndGet();
+		}
+		if (bytes > 0) {
+			metrics.responseBytes.addAndGet(bytes);
+			metrics.maxResponseBytes.accumulateAndGet(bytes, Math::max);
+		}
+	}
+
+	private MethodMetrics method(String method) {
+		return methods.computeIfAbsent(method, MethodMetrics::new);
+	}
+
+	/**
+	 * @return the metrics of all methods, ordered by their total latency
+	 */
+	public List<MethodMetrics> getMethods() {
+		return methods.values().stream()
+				.sorted(Comparator.comparingLong((MethodMetrics m) -> m.latency().total()).reversed()
+						.thenComparing(MethodMetrics::method))
+				.toList();
+	}
+
+	public void clear() {
+		methods.clear();
+	}
+
+	/**
+	 * Writes the metrics of all methods as CSV, latencies in ms and sizes in bytes.
+	 */
+	public void exportCsv(Writer writer) throws IOException {
+		writer.write(CSV_HEADER);
+		for (var m : getMethods()) {
+			var latency = m.latency();
+			writer.write(String.format(CSV_LINE, m.method(), m.messages(), m.errors(), latency.mean(),
+					latency.percentile(50), latency.percentile(90), latency.percentile(99), latency.max(),
+					m.requestBytes(), m.responseBytes(), m.maxResponseBytes()));
+		}
+	}
+}
@@ -0,0 +1,240 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.server;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.eclipse.lsp4j.jsonrpc.messages.Message;
+import org.eclipse.lsp4j.jsonrpc.messages.NotificationMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.RequestMessage;
+import org.eclipse.lsp4j.jsonrpc.messages.ResponseMessage;
+
+/**
+ * Taps the JSON-RPC streams of a language server connection and matches the requests with their responses
+ * to feed {@link JsonRpcMetrics}.
+ * <p>
+ * The wrapped streams only parse the <code>Content-Length</code> header of each frame to determine the payload size.
+ * The messages themselves are parsed by LSP4J, which passes them to {@link #message(Message)} on the thread that has
+ * read respectively written the frame. The size of the last frame is therefore kept per thread and direction.
+ * </p>
+ * <p>
+ * LSP4E reports a message only after it has been written, so the response may be reported before its request.
+ * The latency is therefore measured from the first byte of the request frame and the request and the response are
+ * matched in whichever order they are reported.
+ * </p>
+ */
+public final class JsonRpcTap {
+	private static final String CONTENT_LENGTH = "content-length:"; //$NON-NLS-1$
+	private static final String OUTGOING = ">"; //$NON-NLS-1$
+	private static final String INCOMING = "<"; //$NON-NLS-1$
+
+	private record Frame(long started, long bytes) {
+	}
+
+	private record Pending(String method, long started, long bytes) {
+	}
+
+	private record Answered(long finished, long bytes, boolean error) {
+	}
+
+	private final JsonRpcMetrics metrics;
+	// the pending requests respectively the responses reported before their requests, keyed by the request id:
+	private final Map<String, Object> exchanges = new ConcurrentHashMap<>();
+	private final ThreadLocal<Frame> incomingFrame = new ThreadLocal<>();
+	private final ThreadLocal<Frame> outgoingFrame = new ThreadLocal<>();
+
+	public JsonRpcTap(JsonRpcMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * @param input stream from the language server
+	 * @return stream which records the size of the read frames
+	 */
+	public InputStream tapInput(InputStream input) {
+		if (input == null) {
+			return null;
+		}
+		final var frames = new FrameCounter(incomingFrame::set);
+		return new FilterInputStream(input) {
+			@Override
+			public int read() throws IOException {
+				int b = super.read();
+				if (b > -1) {
+					frames.update(b);
+				}
+				return b;
+			}
+
+			@Override
+			public int read(byte[] b, int off, int len) throws IOException {
+				int size = super.read(b, off, len);
+				if (size > 0) {
+					frames.update(b, off, size);
+				}
+				return size;
+			}
+		};
+	}
+
+	/**
+	 * @param output stream to the language server
+	 * @return stream which records the size of the written frames
+	 */
+	public OutputStream tapOutput(OutputStream output) {
+		if (output == null) {
+			return null;
+		}
+		final var frames = new FrameCounter(outgoingFrame::set);
+		return new FilterOutputStream(output) {
+			@Override
+			public void write(int b) throws IOException {
+				out.write(b);
+				frames.update(b);
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) throws IOException {
+				out.write(b, off, len);
+				frames.update(b, off, len);
+			}
+		};
+	}
+
+	/**
+	 * Records a message which has been sent to or received from the language server.
+	 */
+	public void message(Message message) {
+		long now = System.nanoTime();
+		String direction;
+		var frame = outgoingFrame.get();
+		if (frame != null) {
+			outgoingFrame.remove();
+			direction = OUTGOING;
+		} else {
+			frame = incomingFrame.get();
+			incomingFrame.remove();
+			direction = INCOMING;
+		}
+		long size = frame == null ? -1 : frame.bytes();
+		if (message instanceof RequestMessage request) {
+			metrics.message(request.getMethod(), size);
+			var key = direction + request.getId();
+			var pending = new Pending(request.getMethod(), frame == null ? now : frame.started(), size);
+			if (exchanges.putIfAbsent(key, pending) instanceof Answered answered) {
+				exchanges.remove(key, answered);
+				completed(pending, answered);
+			}
+		} else if (message instanceof ResponseMessage response) {
+			// the request has been sent in the opposite direction
+			var key = (OUTGOING.equals(direction) ? INCOMING : OUTGOING) + response.getId();
+			var answered = new Answered(now, size, response.getError() != null);
+			if (exchanges.putIfAbsent(key, answered) instanceof Pending pending) {
+				exchanges.remove(key, pending);
+				completed(pending, answered);
+			}
+		} else if (message instanceof NotificationMessage notification) {
+			metrics.message(notification.getMethod(), size);
+		}
+	}
+
+	private void completed(Pending request, Answered response) {
+		long millis = Math.max(0, response.finished() - request.started()) / 1_000_000;
+		metrics.response(request.method(), millis, response.bytes(), response.error());
+	}
+
+	/**
+	 * Splits a stream of JSON-RPC frames (<code>Content-Length: n\r\n\r\n</code> followed by n bytes) and reports
+	 * the payload size of each completed frame together with the time its first byte has been seen.
+	 */
+	static final class FrameCounter {
+		private final Consumer<Frame> completed;
+		private final ByteArrayOutputStream header = new ByteArrayOutputStream();
+		private long contentLength = -1;
+		private long remaining = 0;
+		private long started = -1;
+
+		FrameCounter(Consumer<Frame> completed) {
+			this.completed = completed;
+		}
+
+		synchronized void update(byte[] b, int off, int len) {
+			int i = off;
+			int end = off + len;
+			while (i < end) {
+				if (remaining > 0) {
+					int skip = (int) Math.min(remaining, end - i);
+					remaining -= skip;
+					i += skip;
+					if (remaining == 0) {
+						complete();
+					}
+				} else {
+					header(b[i++]);
+				}
+			}
+		}
+
+		synchronized void update(int b) {
+			if (remaining > 0) {
+				if (--remaining == 0) {
+					complete();
+				}
+			} else {
+				header((byte) b);
+			}
+		}
+
+		private void complete() {
+			completed.accept(new Frame(started, contentLength));
+			contentLength = -1;
+			started = -1;
+		}
+
+		private void header(byte b) {
+			if (started < 0) {
+				started = System.nanoTime();
+			}
+			if (b != '\n') {
+				header.write(b);
+				return;
+			}
+			var line = header.toString(StandardCharsets.US_ASCII).trim();
+			header.reset();
+			if (line.isEmpty()) {
+				// end of the header
+				if (contentLength > 0) {
+					remaining = contentLength;
+				} else if (contentLength == 0) {
+					complete();
+				}
+			} else if (line.toLowerCase(Locale.ROOT).startsWith(CONTENT_LENGTH)) {
+				try {
+					contentLength = Long.parseLong(line.substring(CONTENT_LENGTH.length()).trim());
+				} catch (NumberFormatException e) {
+					contentLength = -1;
+				}
+			}
+		}
+	}
+}
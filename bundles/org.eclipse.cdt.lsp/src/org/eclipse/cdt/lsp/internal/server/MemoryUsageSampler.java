@@ -0,0 +1,210 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.server;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.net.URI;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.lsp.plugin.LspPlugin;
+import org.eclipse.cdt.lsp.server.ICLanguageServerProvider4;
+import org.eclipse.cdt.lsp.services.ClangdLanguageServer;
+import org.eclipse.cdt.lsp.services.memoryusage.MemoryTree;
+import org.eclipse.cdt.lsp.util.LspUtils;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+
+/**
+ * Samples the memory usage of the components of the running language servers periodically with the
+ * <em>$/memoryUsage</em> request, and keeps the samples of the last hours per project root. Language servers which do
+ * not support the request according to {@link ICLanguageServerProvider4#supportsMemoryUsage(URI)}, like clangd before
+ * version 12, are not sampled.
+ * <p>
+ * The request makes clangd walk all its indexes and ASTs, so the sampler samples periodically only while a client,
+ * like the memory usage view, is {@link #connect() connected}.
+ * </p>
+ */
+public final class MemoryUsageSampler {
+	private static final long SAMPLE_INTERVAL = 60_000; // ms
+	private static final long REQUEST_TIMEOUT = 10_000; // ms
+	// four hours at the sample interval:
+	private static final int MAX_SAMPLES = 240;
+	private static final String CSV_HEADER = "time,root,component,self bytes,total bytes\n"; //$NON-NLS-1$
+	private static final String CSV_LINE = "%s,%s,%s,%d,%d\n"; //$NON-NLS-1$
+
+	/**
+	 * The memory usage of a language server at a point in time.
+	 */
+	public record Sample(Instant time, URI rootUri, MemoryTree tree) {
+	}
+
+	private final CLanguageServerPool pool;
+	private final Map<URI, Deque<Sample>> samples = new ConcurrentHashMap<>();
+	private final AtomicInteger clients = new AtomicInteger();
+	private volatile boolean running;
+
+	private final Job samplingJob = new Job("Sample C/C++ language server memory usage") { //$NON-NLS-1$
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			if (running && clients.get() > 0) {
+				sample();
+				schedule(SAMPLE_INTERVAL);
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
+	public MemoryUsageSampler(CLanguageServerPool pool) {
+		this.pool = pool;
+	}
+
+	public MemoryUsageSampler start() {
+		running = true;
+		samplingJob.setSystem(true);
+		if (clients.get() > 0) {
+			samplingJob.schedule(SAMPLE_INTERVAL);
+		}
+		return this;
+	}
+
+	public void stop() {
+		running = false;
+		samplingJob.cancel();
+		samples.clear();
+	}
+
+	/**
+	 * Samples periodically until the client {@link #disconnect() disconnects}.
+	 */
+	public void connect() {
+		if (clients.getAndIncrement() == 0 && running) {
+			samplingJob.schedule(SAMPLE_INTERVAL);
+		}
+	}
+
+	public void disconnect() {
+		if (clients.decrementAndGet() == 0) {
+			samplingJob.cancel();
+		}
+	}
+
+	/**
+	 * Requests the memory usage of all running language servers which serve a workspace project and support the
+	 * request.
+	 *
+	 * @return completes when all language servers have responded, failed or timed out
+	 */
+	public CompletableFuture<Void> sample() {
+		var requests = new ArrayList<CompletableFuture<?>>();
+		var plugin = LspPlugin.getDefault();
+		if (plugin == null || !(plugin.getCLanguageServerProvider() instanceof ICLanguageServerProvider4 provider)) {
+			return CompletableFuture.completedFuture(null);
+		}
+		for (var instance : pool.getInstances()) {
+			if (!provider.supportsMemoryUsage(instance.rootUri())) {
+				continue;
+			}
+			var project = pool.project(instance.rootUri());
+			if (project.isEmpty()) {
+				// the root is no workspace project, i.e. a standalone file, we cannot determine its wrapper
+				continue;
+			}
+			var rootUri = instance.rootUri();
+			for (var wrapper : LspUtils.getLanguageServers()) {
+				if (!wrapper.canOperate(project.get())) {
+					continue;
+				}
+				requests.add(wrapper
+						.execute(server -> server instanceof ClangdLanguageServer clangd ? clangd.getMemoryUsage()
+								: CompletableFuture.<MemoryTree>completedFuture(null))
+						.orTimeout(REQUEST_TIMEOUT, TimeUnit.MILLISECONDS)
+						.thenAccept(tree -> add(new Sample(Instant.now(), rootUri, tree)))
+						// not supported by this server, or the server has been stopped meanwhile:
+						.exceptionally(e -> null));
+			}
+		}
+		return CompletableFuture.allOf(requests.toArray(new CompletableFuture<?>[0]));
+	}
+
+	/**
+	 * Adds a sample to the history of its root, the oldest samples are dropped.
+	 */
+	public void add(Sample sample) {
+		if (sample.tree() == null) {
+			return;
+		}
+		var history = samples.computeIfAbsent(sample.rootUri(), root -> new ConcurrentLinkedDeque<>());
+		history.addLast(sample);
+		while (history.size() > MAX_SAMPLES) {
+			history.pollFirst();
+		}
+	}
+
+	/**
+	 * Returns the latest sample of each running language server.
+	 */
+	public List<Sample> getLatest() {
+		var roots = pool.getInstances().stream().map(CLanguageServerPool.ServerInstance::rootUri).toList();
+		return samples.entrySet().stream().filter(e -> roots.contains(e.getKey()))
+				.map(e -> e.getValue().peekLast()).filter(sample -> sample != null)
+				.sorted(Comparator.comparing((Sample sample) -> sample.tree().getTotal()).reversed()).toList();
+	}
+
+	/**
+	 * Returns the samples of a project root, the oldest first.
+	 */
+	public List<Sample> getSamples(URI rootUri) {
+		var history = samples.get(rootUri);
+		return history == null ? List.of() : List.copyOf(history);
+	}
+
+	public void clear() {
+		samples.clear();
+	}
+
+	/**
+	 * Writes all samples as CSV, one line per component. The components are identified by their path in the memory
+	 * usage tree, like <code>clangd_server/dynamic_index</code>.
+	 */
+	public void exportCsv(Writer writer) throws IOException {
+		writer.write(CSV_HEADER);
+		for (var history : samples.values()) {
+			for (var sample : history) {
+				exportCsv(writer, sample, "", sample.tree()); //$NON-NLS-1$
+			}
+		}
+	}
+
+	private void exportCsv(Writer writer, Sample sample, String component, MemoryTree tree) throws IOException {
+		writer.write(String.format(CSV_LINE, sample.time(), sample.rootUri(), component, tree.getSelf(),
+				tree.getTotal()));
+		for (var child : tree.getChildren().entrySet()) {
+			exportCsv(writer, sample, component.isEmpty() ? child.getKey() : component + '/' + child.getKey(),
+					child.getValue());
+		}
+	}
+
+}
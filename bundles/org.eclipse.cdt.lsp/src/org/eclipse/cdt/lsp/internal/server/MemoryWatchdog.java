@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.server;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.cdt.lsp.internal.messages.LspUiMessages;
+import org.eclipse.cdt.lsp.internal.server.CLanguageServerPool.ServerInstance;
+import org.eclipse.cdt.lsp.plugin.LspPlugin;
+import org.eclipse.cdt.lsp.server.ICLanguageServerProvider4;
+import org.eclipse.cdt.lsp.server.MemoryWatchdogAction;
+import org.eclipse.cdt.lsp.util.LspUtils;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.notifications.NotificationPopup;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4e.LanguageServers;
+import org.eclipse.lsp4j.DocumentSymbolParams;
+import org.eclipse.lsp4j.ServerCapabilities;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.ui.IEditorReference;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.texteditor.ITextEditor;
+
+/**
+ * Samples the resident memory of the language server processes of the {@link CLanguageServerPool} periodically and
+ * takes the {@link MemoryWatchdogAction} defined by {@link ICLanguageServerProvider4} for the processes which exceed
+ * the threshold. The resident memory is only known on Linux, where it is read from <code>/proc/&lt;pid&gt;/status</code>.
+ * <p>
+ * A process is idle when it has not exchanged a message with LSP4E for a while, so a restart does not interrupt the
+ * indexing or the requests of the user.
+ * </p>
+ */
+public class MemoryWatchdog {
+	private static final long CHECK_INTERVAL = 30_000; // ms
+	private static final long IDLE_TIME = 20_000; // ms
+	private static final long MB = 1024 * 1024;
+
+	private final CLanguageServerPool pool;
+	// the roots which exceeded the threshold and have been reported, until they are below again:
+	private final Set<URI> exceeded = ConcurrentHashMap.newKeySet();
+	private volatile boolean running;
+
+	private final Job watchdogJob = new Job("Watch the memory of C/C++ language servers") { //$NON-NLS-1$
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			if (running) {
+				check();
+				schedule(CHECK_INTERVAL);
+			}
+			return Status.OK_STATUS;
+		}
+	};
+
+	public MemoryWatchdog(CLanguageServerPool pool) {
+		this.pool = pool;
+	}
+
+	public MemoryWatchdog start() {
+		running = true;
+		watchdogJob.setSystem(true);
+		watchdogJob.schedule(CHECK_INTERVAL);
+		return this;
+	}
+
+	public void stop() {
+		running = false;
+		watchdogJob.cancel();
+		exceeded.clear();
+	}
+
+	private void check() {
+		var plugin = LspPlugin.getDefault();
+		if (plugin != null && plugin.getCLanguageServerProvider() instanceof ICLanguageServerProvider4 limits) {
+			check(pool.getInstances(), limits.memoryWatchdogThreshold(), limits.memoryWatchdogAction());
+		}
+	}
+
+	/**
+	 * Takes the action for the language server processes which exceed the threshold. A process is reported once,
+	 * until it is below the threshold again.
+	 *
+	 * @param instances the running language server processes
+	 * @param threshold memory threshold in MB, <code>0</code> to disable the watchdog
+	 * @param action the action for the processes which exceed the threshold
+	 */
+	public void check(Collection<ServerInstance> instances, int threshold, MemoryWatchdogAction action) {
+		long bytes = threshold * MB;
+		if (bytes <= 0) {
+			exceeded.clear();
+			return;
+		}
+		for (var instance : instances) {
+			long rss = instance.residentMemory();
+			if (rss <= bytes) {
+				exceeded.remove(instance.rootUri());
+				continue;
+			}
+			if (exceeded.add(instance.rootUri())) {
+				warn(instance.rootUri(), rss / MB, threshold, action == MemoryWatchdogAction.WARN);
+			}
+			if (action == MemoryWatchdogAction.EVICT && evict(instance)) {
+				exceeded.remove(instance.rootUri());
+			} else if (action == MemoryWatchdogAction.RESTART
+					&& System.currentTimeMillis() - instance.lastUsed() >= IDLE_TIME && restart(instance)) {
+				exceeded.remove(instance.rootUri());
+			}
+		}
+	}
+
+	/**
+	 * Logs that a language server process exceeds the threshold, and notifies the user if requested.
+	 *
+	 * @param memory resident memory of the process in MB
+	 * @param threshold memory threshold in MB
+	 */
+	protected void warn(URI rootUri, long memory, long threshold, boolean notify) {
+		var message = NLS.bind(LspUiMessages.MemoryWatchdog_exceeded,
+				new Object[] { rootUri, Long.toString(memory), Long.toString(threshold) });
+		Platform.getLog(getClass()).warn(message);
+		if (notify && PlatformUI.isWorkbenchRunning()) {
+			var display = PlatformUI.getWorkbench().getDisplay();
+			display.asyncExec(() -> NotificationPopup.forDisplay(display) //
+					.title(LspUiMessages.MemoryWatchdog_title, true) //
+					.text(message).open());
+		}
+	}
+
+	/**
+	 * Stops the language server unless one of the files of its project is opened in the LSP based C/C++ editor.
+	 *
+	 * @return true if the language server has been stopped
+	 */
+	protected boolean evict(ServerInstance instance) {
+		if (!pool.stopIfIdle(instance)) {
+			return false;
+		}
+		Platform.getLog(getClass()).info("Stopped language server for " + instance.rootUri()); //$NON-NLS-1$
+		return true;
+	}
+
+	/**
+	 * Stops the language server and opens the documents of the visible editors of its project in the restarted one.
+	 *
+	 * @return true if the language server has been restarted
+	 */
+	protected boolean restart(ServerInstance instance) {
+		var project = pool.project(instance.rootUri());
+		if (project.isEmpty()) {
+			// the root is no workspace project, i.e. a standalone file, we cannot determine its wrapper
+			return false;
+		}
+		Platform.getLog(getClass()).info("Restarting language server for " + instance.rootUri()); //$NON-NLS-1$
+		var documents = visibleDocuments(project.get());
+		if (!pool.stop(instance)) {
+			return false;
+		}
+		documents.forEach(MemoryWatchdog::open);
+		return true;
+	}
+
+	/**
+	 * Opens the document in the language server, which is started if necessary, and has its AST built by a request
+	 * for the document symbols, like the outline does.
+	 */
+	private static void open(IDocument document) {
+		var identifier = LSPEclipseUtils.toTextDocumentIdentifier(document);
+		if (identifier == null) {
+			return;
+		}
+		LanguageServers.forDocument(document).withCapability(ServerCapabilities::getDocumentSymbolProvider)
+				.computeFirst((w, ls) -> ls.getTextDocumentService()
+						.documentSymbol(new DocumentSymbolParams(identifier)))
+				.exceptionally(e -> {
+					Platform.getLog(MemoryWatchdog.class).warn("Reopening document failed: " + e.getMessage()); //$NON-NLS-1$
+					return null;
+				});
+	}
+
+	/**
+	 * Returns the documents of the LSP based C/C++ editors of the project which are visible, the active editor first.
+	 */
+	private static List<IDocument> visibleDocuments(IProject project) {
+		List<IDocument> documents = new ArrayList<>();
+		if (!PlatformUI.isWorkbenchRunning()) {
+			return documents;
+		}
+		PlatformUI.getWorkbench().getDisplay().syncExec(() -> {
+			for (IEditorReference reference : LspUtils.getEditors()) {
+				if (!LspPlugin.LSP_C_EDITOR_ID.equals(reference.getId())
+						|| !(reference.getEditor(false) instanceof ITextEditor editor)
+						|| !reference.getPage().isPartVisible(editor)) {
+					continue;
+				}
+				var document = editor.getDocumentProvider().getDocument(editor.getEditorInput());
+				var file = document != null ? LSPEclipseUtils.getFile(document) : null;
+				if (file == null || !project.equals(file.getProject())) {
+					continue;
+				}
+				if (editor == reference.getPage().getActiveEditor()) {
+					documents.add(0, document);
+				} else {
+					documents.add(document);
+				}
+			}
+		});
+		return documents;
+	}
+
+}
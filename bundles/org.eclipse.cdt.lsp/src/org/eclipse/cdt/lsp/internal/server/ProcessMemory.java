@@ -0,0 +1,64 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.server;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.OptionalLong;
+
+/**
+ * Reads the resident memory of a process. Only supported on Linux, where it is read from <code>/proc/&lt;pid&gt;/status</code>.
+ */
+public final class ProcessMemory {
+	private static final String VM_RSS = "VmRSS:"; //$NON-NLS-1$
+	private static final long KB = 1024;
+
+	private ProcessMemory() {
+	}
+
+	/**
+	 * Returns the resident set size of the given process in bytes.
+	 *
+	 * @param pid process id
+	 * @return resident set size in bytes or empty if it cannot be determined on this platform
+	 */
+	public static OptionalLong residentSetSize(long pid) {
+		var status = Path.of("/proc", String.valueOf(pid), "status"); //$NON-NLS-1$ //$NON-NLS-2$
+		if (!Files.isReadable(status)) {
+			return OptionalLong.empty();
+		}
+		try (var lines = Files.lines(status)) {
+			return lines.filter(line -> line.startsWith(VM_RSS)).findFirst().map(ProcessMemory::parseKiloBytes)
+					.orElse(OptionalLong.empty());
+		} catch (IOException | UncheckedIOException e) {
+			// process has been terminated in the meantime
+			return OptionalLong.empty();
+		}
+	}
+
+	// the line looks like: "VmRSS:	  123456 kB"
+	private static OptionalLong parseKiloBytes(String line) {
+		var value = line.substring(VM_RSS.length()).trim();
+		int blank = value.indexOf(' ');
+		if (blank > 0) {
+			value = value.substring(0, blank);
+		}
+		try {
+			return OptionalLong.of(Long.parseLong(value) * KB);
+		} catch (NumberFormatException e) {
+			return OptionalLong.empty();
+		}
+	}
+}
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.server;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.StandardProtocolFamily;
+import java.net.URI;
+import java.net.UnixDomainSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Connection to an already running language server which listens on a Unix domain socket or a TCP port.
+ * <p>
+ * Supported addresses are <code>unix:&lt;path&gt;</code> for a Unix domain socket, <code>&lt;host&gt;:&lt;port&gt;</code>
+ * and <code>&lt;port&gt;</code> for a port on the local host.
+ * </p>
+ * <p>
+ * The operating system accepts a connection even when the language server does not serve it right away, so a
+ * connection is established only when the language server answers a handshake: the client sends
+ * <code>root &lt;root URI&gt;</code> in a line and the language server answers <code>ok</code> when it serves this root
+ * now, anything else otherwise, e.g. when it serves another editor or has been initialized for another root.
+ * </p>
+ */
+public final class RemoteServerConnection implements AutoCloseable {
+	private static final String UNIX = "unix:"; //$NON-NLS-1$
+	private static final int CONNECT_TIMEOUT = 2000; // ms
+	private static final long ANSWER_TIMEOUT = 2000; // ms
+	private static final String ROOT = "root "; //$NON-NLS-1$
+	private static final String OK = "ok"; //$NON-NLS-1$
+	private static final int MAX_ANSWER = 1024;
+
+	private final String address;
+	private final SocketChannel channel;
+	private final InputStream input;
+	private final OutputStream output;
+
+	private RemoteServerConnection(String address, SocketChannel channel) {
+		this.address = address;
+		this.channel = channel;
+		this.input = Channels.newInputStream(channel);
+		this.output = Channels.newOutputStream(channel);
+	}
+
+	/**
+	 * Connects to the language server listening on the given address.
+	 *
+	 * @param address <code>unix:&lt;path&gt;</code>, <code>&lt;host&gt;:&lt;port&gt;</code> or <code>&lt;port&gt;</code>
+	 * @param rootUri the root the language server should serve, may be <code>null</code>
+	 * @return the established connection
+	 * @throws IOException if the address is invalid, nobody is listening on it or the language server does not serve
+	 *             the root now
+	 */
+	public static RemoteServerConnection connect(String address, URI rootUri) throws IOException {
+		var socketAddress = parse(address.trim());
+		SocketChannel channel;
+		if (socketAddress instanceof UnixDomainSocketAddress) {
+			channel = SocketChannel.open(StandardProtocolFamily.UNIX);
+			try {
+				channel.connect(socketAddress);
+			} catch (IOException e) {
+				channel.close();
+				throw e;
+			}
+		} else {
+			channel = SocketChannel.open();
+			try {
+				channel.socket().connect(socketAddress, CONNECT_TIMEOUT);
+			} catch (IOException e) {
+				channel.close();
+				throw e;
+			}
+		}
+		try {
+			handshake(channel, rootUri);
+		} catch (IOException e) {
+			channel.close();
+			throw e;
+		}
+		return new RemoteServerConnection(address, channel);
+	}
+
+	private static void handshake(SocketChannel channel, URI rootUri) throws IOException {
+		var hello = ROOT + (rootUri == null ? "" : rootUri.toASCIIString()) + '\n'; //$NON-NLS-1$
+		var buffer = ByteBuffer.wrap(hello.getBytes(StandardCharsets.US_ASCII));
+		while (buffer.hasRemaining()) {
+			channel.write(buffer);
+		}
+		var answer = readLine(channel);
+		if (!OK.equals(answer)) {
+			throw new IOException("Language server does not serve this root now: " + answer); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Reads the answer of the language server byte by byte, so that nothing of the following messages is consumed.
+	 */
+	private static String readLine(SocketChannel channel) throws IOException {
+		var line = new StringBuilder();
+		var buffer = ByteBuffer.allocate(1);
+		long deadline = System.currentTimeMillis() + ANSWER_TIMEOUT;
+		channel.configureBlocking(false);
+		try (var selector = Selector.open()) {
+			channel.register(selector, SelectionKey.OP_READ);
+			while (true) {
+				long remaining = deadline - System.currentTimeMillis();
+				if (remaining <= 0) {
+					throw new IOException("Language server did not answer"); //$NON-NLS-1$
+				}
+				selector.select(remaining);
+				selector.selectedKeys().clear();
+				buffer.clear();
+				int read = channel.read(buffer);
+				if (read < 0) {
+					throw new IOException("Language server closed the connection"); //$NON-NLS-1$
+				}
+				if (read == 0) {
+					continue;
+				}
+				char c = (char) buffer.get(0);
+				if (c == '\n') {
+					break;
+				}
+				if (line.length() >= MAX_ANSWER) {
+					throw new IOException("Language server did not answer the handshake"); //$NON-NLS-1$
+				}
+				line.append(c);
+			}
+		}
+		// the selector has been closed, so the channel is no longer registered:
+		channel.configureBlocking(true);
+		return line.toString().trim();
+	}
+
+	static SocketAddress parse(String address) throws IOException {
+		if (address.startsWith(UNIX)) {
+			return UnixDomainSocketAddress.of(address.substring(UNIX.length()));
+		}
+		int colon = address.lastIndexOf(':');
+		var host = colon > 0 ? address.substring(0, colon) : null;
+		try {
+			int port = Integer.parseInt(address.substring(colon + 1));
+			return host == null ? new InetSocketAddress(InetAddress.getLoopbackAddress(), port)
+					: new InetSocketAddress(host, port);
+		} catch (IllegalArgumentException e) {
+			throw new IOException("Invalid language server address: " + address, e); //$NON-NLS-1$
+		}
+	}
+
+	public String address() {
+		return address;
+	}
+
+	public InputStream getInputStream() {
+		return input;
+	}
+
+	public OutputStream getOutputStream() {
+		return output;
+	}
+
+	/**
+	 * Closes the connection. The language server keeps running.
+	 */
+	@Override
+	public void close() {
+		try {
+			channel.close();
+		} catch (IOException e) {
+			// already closed by the language server
+		}
+	}
+}
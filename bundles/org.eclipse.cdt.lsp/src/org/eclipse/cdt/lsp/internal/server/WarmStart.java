@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.cdt.lsp.editor.EditorConfiguration;
+import org.eclipse.cdt.lsp.editor.EditorOptions;
+import org.eclipse.cdt.lsp.editor.InitialUri;
+import org.eclipse.cdt.lsp.plugin.LspPlugin;
+import org.eclipse.cdt.lsp.util.LspUtils;
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.LocationKind;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.ServiceCaller;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.lsp4e.LSPEclipseUtils;
+import org.eclipse.lsp4e.LanguageServers;
+import org.eclipse.lsp4j.DocumentSymbolParams;
+import org.eclipse.lsp4j.ServerCapabilities;
+import org.eclipse.ui.IStartup;
+
+/**
+ * Starts the language server in the background after the workbench has come up, when enabled by
+ * {@link EditorOptions#warmStart()}. The file recorded by {@link InitialUri} is opened in the language server, so its
+ * preamble and AST are built before the user opens an editor.
+ * <p>
+ * The file stays connected for a while, since LSP4E stops the language server when no document is connected anymore.
+ * </p>
+ */
+public final class WarmStart implements IStartup {
+	private static final long START_DELAY = 5_000; // ms
+	private static final long AST_TIMEOUT = 120; // s
+	private static final long HOLD_TIME = 10 * 60_000; // ms
+
+	@Override
+	public void earlyStartup() {
+		if (isEnabled()) {
+			var job = new WarmStartJob();
+			job.setSystem(true);
+			job.setPriority(Job.DECORATE);
+			job.schedule(START_DELAY);
+		}
+	}
+
+	private static boolean isEnabled() {
+		boolean[] enabled = new boolean[1];
+		ServiceCaller.callOnce(WarmStart.class, EditorConfiguration.class, c -> {
+			var options = c.options(null);
+			enabled[0] = options != null && options.warmStart();
+		});
+		return enabled[0];
+	}
+
+	private static Optional<IFile> initialFile() {
+		List<IFile> found = new ArrayList<>();
+		ServiceCaller.callOnce(WarmStart.class, IWorkspace.class,
+				w -> ServiceCaller.callOnce(WarmStart.class, InitialUri.class,
+						i -> i.find(w.getRoot().getLocationURI()).flatMap(LspUtils::getFile).ifPresent(found::add)));
+		return found.stream().filter(IFile::isAccessible).findFirst();
+	}
+
+	private static final class WarmStartJob extends Job {
+
+		WarmStartJob() {
+			super("Start C/C++ language server"); //$NON-NLS-1$
+		}
+
+		@Override
+		protected IStatus run(IProgressMonitor monitor) {
+			var file = initialFile();
+			var provider = LspPlugin.getDefault().getCLanguageServerProvider();
+			if (file.isEmpty() || !provider.isEnabledFor(file.get().getProject())) {
+				return Status.OK_STATUS;
+			}
+			// a connection of our own, so releasing it cannot disconnect an editor which has opened the file meanwhile.
+			// LSP4E opens the document in the language server when the file buffer is created:
+			var path = file.get().getFullPath();
+			var manager = FileBuffers.getTextFileBufferManager();
+			try {
+				manager.connect(path, LocationKind.IFILE, monitor);
+			} catch (CoreException e) {
+				Platform.getLog(getClass())
+						.warn("Warm start of the language server failed: " + e.getMessage()); //$NON-NLS-1$
+				return Status.OK_STATUS;
+			}
+			var document = manager.getTextFileBuffer(path, LocationKind.IFILE).getDocument();
+			var params = new DocumentSymbolParams(LSPEclipseUtils.toTextDocumentIdentifier(document));
+			try {
+				// the document symbols are computed from the AST, so the preamble is ready when they arrive:
+				LanguageServers.forDocument(document).withCapability(ServerCapabilities::getDocumentSymbolProvider)
+						.computeFirst((w, ls) -> ls.getTextDocumentService().documentSymbol(params))
+						.get(AST_TIMEOUT, TimeUnit.SECONDS);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} catch (ExecutionException | TimeoutException e) {
+				Platform.getLog(getClass())
+						.warn("Warm start of the language server failed: " + e.getMessage()); //$NON-NLS-1$
+			} finally {
+				var release = Job.create("Release warm started C/C++ file", m -> { //$NON-NLS-1$
+					try {
+						manager.disconnect(path, LocationKind.IFILE, new NullProgressMonitor());
+					} catch (CoreException e) {
+						Platform.getLog(WarmStart.class).error(e.getMessage(), e);
+					}
+				});
+				release.setSystem(true);
+				release.schedule(HOLD_TIME);
+			}
+			return Status.OK_STATUS;
+		}
+	}
+}
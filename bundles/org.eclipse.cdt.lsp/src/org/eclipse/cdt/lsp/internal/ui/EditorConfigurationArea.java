@@ -36,6 +36,7 @@ public final class EditorConfigurationArea extends ConfigurationArea<EditorOptio
 	private final Button prefer;
 	private final Button showBanner;
 	private final Button enableSubWordNavigation;
+	private final Button warmStart;
 	private ConfigurationVisibility visibility;
 
 	public EditorConfigurationArea(Composite parent, boolean isProjectScope) {
@@ -55,13 +56,16 @@ public final class EditorConfigurationArea extends ConfigurationArea<EditorOptio
 			this.prefer = null;
 			this.showBanner = null;
 		}
-		this.enableSubWordNavigation = isProjectScope ? null : createSubWordNavigationButton(composite);
-	}
-
-	private Button createSubWordNavigationButton(Composite parent) {
-		Composite behaviorComposite = ControlFactory.createGroup(parent,
-				LspUiMessages.LspEditorConfigurationPage_gneral_behavior_group, 1);
-		return createButton(EditorMetadata.Predefined.enableSubWordNavigation, behaviorComposite, SWT.CHECK, 0);
+		if (isProjectScope) {
+			this.enableSubWordNavigation = null;
+			this.warmStart = null;
+		} else {
+			Composite behaviorComposite = ControlFactory.createGroup(composite,
+					LspUiMessages.LspEditorConfigurationPage_gneral_behavior_group, 1);
+			this.enableSubWordNavigation = createButton(EditorMetadata.Predefined.enableSubWordNavigation,
+					behaviorComposite, SWT.CHECK, 0);
+			this.warmStart = createButton(EditorMetadata.Predefined.warmStart, behaviorComposite, SWT.CHECK, 0);
+		}
 	}
 
 	@Override
@@ -83,6 +87,9 @@ public final class EditorConfigurationArea extends ConfigurationArea<EditorOptio
 		if (enableSubWordNavigation != null) {
 			enableSubWordNavigation.setSelection(options.enableSubWordNavigation());
 		}
+		if (warmStart != null) {
+			warmStart.setSelection(options.warmStart());
+		}
 	}
 
 	@Override
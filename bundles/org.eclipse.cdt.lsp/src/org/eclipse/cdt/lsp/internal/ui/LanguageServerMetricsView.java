@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.internal.ui;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.function.Function;
+
+import org.eclipse.cdt.lsp.internal.messages.LspUiMessages;
+import org.eclipse.cdt.lsp.internal.server.CLanguageServerEnableCache;
+import org.eclipse.cdt.lsp.internal.server.JsonRpcMetrics;
+import org.eclipse.cdt.lsp.internal.server.JsonRpcMetrics.MethodMetrics;
+import org.eclipse.cdt.lsp.plugin.LspPlugin;
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.action.IToolBarManager;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.viewers.ArrayContentProvider;
+import org.eclipse.jface.viewers.ColumnLabelProvider;
+import org.eclipse.jface.viewers.TableViewer;
+import org.eclipse.jface.viewers.TableViewerColumn;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.FileDialog;
+import org.eclipse.ui.ISharedImages;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.part.ViewPart;
+
+/**
+ * Shows the latencies and payload sizes of the JSON-RPC requests per LSP method, as collected from all running
+ * C/C++ language servers. The table is refreshed periodically and can be exported as CSV. The time clangd spent in
+ * each state per file and the background index runs can be exported as CSV from the view menu. The description shows
+ * the counters of the {@link CLanguageServerEnableCache}.
+ */
+public final class LanguageServerMetricsView extends ViewPart {
+	public static final String ID = "org.eclipse.cdt.lsp.LanguageServerMetricsView"; //$NON-NLS-1$
+	private static final int REFRESH_INTERVAL = 2000; // ms
+
+	private TableViewer viewer;
+	private final Runnable refresher = this::refresh;
+
+	@Override
+	public void createPartControl(Composite parent) {
+		viewer = new TableViewer(parent, SWT.FULL_SELECTION | SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL);
+		viewer.getTable().setHeaderVisible(true);
+		viewer.getTable().setLinesVisible(true);
+		viewer.setContentProvider(ArrayContentProvider.getInstance());
+		column(LspUiMessages.LanguageServerMetricsView_method, 250, MethodMetrics::method);
+		column(LspUiMessages.LanguageServerMetricsView_messages, 80, m -> String.valueOf(m.messages()));
+		column(LspUiMessages.LanguageServerMetricsView_errors, 60, m -> String.valueOf(m.errors()));
+		column(LspUiMessages.LanguageServerMetricsView_mean, 80, m -> millis(m.latency().mean(), m));
+		column(LspUiMessages.LanguageServerMetricsView_p50, 80, m -> millis(m.latency().percentile(50), m));
+		column(LspUiMessages.LanguageServerMetricsView_p90, 80, m -> millis(m.latency().percentile(90), m));
+		column(LspUiMessages.LanguageServerMetricsView_p99, 80, m -> millis(m.latency().percentile(99), m));
+		column(LspUiMessages.LanguageServerMetricsView_max, 80, m -> millis(m.latency().max(), m));
+		column(LspUiMessages.LanguageServerMetricsView_request_size, 100, m -> bytes(m.requestBytes(), m.messages()));
+		column(LspUiMessages.LanguageServerMetricsView_response_size, 100,
+				m -> bytes(m.responseBytes(), m.latency().count()));
+		column(LspUiMessages.LanguageServerMetricsView_max_response_size, 100,
+				m -> bytes(m.maxResponseBytes(), 1));
+		createActions();
+		refresh();
+	}
+
+	private void column(String title, int width, Function<MethodMetrics, String> text) {
+		var column = new TableViewerColumn(viewer, SWT.NONE);
+		column.getColumn().setText(title);
+		column.getColumn().setWidth(width);
+		column.setLabelProvider(new ColumnLabelProvider() {
+			@Override
+			public String getText(Object element) {
+				return text.apply((MethodMetrics) element);
+			}
+		});
+	}
+
+	private static String millis(long millis, MethodMetrics metrics) {
+		return metrics.latency().count() == 0 ? "" : millis + " ms"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	// average size per message:
+	private static String bytes(long bytes, long count) {
+		if (count == 0 || bytes == 0) {
+			return ""; //$NON-NLS-1$
+		}
+		long average = bytes / count;
+		return average < 1024 ? average + " B" : (average / 1024) + " KB"; //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private void createActions() {
+		var images = PlatformUI.getWorkbench().getSharedImages();
+		var reset = new Action(LspUiMessages.LanguageServerMetricsView_reset) {
+			@Override
+			public void run() {
+				metrics().clear();
+				refresh();
+			}
+		};
+		reset.setImageDescriptor(images.getImageDescriptor(ISharedImages.IMG_ETOOL_CLEAR));
+		var export = new Action(LspUiMessages.LanguageServerMetricsView_export) {
+			@Override
+			public void run() {
+				export("lsp-metrics.csv", metrics()::exportCsv); //$NON-NLS-1$
+			}
+		};
+		export.setImageDescriptor(images.getImageDescriptor(ISharedImages.IMG_ETOOL_SAVEAS_EDIT));
+		var exportFileStates = new Action(LspUiMessages.LanguageServerMetricsView_export_file_states) {
+			@Override
+			public void run() {
+				export("lsp-file-states.csv", LspPlugin.getDefault().getFileStatusTracker()::exportCsv); //$NON-NLS-1$
+			}
+		};
+		var exportIndexRuns = new Action(LspUiMessages.LanguageServerMetricsView_export_index_runs) {
+			@Override
+			public void run() {
+				export("lsp-index-runs.csv", LspPlugin.getDefault().getIndexProgressTracker()::exportCsv); //$NON-NLS-1$
+			}
+		};
+		IToolBarManager toolBar = getViewSite().getActionBars().getToolBarManager();
+		toolBar.add(reset);
+		toolBar.add(export);
+		getViewSite().getActionBars().getMenuManager().add(exportFileStates);
+		getViewSite().getActionBars().getMenuManager().add(exportIndexRuns);
+	}
+
+	private interface CsvExport {
+		void exportCsv(Writer writer) throws IOException;
+	}
+
+	private void export(String fileName, CsvExport csv) {
+		var dialog = new FileDialog(getSite().getShell(), SWT.SAVE);
+		dialog.setFilterExtensions(new String[] { "*.csv" }); //$NON-NLS-1$
+		dialog.setFileName(fileName);
+		dialog.setOverwrite(true);
+		var file = dialog.open();
+		if (file != null) {
+			try (var writer = Files.newBufferedWriter(Path.of(file), StandardCharsets.UTF_8)) {
+				csv.exportCsv(writer);
+			} catch (IOException e) {
+				MessageDialog.openError(getSite().getShell(), LspUiMessages.LanguageServerMetricsView_export,
+						NLS.bind(LspUiMessages.LanguageServerMetricsView_export_failed, file, e.getMessage()));
+			}
+		}
+	}
+
+	private void refresh() {
+		if (viewer == null || viewer.getControl().isDisposed()) {
+			return;
+		}
+		viewer.setInput(metrics().getMethods());
+		var cache = CLanguageServerEnableCache.getInstance().getStatistics();
+		setContentDescription(NLS.bind(LspUiMessages.LanguageServerMetricsView_enable_cache,
+				new Object[] { Integer.toString(cache.size()), Integer.toString(cache.maximumSize()),
+						Long.toString(cache.hits()), Long.toString(cache.misses()), Long.toString(cache.evictions()),
+						String.format("%.0f", cache.hitRate() * 100) })); //$NON-NLS-1$
+		viewer.getControl().getDisplay().timerExec(REFRESH_INTERVAL, refresher);
+	}
+
+	private static JsonRpcMetrics metrics() {
+		return LspPlugin.getDefault().getJsonRpcMetrics();
+	}
+
+	@Override
+	public void setFocus() {
+		viewer.getControl().setFocus();
+	}
+
+	@Override
+	public void dispose() {
+		if (viewer != null && !viewer.getControl().isDisposed()) {
+			viewer.getControl().getDisplay().timerExec(-1, refresher);
+		}
+		super.dispose();
+	}
+}
@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.lsp.internal.ui;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.eclipse.cdt.lsp.internal.messages.LspUiMessages;
+import org.eclipse.cdt.lsp.internal.server.MemoryUsageSampler;
+import org.eclipse.cdt.lsp.plugin.LspPlugin;
+import org.eclipse.cdt.lsp.services.memoryusage.MemoryTree;
+import org.eclipse.jface.action.Action;
+import org.eclipse.jface.action.IToolBarManager;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.viewers.ColumnLabelProvider;
+import org.eclipse.jface.viewers.IElementComparer;
+import org.eclipse.jface.viewers.ITreeContentProvider;
+import org.eclipse.jface.viewers.TreeViewer;
+import org.eclipse.jface.viewers.TreeViewerColumn;
+import org.eclipse.osgi.util.NLS;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.widgets.Composite;
+import org.eclipse.swt.widgets.FileDialog;
+import org.eclipse.ui.ISharedImages;
+import org.eclipse.ui.PlatformUI;
+import org.eclipse.ui.part.ViewPart;
+
+/**
+ * Shows the memory used by the components of the running C/C++ language servers, like the indexes, the preambles and
+ * the ASTs of the open files, as sampled by the {@link MemoryUsageSampler}. The components are sorted by their total
+ * memory, the history of the samples can be exported as CSV.
+ */
+public final class MemoryUsageView extends ViewPart {
+	public static final String ID = "org.eclipse.cdt.lsp.MemoryUsageView"; //$NON-NLS-1$
+	private static final int REFRESH_INTERVAL = 5000; // ms
+
+	private TreeViewer viewer;
+	private MemoryUsageSampler sampler;
+	private final Runnable refresher = this::refresh;
+
+	/**
+	 * A component in the tree of a language server, identified by its path from the project root.
+	 */
+	private record Node(String path, String name, MemoryTree tree) {
+	}
+
+	@Override
+	public void createPartControl(Composite parent) {
+		viewer = new TreeViewer(parent, SWT.FULL_SELECTION | SWT.MULTI | SWT.H_SCROLL | SWT.V_SCROLL);
+		viewer.getTree().setHeaderVisible(true);
+		viewer.getTree().setLinesVisible(true);
+		viewer.setContentProvider(new ContentProvider());
+		// the samples are replaced, the expanded components are kept by their paths:
+		viewer.setComparer(new IElementComparer() {
+			@Override
+			public boolean equals(Object a, Object b) {
+				return a instanceof Node nodeA && b instanceof Node nodeB ? nodeA.path().equals(nodeB.path())
+						: a.equals(b);
+			}
+
+			@Override
+			public int hashCode(Object element) {
+				return element instanceof Node node ? node.path().hashCode() : element.hashCode();
+			}
+		});
+		column(LspUiMessages.MemoryUsageView_component, 400, Node::name);
+		column(LspUiMessages.MemoryUsageView_self, 100, node -> bytes(node.tree().getSelf()));
+		column(LspUiMessages.MemoryUsageView_total, 100, node -> bytes(node.tree().getTotal()));
+		createActions();
+		// the language servers are sampled periodically only while the view is open:
+		sampler = LspPlugin.getDefault().getMemoryUsageSampler();
+		sampler.connect();
+		viewer.setInput(sampler);
+		refresh();
+		// the sampler may not have sampled the language servers yet:
+		sample();
+	}
+
+	private void column(String title, int width, Function<Node, String> text) {
+		var column = new TreeViewerColumn(viewer, SWT.NONE);
+		column.getColumn().setText(title);
+		column.getColumn().setWidth(width);
+		column.setLabelProvider(new ColumnLabelProvider() {
+			@Override
+			public String getText(Object element) {
+				return text.apply((Node) element);
+			}
+		});
+	}
+
+	private static String bytes(long bytes) {
+		if (bytes < 1024) {
+			return bytes + " B"; //$NON-NLS-1$
+		}
+		if (bytes < 1024 * 1024) {
+			return (bytes / 1024) + " KB"; //$NON-NLS-1$
+		}
+		return String.format("%.1f MB", bytes / (1024.0 * 1024.0)); //$NON-NLS-1$
+	}
+
+	private static final class ContentProvider implements ITreeContentProvider {
+
+		@Override
+		public Object[] getElements(Object input) {
+			return input instanceof MemoryUsageSampler sampler ? sampler.getLatest().stream()
+					.map(sample -> new Node(sample.rootUri().toString(), sample.rootUri().toString(), sample.tree()))
+					.toArray() : new Object[0];
+		}
+
+		@Override
+		public Object[] getChildren(Object parent) {
+			var node = (Node) parent;
+			return node.tree().getChildren().entrySet().stream()
+					.sorted(Comparator.comparingLong((Map.Entry<String, MemoryTree> e) -> e.getValue().getTotal())
+							.reversed())
+					.map(e -> new Node(node.path() + '/' + e.getKey(), e.getKey(), e.getValue())).toArray();
+		}
+
+		@Override
+		public Object getParent(Object element) {
+			return null;
+		}
+
+		@Override
+		public boolean hasChildren(Object element) {
+			return !((Node) element).tree().getChildren().isEmpty();
+		}
+	}
+
+	private void createActions() {
+		var images = PlatformUI.getWorkbench().getSharedImages();
+		var sample = new Action(LspUiMessages.MemoryUsageView_sample) {
+			@Override
+			public void run() {
+				sample();
+			}
+		};
+		sample.setImageDescriptor(images.getImageDescriptor(ISharedImages.IMG_ELCL_SYNCED));
+		var clear = new Action(LspUiMessages.MemoryUsageView_clear) {
+			@Override
+			public void run() {
+				sampler.clear();
+				refreshViewer();
+			}
+		};
+		clear.setImageDescriptor(images.getImageDescriptor(ISharedImages.IMG_ETOOL_CLEAR));
+		var export = new Action(LspUiMessages.MemoryUsageView_export) {
+			@Override
+			public void run() {
+				export();
+			}
+		};
+		export.setImageDescriptor(images.getImageDescriptor(ISharedImages.IMG_ETOOL_SAVEAS_EDIT));
+		IToolBarManager toolBar = getViewSite().getActionBars().getToolBarManager();
+		toolBar.add(sample);
+		toolBar.add(clear);
+		toolBar.add(export);
+	}
+
+	private void export() {
+		var dialog = new FileDialog(getSite().getShell(), SWT.SAVE);
+		dialog.setFilterExtensions(new String[] { "*.csv" }); //$NON-NLS-1$
+		dialog.setFileName("lsp-memory.csv"); //$NON-NLS-1$
+		dialog.setOverwrite(true);
+		var file = dialog.open();
+		if (file != null) {
+			try (var writer = Files.newBufferedWriter(Path.of(file), StandardCharsets.UTF_8)) {
+				sampler.exportCsv(writer);
+			} catch (IOException e) {
+				MessageDialog.openError(getSite().getShell(), LspUiMessages.MemoryUsageView_export,
+						NLS.bind(LspUiMessages.LanguageServerMetricsView_export_failed, file, e.getMessage()));
+			}
+		}
+	}
+
+	private void sample() {
+		var display = viewer.getControl().getDisplay();
+		sampler.sample().thenRun(() -> display.asyncExec(this::refreshViewer));
+	}
+
+	private void refreshViewer() {
+		if (viewer != null && !viewer.getControl().isDisposed()) {
+			viewer.refresh();
+		}
+	}
+
+	private void refresh() {
+		if (viewer == null || viewer.getControl().isDisposed()) {
+			return;
+		}
+		viewer.refresh();
+		viewer.getControl().getDisplay().timerExec(REFRESH_INTERVAL, refresher);
+	}
+
+	@Override
+	public void setFocus() {
+		viewer.getControl().setFocus();
+	}
+
+	@Override
+	public void dispose() {
+		if (viewer != null && !viewer.getControl().isDisposed()) {
+			viewer.getControl().getDisplay().timerExec(-1, refresher);
+		}
+		if (sampler != null) {
+			sampler.disconnect();
+		}
+		super.dispose();
+	}
+}
@@ -18,7 +18,14 @@ import java.util.logging.Level;
 import java.util.logging.Logger;
 
 import org.eclipse.cdt.lsp.internal.server.CLanguageServerEnableCache;
+import org.eclipse.cdt.lsp.internal.server.CLanguageServerPool;
 import org.eclipse.cdt.lsp.internal.server.CLanguageServerRegistry;
+import org.eclipse.cdt.lsp.internal.server.ClangdLogMetrics;
+import org.eclipse.cdt.lsp.internal.server.FileStatusTracker;
+import org.eclipse.cdt.lsp.internal.server.IndexProgressTracker;
+import org.eclipse.cdt.lsp.internal.server.JsonRpcMetrics;
+import org.eclipse.cdt.lsp.internal.server.MemoryUsageSampler;
+import org.eclipse.cdt.lsp.internal.server.MemoryWatchdog;
 import org.eclipse.cdt.lsp.server.ICLanguageServerProvider;
 import org.eclipse.core.runtime.FileLocator;
 import org.eclipse.core.runtime.Path;
@@ -49,6 +56,20 @@ public class LspPlugin extends AbstractUIPlugin {
 
 	private ICLanguageServerProvider cLanguageServerProvider;
 
+	private CLanguageServerPool cLanguageServerPool;
+
+	private MemoryUsageSampler memoryUsageSampler;
+
+	private MemoryWatchdog memoryWatchdog;
+
+	private final ClangdLogMetrics clangdLogMetrics = new ClangdLogMetrics();
+
+	private final JsonRpcMetrics jsonRpcMetrics = new JsonRpcMetrics();
+
+	private final FileStatusTracker fileStatusTracker = new FileStatusTracker();
+
+	private IndexProgressTracker indexProgressTracker;
+
 	// Disable warnings, see https://github.com/eclipse-cdt/cdt-lsp/issues/88 and https://github.com/eclipse-cdt/cdt-lsp/issues/101.
 	// We keep this reference to avoid the logger being garbage collected.
 	private static final Logger logger = Logger.getLogger("org.eclipse.tm4e.core.internal.oniguruma.OnigRegExp"); //$NON-NLS-1$
@@ -64,6 +85,10 @@ public class LspPlugin extends AbstractUIPlugin {
 		super.start(context);
 		plugin = this;
 		cLanguageServerProvider = new CLanguageServerRegistry().createCLanguageServerProvider();
+		cLanguageServerPool = new CLanguageServerPool().start();
+		memoryUsageSampler = new MemoryUsageSampler(cLanguageServerPool).start();
+		memoryWatchdog = new MemoryWatchdog(cLanguageServerPool).start();
+		indexProgressTracker = new IndexProgressTracker();
 
 		// Disable warnings, see https://github.com/eclipse-cdt/cdt-lsp/issues/88 and https://github.com/eclipse-cdt/cdt-lsp/issues/101
 		logger.setLevel(Level.SEVERE);
@@ -72,6 +97,10 @@ public class LspPlugin extends AbstractUIPlugin {
 	@Override
 	public void stop(BundleContext context) throws Exception {
 		CLanguageServerEnableCache.stop();
+		indexProgressTracker.stop();
+		memoryWatchdog.stop();
+		memoryUsageSampler.stop();
+		cLanguageServerPool.stop();
 		plugin = null;
 		super.stop(context);
 	}
@@ -89,6 +118,46 @@ public class LspPlugin extends AbstractUIPlugin {
 		return cLanguageServerProvider;
 	}
 
+	public CLanguageServerPool getCLanguageServerPool() {
+		return cLanguageServerPool;
+	}
+
+	/**
+	 * Metrics parsed from the log of the language servers. They are only collected while the log is written to
+	 * the console.
+	 */
+	public ClangdLogMetrics getClangdLogMetrics() {
+		return clangdLogMetrics;
+	}
+
+	/**
+	 * Latencies and payload sizes of the JSON-RPC messages exchanged with the language servers.
+	 */
+	public JsonRpcMetrics getJsonRpcMetrics() {
+		return jsonRpcMetrics;
+	}
+
+	/**
+	 * State of clangd for the open files and the time spent in each state.
+	 */
+	public FileStatusTracker getFileStatusTracker() {
+		return fileStatusTracker;
+	}
+
+	/**
+	 * Progress of the background index of the language servers, and the index runs which have ended.
+	 */
+	public IndexProgressTracker getIndexProgressTracker() {
+		return indexProgressTracker;
+	}
+
+	/**
+	 * Memory usage of the components of the language servers, sampled periodically.
+	 */
+	public MemoryUsageSampler getMemoryUsageSampler() {
+		return memoryUsageSampler;
+	}
+
 	@Override
 	protected void initializeImageRegistry(ImageRegistry registry) {
 		Bundle bundle = Platform.getBundle(PLUGIN_ID);
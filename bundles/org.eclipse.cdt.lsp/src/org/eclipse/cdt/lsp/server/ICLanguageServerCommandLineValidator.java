@@ -12,6 +12,9 @@
 
 package org.eclipse.cdt.lsp.server;
 
+import java.net.URI;
+
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.IStatus;
 
 /**
@@ -25,4 +28,17 @@ public interface ICLanguageServerCommandLineValidator {
 	 */
 	public IStatus validateCommandLineOptions();
 
+	/**
+	 * Validates the command line options of the language server started for the given root. The validation runs
+	 * concurrently with the LS start, the LS is stopped if the returned IStatus is an error without an exception. An
+	 * error with an exception, e.g. a validation which timed out, is logged only.
+	 * @param rootUri {@link IProject} or standalone File the language server is started for
+	 * @return validation status.
+	 *
+	 * @since 3.2
+	 */
+	public default IStatus validateCommandLineOptions(URI rootUri) {
+		return validateCommandLineOptions();
+	}
+
 }
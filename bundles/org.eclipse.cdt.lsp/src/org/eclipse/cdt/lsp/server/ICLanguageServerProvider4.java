@@ -0,0 +1,93 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.server;
+
+import java.net.URI;
+
+/**
+ * Limits for the pool of language server processes, the memory watchdog and the connection to an already running
+ * language server. One language server process is started per project root.
+ *
+ * @since 3.2
+ */
+public interface ICLanguageServerProvider4 extends ICLanguageServerProvider3 {
+
+	/**
+	 * Maximum number of language server processes running at the same time.
+	 * The least recently used idle process is stopped when the limit is exceeded.
+	 *
+	 * @return maximum number of processes, <code>0</code> for no limit
+	 */
+	public default int maxServerInstances() {
+		return 0;
+	}
+
+	/**
+	 * Resident memory budget in MB for all language server processes together.
+	 * The least recently used idle processes are stopped while the budget is exceeded.
+	 *
+	 * @return memory budget in MB, <code>0</code> for no limit
+	 */
+	public default int serverMemoryBudget() {
+		return 0;
+	}
+
+	/**
+	 * Resident memory in MB a single language server process may use before the memory watchdog takes the
+	 * {@link #memoryWatchdogAction() action}. The memory is sampled periodically, only on Linux.
+	 *
+	 * @return memory threshold in MB, <code>0</code> to disable the watchdog
+	 */
+	public default int memoryWatchdogThreshold() {
+		return 0;
+	}
+
+	/**
+	 * Action of the memory watchdog when a language server process exceeds the
+	 * {@link #memoryWatchdogThreshold() threshold}.
+	 *
+	 * @return the action, must not return <code>null</code>
+	 */
+	public default MemoryWatchdogAction memoryWatchdogAction() {
+		return MemoryWatchdogAction.WARN;
+	}
+
+	/**
+	 * Address of an already running language server to connect to instead of starting a new process, either
+	 * <code>unix:&lt;path&gt;</code> for a Unix domain socket or <code>[&lt;host&gt;:]&lt;port&gt;</code> for a TCP port.
+	 * The language server is started locally when the address is empty or not reachable.
+	 * <p>
+	 * The language server on the other side is expected to outlive the connection, i.e. a wrapper which answers
+	 * repeated <code>initialize</code> requests and ignores <code>shutdown</code> and <code>exit</code>. It has to
+	 * answer the handshake <code>root &lt;root URI&gt;</code> with <code>ok</code> before the connection is used, so
+	 * the language server is started locally when the wrapper is busy with another editor or serves another root.
+	 * </p>
+	 *
+	 * @param rootUri root URI of the language server
+	 * @return address of a running language server, empty to start the language server locally
+	 */
+	public default String serverAddress(URI rootUri) {
+		return ""; //$NON-NLS-1$
+	}
+
+	/**
+	 * Whether the language server of the given root answers the <em>$/memoryUsage</em> request of clangd. Only these
+	 * language servers are sampled for the memory usage view.
+	 *
+	 * @param rootUri root URI of the language server
+	 * @return true if the memory usage of the language server can be requested
+	 */
+	public default boolean supportsMemoryUsage(URI rootUri) {
+		return false;
+	}
+}
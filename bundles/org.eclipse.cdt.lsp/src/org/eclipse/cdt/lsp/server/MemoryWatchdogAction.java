@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.server;
+
+/**
+ * What happens when the resident memory of a language server process exceeds the
+ * {@link ICLanguageServerProvider4#memoryWatchdogThreshold() threshold} of the memory watchdog.
+ *
+ * @since 3.2
+ */
+public enum MemoryWatchdogAction {
+	/**
+	 * A warning is logged, the language server keeps running.
+	 */
+	WARN,
+	/**
+	 * The language server is stopped as soon as none of the files of its project is opened in the LSP based C/C++
+	 * editor. It is started again on the next request.
+	 */
+	EVICT,
+	/**
+	 * The language server is restarted as soon as it is idle. The documents of the visible editors are opened in the
+	 * restarted language server right away, the other documents when they are needed.
+	 */
+	RESTART;
+}
@@ -0,0 +1,38 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.lsp.services;
+
+import org.eclipse.cdt.lsp.services.filestatus.FileStatus;
+import org.eclipse.lsp4j.jsonrpc.services.JsonNotification;
+import org.eclipse.lsp4j.services.LanguageClient;
+
+/**
+ * Interface extending the {@link LanguageClient} with the notifications of the clangd extensions.
+ *
+ * @see https://clangd.llvm.org/extensions
+ *
+ * @since 3.2
+ */
+public interface ClangdLanguageClient extends LanguageClient {
+
+	/**
+	 * The <em>textDocument/clangd.fileStatus</em> notification is sent from the server to the client whenever the
+	 * state of an open file changes. clangd sends it only when the client sets <code>clangdFileStatus</code> in the
+	 * initialization options.
+	 *
+	 * @param status the file and its new state
+	 *
+	 * @see https://clangd.llvm.org/extensions#file-status
+	 */
+	@JsonNotification(value = "textDocument/clangd.fileStatus")
+	void fileStatus(FileStatus status);
+}
@@ -17,6 +17,7 @@ import java.util.concurrent.CompletableFuture;
 
 import org.eclipse.cdt.lsp.services.ast.AstNode;
 import org.eclipse.cdt.lsp.services.ast.AstParams;
+import org.eclipse.cdt.lsp.services.memoryusage.MemoryTree;
 import org.eclipse.cdt.lsp.services.symbolinfo.SymbolDetails;
 import org.eclipse.lsp4j.TextDocumentIdentifier;
 import org.eclipse.lsp4j.TextDocumentPositionParams;
@@ -74,4 +75,18 @@ public interface ClangdLanguageServer extends LanguageServer {
 	 */
 	@JsonRequest(value = "textDocument/symbolInfo")
 	CompletableFuture<SymbolDetails[]> getSymbolInfo(TextDocumentPositionParams positionParameters);
+
+	/**
+	 * The <em>$/memoryUsage</em> request is sent from the client to the server in order to get the memory used by
+	 * the components of clangd, like the indexes, the preambles and the ASTs of the open files.
+	 * It is supported by clangd 12 and later.
+	 *
+	 * @return the memory usage tree, the root is the whole clangd process
+	 *
+	 * @see https://clangd.llvm.org/extensions#memory-usage
+	 *
+	 * @since 3.2
+	 */
+	@JsonRequest(value = "$/memoryUsage")
+	CompletableFuture<MemoryTree> getMemoryUsage();
 }
@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.lsp.services.filestatus;
+
+import org.eclipse.cdt.lsp.services.ClangdLanguageClient;
+import org.eclipse.lsp4j.jsonrpc.util.Preconditions;
+import org.eclipse.lsp4j.jsonrpc.util.ToStringBuilder;
+import org.eclipse.lsp4j.jsonrpc.validation.NonNull;
+
+/**
+ * Parameters of the <em>textDocument/clangd.fileStatus</em> notification: the state of clangd for an open file, like
+ * <code>parsing includes</code>, <code>building preamble</code>, <code>building AST</code> or <code>idle</code>.
+ * The state is human readable and may be followed by the running actions, like
+ * <code>building preamble, running Hover</code>.
+ *
+ * @see {@link ClangdLanguageClient#fileStatus(FileStatus)}
+ *
+ * @since 3.2
+ */
+public class FileStatus {
+	@NonNull
+	private String uri;
+
+	@NonNull
+	private String state;
+
+	public FileStatus() {
+	}
+
+	public FileStatus(@NonNull final String uri, @NonNull final String state) {
+		this.uri = Preconditions.<String>checkNotNull(uri, "uri"); //$NON-NLS-1$
+		this.state = Preconditions.<String>checkNotNull(state, "state"); //$NON-NLS-1$
+	}
+
+	@NonNull
+	public String getUri() {
+		return this.uri;
+	}
+
+	public void setUri(@NonNull final String uri) {
+		this.uri = Preconditions.<String>checkNotNull(uri, "uri"); //$NON-NLS-1$
+	}
+
+	@NonNull
+	public String getState() {
+		return this.state;
+	}
+
+	public void setState(@NonNull final String state) {
+		this.state = Preconditions.<String>checkNotNull(state, "state"); //$NON-NLS-1$
+	}
+
+	@Override
+	public String toString() {
+		ToStringBuilder b = new ToStringBuilder(this);
+		b.add("uri", this.uri); //$NON-NLS-1$
+		b.add("state", this.state); //$NON-NLS-1$
+		return b.toString();
+	}
+
+	@Override
+	public boolean equals(final Object obj) {
+		if (this == obj)
+			return true;
+		if (obj == null)
+			return false;
+		if (getClass() != obj.getClass())
+			return false;
+		FileStatus other = (FileStatus) obj;
+		if (this.uri == null) {
+			if (other.uri != null)
+				return false;
+		} else if (!this.uri.equals(other.uri))
+			return false;
+		if (this.state == null) {
+			if (other.state != null)
+				return false;
+		} else if (!this.state.equals(other.state))
+			return false;
+		return true;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + ((this.uri == null) ? 0 : this.uri.hashCode());
+		return prime * result + ((this.state == null) ? 0 : this.state.hashCode());
+	}
+}
@@ -0,0 +1,145 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+package org.eclipse.cdt.lsp.services.memoryusage;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import org.eclipse.cdt.lsp.services.ClangdLanguageServer;
+
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+
+/**
+ * Result of the <em>$/memoryUsage</em> request: the memory used by a component of clangd, like the dynamic index, the
+ * background index or the AST of a file, broken down by its sub-components. In JSON, a node is an object with the
+ * properties <code>_self</code> and <code>_total</code> and a property per child component.
+ *
+ * @see {@link ClangdLanguageServer#getMemoryUsage()}
+ *
+ * @since 3.2
+ */
+@JsonAdapter(MemoryTree.Adapter.class)
+public final class MemoryTree {
+	private static final String SELF = "_self"; //$NON-NLS-1$
+	private static final String TOTAL = "_total"; //$NON-NLS-1$
+
+	private final long self;
+	private final long total;
+	private final Map<String, MemoryTree> children;
+
+	/**
+	 * @param self the bytes used by the component itself
+	 * @param total the bytes used by the component and its children
+	 * @param children the children by their component names
+	 */
+	public MemoryTree(long self, long total, Map<String, MemoryTree> children) {
+		this.self = self;
+		this.total = total;
+		this.children = Collections.unmodifiableMap(new LinkedHashMap<>(children));
+	}
+
+	/**
+	 * @return the bytes used by the component itself
+	 */
+	public long getSelf() {
+		return self;
+	}
+
+	/**
+	 * @return the bytes used by the component and its children
+	 */
+	public long getTotal() {
+		return total;
+	}
+
+	/**
+	 * @return the children by their component names, in the order of the response
+	 */
+	public Map<String, MemoryTree> getChildren() {
+		return children;
+	}
+
+	@Override
+	public String toString() {
+		return "MemoryTree [self=" + self + ", total=" + total + ", children=" + children + "]"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(self, total, children);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj instanceof MemoryTree other && self == other.self && total == other.total
+				&& children.equals(other.children);
+	}
+
+	/**
+	 * Reads and writes the component names as properties of the JSON object.
+	 */
+	public static final class Adapter extends TypeAdapter<MemoryTree> {
+
+		@Override
+		public void write(JsonWriter out, MemoryTree value) throws IOException {
+			if (value == null) {
+				out.nullValue();
+				return;
+			}
+			out.beginObject();
+			out.name(SELF).value(value.self);
+			out.name(TOTAL).value(value.total);
+			for (var child : value.children.entrySet()) {
+				out.name(child.getKey());
+				write(out, child.getValue());
+			}
+			out.endObject();
+		}
+
+		@Override
+		public MemoryTree read(JsonReader in) throws IOException {
+			if (in.peek() == JsonToken.NULL) {
+				in.nextNull();
+				return null;
+			}
+			long self = 0;
+			long total = 0;
+			var children = new LinkedHashMap<String, MemoryTree>();
+			in.beginObject();
+			while (in.hasNext()) {
+				var name = in.nextName();
+				switch (name) {
+				case SELF -> self = in.nextLong();
+				case TOTAL -> total = in.nextLong();
+				default -> {
+					if (in.peek() == JsonToken.BEGIN_OBJECT) {
+						children.put(name, read(in));
+					} else {
+						// a property of a newer clangd
+						in.skipValue();
+					}
+				}
+				}
+			}
+			in.endObject();
+			return new MemoryTree(self, total, children);
+		}
+	}
+
+}
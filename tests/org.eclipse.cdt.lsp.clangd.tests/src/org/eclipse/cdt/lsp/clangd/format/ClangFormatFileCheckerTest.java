@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.clangd.format;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.cdt.lsp.clangd.format.ClangFormatFileChecker.Problem;
+import org.eclipse.core.resources.IMarker;
+import org.junit.jupiter.api.Test;
+
+class ClangFormatFileCheckerTest {
+	private final ClangFormatFileChecker checker = new ClangFormatFileChecker();
+
+	@Test
+	void testValidFile() {
+		var content = """
+				BasedOnStyle: llvm
+				IndentWidth: 4
+				AccessModifierOffset: -4
+				BreakBeforeBraces: Custom
+				BraceWrapping:
+				  AfterFunction: true
+				  AfterControlStatement: MultiLine
+				AlignConsecutiveAssignments: Consecutive
+				AlignConsecutiveMacros:
+				  Enabled: yes
+				IncludeCategories:
+				  - Regex: '^<.*>'
+				    Priority: 2
+				ForEachMacros: [ foreach, Q_FOREACH ]
+				---
+				Language: Cpp
+				ColumnLimit: 100
+				---
+				Language: Java
+				ColumnLimit: 120
+				""";
+		assertEquals(List.of(), checker.check(content));
+	}
+
+	@Test
+	void testInvalidValues() {
+		var content = """
+				IndentWidth: -4
+				UseTab: Sometimes
+				BraceWrapping: true
+				BraceWrapping2: true
+				""";
+		var problems = checker.check(content);
+		assertEquals(4, problems.size(), problems::toString);
+		assertProblem(problems.get(0), IMarker.SEVERITY_ERROR, 1, content.indexOf("-4"), "'IndentWidth'");
+		assertProblem(problems.get(1), IMarker.SEVERITY_ERROR, 2, content.indexOf("Sometimes"), "'UseTab'");
+		assertProblem(problems.get(2), IMarker.SEVERITY_ERROR, 3, content.indexOf("true"), "'BraceWrapping'");
+		// may be an option of a newer clang-format:
+		assertProblem(problems.get(3), IMarker.SEVERITY_WARNING, 4, content.indexOf("BraceWrapping2"),
+				"'BraceWrapping2'");
+	}
+
+	@Test
+	void testNestedKeys() {
+		var content = """
+				BraceWrapping:
+				  AfterClass: maybe
+				  AfterClass: true
+				  AfterFoo: true
+				""";
+		var problems = checker.check(content);
+		assertEquals(3, problems.size(), problems::toString);
+		assertProblem(problems.get(0), IMarker.SEVERITY_ERROR, 2, content.indexOf("maybe"),
+				"'BraceWrapping.AfterClass'");
+		assertProblem(problems.get(1), IMarker.SEVERITY_ERROR, 3, content.lastIndexOf("AfterClass"), "Duplicate");
+		assertProblem(problems.get(2), IMarker.SEVERITY_WARNING, 4, content.indexOf("AfterFoo"),
+				"'BraceWrapping.AfterFoo'");
+	}
+
+	@Test
+	void testLanguages() {
+		var content = """
+				Language: Cpp
+				---
+				IndentWidth: 2
+				---
+				Language: Cpp
+				""";
+		var problems = checker.check(content);
+		assertEquals(2, problems.size(), problems::toString);
+		assertProblem(problems.get(0), IMarker.SEVERITY_ERROR, 3, content.indexOf("IndentWidth"), "'Language'");
+		assertProblem(problems.get(1), IMarker.SEVERITY_ERROR, 5, content.lastIndexOf("Cpp"), "Duplicate");
+	}
+
+	@Test
+	void testSyntaxError() {
+		var content = """
+				IndentWidth: 4
+				 ColumnLimit: 80
+				""";
+		var problems = checker.check(content);
+		assertEquals(1, problems.size(), problems::toString);
+		assertEquals(IMarker.SEVERITY_ERROR, problems.get(0).severity());
+		assertEquals(2, problems.get(0).line());
+	}
+
+	@Test
+	void testInvalidCharacter() {
+		var content = "IndentWidth: 4\nColumnLimit: \u0001\n";
+		var problems = checker.check(content);
+		assertEquals(1, problems.size(), problems::toString);
+		assertProblem(problems.get(0), IMarker.SEVERITY_ERROR, 2, content.indexOf('\u0001'), "special characters");
+	}
+
+	private static void assertProblem(Problem problem, int severity, int line, int charStart, String message) {
+		assertEquals(severity, problem.severity(), problem::toString);
+		assertEquals(line, problem.line(), problem::toString);
+		assertEquals(charStart, problem.charStart(), problem::toString);
+		assertTrue(problem.message().contains(message), problem::toString);
+	}
+}
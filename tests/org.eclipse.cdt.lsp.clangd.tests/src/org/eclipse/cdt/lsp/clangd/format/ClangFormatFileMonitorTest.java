@@ -15,12 +15,14 @@ package org.eclipse.cdt.lsp.clangd.format;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.eclipse.cdt.core.CProjectNature;
+import org.eclipse.cdt.lsp.clangd.internal.config.ResourceChangeDispatcher;
 import org.eclipse.cdt.lsp.clangd.plugin.ClangdPlugin;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
@@ -81,7 +83,7 @@ class ClangFormatFileMonitorTest {
 	@BeforeEach
 	void setUp() {
 		mocks = MockitoAnnotations.openMocks(this);
-		monitor = new ClangFormatFileMonitor(mockWorkspace, mockProvider);
+		monitor = new ClangFormatFileMonitor(new ResourceChangeDispatcher(mockWorkspace), mockProvider);
 	}
 
 	@AfterEach
@@ -100,7 +102,7 @@ class ClangFormatFileMonitorTest {
 		ClangFormatFileMonitor result = monitor.start();
 
 		// Then: The workspace should have the listener registered
-		verify(mockWorkspace).addResourceChangeListener(any(IResourceChangeListener.class));
+		verify(mockWorkspace).addResourceChangeListener(any(IResourceChangeListener.class), anyInt());
 		assertEquals(monitor, result, "start() should return the same monitor instance");
 	}
 
@@ -110,7 +112,7 @@ class ClangFormatFileMonitorTest {
 		// Given: A started ClangFormatFileMonitor
 		monitor.start();
 		ArgumentCaptor<IResourceChangeListener> listenerCaptor = ArgumentCaptor.forClass(IResourceChangeListener.class);
-		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture());
+		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture(), anyInt());
 		IResourceChangeListener capturedListener = listenerCaptor.getValue();
 
 		// When: stop() is called
@@ -141,7 +143,7 @@ class ClangFormatFileMonitorTest {
 
 		monitor.start();
 		ArgumentCaptor<IResourceChangeListener> listenerCaptor = ArgumentCaptor.forClass(IResourceChangeListener.class);
-		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture());
+		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture(), anyInt());
 		IResourceChangeListener listener = listenerCaptor.getValue();
 
 		// When: resourceChanged is called
@@ -173,7 +175,7 @@ class ClangFormatFileMonitorTest {
 
 		monitor.start();
 		ArgumentCaptor<IResourceChangeListener> listenerCaptor = ArgumentCaptor.forClass(IResourceChangeListener.class);
-		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture());
+		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture(), anyInt());
 		IResourceChangeListener listener = listenerCaptor.getValue();
 
 		// When: resourceChanged is called
@@ -201,7 +203,7 @@ class ClangFormatFileMonitorTest {
 
 		monitor.start();
 		ArgumentCaptor<IResourceChangeListener> listenerCaptor = ArgumentCaptor.forClass(IResourceChangeListener.class);
-		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture());
+		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture(), anyInt());
 		IResourceChangeListener listener = listenerCaptor.getValue();
 
 		// When: resourceChanged is called
@@ -229,7 +231,7 @@ class ClangFormatFileMonitorTest {
 
 		monitor.start();
 		ArgumentCaptor<IResourceChangeListener> listenerCaptor = ArgumentCaptor.forClass(IResourceChangeListener.class);
-		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture());
+		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture(), anyInt());
 		IResourceChangeListener listener = listenerCaptor.getValue();
 
 		// When: resourceChanged is called
@@ -259,7 +261,7 @@ class ClangFormatFileMonitorTest {
 
 		monitor.start();
 		ArgumentCaptor<IResourceChangeListener> listenerCaptor = ArgumentCaptor.forClass(IResourceChangeListener.class);
-		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture());
+		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture(), anyInt());
 		IResourceChangeListener listener = listenerCaptor.getValue();
 
 		// When: resourceChanged is called
@@ -289,7 +291,7 @@ class ClangFormatFileMonitorTest {
 
 		monitor.start();
 		ArgumentCaptor<IResourceChangeListener> listenerCaptor = ArgumentCaptor.forClass(IResourceChangeListener.class);
-		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture());
+		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture(), anyInt());
 		IResourceChangeListener listener = listenerCaptor.getValue();
 
 		// When: resourceChanged is called
@@ -308,7 +310,7 @@ class ClangFormatFileMonitorTest {
 
 		monitor.start();
 		ArgumentCaptor<IResourceChangeListener> listenerCaptor = ArgumentCaptor.forClass(IResourceChangeListener.class);
-		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture());
+		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture(), anyInt());
 		IResourceChangeListener listener = listenerCaptor.getValue();
 
 		// When: resourceChanged is called
@@ -327,7 +329,7 @@ class ClangFormatFileMonitorTest {
 
 		monitor.start();
 		ArgumentCaptor<IResourceChangeListener> listenerCaptor = ArgumentCaptor.forClass(IResourceChangeListener.class);
-		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture());
+		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture(), anyInt());
 		IResourceChangeListener listener = listenerCaptor.getValue();
 
 		// When: resourceChanged is called
@@ -349,7 +351,7 @@ class ClangFormatFileMonitorTest {
 
 		monitor.start();
 		ArgumentCaptor<IResourceChangeListener> listenerCaptor = ArgumentCaptor.forClass(IResourceChangeListener.class);
-		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture());
+		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture(), anyInt());
 		IResourceChangeListener listener = listenerCaptor.getValue();
 
 		// When: resourceChanged is called
@@ -376,7 +378,7 @@ class ClangFormatFileMonitorTest {
 
 		monitor.start();
 		ArgumentCaptor<IResourceChangeListener> listenerCaptor = ArgumentCaptor.forClass(IResourceChangeListener.class);
-		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture());
+		verify(mockWorkspace).addResourceChangeListener(listenerCaptor.capture(), anyInt());
 		IResourceChangeListener listener = listenerCaptor.getValue();
 
 		// When: resourceChanged is called
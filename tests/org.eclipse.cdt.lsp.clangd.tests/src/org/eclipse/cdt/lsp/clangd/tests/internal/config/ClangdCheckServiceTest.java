@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.clangd.tests.internal.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.eclipse.cdt.lsp.clangd.internal.config.ClangdCheckService;
+import org.eclipse.cdt.lsp.clangd.internal.config.ClangdCheckService.Output;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link ClangdCheckService} with the Java launcher instead of clangd, which may not be installed.
+ */
+class ClangdCheckServiceTest {
+	private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+	private final String java = ProcessHandle.current().info().command().orElse("java");
+	// one worker, so that a run which is not stopped blocks the next one:
+	private final ClangdCheckService service = new ClangdCheckService(1);
+	private Path sleep;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		sleep = Files.createTempFile("Sleep", ".java");
+		Files.writeString(sleep, "class Sleep { public static void main(String[] args) throws Exception {"
+				+ " Thread.sleep(args.length > 0 ? Long.parseLong(args[0]) : 60_000); } }");
+	}
+
+	@AfterEach
+	public void cleanUp() throws IOException {
+		service.shutdown();
+		Files.deleteIfExists(sleep);
+	}
+
+	@Test
+	void testOutput() throws Exception {
+		var lines = new CopyOnWriteArrayList<String>();
+		var run = service.submit(List.of(java, "-version"), null, Output.STDERR, lines::add, TIMEOUT);
+		assertEquals(0, run.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+		assertTrue(lines.stream().anyMatch(line -> line.contains("version")), lines::toString);
+	}
+
+	@Test
+	void testTimeoutAndCancel() throws Exception {
+		var timedOut = service.submit(List.of(java, sleep.toString()), null, Output.STDERR, line -> {
+		}, Duration.ofSeconds(1));
+		var e = assertThrows(ExecutionException.class, () -> timedOut.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+		assertInstanceOf(TimeoutException.class, e.getCause());
+		var cancelled = service.submit(List.of(java, sleep.toString()), null, Output.STDERR, line -> {
+		}, TIMEOUT);
+		Thread.sleep(500);
+		cancelled.cancel(false);
+		// the processes have been destroyed, the worker is free again:
+		var run = service.submit(List.of(java, "-version"), null, Output.STDERR, line -> {
+		}, TIMEOUT);
+		assertEquals(0, run.get(TIMEOUT.toSeconds() - 5, TimeUnit.SECONDS));
+	}
+
+	@Test
+	void testTimeoutStartsWithProcess() throws Exception {
+		// GIVEN a run which occupies the only worker for more than the timeout of the next run
+		var running = service.submit(List.of(java, sleep.toString(), "3000"), null, Output.STDERR, line -> {
+		}, TIMEOUT);
+		// WHEN the next run is queued behind it
+		var queued = service.submit(List.of(java, "-version"), null, Output.STDERR, line -> {
+		}, Duration.ofSeconds(2));
+		// THEN it does not time out while it waits for the worker
+		assertEquals(0, running.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+		assertEquals(0, queued.get(TIMEOUT.toSeconds(), TimeUnit.SECONDS));
+	}
+
+}
@@ -15,6 +15,7 @@
 package org.eclipse.cdt.lsp.clangd.tests.internal.config;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -26,6 +27,8 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.UnsupportedEncodingException;
 import java.nio.file.Files;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.cdt.core.settings.model.CProjectDescriptionEvent;
 import org.eclipse.cdt.core.settings.model.ICBuildSetting;
@@ -38,6 +41,7 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Path;
@@ -256,6 +260,55 @@ final class ClangdCompilationDatabaseSetterTest {
 		assertEquals(expectedContent.replaceAll("\\R", "\n"), modifiedContent.replaceAll("\\R", "\n"));
 	}
 
+	/**
+	 * Test whether updates requested in quick succession are coalesced, so that the .clangd file is read and written
+	 * once with the latest path, and not read again for the same path.
+	 *
+	 * @throws IOException
+	 * @throws CoreException
+	 * @throws InterruptedException
+	 * @throws OperationCanceledException
+	 */
+	@Test
+	void testCoalescedUpdates() throws IOException, CoreException, OperationCanceledException, InterruptedException {
+		var reads = new AtomicInteger();
+		var writes = new AtomicInteger();
+		var setter = new ClangdCompilationDatabaseSetter() {
+			@Override
+			protected List<String> readClangdConfigFile(IFile configFile) throws IOException, CoreException {
+				reads.incrementAndGet();
+				return super.readClangdConfigFile(configFile);
+			}
+
+			@Override
+			protected void writeClangdConfigFile(IFile configFile, String charset, List<String> lines,
+					IProgressMonitor monitor) throws UnsupportedEncodingException, CoreException {
+				writes.incrementAndGet();
+				super.writeClangdConfigFile(configFile, charset, lines, monitor);
+			}
+		};
+		// GIVEN an existing expanded .clangd configuration file in the project pointing to "build/default":
+		var configFile = createConfigFile(EXPANDED_CDB_SETTING, RELATIVE_DIR_PATH_BUILD_DEFAULT);
+		// WHEN the paths of several build configurations are set one after another:
+		var job = setter.setCompilationDatabase(project, RELATIVE_DIR_PATH_BUILD_DEFAULT);
+		var sameJob = setter.setCompilationDatabase(project, RELATIVE_DIR_PATH_BUILD_DEBUG);
+		// THEN the updates share one job:
+		assertSame(job, sameJob);
+		job.join(5000, new NullProgressMonitor());
+		// AND the file has been read and written once, with the latest path:
+		assertEquals(1, reads.get());
+		assertEquals(1, writes.get());
+		var expectedContent = String.format(EXPANDED_CDB_SETTING, RELATIVE_DIR_PATH_BUILD_DEBUG);
+		var modifiedContent = Files.readString(configFile.getLocation().toFile().toPath());
+		assertEquals(expectedContent.replaceAll("\\R", "\n"), modifiedContent.replaceAll("\\R", "\n"));
+		// AND the file is neither read nor written again for the same path:
+		var modificationStamp = configFile.getModificationStamp();
+		setter.setCompilationDatabase(project, RELATIVE_DIR_PATH_BUILD_DEBUG).join(5000, new NullProgressMonitor());
+		assertEquals(modificationStamp, configFile.getModificationStamp());
+		assertEquals(1, reads.get());
+		assertEquals(1, writes.get());
+	}
+
 	/**
 	 * Test whether the .clangd won't be created nor updated if its in one of its parent folders when cProjectDescriptionEventHandler gets called.
 	 *
@@ -0,0 +1,77 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.clangd.tests.internal.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.Set;
+
+import org.eclipse.cdt.lsp.clangd.internal.config.ClangdFeatures;
+import org.eclipse.cdt.lsp.clangd.internal.config.ClangdFeatures.Extension;
+import org.eclipse.cdt.lsp.clangd.internal.config.ClangdFeatures.Matrix;
+import org.junit.jupiter.api.Test;
+
+class ClangdFeaturesTest {
+
+	@Test
+	void testMajorVersion() {
+		assertEquals(OptionalInt.of(18), ClangdFeatures.majorVersion("Ubuntu clangd version 18.1.3 (1ubuntu1)"));
+		assertEquals(OptionalInt.of(9), ClangdFeatures.majorVersion("clangd version 9.0.0 (tags/RELEASE_900/final)"));
+		assertEquals(OptionalInt.empty(), ClangdFeatures.majorVersion("Features: linux+grpc"));
+	}
+
+	@Test
+	void testFlags() {
+		var help = List.of("OVERVIEW: clangd is a language server that provides IDE-like features to editors.", //
+				"", //
+				"clangd compilation flags options:", //
+				"", //
+				"  --compile-commands-dir=<string> - Specify a path to look for compile_commands.json.", //
+				"  --query-driver=<string>         - Comma separated list of globs for white-listing", //
+				"                                    gcc-compatible drivers that are safe to execute.", //
+				"  -j <uint>                       - Number of async workers used by clangd.", //
+				"  --malloc-trim                   - Release memory periodically via malloc_trim(3).", //
+				"  --pch-storage=<value>           - Storing PCHs in memory increases memory usages,", //
+				"    =disk                         -   store PCHs on disk");
+		assertEquals(Set.of("--compile-commands-dir", "--query-driver", "-j", "--malloc-trim", "--pch-storage"),
+				ClangdFeatures.flags(help));
+	}
+
+	@Test
+	void testMatrix() {
+		var matrix = new Matrix(12, Set.of("--pch-storage", "-j"));
+		assertTrue(matrix.supports("--pch-storage"));
+		assertFalse(matrix.supports("--malloc-trim"));
+		assertTrue(matrix.supports(Extension.MEMORY_USAGE));
+		assertTrue(matrix.supports(Extension.COMPILATION_DATABASE_RELOAD));
+		var older = new Matrix(11, Set.of());
+		assertFalse(older.supports(Extension.MEMORY_USAGE));
+		assertFalse(older.supports(Extension.COMPILATION_DATABASE_RELOAD));
+	}
+
+	@Test
+	void testMissingExecutable() throws Exception {
+		var features = new ClangdFeatures(null);
+		assertEquals(Optional.empty(), features.probe("/no/such/clangd").get());
+		// an unknown executable does not support the optional features:
+		assertEquals(Optional.empty(), features.get("/no/such/clangd"));
+		assertEquals(OptionalInt.empty(), features.majorVersionOf("/no/such/clangd"));
+		assertFalse(features.supports("/no/such/clangd", Extension.COMPILATION_DATABASE_RELOAD));
+	}
+
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.clangd.tests.internal.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.eclipse.cdt.lsp.clangd.ClangdOptions;
+import org.eclipse.cdt.lsp.clangd.internal.config.ClangdPerformanceProfile;
+import org.eclipse.cdt.lsp.clangd.internal.config.ClangdPerformanceProfile.Settings;
+import org.junit.jupiter.api.Test;
+
+class ClangdPerformanceProfileTest {
+	private static final long MB_PER_GB = 1024;
+
+	@Test
+	void testLaptop() {
+		assertEquals(
+				List.of("-j=1", "--pch-storage=disk", "--limit-results=50", "--background-index-priority=background"),
+				ClangdPerformanceProfile.LOW_MEMORY.settings(4, 8 * MB_PER_GB).flags(true));
+		assertEquals(List.of("-j=2", "--pch-storage=disk"),
+				ClangdPerformanceProfile.BALANCED.settings(4, 8 * MB_PER_GB).flags(true));
+		assertEquals(List.of("-j=4", "--pch-storage=memory"),
+				ClangdPerformanceProfile.MAX_THROUGHPUT.settings(4, 8 * MB_PER_GB).flags(false));
+	}
+
+	@Test
+	void testBuildServer() {
+		assertEquals(List.of("-j=8", "--pch-storage=memory"),
+				ClangdPerformanceProfile.BALANCED.settings(64, 256 * MB_PER_GB).flags(true));
+		assertEquals(List.of("-j=64", "--pch-storage=memory", "--malloc-trim=false",
+				"--background-index-priority=normal"),
+				ClangdPerformanceProfile.MAX_THROUGHPUT.settings(64, 256 * MB_PER_GB).flags(true));
+	}
+
+	@Test
+	void testExplicitOptions() {
+		var options = mock(ClangdOptions.class);
+		when(options.workerCount()).thenReturn(3);
+		when(options.pchStorage()).thenReturn("");
+		when(options.mallocTrim()).thenReturn("");
+		assertEquals(List.of("-j=3", "--pch-storage=disk"),
+				ClangdPerformanceProfile.BALANCED.settings(16, 8 * MB_PER_GB).with(options).flags(true));
+		assertEquals(List.of("-j=3"), Settings.DEFAULT.with(options).flags(true));
+		// the explicit option wins over the profile in both directions:
+		when(options.mallocTrim()).thenReturn("true");
+		assertEquals(List.of("-j=3", "--pch-storage=memory", "--background-index-priority=normal"),
+				ClangdPerformanceProfile.MAX_THROUGHPUT.settings(64, 256 * MB_PER_GB).with(options).flags(true));
+		when(options.mallocTrim()).thenReturn("false");
+		assertEquals(List.of("-j=3", "--malloc-trim=false"), Settings.DEFAULT.with(options).flags(true));
+		assertEquals(Optional.empty(), ClangdPerformanceProfile.of(""));
+		assertEquals(Optional.of(ClangdPerformanceProfile.BALANCED), ClangdPerformanceProfile.of("balanced"));
+	}
+
+	@Test
+	void testAdditionalOptions() {
+		var settings = ClangdPerformanceProfile.LOW_MEMORY.settings(16, 8 * MB_PER_GB);
+		// the flags given in the additional options are not repeated, whatever the number of dashes:
+		assertEquals(List.of("--pch-storage=disk", "--background-index-priority=background"),
+				settings.flags(true, List.of("--log=error", "-j=6", "-limit-results=100")));
+		assertEquals(List.of("-j=2", "--pch-storage=disk", "--limit-results=50"),
+				settings.flags(true, List.of("--background-index-priority", "low")));
+		assertEquals(settings.flags(true), settings.flags(true, List.of()));
+	}
+
+}
@@ -0,0 +1,80 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.clangd.tests.internal.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.eclipse.cdt.lsp.clangd.internal.config.ClangdValidationCache;
+import org.eclipse.cdt.lsp.clangd.internal.config.ClangdValidationCache.Result;
+import org.eclipse.core.runtime.IStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ClangdValidationCacheTest {
+	private Path directory;
+	private Path clangd;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("cache");
+		clangd = Files.writeString(directory.resolve("clangd"), "clangd");
+	}
+
+	@AfterEach
+	public void cleanUp() throws IOException {
+		try (Stream<Path> files = Files.walk(directory)) {
+			files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+		}
+	}
+
+	/**
+	 * Tests that the key changes with the options and the executable.
+	 */
+	@Test
+	void testKey() throws IOException {
+		var key = ClangdValidationCache.key(List.of(clangd.toString(), "--background-index"));
+		assertTrue(key.isPresent());
+		assertEquals(key, ClangdValidationCache.key(List.of(clangd.toString(), "--background-index")));
+		assertNotEquals(key, ClangdValidationCache.key(List.of(clangd.toString(), "--clang-tidy")));
+		// a new clangd has been installed:
+		Files.setLastModifiedTime(clangd, FileTime.fromMillis(Files.getLastModifiedTime(clangd).toMillis() + 1000));
+		assertNotEquals(key, ClangdValidationCache.key(List.of(clangd.toString(), "--background-index")));
+		assertEquals(Optional.empty(), ClangdValidationCache.key(List.of(directory.resolve("missing").toString())));
+	}
+
+	/**
+	 * Tests that the results are kept across sessions.
+	 */
+	@Test
+	void testPersistence() {
+		var file = directory.resolve("state/validation.properties");
+		var key = ClangdValidationCache.key(List.of(clangd.toString(), "--unknown")).orElseThrow();
+		var result = new Result(IStatus.ERROR, 18, "clangd: Unknown command line argument '--unknown'.\nTry: ...");
+		new ClangdValidationCache(file).put(key, result);
+		var cache = new ClangdValidationCache(file);
+		assertEquals(Optional.of(result), cache.get(key));
+		assertEquals(Optional.empty(), cache.get("other"));
+	}
+}
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.clangd.tests.internal.config;
+
+import static org.eclipse.cdt.lsp.clangd.tests.internal.config.CollectAffectedProjectsTest.project;
+import static org.eclipse.cdt.lsp.clangd.tests.internal.config.CollectAffectedProjectsTest.projectDelta;
+import static org.eclipse.cdt.lsp.clangd.tests.internal.config.CollectAffectedProjectsTest.root;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.cdt.core.CProjectNature;
+import org.eclipse.cdt.lsp.clangd.internal.config.ClangdCompilationDatabaseSetter;
+import org.eclipse.cdt.lsp.clangd.internal.config.ResourceChangeDispatcher;
+import org.eclipse.cdt.lsp.clangd.internal.config.ResourceChangeDispatcher.Changes;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Compares the time needed to dispatch the delta of a full build with the former visitor, which checked the project
+ * of every file. The deltas are faked since creating tens of thousands of files in a workspace would dominate the
+ * measured time. The numbers depend on the machine, so this is no test: run the {@link #main(String[])} method
+ * manually. The best of a few rounds is reported to exclude the warm up of the JIT compiler.
+ */
+public final class CollectAffectedProjectsBenchmark {
+	private static final int ROUNDS = 5;
+	private static final int FILES_PER_FOLDER = 100;
+
+	private final ClangdCompilationDatabaseSetter setter = new ClangdCompilationDatabaseSetter();
+	private final ResourceChangeDispatcher dispatcher = new ResourceChangeDispatcher(mock(IWorkspace.class));
+	private final List<Changes> dispatched = new ArrayList<>();
+
+	private CollectAffectedProjectsBenchmark() {
+		dispatcher.subscribe(IResourceChangeEvent.POST_BUILD, ClangdCompilationDatabaseSetter.SETTINGS_FILE_NAMES,
+				ClangdCompilationDatabaseSetter.SETTINGS_FILE_EXTENSIONS, ResourceChangeDispatcher::inCProject,
+				dispatched::add);
+	}
+
+	public static void main(String[] args) throws CoreException {
+		var benchmark = new CollectAffectedProjectsBenchmark();
+		var cProject = project("c", true, true);
+		var otherProject = project("other", true, false);
+		for (int files : new int[] { 10_000, 100_000 }) {
+			// the build of the C/C++ project wrote the compilation database, the other project has only outputs:
+			var built = new ArrayList<String>();
+			for (int i = 0; i < files / 2; i++) {
+				built.add("src" + i / FILES_PER_FOLDER + "/file" + i + ".o");
+			}
+			built.add("build/compile_commands.json");
+			var delta = root(projectDelta(cProject, built.toArray(String[]::new)),
+					projectDelta(otherProject, built.subList(0, built.size() - 1).toArray(String[]::new)));
+			long nanos = Long.MAX_VALUE;
+			long legacyNanos = Long.MAX_VALUE;
+			for (int round = 0; round < ROUNDS; round++) {
+				long start = System.nanoTime();
+				check(Set.of(cProject), benchmark.collectAffectedProjects(delta));
+				nanos = Math.min(nanos, System.nanoTime() - start);
+				start = System.nanoTime();
+				check(Set.of(cProject), legacyCollectAffectedProjects(delta));
+				legacyNanos = Math.min(legacyNanos, System.nanoTime() - start);
+			}
+			System.out.printf("collectAffectedProjects: %d resources, %.2f ms (former implementation %.2f ms)%n", files,
+					nanos / 1e6, legacyNanos / 1e6);
+		}
+	}
+
+	private Set<IProject> collectAffectedProjects(IResourceDelta delta) {
+		var event = mock(IResourceChangeEvent.class);
+		when(event.getType()).thenReturn(IResourceChangeEvent.POST_BUILD);
+		when(event.getDelta()).thenReturn(delta);
+		dispatched.clear();
+		dispatcher.dispatch(event);
+		return dispatched.isEmpty() ? Set.of() : setter.collectAffectedProjects(dispatched.get(0));
+	}
+
+	private static void check(Set<IProject> expected, Set<IProject> actual) {
+		if (!expected.equals(actual)) {
+			throw new IllegalStateException("Collected " + actual + " instead of " + expected);
+		}
+	}
+
+	private static Set<IProject> legacyCollectAffectedProjects(IResourceDelta delta) throws CoreException {
+		Map<IProject, Boolean> projectsMap = new HashMap<>();
+		delta.accept(d -> {
+			if (d.getResource() instanceof IProject project && project.isAccessible()
+					&& project.hasNature(CProjectNature.C_NATURE_ID)) {
+				projectsMap.put(project, true);
+			} else if (d.getResource() instanceof IFile file && file.getProject() != null
+					&& file.getProject().isAccessible() && file.getProject().hasNature(CProjectNature.C_NATURE_ID)) {
+				if ("compile_commands.json".contentEquals(file.getName()) || ".clangd".contentEquals(file.getName())
+						|| (file.getFileExtension() != null && "prefs".contentEquals(file.getFileExtension()))) {
+					projectsMap.put(file.getProject(), false);
+				} else if (projectsMap.getOrDefault(file.getProject(), false)) {
+					projectsMap.remove(file.getProject());
+				}
+			}
+			return true;
+		});
+		return projectsMap.keySet();
+	}
+}
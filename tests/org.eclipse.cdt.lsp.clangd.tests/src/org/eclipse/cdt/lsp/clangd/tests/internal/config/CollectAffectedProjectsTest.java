@@ -0,0 +1,191 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.clangd.tests.internal.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.cdt.core.CProjectNature;
+import org.eclipse.cdt.lsp.clangd.internal.config.ClangdCompilationDatabaseSetter;
+import org.eclipse.cdt.lsp.clangd.internal.config.ResourceChangeDispatcher;
+import org.eclipse.cdt.lsp.clangd.internal.config.ResourceChangeDispatcher.Changes;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the collection of the projects affected by a post-build delta, as dispatched by the
+ * {@link ResourceChangeDispatcher}, on synthetic deltas.
+ */
+class CollectAffectedProjectsTest {
+	private final ClangdCompilationDatabaseSetter setter = new ClangdCompilationDatabaseSetter();
+	private final ResourceChangeDispatcher dispatcher = new ResourceChangeDispatcher(mock(IWorkspace.class));
+	private final List<Changes> dispatched = new ArrayList<>();
+	private final IProject cProject = project("c", true, true);
+	private final IProject closedProject = project("closed", false, true);
+	private final IProject otherProject = project("other", true, false);
+
+	@BeforeEach
+	public void setUp() {
+		dispatcher.subscribe(IResourceChangeEvent.POST_BUILD, ClangdCompilationDatabaseSetter.SETTINGS_FILE_NAMES,
+				ClangdCompilationDatabaseSetter.SETTINGS_FILE_EXTENSIONS, ResourceChangeDispatcher::inCProject,
+				dispatched::add);
+	}
+
+	private Set<IProject> collectAffectedProjects(IResourceDelta delta) {
+		var event = mock(IResourceChangeEvent.class);
+		when(event.getType()).thenReturn(IResourceChangeEvent.POST_BUILD);
+		when(event.getDelta()).thenReturn(delta);
+		dispatched.clear();
+		dispatcher.dispatch(event);
+		return dispatched.isEmpty() ? Set.of() : setter.collectAffectedProjects(dispatched.get(0));
+	}
+
+	@Test
+	void testCollectAffectedProjects() throws CoreException {
+		// only sources have been built:
+		var delta = root(projectDelta(cProject, "src/main.c", "src/main.o"));
+		assertEquals(Set.of(), collectAffectedProjects(delta));
+		// the compilation database has been written by the build, the order of the members does not matter:
+		for (var files : List.of(new String[] { "src/main.o", "build/compile_commands.json" },
+				new String[] { "build/compile_commands.json", "src/main.o" })) {
+			delta = root(projectDelta(cProject, files));
+			assertEquals(Set.of(cProject), collectAffectedProjects(delta));
+		}
+		// no files changed, e.g. the active build configuration:
+		delta = root(projectDelta(cProject), projectDelta(otherProject, ".settings/x.prefs"),
+				projectDelta(closedProject, ".clangd"));
+		assertEquals(Set.of(cProject), collectAffectedProjects(delta));
+	}
+
+	@Test
+	void testScopePerSubscription() {
+		// a second subscription to the .prefs files of all projects:
+		List<Changes> all = new ArrayList<>();
+		dispatcher.subscribe(IResourceChangeEvent.POST_BUILD, Set.of(), Set.of("prefs"), all::add);
+		var delta = root(projectDelta(cProject, ".settings/c.prefs"), projectDelta(otherProject, ".settings/x.prefs"));
+		// the members of the other project are skipped for the setter only:
+		assertEquals(Set.of(cProject), collectAffectedProjects(delta));
+		assertEquals(1, dispatched.get(0).deltas().size());
+		assertEquals(2, all.get(0).deltas().size());
+	}
+
+	static IProject project(String name, boolean accessible, boolean cNature) {
+		var project = mock(IProject.class);
+		when(project.getType()).thenReturn(IResource.PROJECT);
+		when(project.getName()).thenReturn(name);
+		when(project.getProject()).thenReturn(project);
+		when(project.isAccessible()).thenReturn(accessible);
+		try {
+			when(project.hasNature(CProjectNature.C_NATURE_ID)).thenReturn(cNature);
+		} catch (CoreException e) {
+			throw new IllegalStateException(e);
+		}
+		return project;
+	}
+
+	/**
+	 * Creates the delta of a project with the given changed files, the paths are relative to the project.
+	 */
+	static IResourceDelta projectDelta(IProject project, String... files) {
+		var folders = new HashMap<String, List<IResourceDelta>>();
+		for (var path : files) {
+			int separator = path.lastIndexOf('/');
+			var name = path.substring(separator + 1);
+			int dot = name.lastIndexOf('.');
+			var file = resource(IFile.class, IResource.FILE, name, dot > 0 ? name.substring(dot + 1) : null, project);
+			folders.computeIfAbsent(path.substring(0, Math.max(separator, 0)), folder -> new ArrayList<>())
+					.add(delta(file));
+		}
+		var children = new ArrayList<IResourceDelta>();
+		folders.forEach((path, members) -> {
+			if (path.isEmpty()) {
+				children.addAll(members);
+			} else {
+				var folder = resource(IFolder.class, IResource.FOLDER, path, null, project);
+				children.add(delta(folder, members.toArray(IResourceDelta[]::new)));
+			}
+		});
+		return delta(project, children.toArray(IResourceDelta[]::new));
+	}
+
+	static IResourceDelta root(IResourceDelta... projects) {
+		return delta(resource(IWorkspaceRoot.class, IResource.ROOT, "", null, null), projects);
+	}
+
+	private static IResourceDelta delta(IResource resource, IResourceDelta... children) {
+		return fake(IResourceDelta.class, (proxy, method) -> switch (method) {
+		case "getResource" -> resource;
+		case "getKind" -> IResourceDelta.CHANGED;
+		case "getFlags" -> IResourceDelta.CONTENT;
+		case "getAffectedChildren" -> children;
+		default -> throw new UnsupportedOperationException(method);
+		}, (proxy, visitor) -> {
+			if (visitor.visit((IResourceDelta) proxy)) {
+				for (var child : children) {
+					child.accept(visitor);
+				}
+			}
+		});
+	}
+
+	private static <T extends IResource> T resource(Class<T> type, int kind, String name, String extension,
+			IProject project) {
+		return fake(type, (proxy, method) -> switch (method) {
+		case "getType" -> kind;
+		case "getName" -> name;
+		case "getFileExtension" -> extension;
+		case "getProject" -> project;
+		default -> throw new UnsupportedOperationException(method);
+		}, null);
+	}
+
+	private interface Answer {
+		Object answer(Object proxy, String method) throws Exception;
+	}
+
+	private interface Accept {
+		void accept(Object proxy, IResourceDeltaVisitor visitor) throws CoreException;
+	}
+
+	// a proxy is considerably lighter than a mock, which matters for deltas with 100k resources:
+	private static <T> T fake(Class<T> type, Answer answer, Accept accept) {
+		return type.cast(Proxy.newProxyInstance(CollectAffectedProjectsTest.class.getClassLoader(),
+				new Class<?>[] { type }, (proxy, method, args) -> switch (method.getName()) {
+				case "hashCode" -> System.identityHashCode(proxy);
+				case "equals" -> proxy == args[0];
+				case "toString" -> type.getSimpleName();
+				case "accept" -> {
+					accept.accept(proxy, (IResourceDeltaVisitor) args[0]);
+					yield null;
+				}
+				default -> answer.answer(proxy, method.getName());
+				}));
+	}
+}
@@ -0,0 +1,147 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.clangd.tests.internal.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.eclipse.cdt.lsp.clangd.internal.config.CompilationDatabaseIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class CompilationDatabaseIndexTest {
+	private static final String DATABASE = "[\n" //
+			+ "  {\"directory\": \"/work/build\","
+			+ " \"arguments\": [\"clang++\", \"-DNAME=\\\"x\\\"\", \"-c\", \"../src/main.cpp\"],"
+			+ " \"file\": \"../src/main.cpp\", \"output\": \"main.o\"},\n" //
+			+ "  {\"directory\": \"/work/build\", \"command\": \"gcc -c /work/src/util.c\","
+			+ " \"file\": \"/work/src/util.c\", \"extra\": {\"nested\": [1, true, null, \"]}\"]}},\n" //
+			+ "  {\"file\": \"/work/src/\\u0041b.c\", \"directory\": \"/work\", \"arguments\": [],"
+			+ " \"output\": \"\\u00e4\u00f6.o\"},\n" //
+			+ "  {\"directory\": \"/work/other\", \"command\": \"gcc -c /work/src/util.c -O2\","
+			+ " \"file\": \"/work/src/util.c\"}\n" //
+			+ "]\n";
+
+	private Path directory;
+	private Path database;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		directory = Files.createTempDirectory("cdb");
+		database = directory.resolve("compile_commands.json");
+		Files.writeString(database, DATABASE, StandardCharsets.UTF_8);
+	}
+
+	@AfterEach
+	public void cleanUp() throws IOException {
+		try (Stream<Path> files = Files.walk(directory)) {
+			files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+		}
+	}
+
+	/**
+	 * Tests that the entries are found by the resolved path of their file and parsed completely.
+	 */
+	@Test
+	void testFind() throws IOException {
+		var index = CompilationDatabaseIndex.build(database);
+		assertEquals(3, index.size());
+		var main = index.find(Path.of("/work/src/main.cpp")).orElseThrow();
+		assertEquals("/work/build", main.directory());
+		assertEquals(List.of("clang++", "-DNAME=\"x\"", "-c", "../src/main.cpp"), main.arguments());
+		assertEquals("main.o", main.output());
+		var util = index.find(Path.of("/work/src/util.c")).orElseThrow();
+		// the first entry of a file is used:
+		assertEquals("gcc -c /work/src/util.c", util.command());
+		assertTrue(util.arguments().isEmpty());
+		assertEquals("\u00e4\u00f6.o", index.find(Path.of("/work/src/Ab.c")).orElseThrow().output());
+		assertFalse(index.contains(Path.of("/work/src/missing.c")));
+		assertFalse(index.contains(Path.of("/work/build/../src/other.cpp")));
+	}
+
+	/**
+	 * Tests that the index is persisted next to the database and rebuilt when the database changes.
+	 */
+	@Test
+	void testPersistedIndex() throws IOException {
+		var index = CompilationDatabaseIndex.load(database);
+		var indexFile = CompilationDatabaseIndex.indexFile(database);
+		assertTrue(Files.isRegularFile(indexFile));
+		var persisted = CompilationDatabaseIndex.load(database);
+		assertEquals(index.size(), persisted.size());
+		assertTrue(persisted.contains(Path.of("/work/src/main.cpp")));
+
+		Files.writeString(database, "[{\"directory\": \"/work\", \"file\": \"new.c\", \"command\": \"cc new.c\"}]",
+				StandardCharsets.UTF_8);
+		Files.setLastModifiedTime(database, FileTime.fromMillis(System.currentTimeMillis() + 10_000));
+		assertFalse(persisted.isUpToDate());
+		var updated = CompilationDatabaseIndex.load(database);
+		assertEquals(1, updated.size());
+		assertTrue(updated.contains(Path.of("/work/new.c")));
+		assertFalse(updated.contains(Path.of("/work/src/main.cpp")));
+
+		CompilationDatabaseIndex.delete(database);
+		assertFalse(Files.exists(indexFile));
+	}
+
+	/**
+	 * Tests that reordered entries and members or reformatted JSON are no changes, but changed, added and removed
+	 * entries are.
+	 */
+	@Test
+	void testChanges() throws IOException {
+		var previous = CompilationDatabaseIndex.build(database);
+		Files.writeString(database, "[{\"file\":\"/work/src/Ab.c\",\"arguments\":[ ],\"directory\":\"/work\","
+				+ "\"output\":\"\\u00e4\u00f6.o\"}, {\"file\": \"/work/src/util.c\", \"directory\": \"/work/build\","
+				+ " \"extra\": {\"nested\": [1, true, null, \"]}\"]}, \"command\": \"gcc -c /work/src/util.c\"},"
+				+ "\n\t{\"directory\": \"/work/build\", \"file\": \"../src/main.cpp\", \"output\": \"main.o\","
+				+ " \"arguments\": [\"clang++\", \"-DNAME=\\\"x\\\"\", \"-c\", \"../src/main.cpp\"]}]",
+				StandardCharsets.UTF_8);
+		var reordered = CompilationDatabaseIndex.build(database);
+		var changes = reordered.changesSince(previous);
+		assertTrue(changes.isEmpty());
+		assertFalse(changes.affects(Path.of("/work/src/main.cpp")));
+
+		Files.writeString(database, "[{\"directory\": \"/work/build\", \"file\": \"../src/main.cpp\","
+				+ " \"arguments\": [\"clang++\", \"-O2\", \"-c\", \"../src/main.cpp\"]},"
+				+ " {\"directory\": \"/work/build\", \"command\": \"gcc -c /work/src/util.c\","
+				+ " \"file\": \"/work/src/util.c\", \"extra\": {\"nested\": [1, true, null, \"]}\"]}},"
+				+ " {\"directory\": \"/work\", \"file\": \"src/new.c\", \"command\": \"cc -c src/new.c\"}]",
+				StandardCharsets.UTF_8);
+		changes = CompilationDatabaseIndex.build(database).changesSince(reordered);
+		assertEquals(3, changes.size());
+		assertTrue(changes.affects(Path.of("/work/src/main.cpp")));
+		assertTrue(changes.affects(Path.of("/work/src/new.c")));
+		assertTrue(changes.affects(Path.of("/work/src/Ab.c")));
+		assertFalse(changes.affects(Path.of("/work/src/util.c")));
+	}
+
+	@Test
+	void testInvalidDatabase() throws IOException {
+		Files.writeString(database, "{\"file\": \"main.c\"}", StandardCharsets.UTF_8);
+		var e = assertThrows(IOException.class, () -> CompilationDatabaseIndex.build(database));
+		assertTrue(e.getMessage().contains("offset 0"));
+	}
+}
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.clangd.tests.internal.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.cdt.lsp.clangd.internal.config.CompilationDatabaseIndexes;
+import org.eclipse.cdt.lsp.clangd.internal.config.CompileCommandsMonitor;
+import org.eclipse.cdt.lsp.clangd.internal.config.ResourceChangeDispatcher;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IResourceChangeEvent;
+import org.eclipse.core.resources.IResourceDelta;
+import org.eclipse.core.resources.IResourceDeltaVisitor;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceRoot;
+import org.eclipse.core.runtime.CoreException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that a changed <code>compile_commands.json</code> restarts only the language servers of its project, that the
+ * restarts are debounced per project, and that the projects without a language server are skipped.
+ */
+class CompileCommandsMonitorTest {
+	// longer than the debounce delay of the monitor:
+	private static final long TIMEOUT = 5000; // ms
+	private static final long QUIET = 3000; // ms
+
+	private final ResourceChangeDispatcher dispatcher = new ResourceChangeDispatcher(mock(IWorkspace.class));
+	private final BlockingQueue<IProject> restarted = new LinkedBlockingQueue<>();
+	private final IProject first = project("first");
+	private final IProject second = project("second");
+	private final IProject third = project("third");
+	private final IProject unserved = project("unserved");
+	private CompileCommandsMonitor monitor;
+
+	@BeforeEach
+	public void setUp() {
+		monitor = new CompileCommandsMonitor(dispatcher, new CompilationDatabaseIndexes()) {
+			@Override
+			protected boolean isServed(IProject project) {
+				return project != unserved;
+			}
+
+			@Override
+			protected boolean supportsCompilationDatabaseReload(IProject project) {
+				return false;
+			}
+
+			@Override
+			protected void restartLanguageServers(IProject project) {
+				restarted.add(project);
+			}
+		}.start();
+	}
+
+	@AfterEach
+	public void tearDown() {
+		monitor.stop();
+	}
+
+	@Test
+	void testRestartsOnlyTheAffectedProject() throws Exception {
+		// GIVEN a change of the compilation database of the first project and of a build output of the third one
+		// WHEN the change is dispatched
+		dispatch(file(first, "compile_commands.json"), file(third, "main.o"));
+		// THEN only the language servers of the first project are restarted
+		assertEquals(first, restarted.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+		assertNull(restarted.poll(QUIET, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	void testDebouncesPerProject() throws Exception {
+		// GIVEN repeated changes of the compilation database of the first project, interleaved with the second one
+		dispatch(file(first, "compile_commands.json"));
+		dispatch(file(second, "compile_commands.json"));
+		dispatch(file(first, "compile_commands.json"));
+		// THEN each project is restarted once
+		Set<IProject> projects = new HashSet<>();
+		projects.add(restarted.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+		projects.add(restarted.poll(TIMEOUT, TimeUnit.MILLISECONDS));
+		assertEquals(Set.of(first, second), projects);
+		assertNull(restarted.poll(QUIET, TimeUnit.MILLISECONDS));
+	}
+
+	@Test
+	void testSkipsProjectsWithoutLanguageServer() throws Exception {
+		// GIVEN a change of the compilation database of a project without a running language server
+		// WHEN the change is dispatched
+		dispatch(file(unserved, "compile_commands.json"));
+		// THEN nothing is restarted, the language server reads the database when it is started
+		assertNull(restarted.poll(QUIET, TimeUnit.MILLISECONDS));
+	}
+
+	private void dispatch(IResource... files) throws CoreException {
+		var root = mock(IWorkspaceRoot.class);
+		when(root.getType()).thenReturn(IResource.ROOT);
+		when(root.getName()).thenReturn("");
+		var rootDelta = delta(root);
+		doAnswer(invocation -> {
+			IResourceDeltaVisitor visitor = invocation.getArgument(0);
+			if (visitor.visit(rootDelta)) {
+				for (var file : files) {
+					var projectDelta = delta(file.getProject());
+					if (visitor.visit(projectDelta)) {
+						visitor.visit(delta(file));
+					}
+				}
+			}
+			return null;
+		}).when(rootDelta).accept(any(IResourceDeltaVisitor.class));
+		var event = mock(IResourceChangeEvent.class);
+		when(event.getType()).thenReturn(IResourceChangeEvent.POST_CHANGE);
+		when(event.getDelta()).thenReturn(rootDelta);
+		dispatcher.dispatch(event);
+	}
+
+	private static IResourceDelta delta(IResource resource) {
+		var delta = mock(IResourceDelta.class);
+		when(delta.getResource()).thenReturn(resource);
+		when(delta.getKind()).thenReturn(IResourceDelta.CHANGED);
+		when(delta.getFlags()).thenReturn(IResourceDelta.CONTENT);
+		return delta;
+	}
+
+	private static IProject project(String name) {
+		var project = mock(IProject.class);
+		when(project.getType()).thenReturn(IResource.PROJECT);
+		when(project.getName()).thenReturn(name);
+		when(project.getProject()).thenReturn(project);
+		return project;
+	}
+
+	private static IFile file(IProject project, String name) {
+		var file = mock(IFile.class);
+		when(file.getType()).thenReturn(IResource.FILE);
+		when(file.getName()).thenReturn(name);
+		when(file.getFileExtension()).thenReturn(name.substring(name.lastIndexOf('.') + 1));
+		when(file.getProject()).thenReturn(project);
+		// no location, the whole database counts as changed:
+		when(file.getLocation()).thenReturn(null);
+		return file;
+	}
+}
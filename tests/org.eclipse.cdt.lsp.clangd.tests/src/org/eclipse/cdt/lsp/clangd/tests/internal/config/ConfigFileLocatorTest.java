@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright (c) 2026 Contributors to the Eclipse Foundation.
+ * This program and the accompanying materials are made
+ * available under the terms of the Eclipse Public License 2.0
+ * which is available at https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *
+ * Contributors:
+ *   See git history
+ *******************************************************************************/
+
+package org.eclipse.cdt.lsp.clangd.tests.internal.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import org.eclipse.cdt.lsp.clangd.internal.config.ConfigFileLocator;
+import org.eclipse.cdt.lsp.clangd.internal.config.ResourceChangeDispatcher;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class ConfigFileLocatorTest {
+	private static final String CLANGD = ".clangd";
+	private static final long WATCH_TIMEOUT = 10_000; // ms, some watch services poll
+
+	private Path root;
+	private Path project;
+	private ConfigFileLocator locator;
+
+	@BeforeEach
+	public void setUp() throws IOException {
+		root = Files.createTempDirectory("locator");
+		project = Files.createDirectories(root.resolve("a/b/project"));
+		// not started, so the cache is invalidated explicitly only:
+		locator = new ConfigFileLocator(ResourcesPlugin.getWorkspace());
+	}
+
+	@AfterEach
+	public void cleanUp() throws IOException {
+		try (Stream<Path> files = Files.walk(root)) {
+			files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+		}
+	}
+
+	/**
+	 * Tests that the nearest configuration file is found in the directory or its ancestors.
+	 */
+	@Test
+	void testFindNearest() throws IOException {
+		var outer = Files.createFile(root.resolve(CLANGD));
+		var inner = Files.createFile(root.resolve("a/b").resolve(CLANGD));
+		assertEquals(Optional.of(inner), locator.find(project, CLANGD));
+		assertEquals(Optional.of(outer), locator.find(root.resolve("a"), CLANGD));
+		assertEquals(Optional.empty(), locator.find(project, ".clang-format"));
+	}
+
+	/**
+	 * Tests that the results are cached until the cache is invalidated for the directory of a changed file.
+	 */
+	@Test
+	void testCacheInvalidation() throws IOException {
+		assertTrue(locator.find(project, CLANGD).isEmpty());
+		var file = Files.createFile(root.resolve("a").resolve(CLANGD));
+		// cached, the file system is not accessed again:
+		assertTrue(locator.find(project, CLANGD).isEmpty());
+		assertTrue(locator.find(project.getParent(), CLANGD).isEmpty());
+		locator.invalidate(file.getParent(), CLANGD);
+		assertEquals(Optional.of(file), locator.find(project, CLANGD));
+		// other file names are not affected:
+		Files.delete(file);
+		locator.invalidate(file.getParent(), ".clang-format");
+		assertEquals(Optional.of(file), locator.find(project, CLANGD));
+		locator.invalidate(null, CLANGD);
+		assertTrue(locator.find(project, CLANGD).isEmpty());
+	}
+
+	/**
+	 * Tests that the cached results of the ancestors outside the workspace are invalidated by the file system watcher.
+	 */
+	@Test
+	void testWatchedAncestors() throws Exception {
+		locator.start(new ResourceChangeDispatcher(ResourcesPlugin.getWorkspace()));
+		try {
+			// GIVEN a lookup which cached that no ancestor has a configuration file
+			assertTrue(locator.find(project, CLANGD).isEmpty());
+			// WHEN a configuration file is created in an ancestor
+			var file = Files.createFile(root.resolve(CLANGD));
+			// THEN the watcher invalidates the cached results
+			long end = System.currentTimeMillis() + WATCH_TIMEOUT;
+			while (locator.find(project, CLANGD).isEmpty() && System.currentTimeMillis() < end) {
+				Thread.sleep(50);
+			}
+			assertEquals(Optional.of(file), locator.find(project, CLANGD));
+		} finally {
+			locator.stop();
+		}
+	}
+}